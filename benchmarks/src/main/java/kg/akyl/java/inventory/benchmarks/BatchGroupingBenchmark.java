@@ -0,0 +1,56 @@
+package kg.akyl.java.inventory.benchmarks;
+
+import kg.akyl.java.inventory.infra.batch.BatchInventoryProcessor;
+import kg.akyl.java.inventory.infra.batch.BatchInventoryProcessor.BatchResult;
+import kg.akyl.java.inventory.infra.batch.BatchInventoryProcessor.InventoryAdjustment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BatchInventoryProcessor#latestByProduct} over one chunk of the default size, with every adjustment
+ * for a different product and with many adjustments per product
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class BatchGroupingBenchmark {
+    private static final int CHUNK_SIZE = 1000;
+
+    @Param({"1000", "50"})
+    private int distinctProducts;
+
+    private List<InventoryAdjustment> chunk;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(Fixtures.SEED);
+        chunk = new ArrayList<>(CHUNK_SIZE);
+        for (int i = 0; i < CHUNK_SIZE; i++) {
+            long productId = distinctProducts == CHUNK_SIZE ? i + 1 : random.nextInt(distinctProducts) + 1;
+            chunk.add(new InventoryAdjustment(productId, random.nextInt(1000), null));
+        }
+    }
+
+    @Benchmark
+    public Map<Long, Integer> group() {
+        return BatchInventoryProcessor.latestByProduct(chunk, 0, new BatchResult());
+    }
+}
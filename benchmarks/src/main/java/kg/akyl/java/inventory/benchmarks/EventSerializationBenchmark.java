@@ -0,0 +1,69 @@
+package kg.akyl.java.inventory.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import kg.akyl.java.inventory.command.handlers.ProductCommandHandler;
+import kg.akyl.java.inventory.command.handlers.SaleCommandHandler;
+import kg.akyl.java.inventory.domain.InventoryEvent;
+import kg.akyl.java.inventory.infra.events.EventStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link EventStore#toRows}: payload serialization and parameter building for event store inserts, per
+ * single event and per batch, with the payload types of the sale and batch quantity paths
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class EventSerializationBenchmark {
+    @Param({"1", "100"})
+    private int events;
+
+    private EventStore eventStore;
+    private List<InventoryEvent> saleEvents;
+    private List<InventoryEvent> quantityEvents;
+
+    @Setup
+    public void setUp() {
+        // Configured like the application's auto-configured ObjectMapper
+        eventStore = new EventStore(Jackson2ObjectMapperBuilder.json().build());
+        saleEvents = new ArrayList<>(events);
+        quantityEvents = new ArrayList<>(events);
+        for (long i = 1; i <= events; i++) {
+            saleEvents.add(new InventoryEvent("SaleProcessed", String.valueOf(i), new SaleCommandHandler.SaleEvent(
+                    i, i, 3, new BigDecimal("19.99"), new BigDecimal("59.97"), "Electronics",
+                    LocalDateTime.of(2025, 1, 1, 12, 0), "customer-" + i), 1L));
+            quantityEvents.add(new InventoryEvent("ProductQuantityUpdated", String.valueOf(i),
+                    new ProductCommandHandler.QuantityUpdateEvent(i, 100, 97, i), i));
+        }
+    }
+
+    @Benchmark
+    public List<Object[]> saleEvents() throws JsonProcessingException {
+        return eventStore.toRows(saleEvents);
+    }
+
+    @Benchmark
+    public List<Object[]> quantityEvents() throws JsonProcessingException {
+        return eventStore.toRows(quantityEvents);
+    }
+}
@@ -0,0 +1,40 @@
+package kg.akyl.java.inventory.benchmarks;
+
+import kg.akyl.java.inventory.domain.Product;
+import kg.akyl.java.inventory.domain.ProductStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Deterministic test data, so every run and commit measures the same inputs
+ */
+final class Fixtures {
+    static final long SEED = 42;
+
+    private static final String[] CATEGORIES = {"Electronics", "Tools", "Garden", "Office", "Toys"};
+
+    private Fixtures() {
+    }
+
+    static Product product(long id, Random random) {
+        int quantity = random.nextInt(500);
+        return Product.builder()
+                .id(id)
+                .sku("SKU-" + id)
+                .name("Product " + id)
+                .description("Benchmark product " + id + " with a description of typical length")
+                .price(BigDecimal.valueOf(100 + random.nextInt(100_000), 2))
+                .quantity(quantity)
+                .reservedQuantity(random.nextInt(quantity + 1))
+                .stockQuantity(quantity)
+                .minStockLevel(10)
+                .category(CATEGORIES[random.nextInt(CATEGORIES.length)])
+                .status(ProductStatus.ACTIVE)
+                .version((long) random.nextInt(50))
+                .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(id))
+                .updatedAt(LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(id))
+                .build();
+    }
+}
@@ -0,0 +1,57 @@
+package kg.akyl.java.inventory.benchmarks;
+
+import kg.akyl.java.inventory.domain.Product;
+import kg.akyl.java.inventory.domain.dto.ProductDTO;
+import kg.akyl.java.inventory.infra.services.ProductMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * {@link ProductMapper#toDTO} for one product and for a page of 100, as the list endpoints map them
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ProductMappingBenchmark {
+    private static final int PAGE_SIZE = 100;
+
+    private Product product;
+    private List<Product> page;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(Fixtures.SEED);
+        page = new ArrayList<>(PAGE_SIZE);
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            page.add(Fixtures.product(id, random));
+        }
+        product = page.get(0);
+    }
+
+    @Benchmark
+    public ProductDTO single() {
+        return ProductMapper.toDTO(product);
+    }
+
+    @Benchmark
+    public List<ProductDTO> page() {
+        return page.stream().map(ProductMapper::toDTO).collect(Collectors.toList());
+    }
+}
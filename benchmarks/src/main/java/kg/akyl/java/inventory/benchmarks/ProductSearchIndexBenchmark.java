@@ -0,0 +1,71 @@
+package kg.akyl.java.inventory.benchmarks;
+
+import kg.akyl.java.inventory.query.projections.ProductProjection;
+import kg.akyl.java.inventory.query.search.ProductSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ProductSearchIndex#search} over a catalog of a million products, for a rare and a common exact
+ * term, a prefix, a multi-term AND and an infix query. Names are drawn from small word lists so common
+ * terms have posting lists in the hundreds of thousands, like category words in a real catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = "-Xmx6g")
+public class ProductSearchIndexBenchmark {
+    private static final String[] ADJECTIVES = {"wireless", "compact", "heavy", "portable", "premium", "classic",
+            "digital", "ergonomic", "industrial", "smart", "waterproof", "foldable"};
+    private static final String[] MATERIALS = {"steel", "bamboo", "carbon", "leather", "ceramic", "aluminium",
+            "plastic", "oak", "glass", "copper"};
+    private static final String[] NOUNS = {"keyboard", "drill", "lamp", "cable", "chair", "kettle", "speaker",
+            "backpack", "monitor", "hammer", "router", "stapler", "shovel", "blender", "tripod", "charger"};
+    private static final String[] CATEGORIES = {"Electronics", "Tools", "Garden", "Office", "Toys"};
+
+    @Param("1000000")
+    private int products;
+
+    @Param({"tripod", "8472", "steel", "wire", "steel drill", "arbon"})
+    private String query;
+
+    private ProductSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(Fixtures.SEED);
+        LocalDateTime created = LocalDateTime.of(2024, 1, 1, 0, 0);
+        index = new ProductSearchIndex();
+        for (long id = 1; id <= products; id++) {
+            String noun = NOUNS[random.nextInt(NOUNS.length)];
+            String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                    + MATERIALS[random.nextInt(MATERIALS.length)] + " " + noun + " " + random.nextInt(10_000);
+            ProductProjection product = new ProductProjection(id, "SKU-" + id, name,
+                    "A " + noun + " for everyday use", BigDecimal.valueOf(100 + random.nextInt(100_000), 2),
+                    random.nextInt(500), 0, CATEGORIES[random.nextInt(CATEGORIES.length)],
+                    random.nextInt(20) == 0 ? "INACTIVE" : "ACTIVE", created, created);
+            index.onUpsert(null, product);
+        }
+    }
+
+    @Benchmark
+    public ProductSearchIndex.SearchPage search() {
+        return index.search(query, 20, 0, true);
+    }
+}
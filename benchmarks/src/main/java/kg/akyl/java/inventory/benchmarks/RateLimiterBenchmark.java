@@ -0,0 +1,93 @@
+package kg.akyl.java.inventory.benchmarks;
+
+import kg.akyl.java.inventory.infra.ratelimit.HybridRateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link HybridRateLimiter#tryAcquire} on the local token bucket path that every request takes, for one
+ * client alone, one client shared by four threads, and four threads spread over many clients. The limit is
+ * high enough that requests are always admitted; the Redis sync is not running.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class RateLimiterBenchmark {
+    private static final int CLIENTS = 1000;
+
+    private HybridRateLimiter rateLimiter;
+
+    @State(Scope.Thread)
+    public static class Clients {
+        private static final AtomicInteger THREADS = new AtomicInteger();
+
+        private final String[] ids = new String[CLIENTS];
+        private int next;
+
+        @Setup
+        public void setUp() {
+            int thread = THREADS.getAndIncrement();
+            for (int i = 0; i < CLIENTS; i++) {
+                ids[i] = "client-" + thread + "-" + i;
+            }
+        }
+
+        String next() {
+            String id = ids[next];
+            next = next + 1 == CLIENTS ? 0 : next + 1;
+            return id;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        // Configured the way Spring injects it
+        rateLimiter = new HybridRateLimiter();
+        set("limit", 1_000_000_000_000L);
+        set("windowMs", 60_000L);
+        set("burst", Integer.MAX_VALUE);
+        set("strictClients", Set.of());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public HybridRateLimiter.Decision singleClient() {
+        return rateLimiter.tryAcquire("client", 1);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public HybridRateLimiter.Decision sharedClient() {
+        return rateLimiter.tryAcquire("client", 1);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public HybridRateLimiter.Decision manyClients(Clients clients) {
+        return rateLimiter.tryAcquire(clients.next(), 1);
+    }
+
+    private void set(String name, Object value) {
+        Field field = ReflectionUtils.findField(HybridRateLimiter.class, name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, rateLimiter, value);
+    }
+}
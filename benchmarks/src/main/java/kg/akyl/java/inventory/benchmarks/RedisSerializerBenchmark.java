@@ -0,0 +1,51 @@
+package kg.akyl.java.inventory.benchmarks;
+
+import kg.akyl.java.inventory.config.RedisConfig;
+import kg.akyl.java.inventory.domain.dto.ProductDTO;
+import kg.akyl.java.inventory.infra.services.ProductMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding a cached {@link ProductDTO} with the serializer of the Redis template and cache manager
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class RedisSerializerBenchmark {
+    private GenericJackson2JsonRedisSerializer serializer;
+    private ProductDTO product;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        serializer = RedisConfig.valueSerializer();
+        product = ProductMapper.toDTO(Fixtures.product(1, new Random(Fixtures.SEED)));
+        encoded = serializer.serialize(product);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(product);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return serializer.deserialize(encoded);
+    }
+}
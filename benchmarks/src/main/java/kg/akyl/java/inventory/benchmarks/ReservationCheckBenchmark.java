@@ -0,0 +1,49 @@
+package kg.akyl.java.inventory.benchmarks;
+
+import kg.akyl.java.inventory.domain.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Product#hasAvailable}, the check the sale and reservation handlers run on the locked product, over
+ * products with mixed stock so the branch is not predictable
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ReservationCheckBenchmark {
+    private static final int PRODUCTS = 1024;
+
+    private final Product[] products = new Product[PRODUCTS];
+    private final int[] requested = new int[PRODUCTS];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(Fixtures.SEED);
+        for (int i = 0; i < PRODUCTS; i++) {
+            products[i] = Fixtures.product(i + 1, random);
+            requested[i] = random.nextInt(50) + 1;
+        }
+    }
+
+    @Benchmark
+    public boolean hasAvailable() {
+        int i = next++ & (PRODUCTS - 1);
+        return products[i].hasAvailable(requested[i]);
+    }
+}
@@ -0,0 +1,93 @@
+#!/bin/bash
+
+# Measures the supply chain transaction write path against a running application: streams a generated NDJSON
+# feed into /api/v1/transactions/ingest, re-sends it to time the skip-existing path, then moves every
+# ingested transaction to CONFIRMED with bulk status updates. Fails when ingest falls below the target rate.
+#
+# The feed uses the sample suppliers (ids 1-8) and products 1..PRODUCTS, which must exist.
+#
+# Usage: scripts/benchmark-transaction-ingest.sh [rows] [target rows/s] [products] [base url]
+
+set -euo pipefail
+
+ROWS=${1:-200000}
+TARGET_RPS=${2:-20000}
+PRODUCTS=${3:-100}
+BASE_URL=${4:-http://localhost:5003}
+RESULTS=$(mktemp -d)
+RUN_ID=$(date +%s)
+BULK_SIZE=10000
+
+generate_feed() {
+    awk -v rows="$ROWS" -v products="$PRODUCTS" -v run="$RUN_ID" 'BEGIN {
+        srand(run)
+        for (i = 1; i <= rows; i++) {
+            from = int(rand() * 8) + 1
+            to = from % 8 + 1
+            printf "{\"transactionNumber\":\"BENCH-%s-%d\",\"fromSupplierId\":%d,\"toSupplierId\":%d,", run, i, from, to
+            printf "\"productId\":%d,\"quantity\":%d,\"unitPrice\":%.2f,\"transactionType\":\"PURCHASE\",", int(rand() * products) + 1, int(rand() * 500) + 1, rand() * 200 + 1
+            printf "\"transactionDate\":\"2024-01-15T10:30:00\",\"expectedDeliveryDate\":\"2024-02-01T00:00:00\"}\n"
+        }
+    }' > "$RESULTS/feed.ndjson"
+}
+
+json_field() {
+    grep -o "\"$1\":[0-9]*" "$2" | head -1 | cut -d: -f2
+}
+
+ingest() {
+    local name=$1
+    local started elapsed
+    started=$(date +%s%N)
+    curl -sf -X POST -H "Content-Type: application/x-ndjson" --data-binary "@$RESULTS/feed.ndjson" \
+        "$BASE_URL/api/v1/transactions/ingest" > "$RESULTS/$name.json"
+    elapsed=$(( ($(date +%s%N) - started) / 1000000 ))
+    printf "%-16s %10s %10s %10s %10s %12s\n" "$name" "$ROWS" "$(json_field inserted "$RESULTS/$name.json")" \
+        "$(json_field skippedExisting "$RESULTS/$name.json")" "$elapsed" \
+        "$(( ROWS * 1000 / (elapsed > 0 ? elapsed : 1) ))" >> "$RESULTS/summary.txt"
+}
+
+bulk_confirm() {
+    local first=$1 last=$2
+    local started elapsed ids updated=0 count
+    started=$(date +%s%N)
+    for ((start = first; start <= last; start += BULK_SIZE)); do
+        ids=$(seq -s, "$start" "$(( start + BULK_SIZE - 1 < last ? start + BULK_SIZE - 1 : last ))")
+        curl -sf -X PATCH -H "Content-Type: application/json" \
+            -d "{\"transactionIds\":[$ids],\"status\":\"CONFIRMED\"}" \
+            "$BASE_URL/api/v1/transactions/status" > "$RESULTS/bulk.json"
+        count=$(json_field updated "$RESULTS/bulk.json")
+        updated=$(( updated + ${count:-0} ))
+    done
+    elapsed=$(( ($(date +%s%N) - started) / 1000000 ))
+    printf "%-16s %10s %10s %10s %10s %12s\n" "bulk-confirm" "$(( last - first + 1 ))" "$updated" "-" "$elapsed" \
+        "$(( updated * 1000 / (elapsed > 0 ? elapsed : 1) ))" >> "$RESULTS/summary.txt"
+}
+
+curl -sf "$BASE_URL/actuator/health" > /dev/null || { echo "Application is not running at $BASE_URL" >&2; exit 1; }
+
+echo "Generating $ROWS transactions..."
+generate_feed
+
+printf "%-16s %10s %10s %10s %10s %12s\n" "scenario" "rows" "inserted" "existing" "ms" "rows/s" > "$RESULTS/summary.txt"
+ingest ingest
+ingest ingest-repeat
+
+# Sequence ids are allocated in blocks, so the ingested rows sit inside this range with gaps
+FIRST_ID=$(curl -sf "$BASE_URL/api/v1/transactions/number/BENCH-$RUN_ID-1" | json_field id /dev/stdin)
+LAST_ID=$(curl -sf "$BASE_URL/api/v1/transactions/number/BENCH-$RUN_ID-$ROWS" | json_field id /dev/stdin)
+if [[ -n "$FIRST_ID" && -n "$LAST_ID" ]]; then
+    bulk_confirm "$(( FIRST_ID < LAST_ID ? FIRST_ID : LAST_ID ))" "$(( FIRST_ID < LAST_ID ? LAST_ID : FIRST_ID ))"
+fi
+
+echo
+cat "$RESULTS/summary.txt"
+echo
+echo "Responses and feed: $RESULTS"
+
+ACHIEVED=$(awk '$1 == "ingest" {print $6}' "$RESULTS/summary.txt")
+if (( ACHIEVED < TARGET_RPS )); then
+    echo "Ingest rate $ACHIEVED rows/s is below the target of $TARGET_RPS rows/s" >&2
+    exit 1
+fi
+echo "Ingest rate $ACHIEVED rows/s meets the target of $TARGET_RPS rows/s"
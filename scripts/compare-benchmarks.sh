@@ -0,0 +1,66 @@
+#!/bin/bash
+
+# Compares two JMH JSON results from scripts/run-benchmarks.sh, benchmark by benchmark and parameter set by
+# parameter set. A benchmark regresses when it is more than THRESHOLD percent slower (or lower throughput)
+# and the difference is larger than the two error margins together; the script then exits with 1.
+# Requires jq.
+#
+# Usage: scripts/compare-benchmarks.sh <baseline.json> <candidate.json> [threshold percent]
+
+set -euo pipefail
+
+if [ $# -lt 2 ]; then
+    echo "Usage: $0 <baseline.json> <candidate.json> [threshold percent]" >&2
+    exit 2
+fi
+
+BASELINE=$1
+CANDIDATE=$2
+THRESHOLD=${3:-10}
+
+# One line per result: name with parameters, mode, score, error, unit
+flatten() {
+    jq -r '.[] | [
+        (.benchmark | sub("^.*\\.(?<name>[^.]+\\.[^.]+)$"; "\(.name)")) + (if .params then "(" + (.params | to_entries | map(.key + "=" + .value) | join(",")) + ")" else "" end),
+        .mode,
+        .primaryMetric.score,
+        (.primaryMetric.scoreError | if type == "number" then . else 0 end),
+        .primaryMetric.scoreUnit
+    ] | @tsv' "$1"
+}
+
+awk -F '\t' -v threshold="$THRESHOLD" '
+    FNR == NR {
+        score[$1] = $3
+        error[$1] = $4
+        next
+    }
+    !($1 in score) {
+        printf "%-60s %14s %14.3f %-8s %9s\n", $1, "-", $3, $5, "new"
+        next
+    }
+    {
+        base = score[$1]
+        # Throughput is better when higher, every other mode when lower
+        change = base != 0 ? ($3 - base) * 100 / base : 0
+        worse = $2 == "thrpt" ? -change : change
+        verdict = ""
+        if (worse > threshold && ($3 - base < 0 ? base - $3 : $3 - base) > error[$1] + $4) {
+            verdict = "REGRESSION"
+            regressions++
+        } else if (-worse > threshold) {
+            verdict = "improved"
+        }
+        printf "%-60s %14.3f %14.3f %-8s %+8.1f%% %s\n", $1, base, $3, $5, change, verdict
+        seen[$1] = 1
+    }
+    END {
+        for (name in score) {
+            if (!(name in seen)) {
+                printf "%-60s %14.3f %14s %-8s %9s\n", name, score[name], "-", "", "not run"
+            }
+        }
+        printf "\n%d regression(s) beyond %s%%\n", regressions, threshold
+        exit regressions > 0 ? 1 : 0
+    }
+' <(flatten "$BASELINE") <(flatten "$CANDIDATE")
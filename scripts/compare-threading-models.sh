@@ -0,0 +1,70 @@
+#!/bin/bash
+
+# Compares the platform-thread and virtual-thread execution models under the same load.
+# Starts the application once per model (Postgres, Redis and Kafka must be running), drives it with
+# Apache Bench and prints throughput, failures and p99 latency side by side.
+#
+# Usage: scripts/compare-threading-models.sh [jar] [requests] [concurrency]
+
+set -euo pipefail
+
+JAR=${1:-$(ls target/*-exec.jar | head -1)}
+REQUESTS=${2:-20000}
+CONCURRENCY=${3:-400}
+PORT=5003
+BASE_URL="http://localhost:$PORT"
+SCRIPT_DIR=$(cd "$(dirname "$0")" && pwd)
+RESULTS=$(mktemp -d)
+
+wait_for_health() {
+    for _ in $(seq 1 120); do
+        if curl -sf "$BASE_URL/actuator/health" > /dev/null; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "Application did not become healthy" >&2
+    return 1
+}
+
+run_scenario() {
+    local model=$1 name=$2
+    shift 2
+    ab -q -n "$REQUESTS" -c "$CONCURRENCY" "$@" > "$RESULTS/$model-$name.txt" 2>&1 || true
+    local rps failed p99
+    rps=$(awk '/Requests per second/ {print $4}' "$RESULTS/$model-$name.txt")
+    failed=$(awk '/Failed requests/ {print $3}' "$RESULTS/$model-$name.txt")
+    p99=$(awk '$1 == "99%" {print $2}' "$RESULTS/$model-$name.txt")
+    printf "%-10s %-18s %12s %10s %10s\n" "$model" "$name" "${rps:-n/a}" "${failed:-n/a}" "${p99:-n/a}" >> "$RESULTS/summary.txt"
+}
+
+run_model() {
+    local model=$1 virtual=$2
+    echo "Starting application with $model threads..."
+    VIRTUAL_THREADS_ENABLED=$virtual java -jar "$JAR" > "$RESULTS/$model-app.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+    wait_for_health
+
+    # Warm up JIT, pools and caches before measuring
+    ab -q -n 2000 -c 50 "$BASE_URL/api/products/1" > /dev/null 2>&1 || true
+
+    run_scenario "$model" product-by-id "$BASE_URL/api/products/1"
+    run_scenario "$model" product-search "$BASE_URL/api/products/search?q=test"
+    run_scenario "$model" sales-analytics \
+        "$BASE_URL/api/analytics/sales?fromDate=2024-01-01T00:00:00&toDate=2025-12-31T23:59:59"
+    run_scenario "$model" process-sale -p "$SCRIPT_DIR/sale-data.json" -T application/json "$BASE_URL/api/sales"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+printf "%-10s %-18s %12s %10s %10s\n" "model" "scenario" "req/s" "failed" "p99 ms" > "$RESULTS/summary.txt"
+run_model platform false
+run_model virtual true
+
+echo
+cat "$RESULTS/summary.txt"
+echo
+echo "Raw ab output and application logs: $RESULTS"
@@ -0,0 +1,29 @@
+#!/bin/bash
+
+# Runs the JMH suites in benchmarks/ against the current tree and writes the results as JSON named after the
+# commit, so runs on two commits can be compared with scripts/compare-benchmarks.sh. Uncommitted changes to
+# the sources add a -dirty suffix. Extra arguments go to JMH, e.g. -f 1 -wi 1 -i 2 for a quick run.
+#
+# Usage: scripts/run-benchmarks.sh [benchmark regex] [JMH options...]
+
+set -euo pipefail
+
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+RESULTS_DIR=${RESULTS_DIR:-$ROOT/benchmarks/results}
+FILTER=${1:-.}
+shift $(( $# > 0 ? 1 : 0 ))
+
+REVISION=$(git -C "$ROOT" rev-parse --short HEAD)
+if [ -n "$(git -C "$ROOT" status --porcelain -- pom.xml src benchmarks/pom.xml benchmarks/src)" ]; then
+    REVISION="$REVISION-dirty"
+fi
+RESULT="$RESULTS_DIR/$REVISION.json"
+
+echo "Building inventory-system and benchmarks at $REVISION..."
+mvn -B -q -f "$ROOT/pom.xml" install -DskipTests
+mvn -B -q -f "$ROOT/benchmarks/pom.xml" package
+
+mkdir -p "$RESULTS_DIR"
+java -jar "$ROOT/benchmarks/target/benchmarks.jar" "$FILTER" -rf json -rff "$RESULT" "$@"
+
+echo "Results written to $RESULT"
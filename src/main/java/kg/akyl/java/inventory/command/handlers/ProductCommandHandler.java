@@ -8,6 +8,8 @@ import kg.akyl.java.inventory.domain.InventoryEvent;
 import kg.akyl.java.inventory.domain.Product;
 import kg.akyl.java.inventory.domain.ProductStatus;
 import kg.akyl.java.inventory.infra.events.EventStore;
+import kg.akyl.java.inventory.infra.profiling.CommandStageEvent;
+import kg.akyl.java.inventory.infra.profiling.CommandStageEvent.Stage;
 import kg.akyl.java.inventory.infra.repositories.ProductRepository;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +22,9 @@ import org.springframework.stereotype.Component;
 @Slf4j
 @RequiredArgsConstructor
 public class ProductCommandHandler {
+    private static final String CREATE_PRODUCT = "CreateProductCommand";
+    private static final String UPDATE_QUANTITY = "UpdateProductQuantityCommand";
+    private static final String RESERVE_PRODUCT = "ReserveProductCommand";
 
     private final ProductRepository productRepository;
     private final EventStore eventStore;
@@ -27,6 +32,7 @@ public class ProductCommandHandler {
 
     @Transactional
     public void handle(CreateProductCommand command) {
+        CommandStageEvent.timeCommit(CREATE_PRODUCT);
         Product product = new Product(
                 command.getSku(),
                 command.getName(),
@@ -37,7 +43,9 @@ public class ProductCommandHandler {
                 ProductStatus.ACTIVE
         );
 
+        CommandStageEvent stage = CommandStageEvent.start(CREATE_PRODUCT, Stage.SAVE);
         Product savedProduct = productRepository.save(product);
+        stage.finish();
 
         // Create and store event
         InventoryEvent event = new InventoryEvent(
@@ -46,24 +54,34 @@ public class ProductCommandHandler {
                 savedProduct,
                 1L
         );
+        stage = CommandStageEvent.start(CREATE_PRODUCT, Stage.EVENT_APPEND);
         eventStore.saveEvent(event);
+        stage.finish();
 
+        stage = CommandStageEvent.start(CREATE_PRODUCT, Stage.PUBLISH);
         kafkaTemplate.send("product-events", event);
+        stage.finish();
     }
 
     @Transactional
     public void handle(UpdateProductQuantityCommand command) {
+        CommandStageEvent.timeCommit(UPDATE_QUANTITY);
+        CommandStageEvent stage = CommandStageEvent.start(UPDATE_QUANTITY, Stage.LOAD);
         Product product = productRepository.findById(command.getProductId())
                 .orElseThrow(() -> new RuntimeException("Product not found"));
+        stage.finish();
 
         int oldQuantity = product.getQuantity();
         product.setQuantity(command.getNewQuantity());
 
-        productRepository.save(product);
+        // Flushed so the event carries the row version it produced
+        stage = CommandStageEvent.start(UPDATE_QUANTITY, Stage.SAVE);
+        productRepository.saveAndFlush(product);
+        stage.finish();
 
         // Create event
         QuantityUpdateEvent eventData = new QuantityUpdateEvent(
-                command.getProductId(), oldQuantity, command.getNewQuantity()
+                command.getProductId(), oldQuantity, command.getNewQuantity(), product.getVersion()
         );
 
         InventoryEvent event = new InventoryEvent(
@@ -73,29 +91,39 @@ public class ProductCommandHandler {
                 product.getVersion()
         );
 
+        stage = CommandStageEvent.start(UPDATE_QUANTITY, Stage.EVENT_APPEND);
         eventStore.saveEvent(event);
+        stage.finish();
+
+        stage = CommandStageEvent.start(UPDATE_QUANTITY, Stage.PUBLISH);
         kafkaTemplate.send("inventory-updates", event);
+        stage.finish();
     }
 
     @Transactional
     public void handle(ReserveProductCommand command) {
+        CommandStageEvent.timeCommit(RESERVE_PRODUCT);
+        CommandStageEvent stage = CommandStageEvent.start(RESERVE_PRODUCT, Stage.LOCK_WAIT);
         Product product = productRepository.findByIdWithLock(command.getProductId());
+        stage.finish();
 
         if (product == null) {
             throw new RuntimeException("Product not found");
         }
 
-        int availableQuantity = product.getQuantity() - product.getReservedQuantity();
-        if (availableQuantity < command.getQuantity()) {
+        if (!product.hasAvailable(command.getQuantity())) {
             throw new RuntimeException("Insufficient inventory");
         }
 
         product.setReservedQuantity(product.getReservedQuantity() + command.getQuantity());
-        productRepository.save(product);
+        // Flushed so the event carries the row version it produced
+        stage = CommandStageEvent.start(RESERVE_PRODUCT, Stage.SAVE);
+        productRepository.saveAndFlush(product);
+        stage.finish();
 
         // Create event
         ReservationEvent eventData = new ReservationEvent(
-                command.getProductId(), command.getQuantity(), "RESERVED"
+                command.getProductId(), command.getQuantity(), product.getReservedQuantity(), "RESERVED"
         );
 
         InventoryEvent event = new InventoryEvent(
@@ -105,8 +133,13 @@ public class ProductCommandHandler {
                 product.getVersion()
         );
 
+        stage = CommandStageEvent.start(RESERVE_PRODUCT, Stage.EVENT_APPEND);
         eventStore.saveEvent(event);
+        stage.finish();
+
+        stage = CommandStageEvent.start(RESERVE_PRODUCT, Stage.PUBLISH);
         kafkaTemplate.send("reservation-events", event);
+        stage.finish();
     }
 
     // Event data classes
@@ -117,11 +150,14 @@ public class ProductCommandHandler {
         private Long productId;
         private int oldQuantity;
         private int newQuantity;
+        // Product row version after the update
+        private Long version;
 
-        public QuantityUpdateEvent(Long productId, int oldQuantity, int newQuantity) {
+        public QuantityUpdateEvent(Long productId, int oldQuantity, int newQuantity, Long version) {
             this.productId = productId;
             this.oldQuantity = oldQuantity;
             this.newQuantity = newQuantity;
+            this.version = version;
         }
 
     }
@@ -132,11 +168,14 @@ public class ProductCommandHandler {
         // Getters and setters
         private Long productId;
         private int quantity;
+        // Reserved quantity of the product after this reservation
+        private int reservedQuantity;
         private String status;
 
-        public ReservationEvent(Long productId, int quantity, String status) {
+        public ReservationEvent(Long productId, int quantity, int reservedQuantity, String status) {
             this.productId = productId;
             this.quantity = quantity;
+            this.reservedQuantity = reservedQuantity;
             this.status = status;
         }
 
@@ -7,6 +7,8 @@ import kg.akyl.java.inventory.domain.Product;
 import kg.akyl.java.inventory.domain.Sale;
 import kg.akyl.java.inventory.domain.SaleStatus;
 import kg.akyl.java.inventory.infra.events.EventStore;
+import kg.akyl.java.inventory.infra.profiling.CommandStageEvent;
+import kg.akyl.java.inventory.infra.profiling.CommandStageEvent.Stage;
 import kg.akyl.java.inventory.infra.repositories.ProductRepository;
 import kg.akyl.java.inventory.infra.repositories.SaleRepository;
 import lombok.Getter;
@@ -16,10 +18,14 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 public class SaleCommandHandler {
+    private static final String PROCESS_SALE = "ProcessSaleCommand";
+
     private final SaleRepository saleRepository;
     private final ProductRepository productRepository;
     private final EventStore eventStore;
@@ -28,15 +34,18 @@ public class SaleCommandHandler {
 
     @Transactional
     public void handle(ProcessSaleCommand command) {
+        CommandStageEvent.timeCommit(PROCESS_SALE);
+
         // Lock product for update
+        CommandStageEvent stage = CommandStageEvent.start(PROCESS_SALE, Stage.LOCK_WAIT);
         Product product = productRepository.findByIdWithLock(command.getProductId());
+        stage.finish();
         if (product == null) {
             throw new RuntimeException("Product not found");
         }
 
         // Check inventory
-        int availableQuantity = product.getQuantity() - product.getReservedQuantity();
-        if (availableQuantity < command.getQuantity()) {
+        if (!product.hasAvailable(command.getQuantity())) {
             throw new RuntimeException("Insufficient inventory");
         }
 
@@ -49,11 +58,17 @@ public class SaleCommandHandler {
                 SaleStatus.CONFIRMED
         );
 
-        Sale savedSale = saleRepository.save(sale);
+        // Flushed so the insert is timed here rather than with the product update
+        stage = CommandStageEvent.start(PROCESS_SALE, Stage.SALE_INSERT);
+        Sale savedSale = saleRepository.saveAndFlush(sale);
+        stage.finish();
 
         // Update product inventory
         product.setQuantity(product.getQuantity() - command.getQuantity());
-        productRepository.save(product);
+        // Flushed so the event carries the row version it produced
+        stage = CommandStageEvent.start(PROCESS_SALE, Stage.SAVE);
+        productRepository.saveAndFlush(product);
+        stage.finish();
 
         // Create events
         SaleEvent saleEvent = new SaleEvent(
@@ -61,7 +76,10 @@ public class SaleCommandHandler {
                 command.getProductId(),
                 command.getQuantity(),
                 command.getUnitPrice(),
-                savedSale.getTotalAmount()
+                savedSale.getTotalAmount(),
+                product.getCategory(),
+                savedSale.getSaleDate(),
+                command.getCustomerId()
         );
 
         InventoryEvent event = new InventoryEvent(
@@ -71,9 +89,6 @@ public class SaleCommandHandler {
                 1L
         );
 
-        eventStore.saveEvent(event);
-        kafkaTemplate.send("sale-events", event);
-
         // Send inventory update event
         InventoryEvent inventoryEvent = new InventoryEvent(
                 "InventoryReduced",
@@ -81,13 +96,20 @@ public class SaleCommandHandler {
                 new ProductCommandHandler.QuantityUpdateEvent(
                         product.getId(),
                         product.getQuantity() + command.getQuantity(),
-                        product.getQuantity()
+                        product.getQuantity(),
+                        product.getVersion()
                 ),
                 product.getVersion()
         );
 
-        eventStore.saveEvent(inventoryEvent);
+        stage = CommandStageEvent.start(PROCESS_SALE, Stage.EVENT_APPEND);
+        eventStore.saveEvents(List.of(event, inventoryEvent));
+        stage.finish();
+
+        stage = CommandStageEvent.start(PROCESS_SALE, Stage.PUBLISH);
+        kafkaTemplate.send("sale-events", event);
         kafkaTemplate.send("inventory-updates", inventoryEvent);
+        stage.finish();
     }
 
     @Setter
@@ -99,13 +121,20 @@ public class SaleCommandHandler {
         private int quantity;
         private BigDecimal unitPrice;
         private BigDecimal totalAmount;
+        private String category;
+        private LocalDateTime saleDate;
+        private String customerId;
 
-        public SaleEvent(Long saleId, Long productId, int quantity, BigDecimal unitPrice, BigDecimal totalAmount) {
+        public SaleEvent(Long saleId, Long productId, int quantity, BigDecimal unitPrice, BigDecimal totalAmount,
+                         String category, LocalDateTime saleDate, String customerId) {
             this.saleId = saleId;
             this.productId = productId;
             this.quantity = quantity;
             this.unitPrice = unitPrice;
             this.totalAmount = totalAmount;
+            this.category = category;
+            this.saleDate = saleDate;
+            this.customerId = customerId;
         }
 
     }
@@ -1,15 +1,29 @@
 package kg.akyl.java.inventory.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
 
+/**
+ * Executors for the command and query paths.
+ * With {@code spring.threads.virtual.enabled} every task gets its own virtual thread; concurrency is then
+ * bounded per downstream resource by the bulkheads around the data sources and Redis, not by pool sizes.
+ */
 @Configuration
 public class CqrsConfig {
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
     @Bean(name = "commandExecutor")
     public Executor commandExecutor() {
+        if (virtualThreads) {
+            return virtualThreadExecutor("Command-");
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(10);
         executor.setMaxPoolSize(50);
@@ -22,6 +36,9 @@ public class CqrsConfig {
 
     @Bean(name = "queryExecutor")
     public Executor queryExecutor() {
+        if (virtualThreads) {
+            return virtualThreadExecutor("Query-");
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(20);
         executor.setMaxPoolSize(100);
@@ -31,4 +48,28 @@ public class CqrsConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Bulk ingest threads. No queue: a stream parser that waited in a queue behind its own consumer
+     * would never start, so excess work is rejected instead.
+     */
+    @Bean(name = "bulkExecutor")
+    public AsyncTaskExecutor bulkExecutor() {
+        if (virtualThreads) {
+            return virtualThreadExecutor("Bulk-");
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(32);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("Bulk-");
+        executor.initialize();
+        return executor;
+    }
+
+    private static SimpleAsyncTaskExecutor virtualThreadExecutor(String threadNamePrefix) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        return executor;
+    }
 }
@@ -2,6 +2,9 @@ package kg.akyl.java.inventory.config;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import kg.akyl.java.inventory.infra.concurrency.BulkheadDataSource;
+import kg.akyl.java.inventory.infra.concurrency.BulkheadRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -26,6 +29,15 @@ public class DatabaseConfig {
     @Value("${spring.datasource.password}")
     private String password;
 
+    @Value("${inventory.concurrency.db-write-permits:50}")
+    private int writePermits;
+
+    @Value("${inventory.concurrency.db-read-permits:30}")
+    private int readPermits;
+
+    @Autowired
+    private BulkheadRegistry bulkheads;
+
     @Bean
     @Primary
     public DataSource writeDataSource() {
@@ -47,9 +59,10 @@ public class DatabaseConfig {
         config.addDataSourceProperty("prepStmtCacheSize", "250");
         config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
         config.addDataSourceProperty("useServerPrepStmts", "true");
-        config.addDataSourceProperty("rewriteBatchedStatements", "true");
+        // Lets the driver send a batch of inserts as multi-row INSERT statements
+        config.addDataSourceProperty("reWriteBatchedInserts", "true");
 
-        return new HikariDataSource(config);
+        return limit(new HikariDataSource(config), "db-write", writePermits);
     }
 
     @Bean
@@ -64,7 +77,7 @@ public class DatabaseConfig {
         config.setMinimumIdle(5);
         config.setReadOnly(true);
 
-        return new HikariDataSource(config);
+        return limit(new HikariDataSource(config), "db-read", readPermits);
     }
 
     @Bean
@@ -76,4 +89,8 @@ public class DatabaseConfig {
     public JdbcTemplate readJdbcTemplate() {
         return new JdbcTemplate(readDataSource());
     }
+
+    private DataSource limit(DataSource dataSource, String name, int permits) {
+        return bulkheads.isEnabled() ? new BulkheadDataSource(dataSource, bulkheads.create(name, permits)) : dataSource;
+    }
 }
@@ -1,5 +1,8 @@
 package kg.akyl.java.inventory.config;
 
+import kg.akyl.java.inventory.infra.metrics.OperationMetrics;
+import kg.akyl.java.inventory.infra.metrics.TimedKafkaTemplate;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -10,17 +13,31 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.*;
 import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.backoff.FixedBackOff;
 
 import java.util.HashMap;
 import java.util.Map;
 
 @Configuration
+@Slf4j
 public class KafkaConfig {
+    /**
+     * Container factory of the listeners that feed this instance's in-memory views
+     */
+    public static final String VIEW_LISTENER_FACTORY = "viewListenerContainerFactory";
+
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    @Value("${inventory.messaging.view-event-retries:3}")
+    private long viewEventRetries;
+
+    @Value("${inventory.messaging.view-event-retry-interval-ms:1000}")
+    private long viewEventRetryIntervalMs;
+
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
@@ -39,8 +56,8 @@ public class KafkaConfig {
     }
 
     @Bean
-    public KafkaTemplate<String, Object> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+    public KafkaTemplate<String, Object> kafkaTemplate(OperationMetrics operationMetrics) {
+        return new TimedKafkaTemplate<>(producerFactory(), operationMetrics);
     }
 
     @Bean
@@ -68,4 +85,30 @@ public class KafkaConfig {
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
         return factory;
     }
+
+    /**
+     * Listeners of the per-instance views need every event, so each instance consumes under its own group,
+     * suffixed with {@code inventory.messaging.instance-id}. The views load from the database on start and only
+     * need the events from then on, so these groups never commit offsets: there is nothing for a restarted
+     * instance to resume, and the broker forgets a group once its instance is gone.
+     * <p>
+     * A failed event is retried {@code view-event-retries} times before it is logged and skipped.
+     */
+    @Bean(VIEW_LISTENER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<String, Object> viewListenerContainerFactory() {
+        Map<String, Object> props = new HashMap<>(consumerFactory().getConfigurationProperties());
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
+        factory.setConcurrency(5);
+        // Listeners never acknowledge, so nothing is committed
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(
+                (record, e) -> log.error("Skipping {}-{}@{} after {} retries: {}", record.topic(), record.partition(),
+                        record.offset(), viewEventRetries, e.getMessage(), e),
+                new FixedBackOff(viewEventRetryIntervalMs, viewEventRetries)));
+        return factory;
+    }
 }
@@ -1,5 +1,12 @@
 package kg.akyl.java.inventory.config;
 
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import kg.akyl.java.inventory.infra.concurrency.BulkheadRedisConnectionFactory;
+import kg.akyl.java.inventory.infra.concurrency.BulkheadRegistry;
+import kg.akyl.java.inventory.infra.metrics.OperationMetrics;
+import kg.akyl.java.inventory.infra.metrics.TimedCacheManager;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
@@ -29,6 +36,20 @@ public class RedisConfig {
     @Value("${spring.data.redis.password}")
     private String redisPassword;
 
+    @Value("${inventory.concurrency.redis-permits:64}")
+    private int redisPermits;
+
+    @Value("${inventory.rollups.analytics-cache-ttl:30s}")
+    private Duration salesAnalyticsTtl;
+
+    @Autowired
+    private BulkheadRegistry bulkheads;
+
+    @Autowired
+    private OperationMetrics operationMetrics;
+
+    private RedisConnectionFactory limitedConnectionFactory;
+
     @Bean
     public RedisConnectionFactory redisConnectionFactory() {
         RedisStandaloneConfiguration config = new RedisStandaloneConfiguration();
@@ -46,14 +67,35 @@ public class RedisConfig {
         return new LettuceConnectionFactory(config);
     }
 
+    /**
+     * Connection factory for the template and cache manager; bounded when concurrency limits are on
+     */
+    private synchronized RedisConnectionFactory limitedConnectionFactory() {
+        if (limitedConnectionFactory == null) {
+            limitedConnectionFactory = bulkheads.isEnabled()
+                    ? new BulkheadRedisConnectionFactory(redisConnectionFactory(), bulkheads.create("redis", redisPermits))
+                    : redisConnectionFactory();
+        }
+        return limitedConnectionFactory;
+    }
+
+    /**
+     * JSON with type information for cached values; the default mapper cannot write {@code java.time} fields
+     */
+    public static GenericJackson2JsonRedisSerializer valueSerializer() {
+        return new GenericJackson2JsonRedisSerializer().configure(mapper -> mapper
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+    }
+
     @Bean
     public RedisTemplate<String, Object> redisTemplate() {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
-        template.setConnectionFactory(redisConnectionFactory());
+        template.setConnectionFactory(limitedConnectionFactory());
         template.setKeySerializer(new StringRedisSerializer());
-        template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
+        template.setValueSerializer(valueSerializer());
         template.setHashKeySerializer(new StringRedisSerializer());
-        template.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
+        template.setHashValueSerializer(valueSerializer());
         return template;
     }
 
@@ -64,10 +106,15 @@ public class RedisConfig {
                 .serializeKeysWith(org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair
                         .fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair
-                        .fromSerializer(new GenericJackson2JsonRedisSerializer()));
+                        .fromSerializer(valueSerializer()));
 
-        return RedisCacheManager.builder(redisConnectionFactory())
+        RedisCacheManager cacheManager = RedisCacheManager.builder(limitedConnectionFactory())
                 .cacheDefaults(config)
+                // Sales keep arriving for ranges that include today, so these expire instead of being evicted
+                .withCacheConfiguration("sales-analytics", config.entryTtl(salesAnalyticsTtl))
                 .build();
+        // Not a bean itself once wrapped, so it is initialised here
+        cacheManager.afterPropertiesSet();
+        return new TimedCacheManager(cacheManager, operationMetrics);
     }
 }
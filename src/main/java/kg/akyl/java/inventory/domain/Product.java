@@ -100,4 +100,11 @@ public class Product {
         this.category = category;
         this.status = status;
     }
+
+    /**
+     * Whether {@code requested} units are on hand beyond what is already reserved
+     */
+    public boolean hasAvailable(int requested) {
+        return quantity - reservedQuantity >= requested;
+    }
 }
@@ -7,6 +7,8 @@ import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 
 @Entity
 @Table(name = "supply_chain_transactions", indexes = {
@@ -23,7 +25,8 @@ import java.time.LocalDateTime;
 @Builder
 public class SupplyChainTransaction {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "supply_chain_transaction_seq")
+    @SequenceGenerator(name = "supply_chain_transaction_seq", sequenceName = "supply_chain_transaction_sequence", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Transaction number is required")
@@ -129,7 +132,27 @@ public class SupplyChainTransaction {
         IN_TRANSIT,
         DELIVERED,
         CANCELLED,
-        REFUNDED
+        REFUNDED;
+
+        /**
+         * Whether a transaction in this status may move to {@code next}
+         */
+        public boolean canTransitionTo(TransactionStatus next) {
+            return switch (this) {
+                case PENDING -> next == CONFIRMED || next == CANCELLED;
+                case CONFIRMED -> next == IN_TRANSIT || next == DELIVERED || next == CANCELLED;
+                case IN_TRANSIT -> next == DELIVERED;
+                case DELIVERED -> next == REFUNDED;
+                case CANCELLED, REFUNDED -> false;
+            };
+        }
+
+        /**
+         * Every status a transaction may move to {@code next} from
+         */
+        public static List<TransactionStatus> sourcesOf(TransactionStatus next) {
+            return Arrays.stream(values()).filter(status -> status.canTransitionTo(next)).toList();
+        }
     }
 
     /**
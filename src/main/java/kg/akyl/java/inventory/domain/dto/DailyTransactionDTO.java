@@ -0,0 +1,18 @@
+package kg.akyl.java.inventory.domain.dto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyTransactionDTO {
+    private LocalDateTime date;
+    private Long transactionCount;
+    private BigDecimal totalValue;
+}
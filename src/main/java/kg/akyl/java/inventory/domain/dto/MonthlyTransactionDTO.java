@@ -0,0 +1,18 @@
+package kg.akyl.java.inventory.domain.dto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MonthlyTransactionDTO {
+    private String month; // YYYY-MM
+    private Long transactionCount;
+    private BigDecimal totalValue;
+    private Double averageValue;
+}
@@ -0,0 +1,25 @@
+package kg.akyl.java.inventory.domain.dto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Network Edge representing supplier connection
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NetworkEdgeDTO {
+    private Long fromId;
+    private Long toId;
+    private String fromName;
+    private String toName;
+    private Integer transactionCount;
+    private BigDecimal totalValue;
+    private BigDecimal averageValue;
+    private Double averageLeadTime; // days, delivered transactions only
+}
@@ -0,0 +1,28 @@
+package kg.akyl.java.inventory.domain.dto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Network Node representing a supplier
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NetworkNodeDTO {
+    private Long id;
+    private String name;
+    private String code;
+    private String type;
+    private String status;
+    private BigDecimal rating;
+    private Integer outgoingTransactions;
+    private Integer incomingTransactions;
+    private BigDecimal totalVolume;
+    private String city;
+    private String country;
+}
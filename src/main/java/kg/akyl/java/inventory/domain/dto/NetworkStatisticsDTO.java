@@ -0,0 +1,31 @@
+package kg.akyl.java.inventory.domain.dto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Network Statistics
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NetworkStatisticsDTO {
+    private Integer totalSuppliers;
+    private Integer totalConnections;
+    private Integer totalTransactions;
+    private BigDecimal totalVolume;
+    private BigDecimal averageTransactionValue;
+    private Integer activeSuppliers;
+    private Integer isolatedSuppliers;
+    private Double networkDensity; // percentage
+    private Double averageConnectionsPerSupplier;
+    private Double criticalPathLength; // most hops from one supplier to another it reaches
+    private Double averagePathLength; // average hops
+    private Integer connectedComponents;
+    private Integer largestComponentSize;
+    private Integer pathLengthSources; // BFS sources behind the path lengths; all connected suppliers when exact
+}
@@ -0,0 +1,20 @@
+package kg.akyl.java.inventory.domain.dto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductTransactionDTO {
+    private Long productId;
+    private String productSku;
+    private String productName;
+    private Integer totalQuantity;
+    private BigDecimal totalValue;
+    private Integer transactionCount;
+}
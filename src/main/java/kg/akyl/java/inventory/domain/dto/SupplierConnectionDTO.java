@@ -0,0 +1,21 @@
+package kg.akyl.java.inventory.domain.dto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SupplierConnectionDTO {
+    private Long fromSupplierId;
+    private String fromSupplierName;
+    private Long toSupplierId;
+    private String toSupplierName;
+    private Integer transactionCount;
+    private BigDecimal totalValue;
+    private Double averageValue;
+}
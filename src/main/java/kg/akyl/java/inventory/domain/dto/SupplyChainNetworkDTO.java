@@ -4,7 +4,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 /**
@@ -19,62 +18,3 @@ public class SupplyChainNetworkDTO {
     private List<NetworkEdgeDTO> edges;
     private NetworkStatisticsDTO statistics;
 }
-
-/**
- * Network Node representing a supplier
- */
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-@Builder
-class NetworkNodeDTO {
-    private Long id;
-    private String name;
-    private String code;
-    private String type;
-    private String status;
-    private BigDecimal rating;
-    private Integer outgoingTransactions;
-    private Integer incomingTransactions;
-    private BigDecimal totalVolume;
-    private String city;
-    private String country;
-}
-
-/**
- * Network Edge representing supplier connection
- */
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-@Builder
-class NetworkEdgeDTO {
-    private Long fromId;
-    private Long toId;
-    private String fromName;
-    private String toName;
-    private Integer transactionCount;
-    private BigDecimal totalValue;
-    private BigDecimal averageValue;
-    private Double averageLeadTime;
-}
-
-/**
- * Network Statistics
- */
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-@Builder
-class NetworkStatisticsDTO {
-    private Integer totalSuppliers;
-    private Integer totalConnections;
-    private Integer totalTransactions;
-    private BigDecimal totalVolume;
-    private BigDecimal averageTransactionValue;
-    private Integer activeSuppliers;
-    private Integer isolatedSuppliers;
-    private Double networkDensity; // percentage
-    private Double averageConnectionsPerSupplier;
-    private Double criticalPathLength; // average hops
-}
\ No newline at end of file
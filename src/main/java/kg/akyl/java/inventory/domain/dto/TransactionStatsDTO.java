@@ -5,7 +5,6 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -49,51 +48,3 @@ public class TransactionStatsDTO {
     private List<SupplierConnectionDTO> topSupplierConnections;
     private List<ProductTransactionDTO> topTransactedProducts;
 }
-
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-@Builder
-class MonthlyTransactionDTO {
-    private String month; // YYYY-MM
-    private Long transactionCount;
-    private BigDecimal totalValue;
-    private Double averageValue;
-}
-
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-@Builder
-class DailyTransactionDTO {
-    private LocalDateTime date;
-    private Long transactionCount;
-    private BigDecimal totalValue;
-}
-
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-@Builder
-class SupplierConnectionDTO {
-    private Long fromSupplierId;
-    private String fromSupplierName;
-    private Long toSupplierId;
-    private String toSupplierName;
-    private Integer transactionCount;
-    private BigDecimal totalValue;
-    private Double averageValue;
-}
-
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-@Builder
-class ProductTransactionDTO {
-    private Long productId;
-    private String productSku;
-    private String productName;
-    private Integer totalQuantity;
-    private BigDecimal totalValue;
-    private Integer transactionCount;
-}
\ No newline at end of file
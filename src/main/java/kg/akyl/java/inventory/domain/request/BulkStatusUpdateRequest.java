@@ -0,0 +1,26 @@
+package kg.akyl.java.inventory.domain.request;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for moving many transactions to the same status
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkStatusUpdateRequest {
+    @NotEmpty(message = "Transaction IDs are required")
+    @Size(max = 10000, message = "At most 10000 transactions per request")
+    private List<Long> transactionIds;
+
+    @NotNull(message = "Status is required")
+    private String status; // CONFIRMED, IN_TRANSIT, DELIVERED, CANCELLED, REFUNDED
+}
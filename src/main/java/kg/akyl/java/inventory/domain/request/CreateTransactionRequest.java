@@ -16,6 +16,9 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 public class CreateTransactionRequest {
+    @Size(max = 50)
+    private String transactionNumber; // Generated when missing; required for bulk ingest
+
     @NotNull(message = "From supplier is required")
     private Long fromSupplierId;
 
@@ -0,0 +1,20 @@
+package kg.akyl.java.inventory.domain.response;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a bulk status transition. Transactions that do not exist or cannot move to the
+ * target status are skipped rather than failing the request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkStatusUpdateResponse {
+    private String status;
+    private int requested;
+    private int updated;
+    private int skipped;
+}
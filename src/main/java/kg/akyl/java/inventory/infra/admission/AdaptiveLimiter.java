@@ -0,0 +1,101 @@
+package kg.akyl.java.inventory.infra.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gradient-style adaptive concurrency limit.
+ * <p>
+ * Keeps a slow-moving average of request latency as the baseline and a fast one as the current sample.
+ * While current latency stays near the baseline the limit grows by roughly {@code sqrt(limit)}; once requests
+ * start queueing somewhere downstream (DB pool, Redis) latency rises, the gradient {@code baseline / current}
+ * drops below one and the limit shrinks proportionally. Dropped requests cut the limit multiplicatively.
+ * The limit does not grow while fewer than half of the permits are in use, so idle periods do not inflate it.
+ */
+public class AdaptiveLimiter {
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double BASELINE_WEIGHT = 0.002;
+    private static final double SAMPLE_WEIGHT = 0.1;
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile double limit;
+    private double baselineNanos;
+    private double sampleNanos;
+
+    public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Take a slot; false when the class is at its limit
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Return a slot and feed the request's latency into the limit
+     */
+    public void release(long latencyNanos, boolean dropped) {
+        int inflightAtRelease = inflight.getAndDecrement();
+        lock.lock();
+        try {
+            if (dropped) {
+                limit = Math.max(minLimit, limit * DROP_BACKOFF);
+                return;
+            }
+            if (baselineNanos == 0) {
+                baselineNanos = latencyNanos;
+                sampleNanos = latencyNanos;
+                return;
+            }
+            sampleNanos += (latencyNanos - sampleNanos) * SAMPLE_WEIGHT;
+            baselineNanos += (latencyNanos - baselineNanos) * BASELINE_WEIGHT;
+            // Let the baseline recover when latency improves for good
+            if (baselineNanos > sampleNanos) {
+                baselineNanos = sampleNanos;
+            }
+
+            if (inflightAtRelease * 2 < limit) {
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * baselineNanos / sampleNanos));
+            double target = limit * gradient + Math.sqrt(limit);
+            double next = limit * (1 - SMOOTHING) + target * SMOOTHING;
+            limit = Math.max(minLimit, Math.min(maxLimit, next));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    /**
+     * Share of the limit currently in use
+     */
+    public double getUtilization() {
+        return inflight.get() / Math.max(1.0, limit);
+    }
+}
@@ -0,0 +1,151 @@
+package kg.akyl.java.inventory.infra.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admission control for {@code /api/**}. Each {@link EndpointClass} has its own {@link AdaptiveLimiter};
+ * a request over its class limit is rejected immediately with 503 and {@code Retry-After} instead of queueing
+ * for a database connection. Analytics and bulk requests are also shed while commands (sales, reservations,
+ * stock updates) are using most of their limit, so the write path keeps its capacity under overload.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    private final Map<EndpointClass, AdaptiveLimiter> limiters = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> limitRejections = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> priorityRejections = new EnumMap<>(EndpointClass.class);
+
+    @Value("${inventory.admission.enabled:true}")
+    private boolean enabled;
+
+    @Value("${inventory.admission.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    @Value("${inventory.admission.priority-threshold:0.8}")
+    private double priorityThreshold;
+
+    public AdmissionControlFilter(Environment environment, MeterRegistry meterRegistry) {
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            String prefix = "inventory.admission." + endpointClass.name().toLowerCase() + ".";
+            AdaptiveLimiter limiter = new AdaptiveLimiter(
+                    environment.getProperty(prefix + "initial-limit", Integer.class, endpointClass.getInitialLimit()),
+                    environment.getProperty(prefix + "min-limit", Integer.class, endpointClass.getMinLimit()),
+                    environment.getProperty(prefix + "max-limit", Integer.class, endpointClass.getMaxLimit()));
+            limiters.put(endpointClass, limiter);
+
+            String tag = endpointClass.name().toLowerCase();
+            Gauge.builder("inventory.admission.limit", limiter, AdaptiveLimiter::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            Gauge.builder("inventory.admission.inflight", limiter, AdaptiveLimiter::getInflight)
+                    .description("Requests currently admitted")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            limitRejections.put(endpointClass, Counter.builder("inventory.admission.rejected")
+                    .description("Requests shed by admission control")
+                    .tags("class", tag, "reason", "limit")
+                    .register(meterRegistry));
+            priorityRejections.put(endpointClass, Counter.builder("inventory.admission.rejected")
+                    .description("Requests shed by admission control")
+                    .tags("class", tag, "reason", "priority")
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/") || request.getRequestURI().equals("/api/health");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = EndpointClass.of(request);
+        AdaptiveLimiter limiter = limiters.get(endpointClass);
+
+        if (endpointClass.isLowPriority()
+                && limiters.get(EndpointClass.COMMAND).getUtilization() >= priorityThreshold) {
+            priorityRejections.get(endpointClass).increment();
+            reject(response, endpointClass);
+            return;
+        }
+        if (!limiter.tryAcquire()) {
+            limitRejections.get(endpointClass).increment();
+            reject(response, endpointClass);
+            return;
+        }
+
+        long started = System.nanoTime();
+        AtomicBoolean released = new AtomicBoolean();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // CompletableFuture endpoints finish after this thread returns
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        release(limiter, released, started, response.getStatus() >= 500);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                        release(limiter, released, started, true);
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                        release(limiter, released, started, true);
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                release(limiter, released, started, response.getStatus() >= 500);
+            }
+        }
+    }
+
+    public Map<EndpointClass, AdaptiveLimiter> getLimiters() {
+        return limiters;
+    }
+
+    private void release(AdaptiveLimiter limiter, AtomicBoolean released, long started, boolean dropped) {
+        if (released.compareAndSet(false, true)) {
+            limiter.release(System.nanoTime() - started, dropped);
+        }
+    }
+
+    private void reject(HttpServletResponse response, EndpointClass endpointClass) throws IOException {
+        log.debug("Shedding {} request, limit {}", endpointClass, limiters.get(endpointClass).getLimit());
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("application/json");
+        response.getWriter().write("{\"error\":\"Server is overloaded, retry later\"}");
+    }
+}
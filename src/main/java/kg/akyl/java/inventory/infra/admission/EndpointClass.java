@@ -0,0 +1,58 @@
+package kg.akyl.java.inventory.infra.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Endpoint classes with their own concurrency limit. Defaults are starting points; each limit adapts at runtime.
+ */
+public enum EndpointClass {
+    COMMAND(20, 4, 200),
+    QUERY(50, 8, 400),
+    ANALYTICS(8, 1, 40),
+    BULK(4, 1, 16);
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+
+    EndpointClass(int initialLimit, int minLimit, int maxLimit) {
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    /**
+     * Whether this class is shed first while commands are close to their limit
+     */
+    public boolean isLowPriority() {
+        return this == ANALYTICS || this == BULK;
+    }
+
+    public static EndpointClass of(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        boolean read = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+        // Bulk job status polls are cheap lookups; result downloads stay bulk
+        if (read && path.startsWith("/api/bulk/jobs/") && !path.endsWith("/results")) {
+            return QUERY;
+        }
+        if (path.startsWith("/api/bulk/") || path.startsWith("/api/export/")) {
+            return BULK;
+        }
+        if (path.startsWith("/api/analytics/") || path.contains("/statistics") || path.contains("/stats")) {
+            return ANALYTICS;
+        }
+        return read ? QUERY : COMMAND;
+    }
+}
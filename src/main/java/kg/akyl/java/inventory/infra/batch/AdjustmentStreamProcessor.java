@@ -0,0 +1,179 @@
+package kg.akyl.java.inventory.infra.batch;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies an NDJSON stream of inventory adjustments and writes one NDJSON result per input line.
+ * <p>
+ * A parser task reads the input line by line and hands fixed-size chunks to the caller through a small
+ * bounded queue; the caller applies each chunk with {@link BatchInventoryProcessor#applyAdjustments} and
+ * writes its results before taking the next one. When the database falls behind the queue fills up, the
+ * parser stops reading and the client's upload is throttled by TCP, so memory stays bounded by
+ * queue capacity times chunk size.
+ */
+@Component
+@Slf4j
+public class AdjustmentStreamProcessor {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final List<Line> END = List.of();
+    private static final long POLL_MILLIS = 200;
+
+    @Autowired
+    private BatchInventoryProcessor batchProcessor;
+
+    @Autowired
+    @Qualifier("bulkExecutor")
+    private AsyncTaskExecutor bulkExecutor;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${inventory.batch.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${inventory.bulk.queue-capacity:4}")
+    private int queueCapacity;
+
+    public void process(InputStream in, OutputStream out, BulkJob progress) throws IOException {
+        BlockingQueue<List<Line>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        ObjectReader reader = objectMapper.readerFor(AdjustmentLine.class);
+        Future<?> parser = bulkExecutor.submit(() -> {
+            parse(in, reader, queue);
+            return null;
+        });
+
+        JsonGenerator json = JSON_FACTORY.createGenerator(
+                new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE));
+        json.setRootValueSeparator(null);
+        try {
+            while (true) {
+                List<Line> chunk = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (chunk == END || chunk == null && parser.isDone() && queue.isEmpty()) {
+                    break;
+                }
+                if (chunk != null) {
+                    writeResults(chunk, apply(chunk), json, progress);
+                    json.flush();
+                }
+            }
+            // Surface a read failure that ended the stream early
+            parser.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while processing adjustments");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        } finally {
+            // Stops the parser if we bail out early, e.g. because the client stopped reading
+            parser.cancel(true);
+            json.flush();
+        }
+    }
+
+    private void parse(InputStream in, ObjectReader reader, BlockingQueue<List<Line>> queue) throws Exception {
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            List<Line> chunk = new ArrayList<>(chunkSize);
+            long number = 0;
+            String text;
+            while ((text = lines.readLine()) != null) {
+                number++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    AdjustmentLine value = reader.readValue(text);
+                    String error = null;
+                    if (value.productId() == null) {
+                        error = "Product id is required";
+                    } else if (value.newQuantity() == null || value.newQuantity() < 0) {
+                        error = "Quantity must be zero or positive";
+                    }
+                    chunk.add(new Line(number, value, error));
+                } catch (JsonProcessingException e) {
+                    chunk.add(new Line(number, null, "Malformed JSON: " + e.getOriginalMessage()));
+                }
+                if (chunk.size() == chunkSize) {
+                    queue.put(chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                queue.put(chunk);
+            }
+        } finally {
+            // Never blocks: when the queue is full the consumer sees the parser is done once it drains it
+            queue.offer(END);
+        }
+    }
+
+    private BatchInventoryProcessor.BatchResult apply(List<Line> chunk) {
+        List<BatchInventoryProcessor.InventoryAdjustment> adjustments = new ArrayList<>(chunk.size());
+        for (Line line : chunk) {
+            if (line.error() == null) {
+                AdjustmentLine value = line.value();
+                adjustments.add(new BatchInventoryProcessor.InventoryAdjustment(
+                        value.productId(), value.newQuantity(), value.reason()));
+            }
+        }
+        return batchProcessor.applyAdjustments(adjustments);
+    }
+
+    private void writeResults(List<Line> chunk, BatchInventoryProcessor.BatchResult result, JsonGenerator json,
+                              BulkJob progress) throws IOException {
+        // Only valid lines were applied, so failure indexes count valid lines in order
+        String[] failures = new String[chunk.size()];
+        for (BatchInventoryProcessor.Failure failure : result.getFailures()) {
+            failures[failure.index()] = failure.error();
+        }
+        long succeeded = 0;
+        long failed = 0;
+        int applied = 0;
+        for (Line line : chunk) {
+            Long productId = line.value() != null ? line.value().productId() : null;
+            String error = line.error() != null ? line.error() : failures[applied++];
+
+            json.writeStartObject();
+            json.writeNumberField("line", line.number());
+            if (productId != null) {
+                json.writeNumberField("productId", productId);
+            }
+            json.writeStringField("status", error == null ? "SUCCESS" : "FAILED");
+            if (error != null) {
+                json.writeStringField("error", error);
+                failed++;
+            } else {
+                succeeded++;
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+        progress.addLines(succeeded, failed);
+    }
+
+    record AdjustmentLine(Long productId, Integer newQuantity, String reason) {
+    }
+
+    record Line(long number, AdjustmentLine value, String error) {
+    }
+}
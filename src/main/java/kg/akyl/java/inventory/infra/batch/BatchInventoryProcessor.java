@@ -2,89 +2,220 @@ package kg.akyl.java.inventory.infra.batch;
 
 import kg.akyl.java.inventory.command.commands.UpdateProductQuantityCommand;
 import kg.akyl.java.inventory.command.handlers.ProductCommandHandler;
-import kg.akyl.java.inventory.infra.locking.DistributedLockManager;
+import kg.akyl.java.inventory.domain.InventoryEvent;
+import kg.akyl.java.inventory.infra.events.EventStore;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
+import java.util.concurrent.Executor;
 
+/**
+ * Applies quantity changes to many products at once.
+ * <p>
+ * Adjustments are processed in chunks. Each chunk is one transaction: a single {@code UPDATE ... FROM unnest(...)}
+ * that locks the affected rows in id order, one batched insert of a {@code ProductQuantityUpdated} event per product,
+ * and after commit a single {@code ProductQuantityBatchUpdated} message for the whole chunk. Several adjustments
+ * for the same product within a chunk collapse into the last one, as if they had been applied in order.
+ */
 @Component
 @Slf4j
 public class BatchInventoryProcessor {
+    private static final String UPDATE_QUANTITIES = """
+            WITH changes AS (
+                SELECT * FROM unnest(?::bigint[], ?::int[]) AS c(id, new_quantity)
+            ), locked AS (
+                SELECT p.id, p.quantity AS old_quantity
+                FROM products p JOIN changes c ON c.id = p.id
+                ORDER BY p.id
+                FOR UPDATE OF p
+            )
+            UPDATE products p
+            SET quantity = c.new_quantity,
+                version = p.version + 1,
+                updated_at = now()
+            FROM changes c JOIN locked l ON l.id = c.id
+            WHERE p.id = c.id
+            RETURNING p.id, l.old_quantity, p.quantity AS new_quantity, p.version
+            """;
+
     @Autowired
-    private ProductCommandHandler productCommandHandler;
+    @Qualifier("writeJdbcTemplate")
+    private JdbcTemplate writeJdbcTemplate;
 
     @Autowired
-    private DistributedLockManager lockManager;
-
-    @Async("commandExecutor")
-    public CompletableFuture<Void> processBatchQuantityUpdates(List<UpdateProductQuantityCommand> commands) {
-        return CompletableFuture.runAsync(() -> {
-            // Group commands by product ID to avoid conflicts
-            Map<Long, List<UpdateProductQuantityCommand>> groupedCommands = commands.stream()
-                    .collect(Collectors.groupingBy(UpdateProductQuantityCommand::getProductId));
-
-            groupedCommands.forEach((productId, productCommands) -> {
-                String lockKey = "product:" + productId;
-
-                try {
-                    lockManager.executeWithLock(lockKey, () -> {
-                        // Process all commands for this product sequentially
-                        for (UpdateProductQuantityCommand command : productCommands) {
-                            try {
-                                productCommandHandler.handle(command);
-                            } catch (Exception e) {
-                                log.error("Error processing batch command for product {}: {}",
-                                        productId, e.getMessage(), e);
-                            }
-                        }
-                    });
-                } catch (Exception e) {
-                    log.error("Could not acquire lock for product {}: {}", productId, e.getMessage());
-                }
-            });
-
-            log.info("Completed batch processing of {} quantity updates", commands.size());
-        });
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("commandExecutor")
+    private Executor commandExecutor;
+
+    @Autowired
+    private EventStore eventStore;
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Value("${inventory.batch.chunk-size:1000}")
+    private int chunkSize;
+
+    public CompletableFuture<BatchResult> processBatchQuantityUpdates(List<UpdateProductQuantityCommand> commands) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<InventoryAdjustment> adjustments = new ArrayList<>(commands.size());
+            for (UpdateProductQuantityCommand command : commands) {
+                adjustments.add(new InventoryAdjustment(command.getProductId(), command.getNewQuantity(), null));
+            }
+            BatchResult result = applyAdjustments(adjustments);
+
+            log.info("Completed batch processing of {} quantity updates: {} success, {} failures",
+                    commands.size(), result.getSuccessCount(), result.getFailureCount());
+
+            return result;
+        }, commandExecutor);
     }
 
-    @Async("commandExecutor")
     public CompletableFuture<BatchResult> processBatchInventoryAdjustments(
             List<InventoryAdjustment> adjustments) {
         return CompletableFuture.supplyAsync(() -> {
-            BatchResult result = new BatchResult();
-
-            for (InventoryAdjustment adjustment : adjustments) {
-                try {
-                    String lockKey = "product:" + adjustment.getProductId();
-
-                    lockManager.executeWithLock(lockKey, () -> {
-                        UpdateProductQuantityCommand command = new UpdateProductQuantityCommand(
-                                adjustment.getProductId(),
-                                adjustment.getNewQuantity()
-                        );
-                        productCommandHandler.handle(command);
-                    });
-
-                    result.addSuccess(adjustment.getProductId());
-                } catch (Exception e) {
-                    log.error("Failed to process adjustment for product {}: {}",
-                            adjustment.getProductId(), e.getMessage());
-                    result.addFailure(adjustment.getProductId(), e.getMessage());
-                }
-            }
+            BatchResult result = applyAdjustments(adjustments);
 
             log.info("Batch adjustment completed: {} success, {} failures",
                     result.getSuccessCount(), result.getFailureCount());
 
             return result;
+        }, commandExecutor);
+    }
+
+    /**
+     * Apply adjustments chunk by chunk on the calling thread
+     */
+    public BatchResult applyAdjustments(List<InventoryAdjustment> adjustments) {
+        BatchResult result = new BatchResult();
+        for (int from = 0; from < adjustments.size(); from += chunkSize) {
+            applyChunk(adjustments.subList(from, Math.min(from + chunkSize, adjustments.size())), from, result);
+        }
+        return result;
+    }
+
+    /**
+     * New quantity per product, the last adjustment winning, in request order. Invalid adjustments are
+     * recorded as failures in {@code result}, indexed from {@code offset}, the chunk's position in the request.
+     */
+    public static Map<Long, Integer> latestByProduct(List<InventoryAdjustment> chunk, int offset, BatchResult result) {
+        Map<Long, Integer> latest = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            InventoryAdjustment adjustment = chunk.get(i);
+            String error = validate(adjustment);
+            if (error != null) {
+                result.addFailure(offset + i, adjustment.getProductId(), error);
+            } else {
+                latest.put(adjustment.getProductId(), adjustment.getNewQuantity());
+            }
+        }
+        return latest;
+    }
+
+    private static String validate(InventoryAdjustment adjustment) {
+        if (adjustment.getProductId() == null) {
+            return "Product id is required";
+        }
+        if (adjustment.getNewQuantity() == null || adjustment.getNewQuantity() < 0) {
+            return "Quantity must be zero or positive";
+        }
+        return null;
+    }
+
+    private void applyChunk(List<InventoryAdjustment> chunk, int offset, BatchResult result) {
+        Map<Long, Integer> latest = latestByProduct(chunk, offset, result);
+        if (latest.isEmpty()) {
+            return;
+        }
+
+        Long[] ids = latest.keySet().toArray(new Long[0]);
+        Integer[] quantities = latest.values().toArray(new Integer[0]);
+        List<ProductCommandHandler.QuantityUpdateEvent> updates;
+        try {
+            updates = new TransactionTemplate(transactionManager).execute(status -> update(ids, quantities));
+        } catch (Exception e) {
+            log.error("Failed to apply batch of {} adjustments: {}", ids.length, e.getMessage(), e);
+            failProducts(chunk, offset, latest.keySet(), e.getMessage(), result);
+            return;
+        }
+
+        Set<Long> missing = new HashSet<>(latest.keySet());
+        for (ProductCommandHandler.QuantityUpdateEvent update : updates) {
+            missing.remove(update.getProductId());
+        }
+        for (Long productId : ids) {
+            if (!missing.contains(productId)) {
+                result.addSuccess(productId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            failProducts(chunk, offset, missing, "Product not found", result);
+        }
+
+        if (!updates.isEmpty()) {
+            InventoryEvent batchEvent = new InventoryEvent(
+                    "ProductQuantityBatchUpdated",
+                    UUID.randomUUID().toString(),
+                    new QuantityBatchUpdateEvent(updates),
+                    0L
+            );
+            kafkaTemplate.send("inventory-updates", batchEvent);
+        }
+    }
+
+    // A product-level failure applies to every valid adjustment of that product in the chunk
+    private static void failProducts(List<InventoryAdjustment> chunk, int offset, Set<Long> productIds,
+                                     String error, BatchResult result) {
+        for (int i = 0; i < chunk.size(); i++) {
+            InventoryAdjustment adjustment = chunk.get(i);
+            if (validate(adjustment) == null && productIds.contains(adjustment.getProductId())) {
+                result.addFailure(offset + i, adjustment.getProductId(), error);
+            }
+        }
+    }
+
+    private List<ProductCommandHandler.QuantityUpdateEvent> update(Long[] ids, Integer[] quantities) {
+        List<InventoryEvent> events = new ArrayList<>(ids.length);
+        List<ProductCommandHandler.QuantityUpdateEvent> updates = writeJdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(UPDATE_QUANTITIES);
+            statement.setArray(1, connection.createArrayOf("bigint", ids));
+            statement.setArray(2, connection.createArrayOf("integer", quantities));
+            return statement;
+        }, (rs, rowNum) -> {
+            ProductCommandHandler.QuantityUpdateEvent update = new ProductCommandHandler.QuantityUpdateEvent(
+                    rs.getLong("id"), rs.getInt("old_quantity"), rs.getInt("new_quantity"),
+                    rs.getLong("version"));
+            events.add(new InventoryEvent(
+                    "ProductQuantityUpdated",
+                    String.valueOf(update.getProductId()),
+                    update,
+                    rs.getLong("version")
+            ));
+            return update;
         });
+
+        eventStore.saveEvents(events);
+        return updates;
     }
 
     @Getter
@@ -102,20 +233,39 @@ public class BatchInventoryProcessor {
 
     }
 
+    /**
+     * Successes are per product; failures are per adjustment, with its position in the request, so
+     * adjustments without an id or repeating one are each reported
+     */
     @Getter
     public static class BatchResult {
         private java.util.List<Long> successfulProducts = new java.util.ArrayList<>();
-        private java.util.Map<Long, String> failedProducts = new java.util.HashMap<>();
+        private java.util.List<Failure> failures = new java.util.ArrayList<>();
 
         public void addSuccess(Long productId) {
             successfulProducts.add(productId);
         }
 
-        public void addFailure(Long productId, String error) {
-            failedProducts.put(productId, error);
+        public void addFailure(int index, Long productId, String error) {
+            failures.add(new Failure(index, productId, error));
         }
 
         public int getSuccessCount() { return successfulProducts.size(); }
-        public int getFailureCount() { return failedProducts.size(); }
+        public int getFailureCount() { return failures.size(); }
+    }
+
+    public record Failure(int index, Long productId, String error) {
+    }
+
+    // Event data for a whole chunk, published once instead of one message per product
+    @Setter
+    @Getter
+    public static class QuantityBatchUpdateEvent {
+        private List<ProductCommandHandler.QuantityUpdateEvent> updates;
+
+        public QuantityBatchUpdateEvent(List<ProductCommandHandler.QuantityUpdateEvent> updates) {
+            this.updates = updates;
+        }
+
     }
 }
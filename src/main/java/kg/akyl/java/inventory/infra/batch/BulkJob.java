@@ -0,0 +1,75 @@
+package kg.akyl.java.inventory.infra.batch;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Handle for a bulk upload processed in the background. Counters are updated after every chunk.
+ * <p>
+ * The instance running the job publishes it to Redis, so any instance can report its status; copies read
+ * back from Redis have no local files.
+ */
+@Getter
+public class BulkJob {
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String id = UUID.randomUUID().toString();
+    private final String type;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile long linesRead;
+    private volatile long succeeded;
+    private volatile long failed;
+    private volatile String error;
+
+    @JsonIgnore
+    private final Path input;
+
+    @JsonIgnore
+    private final Path results;
+
+    // For copies read back from Redis
+    private BulkJob() {
+        this(null, null, null);
+    }
+
+    public BulkJob(String type, Path input, Path results) {
+        this.type = type;
+        this.input = input;
+        this.results = results;
+    }
+
+    void start() {
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+
+    void complete() {
+        finishedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    void fail(String message) {
+        error = message;
+        finishedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+
+    void addLines(long succeeded, long failed) {
+        this.linesRead += succeeded + failed;
+        this.succeeded += succeeded;
+        this.failed += failed;
+    }
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+}
@@ -0,0 +1,343 @@
+package kg.akyl.java.inventory.infra.batch;
+
+import kg.akyl.java.inventory.infra.exceptions.UploadTooLargeException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Runs large adjustment uploads in the background. The upload is spooled to a temporary file first, up to
+ * {@code inventory.bulk.max-upload-size}, so the client does not have to stay connected; per-line results go
+ * to a second file that can be fetched when the job is done.
+ * <p>
+ * Status polls and result downloads may land on any instance. The instance running a job publishes it to Redis
+ * on every state change and every few seconds while it runs, and uploads the gzipped results when it finishes.
+ * Results are stored in chunks of at most 1 MB, written before the key holding their count, and only up to
+ * {@code inventory.bulk.max-shared-results-size} gzipped; larger results are served by the instance that ran
+ * the job alone. All keys expire after {@code inventory.bulk.job-retention-minutes}, as do the local job and its
+ * files. While Redis is unavailable a job is only visible on the instance running it.
+ */
+@Component
+@Slf4j
+public class BulkJobManager {
+    private static final String JOB_KEY_PREFIX = "inventory:bulk-job:";
+    private static final String RESULTS_KEY_PREFIX = "inventory:bulk-job-results:";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int RESULTS_CHUNK_SIZE = 1024 * 1024;
+
+    @Autowired
+    private AdjustmentStreamProcessor adjustmentStreamProcessor;
+
+    @Autowired
+    @Qualifier("bulkExecutor")
+    private AsyncTaskExecutor bulkExecutor;
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Value("${inventory.bulk.job-retention-minutes:60}")
+    private long retentionMinutes;
+
+    @Value("${inventory.bulk.max-upload-size:256MB}")
+    private DataSize maxUploadSize;
+
+    @Value("${inventory.bulk.max-shared-results-size:64MB}")
+    private DataSize maxSharedResultsSize;
+
+    private final Map<String, BulkJob> jobs = new ConcurrentHashMap<>();
+
+    public BulkJob submitAdjustments(InputStream upload) throws IOException {
+        Path input = Files.createTempFile("bulk-adjustments-", ".ndjson");
+        Path results = Files.createTempFile("bulk-adjustments-", ".results.ndjson");
+        try {
+            spool(upload, input);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(results);
+            throw e;
+        }
+
+        BulkJob job = new BulkJob("inventory-adjustments", input, results);
+        jobs.put(job.getId(), job);
+        try {
+            bulkExecutor.execute(() -> run(job));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getId());
+            deleteQuietly(input);
+            deleteQuietly(results);
+            throw e;
+        }
+        publish(job);
+        return job;
+    }
+
+    /**
+     * The job if this instance runs it, otherwise the copy last published by the instance that does
+     */
+    public BulkJob getJob(String id) {
+        BulkJob job = jobs.get(id);
+        if (job != null) {
+            return job;
+        }
+        try {
+            return redisTemplate.opsForValue().get(JOB_KEY_PREFIX + id) instanceof BulkJob published ? published : null;
+        } catch (RuntimeException e) {
+            log.warn("Could not read bulk job {} from Redis: {}", id, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Per-line results of a finished job, or null once they have expired
+     */
+    public Resource getResults(BulkJob job) throws IOException {
+        if (job.getResults() != null && Files.exists(job.getResults())) {
+            return new FileSystemResource(job.getResults());
+        }
+        byte[] count;
+        try {
+            count = redisTemplate.execute((RedisCallback<byte[]>) connection ->
+                    connection.stringCommands().get(resultsKey(job.getId())));
+        } catch (RuntimeException e) {
+            log.warn("Could not read results of bulk job {} from Redis: {}", job.getId(), e.getMessage());
+            return null;
+        }
+        if (count == null) {
+            return null;
+        }
+        int chunks = Integer.parseInt(new String(count, StandardCharsets.US_ASCII));
+        // Chunks are fetched one at a time as the response is written
+        Enumeration<InputStream> parts = new Enumeration<>() {
+            private int next;
+
+            @Override
+            public boolean hasMoreElements() {
+                return next < chunks;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                int index = next++;
+                byte[] chunk = redisTemplate.execute((RedisCallback<byte[]>) connection ->
+                        connection.stringCommands().get(resultsChunkKey(job.getId(), index)));
+                if (chunk == null) {
+                    throw new UncheckedIOException(new IOException(
+                            "Results of bulk job " + job.getId() + " expired while being read"));
+                }
+                return new ByteArrayInputStream(chunk);
+            }
+        };
+        try {
+            return new InputStreamResource(new GZIPInputStream(new SequenceInputStream(parts), BUFFER_SIZE));
+        } catch (RuntimeException e) {
+            log.warn("Could not read results of bulk job {} from Redis: {}", job.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private void run(BulkJob job) {
+        job.start();
+        publish(job);
+        try (InputStream in = Files.newInputStream(job.getInput());
+             OutputStream out = Files.newOutputStream(job.getResults())) {
+            adjustmentStreamProcessor.process(in, out, job);
+            job.complete();
+            log.info("Bulk job {} completed: {} lines, {} failed", job.getId(), job.getLinesRead(), job.getFailed());
+        } catch (Exception e) {
+            log.error("Bulk job {} failed: {}", job.getId(), e.getMessage(), e);
+            job.fail(e.getMessage());
+        } finally {
+            deleteQuietly(job.getInput());
+            // Results first, so an instance that sees the job finished can also serve them
+            uploadResults(job);
+            publish(job);
+        }
+    }
+
+    private void spool(InputStream upload, Path input) throws IOException {
+        long limit = maxUploadSize.toBytes();
+        long total = 0;
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (OutputStream out = Files.newOutputStream(input)) {
+            int read;
+            while ((read = upload.read(buffer)) != -1) {
+                total += read;
+                if (total > limit) {
+                    throw new UploadTooLargeException("Upload exceeds the limit of " + maxUploadSize.toMegabytes() + " MB");
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private void publish(BulkJob job) {
+        try {
+            redisTemplate.opsForValue().set(JOB_KEY_PREFIX + job.getId(), job, Duration.ofMinutes(retentionMinutes));
+        } catch (RuntimeException e) {
+            log.warn("Could not publish bulk job {}: {}", job.getId(), e.getMessage());
+        }
+    }
+
+    private void uploadResults(BulkJob job) {
+        Expiration expiration = Expiration.from(Duration.ofMinutes(retentionMinutes));
+        ResultsUpload upload = new ResultsUpload(job.getId(), expiration);
+        try {
+            try (OutputStream out = new GZIPOutputStream(upload, BUFFER_SIZE)) {
+                Files.copy(job.getResults(), out);
+            }
+            if (upload.overLimit) {
+                log.info("Results of bulk job {} exceed {} MB gzipped; only this instance will serve them",
+                        job.getId(), maxSharedResultsSize.toMegabytes());
+                return;
+            }
+            byte[] count = Integer.toString(upload.chunks).getBytes(StandardCharsets.US_ASCII);
+            redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.stringCommands().set(
+                    resultsKey(job.getId()), count, expiration, RedisStringCommands.SetOption.UPSERT));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not publish results of bulk job {}: {}", job.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Buffers one chunk of gzipped results at a time and writes each full chunk to Redis. Past the size cap it
+     * deletes the chunks already written and discards the rest.
+     */
+    private class ResultsUpload extends OutputStream {
+        private final String jobId;
+        private final Expiration expiration;
+        private final long limit = maxSharedResultsSize.toBytes();
+        private final ByteArrayOutputStream chunk = new ByteArrayOutputStream(RESULTS_CHUNK_SIZE);
+        private long total;
+        private int chunks;
+        private boolean overLimit;
+
+        ResultsUpload(String jobId, Expiration expiration) {
+            this.jobId = jobId;
+            this.expiration = expiration;
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (overLimit) {
+                return;
+            }
+            total += len;
+            if (total > limit) {
+                overLimit = true;
+                chunk.reset();
+                discard();
+                return;
+            }
+            while (len > 0) {
+                int n = Math.min(len, RESULTS_CHUNK_SIZE - chunk.size());
+                chunk.write(b, off, n);
+                off += n;
+                len -= n;
+                if (chunk.size() == RESULTS_CHUNK_SIZE) {
+                    flushChunk();
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!overLimit && chunk.size() > 0) {
+                flushChunk();
+            }
+        }
+
+        private void flushChunk() {
+            byte[] key = resultsChunkKey(jobId, chunks);
+            byte[] value = chunk.toByteArray();
+            redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.stringCommands().set(
+                    key, value, expiration, RedisStringCommands.SetOption.UPSERT));
+            chunks++;
+            chunk.reset();
+        }
+
+        private void discard() {
+            if (chunks == 0) {
+                return;
+            }
+            byte[][] keys = new byte[chunks][];
+            for (int i = 0; i < chunks; i++) {
+                keys[i] = resultsChunkKey(jobId, i);
+            }
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.keyCommands().del(keys));
+        }
+    }
+
+    // Keeps running jobs' progress current for polls on other instances
+    @Scheduled(fixedDelay = 5000)
+    public void publishRunningJobs() {
+        for (BulkJob job : jobs.values()) {
+            if (!job.isFinished()) {
+                publish(job);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void expireJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> {
+            if (job.isFinished() && job.getFinishedAt().isBefore(cutoff)) {
+                deleteQuietly(job.getResults());
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private static byte[] resultsKey(String id) {
+        return (RESULTS_KEY_PREFIX + id).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] resultsChunkKey(String id, int index) {
+        return (RESULTS_KEY_PREFIX + id + ":" + index).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package kg.akyl.java.inventory.infra.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kg.akyl.java.inventory.domain.InventoryEvent;
+import kg.akyl.java.inventory.domain.Product;
+import kg.akyl.java.inventory.domain.ProductStatus;
+import kg.akyl.java.inventory.infra.events.EventStore;
+import kg.akyl.java.inventory.infra.export.DataFormat;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Loads large product catalogs without going through {@code CreateProductCommand} row by row.
+ * <p>
+ * The input is read in chunks. Each chunk is validated in parallel, de-duplicated by SKU against everything
+ * seen so far in the file, copied into a session-local staging table with {@code COPY} and merged into
+ * {@code products} with one {@code INSERT ... ON CONFLICT (sku) DO NOTHING}. SKUs that already exist are
+ * skipped, so a failed import can be re-run. Events for the inserted rows are stored with one batched insert
+ * in the same transaction and published to Kafka after commit.
+ */
+@Component
+@Slf4j
+public class BulkProductImporter {
+    private static final BigDecimal MAX_PRICE = new BigDecimal("99999999.99");
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMP TABLE IF NOT EXISTS product_import_staging (
+                sku VARCHAR(100),
+                name VARCHAR(255),
+                description TEXT,
+                price DECIMAL(10,2),
+                quantity INTEGER,
+                category VARCHAR(100)
+            ) ON COMMIT DELETE ROWS
+            """;
+
+    private static final String COPY_STAGING = """
+            COPY product_import_staging (sku, name, description, price, quantity, category)
+            FROM STDIN WITH (FORMAT csv)
+            """;
+
+    private static final String MERGE_STAGING = """
+            INSERT INTO products (sku, name, description, price, quantity, reserved_quantity,
+                                  stock_quantity, category, status, version, created_at, updated_at)
+            SELECT s.sku, s.name, s.description, s.price, s.quantity, 0,
+                   s.quantity, s.category, 'ACTIVE', 0, now(), now()
+            FROM product_import_staging s
+            ON CONFLICT (sku) DO NOTHING
+            RETURNING id, sku, name, description, price, quantity, stock_quantity, min_stock_level,
+                      category, created_at, updated_at
+            """;
+
+    @Autowired
+    @Qualifier("writeJdbcTemplate")
+    private JdbcTemplate writeJdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EventStore eventStore;
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${inventory.import.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${inventory.import.max-reported-errors:100}")
+    private int maxReportedErrors;
+
+    public ProductImportResult importProducts(InputStream in, DataFormat format) throws IOException {
+        return importProducts(in, format, progress -> log.info(
+                "Product import: {} rows read, {} inserted, {} existing, {} duplicates, {} invalid ({} rows/s)",
+                progress.getRowsRead(), progress.getInserted(), progress.getSkippedExisting(),
+                progress.getDuplicates(), progress.getInvalid(), progress.getRowsPerSecond()));
+    }
+
+    /**
+     * Import every row of {@code in}; {@code progress} is called after each chunk is committed
+     */
+    public ProductImportResult importProducts(InputStream in, DataFormat format,
+                                              Consumer<ProductImportResult> progress) throws IOException {
+        ProductImportResult result = new ProductImportResult(maxReportedErrors);
+        Set<String> seenSkus = new HashSet<>();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        try (ProductImportReader reader = new ProductImportReader(format, in, objectMapper.reader())) {
+            List<ProductImportRecord> chunk = new ArrayList<>(chunkSize);
+            ProductImportRecord record;
+            do {
+                record = reader.next();
+                if (record != null) {
+                    chunk.add(record);
+                }
+                if (chunk.size() == chunkSize || (record == null && !chunk.isEmpty())) {
+                    List<ProductImportRecord> accepted = accept(chunk, seenSkus, result);
+                    List<InventoryEvent> events = accepted.isEmpty()
+                            ? List.of()
+                            : transaction.execute(status -> load(accepted));
+                    publish(events);
+
+                    result.addRead(chunk.size());
+                    result.addInserted(events.size());
+                    result.addSkippedExisting(accepted.size() - events.size());
+                    result.tick();
+                    progress.accept(result);
+                    chunk.clear();
+                }
+            } while (record != null);
+        }
+
+        result.complete();
+        log.info("Product import finished: {} rows in {} ms, {} inserted ({} rows/s)",
+                result.getRowsRead(), result.getElapsedMs(), result.getInserted(), result.getRowsPerSecond());
+        return result;
+    }
+
+    /**
+     * Validate the chunk in parallel, then drop rows whose SKU was already seen in this import
+     */
+    private List<ProductImportRecord> accept(List<ProductImportRecord> chunk, Set<String> seenSkus,
+                                             ProductImportResult result) {
+        List<String> errors = chunk.parallelStream().map(this::validate).toList();
+
+        List<ProductImportRecord> accepted = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            ProductImportRecord record = chunk.get(i);
+            if (errors.get(i) != null) {
+                result.addInvalid(record.getLine(), errors.get(i));
+            } else if (!seenSkus.add(record.getSku())) {
+                result.addDuplicate(record.getLine(), record.getSku());
+            } else {
+                accepted.add(record);
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Normalises the record in place; returns the reason it is rejected, or null
+     */
+    private String validate(ProductImportRecord record) {
+        if (record.getError() != null) {
+            return record.getError();
+        }
+        String sku = record.getSku() != null ? record.getSku().trim() : "";
+        String name = record.getName() != null ? record.getName().trim() : "";
+        if (sku.isEmpty() || sku.length() > 100) {
+            return "SKU is required and must be at most 100 characters";
+        }
+        if (name.isEmpty() || name.length() > 255) {
+            return "Name is required and must be at most 255 characters";
+        }
+        if (record.getPrice() == null || record.getPrice().signum() < 0) {
+            return "Price is required and cannot be negative";
+        }
+        BigDecimal price = record.getPrice().setScale(2, RoundingMode.HALF_UP);
+        if (price.compareTo(MAX_PRICE) > 0) {
+            return "Price exceeds " + MAX_PRICE;
+        }
+        int quantity = record.getQuantity() != null ? record.getQuantity() : 0;
+        if (quantity < 0) {
+            return "Quantity cannot be negative";
+        }
+        String category = record.getCategory() != null ? record.getCategory().trim() : null;
+        if (category != null && category.length() > 100) {
+            return "Category must be at most 100 characters";
+        }
+
+        record.setSku(sku);
+        record.setName(name);
+        record.setPrice(price);
+        record.setQuantity(quantity);
+        record.setCategory(category == null || category.isEmpty() ? null : category);
+        return null;
+    }
+
+    /**
+     * COPY the chunk into staging, merge it and store events for the rows that were inserted
+     */
+    private List<InventoryEvent> load(List<ProductImportRecord> records) {
+        List<Product> inserted = writeJdbcTemplate.execute((ConnectionCallback<List<Product>>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING);
+            }
+            try {
+                connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn(COPY_STAGING, new StringReader(toCsv(records)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            List<Product> products = new ArrayList<>(records.size());
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(MERGE_STAGING)) {
+                while (rs.next()) {
+                    products.add(toProduct(rs));
+                }
+            }
+            return products;
+        });
+
+        List<InventoryEvent> events = new ArrayList<>(inserted.size());
+        for (Product product : inserted) {
+            events.add(new InventoryEvent("ProductCreated", product.getId().toString(), product, 1L));
+        }
+        eventStore.saveEvents(events);
+        return events;
+    }
+
+    private void publish(List<InventoryEvent> events) {
+        // The producer batches these (linger.ms / batch.size), so a chunk goes out in a few requests
+        for (InventoryEvent event : events) {
+            kafkaTemplate.send("product-events", event);
+        }
+    }
+
+    private static Product toProduct(ResultSet rs) throws SQLException {
+        return Product.builder()
+                .id(rs.getLong("id"))
+                .sku(rs.getString("sku"))
+                .name(rs.getString("name"))
+                .description(rs.getString("description"))
+                .price(rs.getBigDecimal("price"))
+                .quantity(rs.getInt("quantity"))
+                .reservedQuantity(0)
+                .stockQuantity(rs.getInt("stock_quantity"))
+                .minStockLevel(rs.getInt("min_stock_level"))
+                .category(rs.getString("category"))
+                .status(ProductStatus.ACTIVE)
+                .version(0L)
+                .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                .updatedAt(rs.getTimestamp("updated_at").toLocalDateTime())
+                .build();
+    }
+
+    private static String toCsv(List<ProductImportRecord> records) {
+        StringBuilder csv = new StringBuilder(records.size() * 96);
+        for (ProductImportRecord record : records) {
+            appendCsv(csv, record.getSku()).append(',');
+            appendCsv(csv, record.getName()).append(',');
+            appendCsv(csv, record.getDescription()).append(',');
+            csv.append(record.getPrice().toPlainString()).append(',');
+            csv.append(record.getQuantity()).append(',');
+            appendCsv(csv, record.getCategory()).append('\n');
+        }
+        return csv.toString();
+    }
+
+    private static StringBuilder appendCsv(StringBuilder csv, String value) {
+        // An unquoted empty field is NULL to COPY, a quoted one is an empty string
+        if (value == null) {
+            return csv;
+        }
+        csv.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                csv.append('"');
+            }
+            csv.append(c);
+        }
+        return csv.append('"');
+    }
+}
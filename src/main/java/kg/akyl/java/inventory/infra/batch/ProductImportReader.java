@@ -0,0 +1,169 @@
+package kg.akyl.java.inventory.infra.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import kg.akyl.java.inventory.infra.export.DataFormat;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Pulls {@link ProductImportRecord}s one at a time from a CSV or NDJSON stream.
+ * Malformed rows come back with {@code error} set instead of aborting the import.
+ * <p>
+ * CSV input needs a header row; columns are matched by name (sku, name, description, price, quantity, category)
+ * and may appear in any order. Quoted fields may contain separators, doubled quotes and line breaks.
+ */
+public class ProductImportReader implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DataFormat format;
+    private final BufferedReader reader;
+    private final ObjectReader jsonReader;
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    private int[] columnIndex;
+    private long line;
+
+    public ProductImportReader(DataFormat format, InputStream in, ObjectReader jsonReader) throws IOException {
+        this.format = format;
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.jsonReader = jsonReader.forType(ProductImportRecord.class);
+        if (format == DataFormat.CSV) {
+            readHeader();
+        }
+    }
+
+    /**
+     * Returns the next row, or null at the end of the input
+     */
+    public ProductImportRecord next() throws IOException {
+        return format == DataFormat.NDJSON ? nextJson() : nextCsv();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private ProductImportRecord nextJson() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+        } while (text.isBlank());
+
+        line++;
+        try {
+            ProductImportRecord record = jsonReader.readValue(text);
+            record.setLine(line);
+            return record;
+        } catch (JsonProcessingException e) {
+            return ProductImportRecord.failed(line, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private ProductImportRecord nextCsv() throws IOException {
+        List<String> values;
+        do {
+            values = readCsvLine();
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.get(0).isEmpty());
+
+        line++;
+        ProductImportRecord record = new ProductImportRecord();
+        record.setLine(line);
+        try {
+            record.setSku(column(values, 0));
+            record.setName(column(values, 1));
+            record.setDescription(column(values, 2));
+            String price = column(values, 3);
+            record.setPrice(price != null ? new BigDecimal(price.trim()) : null);
+            String quantity = column(values, 4);
+            record.setQuantity(quantity != null ? Integer.valueOf(quantity.trim()) : null);
+            record.setCategory(column(values, 5));
+        } catch (NumberFormatException e) {
+            record.setError("Invalid number in price or quantity");
+        }
+        return record;
+    }
+
+    private void readHeader() throws IOException {
+        List<String> header = readCsvLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV import is empty, expected a header row");
+        }
+        String[] known = {"sku", "name", "description", "price", "quantity", "category"};
+        columnIndex = new int[known.length];
+        for (int i = 0; i < known.length; i++) {
+            columnIndex[i] = -1;
+            for (int j = 0; j < header.size(); j++) {
+                if (header.get(j).trim().toLowerCase(Locale.ROOT).equals(known[i])) {
+                    columnIndex[i] = j;
+                    break;
+                }
+            }
+        }
+        if (columnIndex[0] < 0 || columnIndex[1] < 0 || columnIndex[3] < 0) {
+            throw new IllegalArgumentException("CSV header must contain sku, name and price columns");
+        }
+    }
+
+    private String column(List<String> values, int column) {
+        int index = columnIndex[column];
+        if (index < 0 || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * RFC 4180 record; returns null at the end of the input
+     */
+    private List<String> readCsvLine() throws IOException {
+        fields.clear();
+        field.setLength(0);
+        boolean quoted = false;
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return new ArrayList<>(fields);
+    }
+}
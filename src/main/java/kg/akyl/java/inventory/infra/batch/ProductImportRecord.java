@@ -0,0 +1,38 @@
+package kg.akyl.java.inventory.infra.batch;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * One product row of a bulk import file
+ */
+@Data
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ProductImportRecord {
+    private String sku;
+    private String name;
+    private String description;
+    private BigDecimal price;
+    private Integer quantity;
+    private String category;
+
+    // Position in the input, 1-based, not counting the CSV header
+    @JsonIgnore
+    private long line;
+
+    // Set when the row could not be parsed
+    @JsonIgnore
+    private String error;
+
+    static ProductImportRecord failed(long line, String error) {
+        ProductImportRecord record = new ProductImportRecord();
+        record.setLine(line);
+        record.setError(error);
+        return record;
+    }
+}
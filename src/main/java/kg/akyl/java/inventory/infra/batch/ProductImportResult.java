@@ -0,0 +1,81 @@
+package kg.akyl.java.inventory.infra.batch;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counters of a bulk product import. Updated after every chunk, so it doubles as a progress report.
+ */
+@Getter
+public class ProductImportResult {
+    private final long startedAtMillis = System.currentTimeMillis();
+    private volatile long rowsRead;
+    private volatile long inserted;
+    private volatile long skippedExisting;
+    private volatile long duplicates;
+    private volatile long invalid;
+    private volatile long elapsedMs;
+    private volatile boolean completed;
+    private final List<RowError> errors = new ArrayList<>();
+
+    @Getter(AccessLevel.NONE)
+    private final int maxReportedErrors;
+
+    ProductImportResult(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public long getRowsPerSecond() {
+        return elapsedMs > 0 ? rowsRead * 1000 / elapsedMs : rowsRead;
+    }
+
+    void addRead(long rows) {
+        rowsRead += rows;
+    }
+
+    void addInserted(long rows) {
+        inserted += rows;
+    }
+
+    void addSkippedExisting(long rows) {
+        skippedExisting += rows;
+    }
+
+    void addDuplicate(long line, String sku) {
+        duplicates++;
+        addError(line, "Duplicate SKU in input: " + sku);
+    }
+
+    void addInvalid(long line, String error) {
+        invalid++;
+        addError(line, error);
+    }
+
+    void tick() {
+        elapsedMs = System.currentTimeMillis() - startedAtMillis;
+    }
+
+    void complete() {
+        tick();
+        completed = true;
+    }
+
+    private void addError(long line, String message) {
+        synchronized (errors) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new RowError(line, message));
+            }
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,69 @@
+package kg.akyl.java.inventory.infra.batch;
+
+import kg.akyl.java.inventory.infra.export.DataFormat;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command line product import:
+ * <pre>
+ * java -jar inventory.jar --spring.main.web-application-type=none --inventory.import.file=catalog.csv
+ * </pre>
+ * The format follows the file extension unless {@code inventory.import.format} is set.
+ * The application exits when the import is done unless {@code inventory.import.exit-when-done=false}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "inventory.import", name = "file")
+@Slf4j
+public class ProductImportRunner implements CommandLineRunner {
+    @Autowired
+    private BulkProductImporter importer;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Value("${inventory.import.file}")
+    private String file;
+
+    @Value("${inventory.import.format:}")
+    private String format;
+
+    @Value("${inventory.import.exit-when-done:true}")
+    private boolean exitWhenDone;
+
+    @Override
+    public void run(String... args) throws Exception {
+        Path path = Path.of(file);
+        DataFormat importFormat = DataFormat.from(format.isEmpty() ? extension(path) : format);
+        log.info("Importing products from {} ({})", path.toAbsolutePath(), importFormat);
+
+        ProductImportResult result;
+        try (InputStream in = Files.newInputStream(path)) {
+            result = importer.importProducts(in, importFormat);
+        }
+        for (ProductImportResult.RowError error : result.getErrors()) {
+            log.warn("Line {}: {}", error.getLine(), error.getMessage());
+        }
+
+        if (exitWhenDone) {
+            int exitCode = result.getInvalid() > 0 ? 2 : 0;
+            System.exit(SpringApplication.exit(context, () -> exitCode));
+        }
+    }
+
+    private static String extension(Path path) {
+        String name = path.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot >= 0 ? name.substring(dot + 1) : "";
+    }
+}
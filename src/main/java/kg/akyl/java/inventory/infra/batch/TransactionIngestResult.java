@@ -0,0 +1,81 @@
+package kg.akyl.java.inventory.infra.batch;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counters of a supply chain transaction ingest, updated after every chunk.
+ */
+@Getter
+public class TransactionIngestResult {
+    private final long startedAtMillis = System.currentTimeMillis();
+    private volatile long linesRead;
+    private volatile long inserted;
+    private volatile long skippedExisting;
+    private volatile long duplicates;
+    private volatile long invalid;
+    private volatile long elapsedMs;
+    private volatile boolean completed;
+    private final List<LineError> errors = new ArrayList<>();
+
+    @Getter(AccessLevel.NONE)
+    private final int maxReportedErrors;
+
+    TransactionIngestResult(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public long getRowsPerSecond() {
+        return elapsedMs > 0 ? linesRead * 1000 / elapsedMs : linesRead;
+    }
+
+    void addRead(long lines) {
+        linesRead += lines;
+    }
+
+    void addInserted(long rows) {
+        inserted += rows;
+    }
+
+    void addSkippedExisting(long rows) {
+        skippedExisting += rows;
+    }
+
+    void addDuplicate(long line, String transactionNumber) {
+        duplicates++;
+        addError(line, "Duplicate transaction number in input: " + transactionNumber);
+    }
+
+    void addInvalid(long line, String error) {
+        invalid++;
+        addError(line, error);
+    }
+
+    void tick() {
+        elapsedMs = System.currentTimeMillis() - startedAtMillis;
+    }
+
+    void complete() {
+        tick();
+        completed = true;
+    }
+
+    private void addError(long line, String message) {
+        synchronized (errors) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new LineError(line, message));
+            }
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class LineError {
+        private long line;
+        private String message;
+    }
+}
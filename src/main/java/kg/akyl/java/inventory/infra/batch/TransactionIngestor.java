@@ -0,0 +1,281 @@
+package kg.akyl.java.inventory.infra.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import kg.akyl.java.inventory.domain.Product;
+import kg.akyl.java.inventory.domain.Supplier;
+import kg.akyl.java.inventory.domain.SupplyChainTransaction;
+import kg.akyl.java.inventory.domain.request.CreateTransactionRequest;
+import kg.akyl.java.inventory.infra.events.SupplyChainEventPublisher;
+import kg.akyl.java.inventory.infra.repositories.SupplyChainTransactionRepository;
+import kg.akyl.java.inventory.infra.services.SupplyChainTransactionMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Loads NDJSON feeds of supply chain transactions, one {@link CreateTransactionRequest} per line.
+ * <p>
+ * Lines are read in chunks. Each chunk is validated in parallel and de-duplicated by transaction number
+ * against the rest of the file; numbers already stored are skipped, so a failed feed can be re-sent.
+ * The remaining rows are persisted through Hibernate in one transaction per chunk. Ids come from the pooled
+ * sequence, so the inserts go out as JDBC batches, and the driver rewrites each batch into multi-row INSERTs.
+ * Each chunk's rows are announced on {@code supply-chain-events} in a few batch events.
+ * <p>
+ * A chunk that collides with numbers a concurrent ingest stored in the meantime is rolled back and loaded
+ * again, which then skips them as existing; the feed goes on either way.
+ */
+@Component
+@Slf4j
+public class TransactionIngestor {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_CHUNK_ATTEMPTS = 3;
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private SupplyChainTransactionRepository transactionRepository;
+
+    @Autowired
+    private SupplyChainEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${inventory.transactions.ingest.chunk-size:2000}")
+    private int chunkSize;
+
+    @Value("${inventory.transactions.ingest.jdbc-batch-size:500}")
+    private int jdbcBatchSize;
+
+    @Value("${inventory.import.max-reported-errors:100}")
+    private int maxReportedErrors;
+
+    private record Line(long number, CreateTransactionRequest request, String error) {
+    }
+
+    public TransactionIngestResult ingest(InputStream in) throws IOException {
+        TransactionIngestResult result = new TransactionIngestResult(maxReportedErrors);
+        Set<String> seenNumbers = new HashSet<>();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        ObjectReader reader = objectMapper.readerFor(CreateTransactionRequest.class);
+
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            List<Line> chunk = new ArrayList<>(chunkSize);
+            long lineNumber = 0;
+            String text;
+            do {
+                text = lines.readLine();
+                if (text != null) {
+                    lineNumber++;
+                    if (!text.isBlank()) {
+                        chunk.add(parse(reader, lineNumber, text));
+                    }
+                }
+                if (chunk.size() == chunkSize || (text == null && !chunk.isEmpty())) {
+                    List<Line> accepted = accept(chunk, seenNumbers, result);
+                    int inserted = accepted.isEmpty() ? 0 : loadChunk(transaction, accepted, result);
+
+                    result.addRead(chunk.size());
+                    result.addInserted(inserted);
+                    result.tick();
+                    log.debug("Transaction ingest: {} lines read, {} inserted ({} rows/s)",
+                            result.getLinesRead(), result.getInserted(), result.getRowsPerSecond());
+                    chunk.clear();
+                }
+            } while (text != null);
+        }
+
+        result.complete();
+        log.info("Transaction ingest finished: {} lines in {} ms, {} inserted, {} existing, {} invalid ({} rows/s)",
+                result.getLinesRead(), result.getElapsedMs(), result.getInserted(), result.getSkippedExisting(),
+                result.getInvalid(), result.getRowsPerSecond());
+        return result;
+    }
+
+    private static Line parse(ObjectReader reader, long number, String text) {
+        try {
+            return new Line(number, reader.readValue(text), null);
+        } catch (JsonProcessingException e) {
+            return new Line(number, null, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Validate the chunk in parallel, then drop lines whose transaction number was already seen in this feed
+     */
+    private List<Line> accept(List<Line> chunk, Set<String> seenNumbers, TransactionIngestResult result) {
+        List<String> errors = chunk.parallelStream().map(this::validate).toList();
+
+        List<Line> accepted = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            Line line = chunk.get(i);
+            if (errors.get(i) != null) {
+                result.addInvalid(line.number(), errors.get(i));
+            } else if (!seenNumbers.add(line.request().getTransactionNumber())) {
+                result.addDuplicate(line.number(), line.request().getTransactionNumber());
+            } else {
+                accepted.add(line);
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Normalises the request in place; returns the reason it is rejected, or null
+     */
+    private String validate(Line line) {
+        if (line.error() != null) {
+            return line.error();
+        }
+        CreateTransactionRequest request = line.request();
+        Set<ConstraintViolation<CreateTransactionRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<CreateTransactionRequest> violation = violations.iterator().next();
+            return violation.getPropertyPath() + ": " + violation.getMessage();
+        }
+        String number = request.getTransactionNumber() != null ? request.getTransactionNumber().trim() : "";
+        if (number.isEmpty()) {
+            return "Transaction number is required";
+        }
+        if (request.getFromSupplierId().equals(request.getToSupplierId())) {
+            return "From and to supplier must be different";
+        }
+        try {
+            SupplyChainTransaction.TransactionType.valueOf(request.getTransactionType());
+        } catch (IllegalArgumentException e) {
+            return "Invalid transaction type: " + request.getTransactionType();
+        }
+        BigDecimal total = request.getUnitPrice().multiply(BigDecimal.valueOf(request.getQuantity()))
+                .add(orZero(request.getShippingCost()))
+                .add(orZero(request.getTaxAmount()))
+                .subtract(orZero(request.getDiscountAmount()));
+        if (total.signum() < 0) {
+            return "Discount exceeds the transaction amount";
+        }
+        request.setTransactionNumber(number);
+        return null;
+    }
+
+    private int loadChunk(TransactionTemplate transaction, List<Line> lines, TransactionIngestResult result) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transaction.execute(status -> load(lines, result));
+            } catch (RuntimeException e) {
+                if (!isUniqueViolation(e)) {
+                    throw e;
+                }
+                if (attempt == MAX_CHUNK_ATTEMPTS) {
+                    log.warn("Transaction ingest skipped {} rows from line {}, they kept colliding with concurrent inserts",
+                            lines.size(), lines.get(0).number());
+                    lines.forEach(line -> result.addInvalid(line.number(),
+                            "Transaction number collided with a concurrent insert, re-send to retry"));
+                    return 0;
+                }
+                log.info("Transaction ingest chunk from line {} collided with a concurrent insert, reloading: {}",
+                        lines.get(0).number(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Persist the rows whose number is new and whose suppliers and product exist; returns how many were inserted.
+     * The result is only updated once the rows are flushed, so a rolled back attempt leaves it untouched.
+     */
+    private int load(List<Line> lines, TransactionIngestResult result) {
+        Session session = entityManager.unwrap(Session.class);
+        session.setJdbcBatchSize(jdbcBatchSize);
+
+        Set<String> existing = new HashSet<>(transactionRepository.findExistingNumbers(
+                lines.stream().map(line -> line.request().getTransactionNumber()).toList()));
+        Set<Long> supplierIds = new HashSet<>();
+        Set<Long> productIds = new HashSet<>();
+        for (Line line : lines) {
+            CreateTransactionRequest request = line.request();
+            supplierIds.add(request.getFromSupplierId());
+            supplierIds.add(request.getToSupplierId());
+            productIds.add(request.getProductId());
+        }
+        Set<Long> knownSuppliers = existingIds("SELECT s.id FROM Supplier s WHERE s.id IN :ids", supplierIds);
+        Set<Long> knownProducts = existingIds("SELECT p.id FROM Product p WHERE p.id IN :ids", productIds);
+
+        List<SupplyChainTransaction> recorded = new ArrayList<>(lines.size());
+        List<Line> unknown = new ArrayList<>();
+        int skippedExisting = 0;
+        for (Line line : lines) {
+            CreateTransactionRequest request = line.request();
+            if (existing.contains(request.getTransactionNumber())) {
+                skippedExisting++;
+                continue;
+            }
+            if (!knownSuppliers.contains(request.getFromSupplierId())
+                    || !knownSuppliers.contains(request.getToSupplierId())
+                    || !knownProducts.contains(request.getProductId())) {
+                unknown.add(line);
+                continue;
+            }
+            // References are not loaded; the ids were checked above
+            SupplyChainTransaction transaction = SupplyChainTransactionMapper.toPendingTransaction(
+                    request, request.getTransactionNumber(),
+                    entityManager.getReference(Supplier.class, request.getFromSupplierId()),
+                    entityManager.getReference(Supplier.class, request.getToSupplierId()),
+                    entityManager.getReference(Product.class, request.getProductId()));
+            entityManager.persist(transaction);
+            recorded.add(transaction);
+        }
+        entityManager.flush();
+        eventPublisher.recorded(recorded);
+        entityManager.clear();
+        result.addSkippedExisting(skippedExisting);
+        unknown.forEach(line -> result.addInvalid(line.number(), "Unknown supplier or product"));
+        return recorded.size();
+    }
+
+    private static boolean isUniqueViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && UNIQUE_VIOLATION.equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Set<Long> existingIds(String jpql, Set<Long> ids) {
+        return new HashSet<>(entityManager.createQuery(jpql, Long.class)
+                .setParameter("ids", ids)
+                .getResultList());
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
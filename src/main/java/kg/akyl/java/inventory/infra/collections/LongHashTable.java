@@ -0,0 +1,140 @@
+package kg.akyl.java.inventory.infra.collections;
+
+import java.util.Arrays;
+
+/**
+ * Linear-probing table of primitive {@code long} keys, shared by {@link LongObjectHashMap} and
+ * {@link LongIntHashMap}. Subclasses keep their values in a parallel array of their own element type,
+ * so an {@code int} value is never boxed, and move them when removal shifts entries or the table grows.
+ * Not thread-safe; callers guard access.
+ */
+abstract class LongHashTable {
+    private static final float LOAD_FACTOR = 0.6f;
+
+    long[] keys;
+    private boolean[] used;
+    private int size;
+    private int mask;
+    private int resizeAt;
+
+    LongHashTable(int expectedSize) {
+        allocate(Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1);
+    }
+
+    /**
+     * Replaces the value array with an empty one of {@code capacity} slots and returns the previous one
+     */
+    abstract Object replaceValues(int capacity);
+
+    /**
+     * Copies slot {@code from} of a value array returned by {@link #replaceValues} to slot {@code to}
+     */
+    abstract void copyValue(Object previousValues, int from, int to);
+
+    abstract void moveValue(int from, int to);
+
+    abstract void clearValue(int slot);
+
+    public boolean containsKey(long key) {
+        return find(key) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    final int capacity() {
+        return keys.length;
+    }
+
+    final boolean isUsed(int slot) {
+        return used[slot];
+    }
+
+    /**
+     * Slot holding {@code key}, or -1
+     */
+    final int find(long key) {
+        int slot = probe(key);
+        return slot >= 0 ? slot : -1;
+    }
+
+    /**
+     * Slot holding {@code key}, or the complement of the free slot where it belongs
+     */
+    final int probe(long key) {
+        int slot = mix(key) & mask;
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return ~slot;
+    }
+
+    /**
+     * Claims a free slot from {@link #probe} whose value is already written; may grow the table
+     */
+    final void occupy(int slot, long key) {
+        used[slot] = true;
+        keys[slot] = key;
+        if (++size >= resizeAt) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    final void removeAt(int slot) {
+        size--;
+        // Backward-shift deletion keeps probe chains intact without tombstones
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (used[next]) {
+            int ideal = mix(keys[next]) & mask;
+            if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                moveValue(next, gap);
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        used[gap] = false;
+        clearValue(gap);
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        boolean[] oldUsed = used;
+        allocate(newCapacity);
+        Object oldValues = replaceValues(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = ~probe(oldKeys[i]);
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+                copyValue(oldValues, i, slot);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
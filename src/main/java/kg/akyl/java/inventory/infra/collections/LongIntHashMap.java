@@ -0,0 +1,69 @@
+package kg.akyl.java.inventory.infra.collections;
+
+/**
+ * Open-addressing map from primitive {@code long} to primitive {@code int}.
+ * Missing keys read as {@link #NO_VALUE}. Not thread-safe; callers guard access.
+ */
+public class LongIntHashMap extends LongHashTable {
+    public static final int NO_VALUE = -1;
+
+    private int[] values;
+
+    public LongIntHashMap() {
+        this(16);
+    }
+
+    public LongIntHashMap(int expectedSize) {
+        super(expectedSize);
+        values = new int[capacity()];
+    }
+
+    public int get(long key) {
+        int slot = find(key);
+        return slot >= 0 ? values[slot] : NO_VALUE;
+    }
+
+    public int put(long key, int value) {
+        int slot = probe(key);
+        if (slot >= 0) {
+            int previous = values[slot];
+            values[slot] = value;
+            return previous;
+        }
+        values[~slot] = value;
+        occupy(~slot, key);
+        return NO_VALUE;
+    }
+
+    public int remove(long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return NO_VALUE;
+        }
+        int previous = values[slot];
+        removeAt(slot);
+        return previous;
+    }
+
+    @Override
+    Object replaceValues(int capacity) {
+        int[] previous = values;
+        values = new int[capacity];
+        return previous;
+    }
+
+    @Override
+    void copyValue(Object previousValues, int from, int to) {
+        values[to] = ((int[]) previousValues)[from];
+    }
+
+    @Override
+    void moveValue(int from, int to) {
+        values[to] = values[from];
+    }
+
+    @Override
+    void clearValue(int slot) {
+        // Primitive slots need no clearing
+    }
+}
@@ -0,0 +1,93 @@
+package kg.akyl.java.inventory.infra.collections;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map keyed by primitive {@code long}.
+ * Avoids boxing the key and the per-entry node objects of {@link java.util.HashMap}.
+ * Not thread-safe; callers guard access.
+ */
+public class LongObjectHashMap<V> extends LongHashTable {
+    private Object[] values;
+
+    public LongObjectHashMap() {
+        this(16);
+    }
+
+    public LongObjectHashMap(int expectedSize) {
+        super(expectedSize);
+        values = new Object[capacity()];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int slot = find(key);
+        return slot >= 0 ? (V) values[slot] : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        int slot = probe(key);
+        if (slot >= 0) {
+            V previous = (V) values[slot];
+            values[slot] = value;
+            return previous;
+        }
+        values[~slot] = value;
+        occupy(~slot, key);
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return null;
+        }
+        V previous = (V) values[slot];
+        removeAt(slot);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        Arrays.fill(values, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<V> action) {
+        for (int i = 0; i < capacity(); i++) {
+            if (isUsed(i)) {
+                action.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    @Override
+    Object replaceValues(int capacity) {
+        Object[] previous = values;
+        values = new Object[capacity];
+        return previous;
+    }
+
+    @Override
+    void copyValue(Object previousValues, int from, int to) {
+        values[to] = ((Object[]) previousValues)[from];
+    }
+
+    @Override
+    void moveValue(int from, int to) {
+        values[to] = values[from];
+    }
+
+    @Override
+    void clearValue(int slot) {
+        values[slot] = null;
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+}
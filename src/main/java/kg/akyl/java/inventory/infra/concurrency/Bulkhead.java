@@ -0,0 +1,50 @@
+package kg.akyl.java.inventory.infra.concurrency;
+
+import lombok.Getter;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps concurrent use of one downstream resource. With virtual threads the number of threads no longer limits
+ * how many callers hit the database or Redis at once, so the limit lives here instead. Waiters queue fairly
+ * and give up after the acquire timeout.
+ */
+public class Bulkhead {
+    @Getter
+    private final String name;
+    @Getter
+    private final int permits;
+    private final long acquireTimeoutMs;
+    private final Semaphore semaphore;
+
+    public Bulkhead(String name, int permits, long acquireTimeoutMs) {
+        this.name = name;
+        this.permits = permits;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.semaphore = new Semaphore(permits, true);
+    }
+
+    public void acquire() {
+        try {
+            if (!semaphore.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new BulkheadFullException(name, acquireTimeoutMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BulkheadFullException(name, acquireTimeoutMs);
+        }
+    }
+
+    public void release() {
+        semaphore.release();
+    }
+
+    public int getAvailablePermits() {
+        return semaphore.availablePermits();
+    }
+
+    public int getQueueLength() {
+        return semaphore.getQueueLength();
+    }
+}
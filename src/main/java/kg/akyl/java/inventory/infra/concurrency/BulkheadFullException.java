@@ -0,0 +1,11 @@
+package kg.akyl.java.inventory.infra.concurrency;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class BulkheadFullException extends RuntimeException {
+    public BulkheadFullException(String name, long waitedMs) {
+        super("No " + name + " capacity available after " + waitedMs + " ms");
+    }
+}
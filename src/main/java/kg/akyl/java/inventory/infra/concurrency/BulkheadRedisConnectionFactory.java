@@ -0,0 +1,84 @@
+package kg.akyl.java.inventory.infra.concurrency;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisSentinelConnection;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Takes a {@link Bulkhead} permit for every Redis connection handed out and returns it on close.
+ * Redis templates open and close a connection per operation, so this bounds in-flight commands.
+ */
+public class BulkheadRedisConnectionFactory implements RedisConnectionFactory {
+    private final RedisConnectionFactory target;
+    private final Bulkhead bulkhead;
+
+    public BulkheadRedisConnectionFactory(RedisConnectionFactory target, Bulkhead bulkhead) {
+        this.target = target;
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public RedisConnection getConnection() {
+        bulkhead.acquire();
+        try {
+            return guard(target.getConnection(), RedisConnection.class);
+        } catch (RuntimeException e) {
+            bulkhead.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public RedisClusterConnection getClusterConnection() {
+        bulkhead.acquire();
+        try {
+            return guard(target.getClusterConnection(), RedisClusterConnection.class);
+        } catch (RuntimeException e) {
+            bulkhead.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean getConvertPipelineAndTxResults() {
+        return target.getConvertPipelineAndTxResults();
+    }
+
+    @Override
+    public RedisSentinelConnection getSentinelConnection() {
+        return target.getSentinelConnection();
+    }
+
+    @Override
+    public DataAccessException translateExceptionIfPossible(RuntimeException ex) {
+        return target.translateExceptionIfPossible(ex);
+    }
+
+    private <T extends RedisConnection> T guard(T connection, Class<T> type) {
+        AtomicBoolean released = new AtomicBoolean();
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && method.getParameterCount() == 0) {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                bulkhead.release();
+                            }
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                }));
+    }
+}
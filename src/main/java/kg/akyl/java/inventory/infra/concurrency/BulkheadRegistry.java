@@ -0,0 +1,41 @@
+package kg.akyl.java.inventory.infra.concurrency;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the per-resource {@link Bulkhead}s and exposes their occupancy as gauges.
+ * Limits are on by default when virtual threads are, since the thread pools no longer bound concurrency then.
+ */
+@Component
+public class BulkheadRegistry {
+    @Getter
+    private final boolean enabled;
+    private final long acquireTimeoutMs;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public BulkheadRegistry(@Value("${inventory.concurrency.limits-enabled:${spring.threads.virtual.enabled:false}}") boolean enabled,
+                            @Value("${inventory.concurrency.acquire-timeout-ms:5000}") long acquireTimeoutMs,
+                            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.enabled = enabled;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Bulkhead create(String name, int permits) {
+        Bulkhead bulkhead = new Bulkhead(name, permits, acquireTimeoutMs);
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("inventory.bulkhead.available", bulkhead, Bulkhead::getAvailablePermits)
+                    .tag("resource", name)
+                    .register(registry);
+            Gauge.builder("inventory.bulkhead.waiting", bulkhead, Bulkhead::getQueueLength)
+                    .tag("resource", name)
+                    .register(registry);
+        });
+        return bulkhead;
+    }
+}
@@ -0,0 +1,95 @@
+package kg.akyl.java.inventory.infra.events;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Accessors for event data received from Kafka.
+ * The JSON deserializer turns {@code InventoryEvent.eventData} into a plain map, so numbers
+ * arrive as Integer/Long/Double and timestamps either as ISO strings or as [y, m, d, h, m, s, n] arrays.
+ */
+public final class EventPayloads {
+    private EventPayloads() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> asMap(Object eventData) {
+        if (eventData instanceof Map<?, ?> map) {
+            return (Map<String, Object>) map;
+        }
+        return Map.of();
+    }
+
+    /**
+     * A list of nested objects, e.g. the entries of a batch event; anything else in the list is skipped
+     */
+    public static List<Map<String, Object>> getMapList(Map<String, Object> data, String field) {
+        if (!(data.get(field) instanceof List<?> list)) {
+            return List.of();
+        }
+        List<Map<String, Object>> maps = new ArrayList<>(list.size());
+        for (Object item : list) {
+            if (item instanceof Map<?, ?>) {
+                maps.add(asMap(item));
+            }
+        }
+        return maps;
+    }
+
+    public static Long getLong(Map<String, Object> data, String field) {
+        Object value = data.get(field);
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        if (value instanceof String text && !text.isEmpty()) {
+            return Long.parseLong(text);
+        }
+        return null;
+    }
+
+    public static Integer getInt(Map<String, Object> data, String field) {
+        Long value = getLong(data, field);
+        return value != null ? value.intValue() : null;
+    }
+
+    public static int getInt(Map<String, Object> data, String field, int defaultValue) {
+        Integer value = getInt(data, field);
+        return value != null ? value : defaultValue;
+    }
+
+    public static String getString(Map<String, Object> data, String field) {
+        Object value = data.get(field);
+        return value != null ? value.toString() : null;
+    }
+
+    public static BigDecimal getBigDecimal(Map<String, Object> data, String field) {
+        Object value = data.get(field);
+        if (value instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        if (value instanceof Number || value instanceof String) {
+            return new BigDecimal(value.toString());
+        }
+        return null;
+    }
+
+    public static LocalDateTime getDateTime(Map<String, Object> data, String field) {
+        Object value = data.get(field);
+        if (value instanceof String text && !text.isEmpty()) {
+            return LocalDateTime.parse(text);
+        }
+        if (value instanceof List<?> parts && parts.size() >= 3) {
+            return LocalDateTime.of(
+                    part(parts, 0), part(parts, 1), part(parts, 2),
+                    part(parts, 3), part(parts, 4), part(parts, 5), part(parts, 6));
+        }
+        return null;
+    }
+
+    private static int part(List<?> parts, int index) {
+        return index < parts.size() ? ((Number) parts.get(index)).intValue() : 0;
+    }
+}
@@ -1,15 +1,19 @@
 package kg.akyl.java.inventory.infra.events;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import kg.akyl.java.inventory.domain.InventoryEvent;
+import kg.akyl.java.inventory.infra.profiling.EventSerializationEvent;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Component
@@ -29,18 +33,57 @@ public class EventStore {
             """;
 
         try {
+            jdbcTemplate.update(sql, toRows(List.of(event)).get(0));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to save event", e);
+        }
+    }
+
+    /**
+     * Store several events with one batched insert; all or nothing inside the caller's transaction
+     */
+    public void saveEvents(List<InventoryEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        String sql = """
+            INSERT INTO event_store (id, event_type, aggregate_id, event_data, timestamp, version)
+            VALUES (?, ?, ?, ?::jsonb, ?, ?)
+            """;
+
+        try {
+            jdbcTemplate.batchUpdate(sql, toRows(events));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to save events", e);
+        }
+    }
+
+    /**
+     * Insert parameters of each event, with its payload serialized to JSON
+     */
+    public List<Object[]> toRows(List<InventoryEvent> events) throws JsonProcessingException {
+        List<Object[]> rows = new ArrayList<>(events.size());
+        EventSerializationEvent serialization = new EventSerializationEvent();
+        serialization.begin();
+        long bytes = 0;
+        for (InventoryEvent event : events) {
             String eventDataJson = objectMapper.writeValueAsString(event.getEventData());
-            jdbcTemplate.update(sql,
+            bytes += eventDataJson.getBytes(StandardCharsets.UTF_8).length;
+            rows.add(new Object[]{
                     event.getId(),
                     event.getEventType(),
                     event.getAggregateId(),
                     eventDataJson,
                     Timestamp.valueOf(event.getTimestamp()),
                     event.getVersion()
-            );
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to save event", e);
+            });
+        }
+        if (serialization.shouldCommit()) {
+            serialization.events = events.size();
+            serialization.bytes = bytes;
+            serialization.commit();
         }
+        return rows;
     }
 
     public List<InventoryEvent> getEventsByAggregateId(String aggregateId) {
@@ -0,0 +1,255 @@
+package kg.akyl.java.inventory.infra.events;
+
+import kg.akyl.java.inventory.domain.InventoryEvent;
+import kg.akyl.java.inventory.domain.SupplyChainTransaction;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Stores one event per supply chain transaction and publishes them to Kafka in batches,
+ * so bulk writes do not turn into one message per row.
+ * <p>
+ * Every event carries the transaction's facts as they are after the change, so consumers can maintain
+ * aggregates without reading the transaction back; status changes also carry the previous status.
+ */
+@Component
+public class SupplyChainEventPublisher {
+    public static final String TOPIC = "supply-chain-events";
+    public static final String TRANSACTIONS_RECORDED = "TransactionsRecorded";
+    public static final String STATUSES_CHANGED = "TransactionStatusesChanged";
+    public static final String DELIVERIES_OVERDUE = "DeliveriesOverdue";
+
+    // Keeps each message well below the producer's 1 MB request limit
+    private static final int MAX_BATCH = 1000;
+
+    @Autowired
+    private EventStore eventStore;
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    public void recorded(List<SupplyChainTransaction> transactions) {
+        List<TransactionFacts> facts = new ArrayList<>(transactions.size());
+        List<InventoryEvent> events = new ArrayList<>(transactions.size());
+        for (SupplyChainTransaction transaction : transactions) {
+            TransactionFacts fact = TransactionFacts.of(transaction);
+            facts.add(fact);
+            events.add(new InventoryEvent("TransactionRecorded", transaction.getId().toString(), fact, 0L));
+        }
+        eventStore.saveEvents(events);
+        for (int from = 0; from < facts.size(); from += MAX_BATCH) {
+            List<TransactionFacts> batch = facts.subList(from, Math.min(from + MAX_BATCH, facts.size()));
+            kafkaTemplate.send(TOPIC, new InventoryEvent(TRANSACTIONS_RECORDED,
+                    UUID.randomUUID().toString(), new RecordedBatch(new ArrayList<>(batch)), 0L));
+        }
+    }
+
+    public void statusChanged(String status, List<StatusChange> transactions) {
+        List<InventoryEvent> events = new ArrayList<>(transactions.size());
+        for (StatusChange transaction : transactions) {
+            events.add(new InventoryEvent("TransactionStatusChanged",
+                    transaction.getTransactionId().toString(), transaction, 0L));
+        }
+        eventStore.saveEvents(events);
+        for (int from = 0; from < transactions.size(); from += MAX_BATCH) {
+            List<StatusChange> batch = transactions.subList(from, Math.min(from + MAX_BATCH, transactions.size()));
+            kafkaTemplate.send(TOPIC, new InventoryEvent(STATUSES_CHANGED,
+                    UUID.randomUUID().toString(), new StatusChangeBatch(status, new ArrayList<>(batch)), 0L));
+        }
+    }
+
+    public void deliveriesOverdue(List<OverdueDelivery> deliveries) {
+        List<InventoryEvent> events = new ArrayList<>(deliveries.size());
+        for (OverdueDelivery delivery : deliveries) {
+            events.add(new InventoryEvent("DeliveryOverdue", delivery.getTransactionId().toString(), delivery, 0L));
+        }
+        eventStore.saveEvents(events);
+        for (int from = 0; from < deliveries.size(); from += MAX_BATCH) {
+            List<OverdueDelivery> batch = deliveries.subList(from, Math.min(from + MAX_BATCH, deliveries.size()));
+            kafkaTemplate.send(TOPIC, new InventoryEvent(DELIVERIES_OVERDUE,
+                    UUID.randomUUID().toString(), new OverdueBatch(new ArrayList<>(batch)), 0L));
+        }
+    }
+
+    @Setter
+    @Getter
+    @NoArgsConstructor
+    public static class TransactionFacts {
+        private Long transactionId;
+        private Long fromSupplierId;
+        private Long toSupplierId;
+        private Long productId;
+        private Integer quantity;
+        private String transactionType;
+        private String status;
+        private BigDecimal totalAmount;
+        private BigDecimal shippingCost;
+        private BigDecimal taxAmount;
+        private BigDecimal discountAmount;
+        private LocalDateTime transactionDate;
+        private LocalDateTime expectedDeliveryDate;
+        private LocalDateTime actualDeliveryDate;
+
+        public static TransactionFacts of(SupplyChainTransaction transaction) {
+            TransactionFacts facts = new TransactionFacts();
+            facts.fill(transaction, transaction.getStatus().name(), transaction.getActualDeliveryDate());
+            return facts;
+        }
+
+        /**
+         * Facts from an event received from Kafka, where they arrive as a map
+         */
+        public static TransactionFacts fromPayload(Map<String, Object> data) {
+            TransactionFacts facts = new TransactionFacts();
+            facts.transactionId = EventPayloads.getLong(data, "transactionId");
+            facts.fromSupplierId = EventPayloads.getLong(data, "fromSupplierId");
+            facts.toSupplierId = EventPayloads.getLong(data, "toSupplierId");
+            facts.productId = EventPayloads.getLong(data, "productId");
+            facts.quantity = EventPayloads.getInt(data, "quantity");
+            facts.transactionType = EventPayloads.getString(data, "transactionType");
+            facts.status = EventPayloads.getString(data, "status");
+            facts.totalAmount = EventPayloads.getBigDecimal(data, "totalAmount");
+            facts.shippingCost = EventPayloads.getBigDecimal(data, "shippingCost");
+            facts.taxAmount = EventPayloads.getBigDecimal(data, "taxAmount");
+            facts.discountAmount = EventPayloads.getBigDecimal(data, "discountAmount");
+            facts.transactionDate = EventPayloads.getDateTime(data, "transactionDate");
+            facts.expectedDeliveryDate = EventPayloads.getDateTime(data, "expectedDeliveryDate");
+            facts.actualDeliveryDate = EventPayloads.getDateTime(data, "actualDeliveryDate");
+            return facts;
+        }
+
+        /**
+         * The same transaction in another status, as it was before a change
+         */
+        public TransactionFacts withStatus(String status, LocalDateTime actualDeliveryDate) {
+            TransactionFacts facts = new TransactionFacts();
+            facts.transactionId = transactionId;
+            facts.fromSupplierId = fromSupplierId;
+            facts.toSupplierId = toSupplierId;
+            facts.productId = productId;
+            facts.quantity = quantity;
+            facts.transactionType = transactionType;
+            facts.status = status;
+            facts.totalAmount = totalAmount;
+            facts.shippingCost = shippingCost;
+            facts.taxAmount = taxAmount;
+            facts.discountAmount = discountAmount;
+            facts.transactionDate = transactionDate;
+            facts.expectedDeliveryDate = expectedDeliveryDate;
+            facts.actualDeliveryDate = actualDeliveryDate;
+            return facts;
+        }
+
+        void fill(SupplyChainTransaction transaction, String status, LocalDateTime actualDeliveryDate) {
+            // Reading the id of a lazy association does not load it
+            transactionId = transaction.getId();
+            fromSupplierId = transaction.getFromSupplier().getId();
+            toSupplierId = transaction.getToSupplier().getId();
+            productId = transaction.getProduct().getId();
+            quantity = transaction.getQuantity();
+            transactionType = transaction.getTransactionType().name();
+            this.status = status;
+            totalAmount = transaction.getTotalAmount();
+            shippingCost = transaction.getShippingCost();
+            taxAmount = transaction.getTaxAmount();
+            discountAmount = transaction.getDiscountAmount();
+            transactionDate = transaction.getTransactionDate();
+            expectedDeliveryDate = transaction.getExpectedDeliveryDate();
+            this.actualDeliveryDate = actualDeliveryDate;
+        }
+    }
+
+    @Setter
+    @Getter
+    @NoArgsConstructor
+    public static class StatusChange extends TransactionFacts {
+        private String previousStatus;
+        private Double leadTimeHours; // set when the transaction was delivered
+
+        /**
+         * The change of {@code transaction}, as loaded before it, to {@code status}
+         */
+        public static StatusChange of(SupplyChainTransaction transaction, SupplyChainTransaction.TransactionStatus status,
+                                      LocalDateTime actualDeliveryDate) {
+            StatusChange change = new StatusChange();
+            change.fill(transaction, status.name(), actualDeliveryDate);
+            change.previousStatus = transaction.getStatus().name();
+            if (status == SupplyChainTransaction.TransactionStatus.DELIVERED && actualDeliveryDate != null) {
+                change.leadTimeHours = Duration.between(transaction.getTransactionDate(), actualDeliveryDate)
+                        .toMinutes() / 60.0;
+            }
+            return change;
+        }
+    }
+
+    @Setter
+    @Getter
+    @NoArgsConstructor
+    public static class RecordedBatch {
+        private List<TransactionFacts> transactions;
+
+        RecordedBatch(List<TransactionFacts> transactions) {
+            this.transactions = transactions;
+        }
+    }
+
+    @Setter
+    @Getter
+    @NoArgsConstructor
+    public static class StatusChangeBatch {
+        private String status;
+        private List<StatusChange> transactions;
+
+        StatusChangeBatch(String status, List<StatusChange> transactions) {
+            this.status = status;
+            this.transactions = transactions;
+        }
+    }
+
+    @Setter
+    @Getter
+    @NoArgsConstructor
+    public static class OverdueDelivery {
+        private Long transactionId;
+        private Long fromSupplierId;
+        private Long toSupplierId;
+        private Long productId;
+        private String status;
+        private LocalDateTime expectedDeliveryDate;
+        private LocalDateTime detectedAt;
+
+        public OverdueDelivery(Long transactionId, Long fromSupplierId, Long toSupplierId, Long productId,
+                               String status, LocalDateTime expectedDeliveryDate, LocalDateTime detectedAt) {
+            this.transactionId = transactionId;
+            this.fromSupplierId = fromSupplierId;
+            this.toSupplierId = toSupplierId;
+            this.productId = productId;
+            this.status = status;
+            this.expectedDeliveryDate = expectedDeliveryDate;
+            this.detectedAt = detectedAt;
+        }
+    }
+
+    @Setter
+    @Getter
+    @NoArgsConstructor
+    public static class OverdueBatch {
+        private List<OverdueDelivery> transactions;
+
+        OverdueBatch(List<OverdueDelivery> transactions) {
+            this.transactions = transactions;
+        }
+    }
+}
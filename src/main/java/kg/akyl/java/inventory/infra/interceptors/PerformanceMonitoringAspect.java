@@ -1,59 +1,120 @@
 package kg.akyl.java.inventory.infra.interceptors;
 
-import io.micrometer.core.instrument.Timer;
 import kg.akyl.java.inventory.infra.metrics.InventoryMetrics;
-import lombok.extern.slf4j.Slf4j;
+import kg.akyl.java.inventory.infra.metrics.OperationMetrics;
+import kg.akyl.java.inventory.infra.metrics.OperationMetrics.OperationTimers;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times command and query handlers, the event store and the lock manager as {@link OperationMetrics}
+ * operations named {@code Class.method}, or {@code Class.handle(Command)} for handler overloads.
+ * Handlers returning a {@link CompletableFuture} are timed until it completes.
+ * <p>
+ * The per-method timers are resolved on the first call and cached, so a timed call allocates nothing.
+ */
 @Aspect
 @Component
-@Slf4j
 public class PerformanceMonitoringAspect {
     @Autowired
     private InventoryMetrics inventoryMetrics;
 
-    @Around("execution(* kg.akyl.java.inventory.query.handlers.ProductQueryHandler.*(..))")
-    public Object monitorProductQueries(ProceedingJoinPoint joinPoint) throws Throwable {
-        log.info("Monitoring product queries");
-        Timer.Sample sample = inventoryMetrics.startProductQueryTimer();
+    @Autowired
+    private OperationMetrics operationMetrics;
+
+    private final ConcurrentHashMap<Method, Operation> operations = new ConcurrentHashMap<>();
+
+    /**
+     * The timers of one method, and the business counter it bumps on success, if any
+     */
+    private record Operation(OperationTimers timers, Runnable onSuccess) {
+    }
+
+    @Around("execution(public * kg.akyl.java.inventory.command.handlers..*.*(..))")
+    public Object monitorCommands(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "command");
+    }
+
+    @Around("execution(public * kg.akyl.java.inventory.query.handlers..*.*(..))")
+    public Object monitorQueries(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "query");
+    }
+
+    @Around("execution(public * kg.akyl.java.inventory.infra.events.EventStore.*(..))")
+    public Object monitorEventStore(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "event-store");
+    }
+
+    @Around("execution(public * kg.akyl.java.inventory.infra.caching.InventoryCacheManager.*(..))")
+    public Object monitorCache(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "cache");
+    }
+
+    // executeWithLock calls these on itself, so its acquire and release are not timed separately
+    @Around("execution(public * kg.akyl.java.inventory.infra.locking.DistributedLockManager.acquire*(..))"
+            + " || execution(public * kg.akyl.java.inventory.infra.locking.DistributedLockManager.release*(..))")
+    public Object monitorLocks(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "lock");
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String layer) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Operation operation = operations.get(method);
+        if (operation == null) {
+            operation = operations.computeIfAbsent(method, m -> new Operation(
+                    operationMetrics.timers(layer, operationName(m)), businessCounter(m)));
+        }
+
+        long started = System.nanoTime();
+        Object result;
         try {
-            return joinPoint.proceed();
-        } finally {
-            inventoryMetrics.recordProductQueryTime(sample);
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            operation.timers().record(started, false);
+            throw e;
         }
+        if (result instanceof CompletableFuture<?> future) {
+            Operation completed = operation;
+            // Callers get their own future back: the derived one would wrap failures and outlive a cancel()
+            future.whenComplete((value, error) -> finish(completed, started, error == null));
+            return future;
+        }
+        finish(operation, started, true);
+        return result;
     }
 
-    @Around("execution(* kg.akyl.java.inventory.command.handlers.SaleCommandHandler.*(..))")
-    public Object monitorSaleProcessing(ProceedingJoinPoint joinPoint) throws Throwable {
-        Timer.Sample sample = inventoryMetrics.startSaleProcessingTimer();
-        try {
-            Object result = joinPoint.proceed();
-            inventoryMetrics.incrementSalesProcessed();
-            return result;
-        } finally {
-            inventoryMetrics.recordSaleProcessingTime(sample);
+    private static void finish(Operation operation, long started, boolean succeeded) {
+        operation.timers().record(started, succeeded);
+        if (succeeded && operation.onSuccess() != null) {
+            operation.onSuccess().run();
         }
     }
 
-    @Around("execution(* kg.akyl.java.inventory.command.handlers.ProductCommandHandler.handle(..))")
-    public Object monitorProductCommands(ProceedingJoinPoint joinPoint) throws Throwable {
-        String methodName = joinPoint.getSignature().getName();
-        Object result = joinPoint.proceed();
-        log.info("Monitoring product queries");
-        // Increment appropriate counters based on command type
-        if (joinPoint.getArgs().length > 0) {
-            String commandType = joinPoint.getArgs()[0].getClass().getSimpleName();
-            if (commandType.contains("CreateProduct")) {
-                inventoryMetrics.incrementProductsCreated();
-            } else if (commandType.contains("UpdateProductQuantity")) {
-                inventoryMetrics.incrementInventoryUpdates();
-            }
+    private static String operationName(Method method) {
+        String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        if ("handle".equals(method.getName()) && method.getParameterCount() == 1) {
+            name += "(" + method.getParameterTypes()[0].getSimpleName() + ")";
         }
+        return name;
+    }
 
-        return result;
+    private Runnable businessCounter(Method method) {
+        if (!"handle".equals(method.getName()) || method.getParameterCount() != 1) {
+            return null;
+        }
+        return switch (method.getParameterTypes()[0].getSimpleName()) {
+            case "CreateProductCommand" -> inventoryMetrics::incrementProductsCreated;
+            case "UpdateProductQuantityCommand" -> inventoryMetrics::incrementInventoryUpdates;
+            case "ProcessSaleCommand" -> inventoryMetrics::incrementSalesProcessed;
+            default -> null;
+        };
     }
 }
@@ -0,0 +1,62 @@
+package kg.akyl.java.inventory.infra.jdbc;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Reads that stream large result sets instead of buffering them. PostgreSQL only fetches rows through a cursor,
+ * a fetch size at a time, inside a transaction, so the reads run on one connection with auto-commit off and
+ * commit when done.
+ */
+public final class StreamingQueries {
+
+    private StreamingQueries() {
+    }
+
+    /**
+     * Runs {@code work} in one read transaction on a connection of {@code jdbcTemplate}. With {@code snapshot}
+     * the transaction is REPEATABLE READ, so every statement in it sees the same snapshot.
+     */
+    public static <T> T inTransaction(JdbcTemplate jdbcTemplate, boolean snapshot, ConnectionCallback<T> work) {
+        return jdbcTemplate.execute((ConnectionCallback<T>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            int isolation = connection.getTransactionIsolation();
+            connection.setAutoCommit(false);
+            if (snapshot) {
+                connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            }
+            try {
+                return work.doInConnection(connection);
+            } finally {
+                connection.commit();
+                connection.setTransactionIsolation(isolation);
+                connection.setAutoCommit(autoCommit);
+            }
+        });
+    }
+
+    /**
+     * Passes each row of {@code sql} to {@code handler}, fetching {@code fetchSize} rows at a time.
+     * Only streams on a connection inside {@link #inTransaction}.
+     */
+    public static void stream(Connection connection, String sql, int fetchSize, RowCallbackHandler handler,
+                              Object... args) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    handler.processRow(rs);
+                }
+            }
+        }
+    }
+}
@@ -2,9 +2,12 @@ package kg.akyl.java.inventory.infra.locking;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.util.List;
 
 @Component
 public class DistributedLockManager {
@@ -14,6 +17,25 @@ public class DistributedLockManager {
     private static final String LOCK_PREFIX = "inventory:lock:";
     private static final long DEFAULT_LOCK_TIMEOUT = 30; // seconds
 
+    // Owner and TTL go through the template's value serializer, the same way for SET and GET, so they compare equal
+    private static final RedisScript<Long> ACQUIRE_OR_RENEW = new DefaultRedisScript<>("""
+            if redis.call('set', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then
+                return 1
+            end
+            if redis.call('get', KEYS[1]) == ARGV[1] then
+                redis.call('pexpire', KEYS[1], ARGV[2])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Long> RELEASE_IF_OWNER = new DefaultRedisScript<>("""
+            if redis.call('get', KEYS[1]) == ARGV[1] then
+                return redis.call('del', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
     public boolean acquireLock(String lockKey, long timeoutSeconds) {
         String key = LOCK_PREFIX + lockKey;
         String value = Thread.currentThread().getName() + ":" + System.currentTimeMillis();
@@ -33,6 +55,21 @@ public class DistributedLockManager {
         redisTemplate.delete(key);
     }
 
+    /**
+     * Takes the lock for {@code owner}, or extends it to {@code ttl} when {@code owner} already holds it
+     */
+    public boolean acquireOrRenew(String lockKey, String owner, Duration ttl) {
+        Long result = redisTemplate.execute(ACQUIRE_OR_RENEW, List.of(LOCK_PREFIX + lockKey), owner, ttl.toMillis());
+        return result != null && result == 1L;
+    }
+
+    /**
+     * Releases the lock only if {@code owner} still holds it
+     */
+    public void releaseIfOwner(String lockKey, String owner) {
+        redisTemplate.execute(RELEASE_IF_OWNER, List.of(LOCK_PREFIX + lockKey), owner);
+    }
+
     public boolean isLocked(String lockKey) {
         String key = LOCK_PREFIX + lockKey;
         return Boolean.TRUE.equals(redisTemplate.hasKey(key));
@@ -0,0 +1,73 @@
+package kg.akyl.java.inventory.infra.locking;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Elects one instance to run work that must happen once per cluster, such as emitting alerts.
+ * <p>
+ * The leader holds a Redis lock that it renews every {@code renew-interval-ms}. It stops considering itself
+ * leader one renewal interval before the lease would run out, so a stalled leader steps down before another
+ * instance can take over. When Redis is unreachable no instance is leader.
+ */
+@Component
+@Slf4j
+public class LeaderLease {
+    private static final String LOCK_KEY = "leader";
+
+    @Autowired
+    private DistributedLockManager lockManager;
+
+    @Value("${inventory.leader.lease-ms:15000}")
+    private long leaseMs;
+
+    @Value("${inventory.leader.renew-interval-ms:5000}")
+    private long renewIntervalMs;
+
+    private final String owner = UUID.randomUUID().toString();
+    private volatile long leaderUntil;
+
+    public boolean isLeader() {
+        return System.currentTimeMillis() < leaderUntil;
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.leader.renew-interval-ms:5000}")
+    public void renew() {
+        boolean wasLeader = isLeader();
+        long started = System.currentTimeMillis();
+        try {
+            if (lockManager.acquireOrRenew(LOCK_KEY, owner, Duration.ofMillis(leaseMs))) {
+                leaderUntil = started + leaseMs - renewIntervalMs;
+                if (!wasLeader) {
+                    log.info("This instance ({}) is now the leader", owner);
+                }
+                return;
+            }
+        } catch (Exception e) {
+            log.warn("Leader lease renewal failed: {}", e.getMessage());
+        }
+        leaderUntil = 0;
+        if (wasLeader) {
+            log.warn("This instance ({}) is no longer the leader", owner);
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        if (isLeader()) {
+            leaderUntil = 0;
+            try {
+                lockManager.releaseIfOwner(LOCK_KEY, owner);
+            } catch (Exception e) {
+                log.warn("Could not release the leader lease: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package kg.akyl.java.inventory.infra.messaging;
 
 import kg.akyl.java.inventory.domain.InventoryEvent;
+import kg.akyl.java.inventory.infra.events.EventPayloads;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.CacheManager;
@@ -11,6 +12,7 @@ import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
 import java.util.Objects;
 
 @Component
@@ -82,7 +84,14 @@ public class InventoryEventListener {
             log.info("Processing inventory update for analytics: {}", event.getAggregateId());
 
             // Invalidate related caches
-            invalidateProductCaches(event.getAggregateId());
+            if ("ProductQuantityBatchUpdated".equals(event.getEventType())) {
+                Map<String, Object> data = EventPayloads.asMap(event.getEventData());
+                for (Map<String, Object> update : EventPayloads.getMapList(data, "updates")) {
+                    invalidateProductCaches(String.valueOf(EventPayloads.getLong(update, "productId")));
+                }
+            } else {
+                invalidateProductCaches(event.getAggregateId());
+            }
 
             // Update analytics materialized views if needed
             // This could trigger a background refresh of analytics data
@@ -111,13 +120,8 @@ public class InventoryEventListener {
     }
 
     private void handleSaleProcessed(InventoryEvent event) {
-        // Invalidate analytics caches
-        if (cacheManager.getCache("sales-analytics") != null) {
-            Objects.requireNonNull(cacheManager.getCache("sales-analytics")).clear();
-        }
-        if (cacheManager.getCache("inventory-analytics") != null) {
-            Objects.requireNonNull(cacheManager.getCache("inventory-analytics")).clear();
-        }
+        // Sales analytics are invalidated once the sale reaches the rollups, see SalesRollupListener;
+        // inventory analytics are kept up to date in memory by CategoryInventoryAggregates
         log.debug("Sale processed: {}", event.getAggregateId());
     }
 
@@ -0,0 +1,49 @@
+package kg.akyl.java.inventory.infra.messaging;
+
+import kg.akyl.java.inventory.config.KafkaConfig;
+import kg.akyl.java.inventory.domain.InventoryEvent;
+import kg.akyl.java.inventory.infra.events.EventPayloads;
+import kg.akyl.java.inventory.query.readmodel.CategoryInventoryAggregates;
+import kg.akyl.java.inventory.query.topk.TopSellersTracker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Feeds processed sales into this instance's in-memory views:
+ * the {@link TopSellersTracker} and the {@link CategoryInventoryAggregates}.
+ * Consumes through {@link KafkaConfig#viewListenerContainerFactory}, like the other per-instance views.
+ */
+@Component
+public class LocalSalesEventListener {
+    @Autowired
+    private TopSellersTracker topSellersTracker;
+
+    @Autowired
+    private CategoryInventoryAggregates categoryInventoryAggregates;
+
+    @KafkaListener(topics = "sale-events", groupId = "local-sales-${inventory.messaging.instance-id}",
+            containerFactory = KafkaConfig.VIEW_LISTENER_FACTORY)
+    public void handleSaleEvents(@Payload InventoryEvent event) {
+        if ("SaleProcessed".equals(event.getEventType())) {
+            Map<String, Object> data = EventPayloads.asMap(event.getEventData());
+            Long saleId = EventPayloads.getLong(data, "saleId");
+            Long productId = EventPayloads.getLong(data, "productId");
+            LocalDateTime saleDate = EventPayloads.getDateTime(data, "saleDate");
+            int quantity = EventPayloads.getInt(data, "quantity", 0);
+            if (saleDate == null) {
+                saleDate = LocalDateTime.now();
+            }
+            if (saleId != null && productId != null) {
+                topSellersTracker.record(saleId, productId, quantity,
+                        EventPayloads.getBigDecimal(data, "totalAmount"), saleDate);
+                categoryInventoryAggregates.recordSale(saleId,
+                        EventPayloads.getString(data, "category"), quantity, saleDate);
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package kg.akyl.java.inventory.infra.messaging;
+
+import kg.akyl.java.inventory.config.KafkaConfig;
+import kg.akyl.java.inventory.domain.InventoryEvent;
+import kg.akyl.java.inventory.infra.events.EventPayloads;
+import kg.akyl.java.inventory.query.projections.ProductProjection;
+import kg.akyl.java.inventory.query.readmodel.ProductReadModel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Applies product events to the local {@link ProductReadModel}.
+ * Consumes through {@link KafkaConfig#viewListenerContainerFactory}, like the other per-instance views.
+ */
+@Component
+@Slf4j
+public class ReadModelEventListener {
+    @Autowired
+    private ProductReadModel productReadModel;
+
+    @KafkaListener(topics = {"product-events", "inventory-updates", "reservation-events"},
+            groupId = "product-read-model-${inventory.messaging.instance-id}",
+            containerFactory = KafkaConfig.VIEW_LISTENER_FACTORY)
+    public void handleEvent(@Payload InventoryEvent event) {
+        Map<String, Object> data = EventPayloads.asMap(event.getEventData());
+
+        switch (event.getEventType()) {
+            case "ProductCreated":
+                productReadModel.upsert(toProjection(data));
+                break;
+            case "ProductQuantityUpdated":
+            case "InventoryReduced":
+                applyQuantity(event, data);
+                break;
+            case "ProductQuantityBatchUpdated":
+                // The envelope of a batch carries no product version; each update has its own
+                for (Map<String, Object> update : EventPayloads.getMapList(data, "updates")) {
+                    applyQuantity(event, update);
+                }
+                break;
+            case "ProductReserved":
+                applyReservation(event, data);
+                break;
+            case "ProductDeleted":
+                productReadModel.remove(Long.parseLong(event.getAggregateId()));
+                break;
+            default:
+                log.debug("Read model ignores event type: {}", event.getEventType());
+        }
+    }
+
+    private void applyQuantity(InventoryEvent event, Map<String, Object> data) {
+        Long productId = EventPayloads.getLong(data, "productId");
+        Integer newQuantity = EventPayloads.getInt(data, "newQuantity");
+        if (productId == null || newQuantity == null) {
+            return;
+        }
+        if (!productReadModel.applyQuantity(productId, newQuantity, EventPayloads.getLong(data, "version"))) {
+            // Not loaded yet; the periodic catch-up will pick the row up
+            log.debug("Quantity update for unknown product {} ({})", productId, event.getEventType());
+        }
+    }
+
+    /**
+     * Reservations are applied as the absolute reserved quantity at the event's row version, so a reservation
+     * already contained in a loaded snapshot is not counted again
+     */
+    private void applyReservation(InventoryEvent event, Map<String, Object> data) {
+        Long productId = EventPayloads.getLong(data, "productId");
+        Integer reservedQuantity = EventPayloads.getInt(data, "reservedQuantity");
+        if (productId == null || reservedQuantity == null) {
+            // Events written before reservations carried the absolute quantity; the catch-up corrects the product
+            log.debug("Reservation without reserved quantity for product {}", productId);
+            return;
+        }
+        if (!productReadModel.applyReservation(productId, reservedQuantity, event.getVersion())) {
+            log.debug("Reservation for unknown product {} ({})", productId, event.getEventType());
+        }
+    }
+
+    private ProductProjection toProjection(Map<String, Object> data) {
+        LocalDateTime createdAt = EventPayloads.getDateTime(data, "createdAt");
+        LocalDateTime updatedAt = EventPayloads.getDateTime(data, "updatedAt");
+        LocalDateTime now = LocalDateTime.now();
+        ProductProjection projection = new ProductProjection(
+                EventPayloads.getLong(data, "id"),
+                EventPayloads.getString(data, "sku"),
+                EventPayloads.getString(data, "name"),
+                EventPayloads.getString(data, "description"),
+                EventPayloads.getBigDecimal(data, "price"),
+                EventPayloads.getInt(data, "quantity", 0),
+                EventPayloads.getInt(data, "reservedQuantity", 0),
+                EventPayloads.getString(data, "category"),
+                EventPayloads.getString(data, "status"),
+                createdAt != null ? createdAt : now,
+                updatedAt != null ? updatedAt : now
+        );
+        projection.setVersion(EventPayloads.getLong(data, "version"));
+        return projection;
+    }
+}
@@ -0,0 +1,59 @@
+package kg.akyl.java.inventory.infra.messaging;
+
+import kg.akyl.java.inventory.domain.InventoryEvent;
+import kg.akyl.java.inventory.infra.events.EventPayloads;
+import kg.akyl.java.inventory.query.rollups.SalesRollupService;
+import kg.akyl.java.inventory.query.sketches.SalesSketchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Folds processed sales into the sales rollups and sketches. Runs in its own consumer group so rollup writes
+ * don't hold up the inventory listeners.
+ */
+@Component
+@Slf4j
+public class SalesRollupListener {
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private SalesSketchService salesSketchService;
+
+    @KafkaListener(topics = "sale-events", groupId = "sales-rollup-group")
+    public void handleSaleEvents(@Payload InventoryEvent event, Acknowledgment acknowledgment) {
+        try {
+            if ("SaleProcessed".equals(event.getEventType())) {
+                Map<String, Object> data = EventPayloads.asMap(event.getEventData());
+                LocalDateTime eventSaleDate = EventPayloads.getDateTime(data, "saleDate");
+                LocalDateTime saleDate = eventSaleDate != null ? eventSaleDate : LocalDateTime.now();
+                String category = EventPayloads.getString(data, "category");
+                BigDecimal totalAmount = EventPayloads.getBigDecimal(data, "totalAmount");
+                boolean applied = salesRollupService.apply(
+                        EventPayloads.getLong(data, "saleId"),
+                        EventPayloads.getLong(data, "productId"),
+                        category,
+                        EventPayloads.getInt(data, "quantity", 0),
+                        totalAmount,
+                        saleDate);
+                // The rollup ledger has deduplicated the event, so the sketches count each sale once.
+                // Cached analytics catch up within inventory.rollups.analytics-cache-ttl.
+                if (applied) {
+                    salesSketchService.record(category, saleDate.toLocalDate(),
+                            EventPayloads.getString(data, "customerId"), totalAmount);
+                }
+            }
+            acknowledgment.acknowledge();
+        } catch (Exception e) {
+            log.error("Error applying sale event {} to rollups: {}", event.getAggregateId(), e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package kg.akyl.java.inventory.infra.messaging;
+
+import kg.akyl.java.inventory.config.KafkaConfig;
+import kg.akyl.java.inventory.domain.InventoryEvent;
+import kg.akyl.java.inventory.infra.events.EventPayloads;
+import kg.akyl.java.inventory.infra.events.SupplyChainEventPublisher;
+import kg.akyl.java.inventory.infra.events.SupplyChainEventPublisher.TransactionFacts;
+import kg.akyl.java.inventory.query.network.SupplyChainGraph;
+import kg.akyl.java.inventory.query.transactions.DeliveryDeadlineScheduler;
+import kg.akyl.java.inventory.query.transactions.TransactionStatsAggregator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Keeps this instance's {@link SupplyChainGraph}, {@link TransactionStatsAggregator} and
+ * {@link DeliveryDeadlineScheduler} in step with transaction writes.
+ * Consumes through {@link KafkaConfig#viewListenerContainerFactory}, like the other per-instance views.
+ */
+@Component
+@Slf4j
+public class SupplyChainEventListener {
+    @Autowired
+    private SupplyChainGraph supplyChainGraph;
+
+    @Autowired
+    private TransactionStatsAggregator transactionStatsAggregator;
+
+    @Autowired
+    private DeliveryDeadlineScheduler deliveryDeadlineScheduler;
+
+    @KafkaListener(topics = SupplyChainEventPublisher.TOPIC, groupId = "supply-chain-graph-${inventory.messaging.instance-id}",
+            containerFactory = KafkaConfig.VIEW_LISTENER_FACTORY)
+    public void handleSupplyChainEvents(@Payload InventoryEvent event) {
+        Map<String, Object> data = EventPayloads.asMap(event.getEventData());
+        switch (event.getEventType()) {
+            case SupplyChainEventPublisher.TRANSACTIONS_RECORDED -> {
+                for (Map<String, Object> transaction : EventPayloads.getMapList(data, "transactions")) {
+                    TransactionFacts facts = TransactionFacts.fromPayload(transaction);
+                    if (facts.getFromSupplierId() != null && facts.getToSupplierId() != null) {
+                        supplyChainGraph.recordTransaction(facts.getTransactionId(), facts.getFromSupplierId(),
+                                facts.getToSupplierId(), facts.getTotalAmount());
+                    }
+                    transactionStatsAggregator.recordTransaction(facts);
+                    deliveryDeadlineScheduler.track(facts);
+                }
+            }
+            case SupplyChainEventPublisher.STATUSES_CHANGED -> {
+                String status = EventPayloads.getString(data, "status");
+                for (Map<String, Object> transaction : EventPayloads.getMapList(data, "transactions")) {
+                    applyStatusChange(status, transaction);
+                    applyStatusChangeToStats(status, transaction);
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void applyStatusChange(String status, Map<String, Object> transaction) {
+        Long from = EventPayloads.getLong(transaction, "fromSupplierId");
+        Long to = EventPayloads.getLong(transaction, "toSupplierId");
+        if (from == null || to == null) {
+            return;
+        }
+        Long transactionId = EventPayloads.getLong(transaction, "transactionId");
+        if ("CANCELLED".equals(status) && !"CANCELLED".equals(EventPayloads.getString(transaction, "previousStatus"))) {
+            BigDecimal amount = EventPayloads.getBigDecimal(transaction, "totalAmount");
+            supplyChainGraph.recordCancellation(transactionId, from, to, amount);
+        } else if ("DELIVERED".equals(status) && transaction.get("leadTimeHours") instanceof Number hours) {
+            supplyChainGraph.recordDelivery(transactionId, from, to, hours.doubleValue());
+        }
+    }
+
+    private void applyStatusChangeToStats(String status, Map<String, Object> transaction) {
+        String previousStatus = EventPayloads.getString(transaction, "previousStatus");
+        if (previousStatus == null) {
+            return;
+        }
+        TransactionFacts current = TransactionFacts.fromPayload(transaction);
+        // Only delivery sets the delivery date; before it the transaction had none
+        TransactionFacts previous = current.withStatus(previousStatus,
+                "DELIVERED".equals(status) ? null : current.getActualDeliveryDate());
+        transactionStatsAggregator.recordChange(previous, current);
+        deliveryDeadlineScheduler.track(current);
+    }
+}
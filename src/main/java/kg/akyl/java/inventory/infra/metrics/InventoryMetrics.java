@@ -1,33 +1,55 @@
 package kg.akyl.java.inventory.infra.metrics;
 
 import io.micrometer.core.instrument.Counter;
-import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
+import kg.akyl.java.inventory.query.projections.ProductProjection;
+import kg.akyl.java.inventory.query.readmodel.LowStockMonitor;
+import kg.akyl.java.inventory.query.readmodel.ProductChangeListener;
+import kg.akyl.java.inventory.query.readmodel.ProductReadModel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Application metrics. The stock gauges are kept from {@link ProductReadModel} changes as running totals,
+ * so scraping them costs nothing and they are as fresh as the model; until the model is loaded they read NaN.
+ * <p>
+ * Every {@code reconcile-interval-ms} each instance recomputes the totals from its own model while the model
+ * holds still, and corrects the running totals if they drifted from it. Whether the model matches the products
+ * table is up to its catch-up, not to the gauges. Low stock comes from the {@link LowStockMonitor} and is not
+ * reconciled.
+ */
 @Component
-public class InventoryMetrics {
+@Slf4j
+public class InventoryMetrics implements ProductChangeListener {
+    private static final String ACTIVE = "ACTIVE";
+
     @Autowired
     private MeterRegistry meterRegistry;
 
+    // A provider because the model is built with its change listeners, this one included
+    @Autowired
+    private ObjectProvider<ProductReadModel> productReadModel;
+
     @Autowired
-    @Qualifier("readJdbcTemplate")
-    private JdbcTemplate jdbcTemplate;
+    private LowStockMonitor lowStockMonitor;
 
     private Counter productCreatedCounter;
     private Counter saleProcessedCounter;
     private Counter inventoryUpdateCounter;
-    private Timer productQueryTimer;
-    private Timer saleProcessingTimer;
-    private final AtomicLong lowStockItems = new AtomicLong();
+    private Counter reconciliationCorrections;
     private final AtomicLong totalProducts = new AtomicLong();
+    private final AtomicLong outOfStockItems = new AtomicLong();
+    private final AtomicLong reservedUnits = new AtomicLong();
+    private final AtomicLong inventoryValueCents = new AtomicLong();
+    private volatile boolean ready;
 
     @PostConstruct
     public void initMetrics() {
@@ -44,13 +66,8 @@ public class InventoryMetrics {
                 .description("Number of inventory updates")
                 .register(meterRegistry);
 
-        // Timers
-        productQueryTimer = Timer.builder("inventory.product.query.duration")
-                .description("Time taken to query products")
-                .register(meterRegistry);
-
-        saleProcessingTimer = Timer.builder("inventory.sale.processing.duration")
-                .description("Time taken to process sales")
+        reconciliationCorrections = Counter.builder("inventory.metrics.reconciliation.corrections")
+                .description("Stock gauges found to differ from the read model and reset")
                 .register(meterRegistry);
 
         // Gauges
@@ -58,8 +75,11 @@ public class InventoryMetrics {
 
         meterRegistry.gauge("inventory.products.low_stock", this, InventoryMetrics::getLowStockItems);
 
-        // Schedule periodic updates for gauges
-        updateGaugeMetrics();
+        meterRegistry.gauge("inventory.products.out_of_stock", this, InventoryMetrics::getOutOfStockItems);
+
+        meterRegistry.gauge("inventory.products.reserved_units", this, InventoryMetrics::getReservedUnits);
+
+        meterRegistry.gauge("inventory.products.inventory_value", this, InventoryMetrics::getInventoryValue);
     }
 
     public void incrementProductsCreated() {
@@ -74,46 +94,97 @@ public class InventoryMetrics {
         inventoryUpdateCounter.increment();
     }
 
-    public Timer.Sample startProductQueryTimer() {
-        return Timer.start(meterRegistry);
-    }
-
-    public void recordProductQueryTime(Timer.Sample sample) {
-        sample.stop(productQueryTimer);
+    @Override
+    public void onUpsert(ProductProjection previous, ProductProjection current) {
+        if (previous != null) {
+            addStock(previous, -1);
+        }
+        addStock(current, 1);
     }
 
-    public Timer.Sample startSaleProcessingTimer() {
-        return Timer.start(meterRegistry);
+    @Override
+    public void onRemove(ProductProjection previous) {
+        addStock(previous, -1);
     }
 
-    public void recordSaleProcessingTime(Timer.Sample sample) {
-        sample.stop(saleProcessingTimer);
+    @Override
+    public void onReady() {
+        ready = true;
     }
 
     public double getTotalProducts() {
-        return totalProducts.get();
+        return ready ? totalProducts.get() : Double.NaN;
     }
 
     public double getLowStockItems() {
-        return lowStockItems.get();
-    }
-
-    @org.springframework.scheduling.annotation.Scheduled(fixedRate = 60000) // Every minute
-    public void updateGaugeMetrics() {
-        try {
-            // Update total products count
-            Long total = jdbcTemplate.queryForObject(
-                    "SELECT COUNT(*) FROM products WHERE status = 'ACTIVE'", Long.class);
-            totalProducts.set(total != null ? total : 0);
-
-            // Update low stock items count
-            Long lowStock = jdbcTemplate.queryForObject(
-                    "SELECT COUNT(*) FROM products WHERE (quantity - reserved_quantity) <= 10 AND status = 'ACTIVE'",
-                    Long.class);
-            lowStockItems.set(lowStock != null ? lowStock : 0);
-        } catch (Exception e) {
-            // Log error but don't fail the application
-            System.err.println("Error updating metrics: " + e.getMessage());
+        return lowStockMonitor.isReady() ? lowStockMonitor.count() : Double.NaN;
+    }
+
+    public double getOutOfStockItems() {
+        return ready ? outOfStockItems.get() : Double.NaN;
+    }
+
+    public double getReservedUnits() {
+        return ready ? reservedUnits.get() : Double.NaN;
+    }
+
+    public double getInventoryValue() {
+        return ready ? inventoryValueCents.get() / 100.0 : Double.NaN;
+    }
+
+    @Scheduled(initialDelayString = "${inventory.metrics.reconcile-interval-ms:900000}",
+            fixedDelayString = "${inventory.metrics.reconcile-interval-ms:900000}")
+    public void reconcile() {
+        if (!ready) {
+            return;
+        }
+        ProductReadModel model = productReadModel.getObject();
+        model.whileUnchanged(() -> {
+            long[] totals = new long[4];
+            model.forEach(product -> {
+                if (!ACTIVE.equals(product.getStatus())) {
+                    return;
+                }
+                long quantity = product.getQuantity() != null ? product.getQuantity() : 0;
+                long reserved = product.getReservedQuantity() != null ? product.getReservedQuantity() : 0;
+                totals[0]++;
+                if (quantity - reserved <= 0) {
+                    totals[1]++;
+                }
+                totals[2] += reserved;
+                totals[3] += quantity * toCents(product.getPrice());
+            });
+            correct("total products", totalProducts, totals[0]);
+            correct("out of stock", outOfStockItems, totals[1]);
+            correct("reserved units", reservedUnits, totals[2]);
+            correct("inventory value (cents)", inventoryValueCents, totals[3]);
+        });
+    }
+
+    private void correct(String gauge, AtomicLong value, long actual) {
+        long tracked = value.get();
+        if (tracked != actual) {
+            value.set(actual);
+            reconciliationCorrections.increment();
+            log.warn("Corrected {} gauge from {} to {}", gauge, tracked, actual);
         }
     }
+
+    private void addStock(ProductProjection product, int sign) {
+        if (!ACTIVE.equals(product.getStatus())) {
+            return;
+        }
+        long quantity = product.getQuantity() != null ? product.getQuantity() : 0;
+        long reserved = product.getReservedQuantity() != null ? product.getReservedQuantity() : 0;
+        totalProducts.addAndGet(sign);
+        if (quantity - reserved <= 0) {
+            outOfStockItems.addAndGet(sign);
+        }
+        reservedUnits.addAndGet(sign * reserved);
+        inventoryValueCents.addAndGet(sign * quantity * toCents(product.getPrice()));
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount != null ? amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue() : 0L;
+    }
 }
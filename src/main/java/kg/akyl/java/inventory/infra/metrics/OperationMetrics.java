@@ -0,0 +1,70 @@
+package kg.akyl.java.inventory.infra.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One {@code inventory.operation} timer per layer, operation and outcome, with service level buckets so
+ * percentiles can be computed across instances.
+ * <p>
+ * Callers look up an {@link OperationTimers} once per operation and keep it; recording is then a
+ * {@link System#nanoTime()} pair and no allocation.
+ */
+@Component
+public class OperationMetrics {
+    public static final String TIMER = "inventory.operation";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${inventory.metrics.operations.slo-ms:1,5,10,25,50,100,250,500,1000,2500,5000}")
+    private long[] serviceLevelObjectivesMs;
+
+    @Value("${inventory.metrics.operations.percentiles:}")
+    private double[] percentiles;
+
+    @Value("${inventory.metrics.operations.maximum-expected-ms:30000}")
+    private long maximumExpectedMs;
+
+    private final ConcurrentHashMap<String, OperationTimers> timers = new ConcurrentHashMap<>();
+
+    /**
+     * The timers of one operation, by outcome
+     */
+    public record OperationTimers(Timer success, Timer error) {
+        public void record(long startedNanos, boolean succeeded) {
+            (succeeded ? success : error).record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public OperationTimers timers(String layer, String operation) {
+        String key = layer + '\u0000' + operation;
+        OperationTimers existing = timers.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        return timers.computeIfAbsent(key, k -> new OperationTimers(
+                timer(layer, operation, "success"), timer(layer, operation, "error")));
+    }
+
+    private Timer timer(String layer, String operation, String outcome) {
+        return Timer.builder(TIMER)
+                .description("Duration of an operation, by layer, operation and outcome")
+                .tag("layer", layer)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .serviceLevelObjectives(Arrays.stream(serviceLevelObjectivesMs)
+                        .mapToObj(Duration::ofMillis).toArray(Duration[]::new))
+                .publishPercentiles(percentiles)
+                .maximumExpectedValue(Duration.ofMillis(maximumExpectedMs))
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,178 @@
+package kg.akyl.java.inventory.infra.metrics;
+
+import kg.akyl.java.inventory.infra.metrics.OperationMetrics.OperationTimers;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Times every get, put and evict on the caches of another {@link CacheManager}, as the {@code cache} layer
+ * of {@link OperationMetrics}. Asynchronous retrievals are timed until their result is ready.
+ */
+public class TimedCacheManager implements CacheManager {
+    private final CacheManager target;
+    private final OperationMetrics metrics;
+    private final ConcurrentHashMap<String, TimedCache> caches = new ConcurrentHashMap<>();
+
+    public TimedCacheManager(CacheManager target, OperationMetrics metrics) {
+        this.target = target;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TimedCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache targetCache = target.getCache(name);
+        return targetCache != null ? caches.computeIfAbsent(name, n -> new TimedCache(targetCache, metrics)) : null;
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return target.getCacheNames();
+    }
+
+    private static final class TimedCache implements Cache {
+        private final Cache target;
+        private final OperationTimers get;
+        private final OperationTimers put;
+        private final OperationTimers evict;
+
+        TimedCache(Cache target, OperationMetrics metrics) {
+            this.target = target;
+            this.get = metrics.timers("cache", target.getName() + ".get");
+            this.put = metrics.timers("cache", target.getName() + ".put");
+            this.evict = metrics.timers("cache", target.getName() + ".evict");
+        }
+
+        @Override
+        public String getName() {
+            return target.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return target.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            long started = System.nanoTime();
+            boolean succeeded = false;
+            try {
+                ValueWrapper value = target.get(key);
+                succeeded = true;
+                return value;
+            } finally {
+                get.record(started, succeeded);
+            }
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            long started = System.nanoTime();
+            boolean succeeded = false;
+            try {
+                T value = target.get(key, type);
+                succeeded = true;
+                return value;
+            } finally {
+                get.record(started, succeeded);
+            }
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            // Includes loading the value on a miss
+            long started = System.nanoTime();
+            boolean succeeded = false;
+            try {
+                T value = target.get(key, valueLoader);
+                succeeded = true;
+                return value;
+            } finally {
+                get.record(started, succeeded);
+            }
+        }
+
+        @Override
+        public CompletableFuture<?> retrieve(Object key) {
+            long started = System.nanoTime();
+            CompletableFuture<?> value = target.retrieve(key);
+            return value != null ? value.whenComplete((result, error) -> get.record(started, error == null)) : null;
+        }
+
+        @Override
+        public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+            long started = System.nanoTime();
+            return target.retrieve(key, valueLoader).whenComplete((result, error) -> get.record(started, error == null));
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            long started = System.nanoTime();
+            boolean succeeded = false;
+            try {
+                target.put(key, value);
+                succeeded = true;
+            } finally {
+                put.record(started, succeeded);
+            }
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            long started = System.nanoTime();
+            boolean succeeded = false;
+            try {
+                ValueWrapper existing = target.putIfAbsent(key, value);
+                succeeded = true;
+                return existing;
+            } finally {
+                put.record(started, succeeded);
+            }
+        }
+
+        @Override
+        public void evict(Object key) {
+            long started = System.nanoTime();
+            boolean succeeded = false;
+            try {
+                target.evict(key);
+                succeeded = true;
+            } finally {
+                evict.record(started, succeeded);
+            }
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            long started = System.nanoTime();
+            boolean succeeded = false;
+            try {
+                boolean evicted = target.evictIfPresent(key);
+                succeeded = true;
+                return evicted;
+            } finally {
+                evict.record(started, succeeded);
+            }
+        }
+
+        @Override
+        public void clear() {
+            target.clear();
+        }
+
+        @Override
+        public boolean invalidate() {
+            return target.invalidate();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package kg.akyl.java.inventory.infra.metrics;
+
+import io.micrometer.observation.Observation;
+import kg.akyl.java.inventory.infra.metrics.OperationMetrics.OperationTimers;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every send from the call until the broker acknowledges it, per topic, as the {@code kafka} layer
+ * of {@link OperationMetrics}. Replaces the template's own per-send timer.
+ */
+public class TimedKafkaTemplate<K, V> extends KafkaTemplate<K, V> {
+    private final OperationMetrics metrics;
+    private final ConcurrentHashMap<String, OperationTimers> timers = new ConcurrentHashMap<>();
+
+    public TimedKafkaTemplate(ProducerFactory<K, V> producerFactory, OperationMetrics metrics) {
+        super(producerFactory);
+        this.metrics = metrics;
+        setMicrometerEnabled(false);
+    }
+
+    @Override
+    protected CompletableFuture<SendResult<K, V>> doSend(ProducerRecord<K, V> producerRecord, Observation observation) {
+        long started = System.nanoTime();
+        OperationTimers topicTimers = timers.get(producerRecord.topic());
+        if (topicTimers == null) {
+            topicTimers = timers.computeIfAbsent(producerRecord.topic(), topic -> metrics.timers("kafka", topic + ".send"));
+        }
+        OperationTimers sendTimers = topicTimers;
+        CompletableFuture<SendResult<K, V>> future;
+        try {
+            future = super.doSend(producerRecord, observation);
+        } catch (RuntimeException e) {
+            sendTimers.record(started, false);
+            throw e;
+        }
+        future.whenComplete((result, error) -> sendTimers.record(started, error == null));
+        return future;
+    }
+}
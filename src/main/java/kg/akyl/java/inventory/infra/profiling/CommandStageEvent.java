@@ -0,0 +1,87 @@
+package kg.akyl.java.inventory.infra.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Flight Recorder event for one stage of a command handler. When no recording has the event enabled,
+ * {@link #start} returns an event that is never begun or committed, and the JIT removes most of the cost.
+ * <p>
+ * SQL the handler does not flush itself runs when the transaction commits, so it shows up in
+ * {@link Stage#COMMIT} rather than in {@link Stage#SAVE}. {@link Stage#LOCK_WAIT} is a read that takes a row lock,
+ * {@link Stage#LOAD} a plain read.
+ */
+@Name(CommandStageEvent.NAME)
+@Label("Command Stage")
+@Category({"Inventory", "Commands"})
+@Description("Time spent in one stage of a command handler")
+@StackTrace(false)
+public class CommandStageEvent extends Event {
+    public static final String NAME = "kg.akyl.inventory.CommandStage";
+
+    public enum Stage {
+        LOCK_WAIT,
+        LOAD,
+        SALE_INSERT,
+        SAVE,
+        EVENT_APPEND,
+        PUBLISH,
+        COMMIT
+    }
+
+    @Label("Command")
+    private String command;
+
+    @Label("Stage")
+    private String stage;
+
+    public static CommandStageEvent start(String command, Stage stage) {
+        CommandStageEvent event = new CommandStageEvent();
+        if (event.isEnabled()) {
+            event.command = command;
+            event.stage = stage.name();
+            event.begin();
+        }
+        return event;
+    }
+
+    public void finish() {
+        if (isEnabled()) {
+            commit();
+        }
+    }
+
+    /**
+     * Records the flush and commit of the current transaction as the {@link Stage#COMMIT} stage of {@code command}
+     */
+    public static void timeCommit(String command) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        CommandStageEvent probe = new CommandStageEvent();
+        if (!probe.isEnabled()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private CommandStageEvent event;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                event = start(command, Stage.COMMIT);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (event != null) {
+                    event.finish();
+                }
+            }
+        });
+    }
+}
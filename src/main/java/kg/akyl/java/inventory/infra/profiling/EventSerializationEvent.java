@@ -0,0 +1,29 @@
+package kg.akyl.java.inventory.infra.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for turning event payloads into JSON before they are appended to the event store,
+ * to tell serialization apart from the insert within {@link CommandStageEvent.Stage#EVENT_APPEND}.
+ */
+@Name(EventSerializationEvent.NAME)
+@Label("Event Serialization")
+@Category({"Inventory", "Event Store"})
+@Description("JSON serialization of event payloads for the event store")
+@StackTrace(false)
+public class EventSerializationEvent extends Event {
+    public static final String NAME = "kg.akyl.inventory.EventSerialization";
+
+    @Label("Events")
+    public int events;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+}
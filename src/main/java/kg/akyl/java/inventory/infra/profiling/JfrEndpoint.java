@@ -0,0 +1,193 @@
+package kg.akyl.java.inventory.infra.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import kg.akyl.java.inventory.query.sketches.DDSketch;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Actuator endpoint {@code jfr} for Flight Recorder recordings of {@link CommandStageEvent} and
+ * {@link EventSerializationEvent}, exposed over JMX only: {@code start} starts a recording, {@code recording}
+ * shows its state with a summary of what was recorded so far, and {@code stop} stops it, dumps it to
+ * {@code inventory.jfr.directory} and summarizes it.
+ * <p>
+ * Summaries list count, total, p50, p99 and max milliseconds per event, command and stage. Events are
+ * aggregated as they are read, so the percentiles come from a {@link DDSketch} and are within 1% of the
+ * recorded durations; count, total and max are exact.
+ */
+@Component
+@Endpoint(id = "jfr")
+@Slf4j
+public class JfrEndpoint {
+    private static final String RECORDING_NAME = "inventory-commands";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    @Value("${inventory.jfr.directory:${java.io.tmpdir}}")
+    private String directory;
+
+    private Recording recording;
+
+    public record StageSummary(long count, double totalMs, double p50Ms, double p99Ms, double maxMs, long bytes) {
+    }
+
+    @WriteOperation
+    public synchronized Map<String, Object> start(@Nullable Integer durationSeconds, @Nullable Integer maxSizeMb,
+                                                  @Nullable String configuration) throws IOException, ParseException {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("A recording is already running since " + recording.getStartTime());
+        }
+        closeRecording();
+
+        // A predefined configuration such as "default" or "profile" adds the JDK's own events
+        Recording started = configuration != null
+                ? new Recording(Configuration.getConfiguration(configuration))
+                : new Recording();
+        started.setName(RECORDING_NAME);
+        started.setToDisk(true);
+        started.enable(CommandStageEvent.class).withThreshold(Duration.ZERO);
+        started.enable(EventSerializationEvent.class).withThreshold(Duration.ZERO);
+        if (durationSeconds != null) {
+            started.setDuration(Duration.ofSeconds(durationSeconds));
+        }
+        if (maxSizeMb != null) {
+            started.setMaxSize(maxSizeMb * 1024L * 1024L);
+        }
+        started.start();
+        recording = started;
+        log.info("Started JFR recording {} (duration {} s, max size {} MB, configuration {})",
+                started.getId(), durationSeconds, maxSizeMb, configuration);
+        return status();
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> recording() throws IOException {
+        Map<String, Object> result = status();
+        if (recording != null && recording.getState() != RecordingState.CLOSED) {
+            Path snapshot = Files.createTempFile("inventory-jfr-", ".jfr");
+            try (Recording copy = recording.copy(false)) {
+                copy.dump(snapshot);
+                result.put("summary", summarize(snapshot));
+            } finally {
+                Files.deleteIfExists(snapshot);
+            }
+        }
+        return result;
+    }
+
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() throws IOException {
+        if (recording == null || recording.getState() == RecordingState.CLOSED) {
+            throw new IllegalStateException("No recording to stop");
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        Path file = Path.of(directory, RECORDING_NAME + "-" + FILE_TIMESTAMP.format(LocalDateTime.now()) + ".jfr");
+        Files.createDirectories(file.getParent());
+        recording.dump(file);
+        Map<String, Object> result = status();
+        result.put("file", file.toAbsolutePath().toString());
+        result.put("summary", summarize(file));
+        closeRecording();
+        log.info("Stopped JFR recording, dumped to {}", file.toAbsolutePath());
+        return result;
+    }
+
+    private Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("id", recording.getId());
+        status.put("state", recording.getState().name());
+        status.put("startTime", recording.getStartTime());
+        status.put("duration", recording.getDuration());
+        status.put("maxSize", recording.getMaxSize());
+        return status;
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private static Map<String, StageSummary> summarize(Path file) throws IOException {
+        Map<String, StageAccumulator> stages = new TreeMap<>();
+        try (RecordingFile events = new RecordingFile(file)) {
+            while (events.hasMoreEvents()) {
+                RecordedEvent event = events.readEvent();
+                long bytes = 0;
+                String key;
+                switch (event.getEventType().getName()) {
+                    case CommandStageEvent.NAME -> key = event.getString("command") + " " + event.getString("stage");
+                    case EventSerializationEvent.NAME -> {
+                        key = "EventStore SERIALIZATION";
+                        bytes = event.getLong("bytes");
+                    }
+                    default -> {
+                        continue;
+                    }
+                }
+                stages.computeIfAbsent(key, k -> new StageAccumulator()).add(event.getDuration().toNanos(), bytes);
+            }
+        }
+
+        Map<String, StageSummary> summary = new LinkedHashMap<>();
+        stages.forEach((key, stage) -> summary.put(key, stage.summary()));
+        return summary;
+    }
+
+    private static final class StageAccumulator {
+        private final DDSketch durations = new DDSketch();
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private long bytes;
+
+        void add(long nanos, long eventBytes) {
+            durations.add(nanos);
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            bytes += eventBytes;
+        }
+
+        StageSummary summary() {
+            return new StageSummary(count, millis(totalNanos), millis(quantile(0.50)), millis(quantile(0.99)),
+                    millis(maxNanos), bytes);
+        }
+
+        // The sketch rounds to its bin value, which may lie just above the largest duration
+        private long quantile(double q) {
+            return Math.min(Math.round(durations.quantile(q)), maxNanos);
+        }
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
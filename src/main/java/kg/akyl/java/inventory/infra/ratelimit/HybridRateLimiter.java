@@ -0,0 +1,224 @@
+package kg.akyl.java.inventory.infra.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client rate limiting without a Redis round-trip on the request path.
+ * <p>
+ * Requests are checked against a local {@link TokenBucket}. A background sync pushes the consumption of clients
+ * used since the last run to a per-window Redis counter and reads the counter of the others, all in one pipeline,
+ * and takes what other instances consumed out of the local bucket, so the limit holds across instances up to one
+ * sync interval of lag. Clients configured as strict are instead
+ * checked on every request with an atomic sliding-window script in Redis.
+ */
+@Component
+@Slf4j
+public class HybridRateLimiter {
+    private static final String KEY_PREFIX = "rate_limit:";
+
+    // KEYS[1] window counter; ARGV[1] increment, ARGV[2] ttl in ms
+    private static final byte[] SYNC_SCRIPT = """
+            local count = redis.call('INCRBY', KEYS[1], ARGV[1])
+            if redis.call('PTTL', KEYS[1]) < 0 then
+                redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return count
+            """.getBytes(StandardCharsets.UTF_8);
+
+    // KEYS[1] current window, KEYS[2] previous window; ARGV[1] cost, ARGV[2] limit,
+    // ARGV[3] elapsed share of the current window in per mille, ARGV[4] ttl in ms.
+    // Returns the remaining budget, or -1 when the request is refused.
+    private static final byte[] SLIDING_WINDOW_SCRIPT = """
+            local current = tonumber(redis.call('GET', KEYS[1]) or '0')
+            local previous = tonumber(redis.call('GET', KEYS[2]) or '0')
+            local estimate = previous * (1000 - tonumber(ARGV[3])) / 1000 + current
+            local cost = tonumber(ARGV[1])
+            local limit = tonumber(ARGV[2])
+            if estimate + cost > limit then
+                return -1
+            end
+            redis.call('INCRBY', KEYS[1], cost)
+            redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            return math.floor(limit - estimate - cost)
+            """.getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Value("${inventory.rate-limit.limit:1000}")
+    private long limit;
+
+    @Value("${inventory.rate-limit.window-ms:60000}")
+    private long windowMs;
+
+    @Value("${inventory.rate-limit.burst:200}")
+    private int burst;
+
+    @Value("${inventory.rate-limit.strict-clients:}")
+    private Set<String> strictClients;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    // SHA1 of SYNC_SCRIPT once loaded into Redis; cleared when a sync fails, in case Redis lost its scripts
+    private volatile byte[] syncScriptSha;
+
+    public long getLimit() {
+        return limit;
+    }
+
+    public long getWindowMs() {
+        return windowMs;
+    }
+
+    public Decision tryAcquire(String clientId, int cost) {
+        if (strictClients.contains(clientId)) {
+            try {
+                return tryAcquireStrict(clientId, cost);
+            } catch (RuntimeException e) {
+                // The local bucket's consumption reaches the same window counter once Redis is back
+                log.warn("Strict rate limit check for {} failed, using the local bucket: {}", clientId, e.getMessage());
+            }
+        }
+        while (true) {
+            TokenBucket bucket = buckets.computeIfAbsent(clientId,
+                    id -> new TokenBucket(burst, limit * 1000d / windowMs));
+            double remaining = bucket.tryConsume(cost);
+            if (Double.isNaN(remaining)) {
+                // Evicted by the sync between lookup and use; take a fresh one
+                continue;
+            }
+            long resetAt = System.currentTimeMillis() + (long) Math.ceil(bucket.secondsToFull() * 1000);
+            if (remaining < 0) {
+                return new Decision(false, 0, (long) Math.ceil(bucket.secondsToRefill(remaining)), resetAt);
+            }
+            return new Decision(true, (long) remaining, 0, resetAt);
+        }
+    }
+
+    /**
+     * Push local consumption to Redis and pull in what other instances used, one pipeline per run
+     */
+    @Scheduled(fixedDelayString = "${inventory.rate-limit.sync-interval-ms:500}")
+    public void sync() {
+        long window = System.currentTimeMillis() / windowMs;
+        List<String> clients = new ArrayList<>();
+        List<Long> flushed = new ArrayList<>();
+        buckets.forEach((clientId, bucket) -> {
+            long consumed = bucket.drainUnsynced();
+            clients.add(clientId);
+            flushed.add(consumed);
+        });
+        if (clients.isEmpty()) {
+            return;
+        }
+
+        byte[] ttl = bytes(windowMs * 2);
+        List<Object> counts;
+        try {
+            byte[] sha = syncScriptSha();
+            counts = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int i = 0; i < clients.size(); i++) {
+                    byte[] key = key(clients.get(i), window);
+                    if (flushed.get(i) > 0) {
+                        connection.scriptingCommands().evalSha(sha, ReturnType.INTEGER, 1, key,
+                                bytes(flushed.get(i)), ttl);
+                    } else {
+                        connection.stringCommands().get(key);
+                    }
+                }
+                return null;
+            }, StringRedisSerializer.UTF_8);
+        } catch (Exception e) {
+            syncScriptSha = null;
+            log.warn("Rate limit sync with Redis failed, keeping local counts: {}", e.getMessage());
+            for (int i = 0; i < clients.size(); i++) {
+                TokenBucket bucket = buckets.get(clients.get(i));
+                if (bucket != null) {
+                    bucket.restoreUnsynced(flushed.get(i));
+                }
+            }
+            return;
+        }
+
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(windowMs * 2);
+        for (int i = 0; i < clients.size(); i++) {
+            TokenBucket bucket = buckets.get(clients.get(i));
+            Long count = toCount(counts.get(i));
+            if (bucket != null && count != null) {
+                bucket.reconcile(window, count, flushed.get(i));
+            }
+        }
+        for (String clientId : clients) {
+            buckets.computeIfPresent(clientId, (id, bucket) -> bucket.retireIfIdle(idleNanos) ? null : bucket);
+        }
+    }
+
+    private byte[] syncScriptSha() {
+        byte[] sha = syncScriptSha;
+        if (sha == null) {
+            String loaded = redisTemplate.execute((RedisCallback<String>) connection ->
+                    connection.scriptingCommands().scriptLoad(SYNC_SCRIPT));
+            if (loaded == null) {
+                throw new IllegalStateException("Redis did not return a SHA for the rate limit sync script");
+            }
+            sha = loaded.getBytes(StandardCharsets.UTF_8);
+            syncScriptSha = sha;
+        }
+        return sha;
+    }
+
+    private Decision tryAcquireStrict(String clientId, int cost) {
+        long now = System.currentTimeMillis();
+        long window = now / windowMs;
+        long elapsedPerMille = (now % windowMs) * 1000 / windowMs;
+        Long remaining = redisTemplate.execute((RedisCallback<Long>) connection ->
+                connection.scriptingCommands().eval(SLIDING_WINDOW_SCRIPT, ReturnType.INTEGER, 2,
+                        key(clientId, window),
+                        key(clientId, window - 1),
+                        bytes(cost), bytes(limit), bytes(elapsedPerMille), bytes(windowMs * 2)));
+        long resetAt = (window + 1) * windowMs;
+        if (remaining == null || remaining < 0) {
+            return new Decision(false, 0, Math.max(1, (windowMs - now % windowMs) / 1000), resetAt);
+        }
+        return new Decision(true, remaining, 0, resetAt);
+    }
+
+    private static byte[] key(String clientId, long window) {
+        return (KEY_PREFIX + "{" + clientId + "}:" + window).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The script returns the count as an integer, GET as text; a missing counter reads as null
+     */
+    private static Long toCount(Object result) {
+        if (result instanceof Number count) {
+            return count.longValue();
+        }
+        return result instanceof String count ? Long.valueOf(count) : null;
+    }
+
+    private static byte[] bytes(long value) {
+        return String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * {@code resetAtMillis} is the epoch time by which the client's full budget is available again
+     */
+    public record Decision(boolean allowed, long remaining, long retryAfterSeconds, long resetAtMillis) {
+    }
+}
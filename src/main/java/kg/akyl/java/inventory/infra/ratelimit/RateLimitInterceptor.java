@@ -3,47 +3,69 @@ package kg.akyl.java.inventory.infra.ratelimit;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.servlet.HandlerInterceptor;
 
-import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Component
 public class RateLimitInterceptor implements HandlerInterceptor {
-    @Autowired
-    private RedisTemplate<String, Object> redisTemplate;
+    private final HybridRateLimiter rateLimiter;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    // Request cost per path pattern, optionally prefixed with a method ("GET /api/..."); first match wins,
+    // unmatched requests cost 1
+    private final Map<String, Integer> costs;
 
-    private static final String RATE_LIMIT_PREFIX = "rate_limit:";
-    private static final long DEFAULT_LIMIT = 1000; // requests per minute
-    private static final Duration WINDOW_SIZE = Duration.ofMinutes(1);
+    @Autowired
+    public RateLimitInterceptor(HybridRateLimiter rateLimiter, Environment environment) {
+        this.rateLimiter = rateLimiter;
+        this.costs = Binder.get(environment)
+                .bind("inventory.rate-limit.costs", Bindable.mapOf(String.class, Integer.class))
+                .map(LinkedHashMap::new)
+                .orElseGet(LinkedHashMap::new);
+    }
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
         String clientId = getClientId(request);
-        String key = RATE_LIMIT_PREFIX + clientId;
+        HybridRateLimiter.Decision decision = rateLimiter.tryAcquire(clientId, costOf(request.getMethod(), request.getRequestURI()));
 
-        Long currentCount = redisTemplate.opsForValue().increment(key);
-
-        if (currentCount == 1) {
-            // First request in the window, set expiration
-            redisTemplate.expire(key, WINDOW_SIZE);
-        }
+        response.setHeader("X-RateLimit-Limit", String.valueOf(rateLimiter.getLimit()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(decision.remaining()));
+        response.setHeader("X-RateLimit-Reset", String.valueOf(decision.resetAtMillis()));
 
-        if (currentCount > DEFAULT_LIMIT) {
+        if (!decision.allowed()) {
             response.setStatus(429); // Too Many Requests
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, decision.retryAfterSeconds())));
             response.getWriter().write("{\"error\":\"Rate limit exceeded\"}");
             return false;
         }
-
-        // Add rate limit headers
-        response.setHeader("X-RateLimit-Limit", String.valueOf(DEFAULT_LIMIT));
-        response.setHeader("X-RateLimit-Remaining", String.valueOf(Math.max(0, DEFAULT_LIMIT - currentCount)));
-        response.setHeader("X-RateLimit-Reset", String.valueOf(System.currentTimeMillis() + WINDOW_SIZE.toMillis()));
-
         return true;
     }
 
+    private int costOf(String method, String path) {
+        for (Map.Entry<String, Integer> cost : costs.entrySet()) {
+            String pattern = cost.getKey();
+            int space = pattern.indexOf(' ');
+            if (space > 0) {
+                if (!pattern.regionMatches(true, 0, method, 0, space) || method.length() != space) {
+                    continue;
+                }
+                pattern = pattern.substring(space + 1);
+            }
+            if (pathMatcher.match(pattern, path)) {
+                return cost.getValue();
+            }
+        }
+        return 1;
+    }
+
     private String getClientId(HttpServletRequest request) {
         // In production, you might use API keys, user IDs, or other identifiers
         String apiKey = request.getHeader("X-API-Key");
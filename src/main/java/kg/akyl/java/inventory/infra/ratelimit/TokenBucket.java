@@ -0,0 +1,96 @@
+package kg.akyl.java.inventory.infra.ratelimit;
+
+/**
+ * Per-client token bucket kept in memory. Consumption is counted so it can be pushed to Redis, and tokens
+ * used by other instances are taken out when the sync reports them, which makes the local buckets of all
+ * instances behave approximately like one shared bucket.
+ */
+class TokenBucket {
+    private final double capacity;
+    private final double refillPerNano;
+    private double tokens;
+    private long lastRefillNanos;
+    private long unsynced;
+    private long lastGlobalCount;
+    private long lastWindow = -1;
+    private volatile long lastUsedNanos;
+    private boolean retired;
+
+    TokenBucket(double capacity, double refillPerSecond) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+        this.lastUsedNanos = lastRefillNanos;
+    }
+
+    /**
+     * Returns the tokens left after taking {@code cost}, a negative deficit when the request is refused,
+     * or NaN when the bucket has been retired and the caller must use a new one
+     */
+    synchronized double tryConsume(int cost) {
+        if (retired) {
+            return Double.NaN;
+        }
+        long now = System.nanoTime();
+        refill(now);
+        lastUsedNanos = now;
+        if (tokens < cost) {
+            return tokens - cost;
+        }
+        tokens -= cost;
+        unsynced += cost;
+        return tokens;
+    }
+
+    double secondsToRefill(double deficit) {
+        return -deficit / (refillPerNano * 1_000_000_000d);
+    }
+
+    synchronized double secondsToFull() {
+        refill(System.nanoTime());
+        return secondsToRefill(tokens - capacity);
+    }
+
+    /**
+     * Hands the consumption since the last sync to the caller
+     */
+    synchronized long drainUnsynced() {
+        long drained = unsynced;
+        unsynced = 0;
+        return drained;
+    }
+
+    synchronized void restoreUnsynced(long count) {
+        unsynced += count;
+    }
+
+    /**
+     * Apply the global count Redis returned after adding {@code flushed} of our own tokens
+     */
+    synchronized void reconcile(long window, long globalCount, long flushed) {
+        long previous = window == lastWindow ? lastGlobalCount : 0;
+        long usedElsewhere = globalCount - previous - flushed;
+        if (usedElsewhere > 0) {
+            tokens = Math.max(-capacity, tokens - usedElsewhere);
+        }
+        lastWindow = window;
+        lastGlobalCount = globalCount;
+    }
+
+    /**
+     * Retires the bucket when it has nothing left to sync and has not been used for {@code idleNanos}.
+     * A retired bucket refuses further use, so consumption cannot land in a bucket that was already evicted.
+     */
+    synchronized boolean retireIfIdle(long idleNanos) {
+        if (unsynced == 0 && System.nanoTime() - lastUsedNanos > idleNanos) {
+            retired = true;
+        }
+        return retired;
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * refillPerNano);
+        lastRefillNanos = now;
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -137,10 +138,27 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     List<String> findAllCategories();
 
     /**
-     * Batch delete by IDs (for bulk operations)
+     * Batch delete by IDs (for bulk operations), returning the IDs that existed and were deleted
      */
-    @Modifying
-    @Query("DELETE FROM Product p WHERE p.id IN :ids")
-    int deleteByIdIn(@Param("ids") List<Long> ids);
+    @Query(value = "DELETE FROM products WHERE id IN (:ids) RETURNING id", nativeQuery = true)
+    List<Long> deleteByIdInReturningIds(@Param("ids") List<Long> ids);
+
+    /**
+     * First keyset page ordered by most recently updated (uses idx_product_updated_at_id)
+     */
+    @Query(value = "SELECT p.* FROM products p " +
+            "ORDER BY p.updated_at DESC, p.id DESC " +
+            "LIMIT :limit", nativeQuery = true)
+    List<Product> findFirstByUpdatedAt(@Param("limit") int limit);
 
+    /**
+     * Keyset page of products updated before the given (updatedAt, id) position
+     */
+    @Query(value = "SELECT p.* FROM products p " +
+            "WHERE (p.updated_at, p.id) < (:updatedAt, :id) " +
+            "ORDER BY p.updated_at DESC, p.id DESC " +
+            "LIMIT :limit", nativeQuery = true)
+    List<Product> findByUpdatedAtBefore(@Param("updatedAt") LocalDateTime updatedAt,
+                                        @Param("id") Long id,
+                                        @Param("limit") int limit);
 }
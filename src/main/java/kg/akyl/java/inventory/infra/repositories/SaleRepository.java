@@ -33,4 +33,24 @@ public interface SaleRepository extends JpaRepository<Sale, Long> {
     List<Sale> findSalesByCategory(@Param("category") String category,
                                    @Param("fromDate") LocalDateTime fromDate,
                                    @Param("toDate") LocalDateTime toDate);
+
+    /**
+     * Keyset page of sales in a date range, newest first, strictly before the given (saleDate, id) position
+     */
+    @Query(value = """
+        SELECT s.* FROM sales s
+        WHERE s.sale_date BETWEEN :fromDate AND :toDate
+        AND (s.sale_date, s.id) < (:saleDate, :id)
+        ORDER BY s.sale_date DESC, s.id DESC
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<Sale> findPageBySaleDateBefore(@Param("fromDate") LocalDateTime fromDate,
+                                        @Param("toDate") LocalDateTime toDate,
+                                        @Param("saleDate") LocalDateTime saleDate,
+                                        @Param("id") Long id,
+                                        @Param("limit") int limit);
+
+    @Query("SELECT COUNT(s) FROM Sale s WHERE s.saleDate BETWEEN :fromDate AND :toDate")
+    long countBySaleDateBetween(@Param("fromDate") LocalDateTime fromDate,
+                                @Param("toDate") LocalDateTime toDate);
 }
@@ -10,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.QueryHint;
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -70,4 +71,57 @@ public interface SupplierRepository  extends JpaRepository<Supplier, Long> {
     @Query("SELECT s FROM Supplier s WHERE s.status = 'ACTIVE' AND s.rating IS NOT NULL ORDER BY s.rating DESC")
     @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
     List<Supplier> findTopRatedSuppliers(Pageable pageable);
+
+    /**
+     * First keyset page ordered by name (uses idx_supplier_name_id)
+     */
+    @Query(value = "SELECT s.* FROM suppliers s ORDER BY s.name, s.id LIMIT :limit", nativeQuery = true)
+    List<Supplier> findFirstByName(@Param("limit") int limit);
+
+    /**
+     * Keyset page of suppliers after the given (name, id) position
+     */
+    @Query(value = "SELECT s.* FROM suppliers s " +
+            "WHERE (s.name, s.id) > (:name, :id) " +
+            "ORDER BY s.name, s.id LIMIT :limit", nativeQuery = true)
+    List<Supplier> findByNameAfter(@Param("name") String name, @Param("id") Long id, @Param("limit") int limit);
+
+    /**
+     * All supplier statistics in one pass: the overall totals plus one group per status, type, country and city.
+     * The grouping flags tell which set a row belongs to.
+     */
+    @Query(value = "SELECT GROUPING(s.status) AS statusGrouped, GROUPING(s.supplier_type) AS typeGrouped, " +
+            "GROUPING(s.country) AS countryGrouped, GROUPING(s.city) AS cityGrouped, " +
+            "s.status AS status, s.supplier_type AS supplierType, s.country AS country, s.city AS city, " +
+            "COUNT(*) AS suppliers, AVG(s.rating) AS averageRating, " +
+            "AVG(s.payment_terms_days) AS averagePaymentTerms, SUM(s.credit_limit) AS totalCreditLimit " +
+            "FROM suppliers s " +
+            "GROUP BY GROUPING SETS ((), (s.status), (s.supplier_type), (s.country), (s.city))", nativeQuery = true)
+    List<StatisticsRow> aggregateStatistics();
+
+    interface StatisticsRow {
+        int getStatusGrouped();
+
+        int getTypeGrouped();
+
+        int getCountryGrouped();
+
+        int getCityGrouped();
+
+        String getStatus();
+
+        String getSupplierType();
+
+        String getCountry();
+
+        String getCity();
+
+        long getSuppliers();
+
+        BigDecimal getAverageRating();
+
+        BigDecimal getAveragePaymentTerms();
+
+        BigDecimal getTotalCreditLimit();
+    }
 }
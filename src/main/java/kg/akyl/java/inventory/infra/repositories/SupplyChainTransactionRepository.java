@@ -1,4 +1,96 @@
 package kg.akyl.java.inventory.infra.repositories;
 
-public interface SupplyChainTransactionRepository {
+import kg.akyl.java.inventory.domain.SupplyChainTransaction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SupplyChainTransactionRepository extends JpaRepository<SupplyChainTransaction, Long> {
+    @Override
+    @EntityGraph(attributePaths = {"fromSupplier", "toSupplier", "product"})
+    Page<SupplyChainTransaction> findAll(Pageable pageable);
+
+    /**
+     * Find transaction by ID with its suppliers and product
+     */
+    @EntityGraph(attributePaths = {"fromSupplier", "toSupplier", "product"})
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    Optional<SupplyChainTransaction> findWithPartiesById(Long id);
+
+    /**
+     * Find transaction by its number
+     */
+    @EntityGraph(attributePaths = {"fromSupplier", "toSupplier", "product"})
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    Optional<SupplyChainTransaction> findByTransactionNumber(String transactionNumber);
+
+    boolean existsByTransactionNumber(String transactionNumber);
+
+    /**
+     * Find transactions by status
+     */
+    @EntityGraph(attributePaths = {"fromSupplier", "toSupplier", "product"})
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    Page<SupplyChainTransaction> findByStatus(SupplyChainTransaction.TransactionStatus status, Pageable pageable);
+
+    /**
+     * Find transactions where the supplier is either party
+     */
+    @EntityGraph(attributePaths = {"fromSupplier", "toSupplier", "product"})
+    @Query("SELECT t FROM SupplyChainTransaction t " +
+            "WHERE t.fromSupplier.id = :supplierId OR t.toSupplier.id = :supplierId")
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    Page<SupplyChainTransaction> findBySupplier(@Param("supplierId") Long supplierId, Pageable pageable);
+
+    /**
+     * Transaction numbers out of {@code numbers} that are already stored
+     */
+    @Query("SELECT t.transactionNumber FROM SupplyChainTransaction t WHERE t.transactionNumber IN :numbers")
+    List<String> findExistingNumbers(@Param("numbers") Collection<String> numbers);
+
+    /**
+     * Lock the listed transactions that are in one of {@code statuses}, in id order so concurrent bulk updates
+     * cannot deadlock
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM SupplyChainTransaction t WHERE t.id IN :ids AND t.status IN :statuses ORDER BY t.id")
+    List<SupplyChainTransaction> lockForTransition(@Param("ids") Collection<Long> ids,
+                                                   @Param("statuses") Collection<SupplyChainTransaction.TransactionStatus> statuses);
+
+    /**
+     * Move every listed transaction whose status is one of {@code from} to {@code to} in one statement
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE SupplyChainTransaction t SET t.status = :to, t.version = t.version + 1 " +
+            "WHERE t.id IN :ids AND t.status IN :from")
+    int transitionStatus(@Param("ids") Collection<Long> ids,
+                         @Param("from") Collection<SupplyChainTransaction.TransactionStatus> from,
+                         @Param("to") SupplyChainTransaction.TransactionStatus to);
+
+    /**
+     * Bulk transition to DELIVERED, recording the delivery time. Transactions dated after it are left alone.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE SupplyChainTransaction t " +
+            "SET t.status = kg.akyl.java.inventory.domain.SupplyChainTransaction.TransactionStatus.DELIVERED, " +
+            "t.actualDeliveryDate = :deliveredAt, t.version = t.version + 1 " +
+            "WHERE t.id IN :ids AND t.status IN :from AND t.transactionDate <= :deliveredAt")
+    int markDelivered(@Param("ids") Collection<Long> ids,
+                      @Param("from") Collection<SupplyChainTransaction.TransactionStatus> from,
+                      @Param("deliveredAt") LocalDateTime deliveredAt);
 }
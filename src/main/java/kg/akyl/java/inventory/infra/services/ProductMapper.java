@@ -0,0 +1,33 @@
+package kg.akyl.java.inventory.infra.services;
+
+import kg.akyl.java.inventory.domain.Product;
+import kg.akyl.java.inventory.domain.dto.ProductDTO;
+
+/**
+ * Maps product entities onto the DTOs the product endpoints return and cache.
+ */
+public final class ProductMapper {
+
+    private ProductMapper() {
+    }
+
+    /**
+     * Convert Product entity to DTO
+     */
+    public static ProductDTO toDTO(Product product) {
+        return ProductDTO.builder()
+                .id(product.getId())
+                .sku(product.getSku())
+                .name(product.getName())
+                .description(product.getDescription())
+                .category(product.getCategory())
+                .price(product.getPrice())
+                .stockQuantity(product.getStockQuantity())
+                .minStockLevel(product.getMinStockLevel())
+                .status(product.getStatus().name())
+                .createdAt(product.getCreatedAt())
+                .updatedAt(product.getUpdatedAt())
+                .version(product.getVersion())
+                .build();
+    }
+}
@@ -1,25 +1,36 @@
 package kg.akyl.java.inventory.infra.services;
 
+import kg.akyl.java.inventory.domain.InventoryEvent;
 import kg.akyl.java.inventory.domain.Product;
 import kg.akyl.java.inventory.domain.ProductStatus;
 import kg.akyl.java.inventory.domain.dto.ProductDTO;
 import kg.akyl.java.inventory.domain.dto.ProductStatsDTO;
+import kg.akyl.java.inventory.domain.response.CursorPage;
+import kg.akyl.java.inventory.infra.events.EventStore;
 import kg.akyl.java.inventory.infra.exceptions.ProductNotFoundException;
 import kg.akyl.java.inventory.infra.exceptions.SkuAlreadyExistsException;
+import kg.akyl.java.inventory.infra.pagination.CursorCodec;
 import kg.akyl.java.inventory.infra.repositories.ProductRepository;
+import kg.akyl.java.inventory.query.readmodel.ProductReadModel;
+import kg.akyl.java.inventory.query.search.ProductSearchIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,6 +39,10 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class ProductService {
     private final ProductRepository productRepository;
+    private final EventStore eventStore;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ProductReadModel productReadModel;
+    private final ProductSearchIndex productSearchIndex;
 
     /**
      * Get all products with pagination (cached for performance)
@@ -36,7 +51,33 @@ public class ProductService {
     public Page<ProductDTO> getAllProducts(Pageable pageable) {
         log.debug("Fetching products page: {} with size: {}", pageable.getPageNumber(), pageable.getPageSize());
         return productRepository.findAll(pageable)
-                .map(this::convertToDTO);
+                .map(ProductMapper::toDTO);
+    }
+
+    /**
+     * Get products ordered by last update using keyset pagination (no OFFSET scan, count only on request)
+     */
+    public CursorPage<ProductDTO> getProductsPage(String cursor, int requestedSize, boolean includeTotal) {
+        int size = CursorCodec.pageSize(requestedSize);
+        List<Product> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = productRepository.findFirstByUpdatedAt(size + 1);
+        } else {
+            String[] keys = CursorCodec.decode(cursor, 2);
+            rows = productRepository.findByUpdatedAtBefore(
+                    CursorCodec.keyAsDateTime(keys[0]), CursorCodec.keyAsLong(keys[1]), size + 1);
+        }
+
+        boolean hasMore = rows.size() > size;
+        List<Product> page = hasMore ? rows.subList(0, size) : rows;
+        Product last = page.isEmpty() ? null : page.get(page.size() - 1);
+        return CursorPage.<ProductDTO>builder()
+                .content(page.stream().map(ProductMapper::toDTO).collect(Collectors.toList()))
+                .size(page.size())
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? CursorCodec.encode(last.getUpdatedAt(), last.getId()) : null)
+                .totalElements(includeTotal ? productRepository.count() : null)
+                .build();
     }
 
     /**
@@ -47,7 +88,7 @@ public class ProductService {
         log.debug("Fetching product by ID: {}", id);
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + id));
-        return convertToDTO(product);
+        return ProductMapper.toDTO(product);
     }
 
     /**
@@ -58,16 +99,30 @@ public class ProductService {
         log.debug("Fetching product by SKU: {}", sku);
         Product product = productRepository.findBySku(sku)
                 .orElseThrow(() -> new ProductNotFoundException("Product not found with SKU: " + sku));
-        return convertToDTO(product);
+        return ProductMapper.toDTO(product);
     }
 
     /**
-     * Search products with pagination
+     * Search products with pagination. Ranked by the in-memory search index once it is loaded.
      */
     public Page<ProductDTO> searchProducts(String searchTerm, Pageable pageable) {
         log.debug("Searching products with term: {}", searchTerm);
-        return productRepository.searchProducts(searchTerm, pageable)
-                .map(this::convertToDTO);
+        if (!productReadModel.isReady()) {
+            return productRepository.searchProducts(searchTerm, pageable)
+                    .map(ProductMapper::toDTO);
+        }
+
+        ProductSearchIndex.SearchPage hits = productSearchIndex.search(searchTerm,
+                pageable.getPageSize(), (int) pageable.getOffset(), false);
+        List<Long> ids = hits.getProductIds();
+        Map<Long, Product> products = productRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<ProductDTO> content = ids.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .map(ProductMapper::toDTO)
+                .toList();
+        return new PageImpl<>(content, pageable, hits.getTotalHits());
     }
 
     /**
@@ -77,7 +132,7 @@ public class ProductService {
     public Page<ProductDTO> getProductsByCategory(String category, Pageable pageable) {
         log.debug("Fetching products by category: {}", category);
         return productRepository.findByCategory(category, pageable)
-                .map(this::convertToDTO);
+                .map(ProductMapper::toDTO);
     }
 
     /**
@@ -86,7 +141,7 @@ public class ProductService {
     public Page<ProductDTO> getProductsByStatus(ProductStatus status, Pageable pageable) {
         log.debug("Fetching products by status: {}", status);
         return productRepository.findByStatus(status, pageable)
-                .map(this::convertToDTO);
+                .map(ProductMapper::toDTO);
     }
 
     /**
@@ -106,7 +161,7 @@ public class ProductService {
         Product savedProduct = productRepository.save(product);
 
         log.info("Product created successfully with ID: {}", savedProduct.getId());
-        return convertToDTO(savedProduct);
+        return ProductMapper.toDTO(savedProduct);
     }
 
     /**
@@ -138,7 +193,7 @@ public class ProductService {
         Product updatedProduct = productRepository.save(existingProduct);
 
         log.info("Product updated successfully with ID: {}", updatedProduct.getId());
-        return convertToDTO(updatedProduct);
+        return ProductMapper.toDTO(updatedProduct);
     }
 
     /**
@@ -168,6 +223,7 @@ public class ProductService {
         }
 
         productRepository.deleteById(id);
+        publishDeleted(id);
         log.info("Product deleted successfully with ID: {}", id);
     }
 
@@ -178,7 +234,10 @@ public class ProductService {
     @CacheEvict(value = {"products", "product", "productStats", "productsByCategory"}, allEntries = true)
     public int bulkDeleteProducts(List<Long> ids) {
         log.info("Bulk deleting {} products", ids.size());
-        return productRepository.deleteByIdIn(ids);
+        // Ids that matched no product are not announced
+        List<Long> deleted = productRepository.deleteByIdInReturningIds(ids);
+        deleted.forEach(this::publishDeleted);
+        return deleted.size();
     }
 
     /**
@@ -187,7 +246,7 @@ public class ProductService {
     public List<ProductDTO> getLowStockProducts(int limit) {
         log.debug("Fetching low stock products with limit: {}", limit);
         return productRepository.findLowStockProducts(Pageable.ofSize(limit)).stream()
-                .map(this::convertToDTO)
+                .map(ProductMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
@@ -197,7 +256,7 @@ public class ProductService {
     public List<ProductDTO> getProductsRequiringRestock() {
         log.debug("Fetching products requiring restock");
         return productRepository.findProductsRequiringRestock().stream()
-                .map(this::convertToDTO)
+                .map(ProductMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
@@ -243,23 +302,12 @@ public class ProductService {
     }
 
     /**
-     * Convert Product entity to DTO
+     * Deletes are hard deletes, so read models only learn about them from this event
      */
-    private ProductDTO convertToDTO(Product product) {
-        return ProductDTO.builder()
-                .id(product.getId())
-                .sku(product.getSku())
-                .name(product.getName())
-                .description(product.getDescription())
-                .category(product.getCategory())
-                .price(product.getPrice())
-                .stockQuantity(product.getStockQuantity())
-                .minStockLevel(product.getMinStockLevel())
-                .status(product.getStatus().name())
-                .createdAt(product.getCreatedAt())
-                .updatedAt(product.getUpdatedAt())
-                .version(product.getVersion())
-                .build();
+    private void publishDeleted(Long id) {
+        InventoryEvent event = new InventoryEvent("ProductDeleted", id.toString(), Map.of("productId", id), 0L);
+        eventStore.saveEvent(event);
+        kafkaTemplate.send("product-events", event);
     }
 
     /**
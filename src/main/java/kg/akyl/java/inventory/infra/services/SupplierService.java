@@ -3,6 +3,7 @@ import kg.akyl.java.inventory.domain.Supplier;
 import kg.akyl.java.inventory.domain.dto.SupplierDTO;
 import kg.akyl.java.inventory.domain.dto.SupplierStatsDTO;
 import kg.akyl.java.inventory.domain.request.CreateSupplierRequest;
+import kg.akyl.java.inventory.domain.response.CursorPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -14,6 +15,11 @@ public interface SupplierService {
      */
     Page<SupplierDTO> getAllSuppliers(Pageable pageable);
 
+    /**
+     * Get suppliers ordered by name using keyset pagination
+     */
+    CursorPage<SupplierDTO> getSuppliersPage(String cursor, int size, boolean includeTotal);
+
     /**
      * Get supplier by ID
      */
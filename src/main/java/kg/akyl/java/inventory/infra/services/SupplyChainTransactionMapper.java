@@ -0,0 +1,43 @@
+package kg.akyl.java.inventory.infra.services;
+
+import kg.akyl.java.inventory.domain.Product;
+import kg.akyl.java.inventory.domain.Supplier;
+import kg.akyl.java.inventory.domain.SupplyChainTransaction;
+import kg.akyl.java.inventory.domain.request.CreateTransactionRequest;
+
+/**
+ * Maps transaction requests onto entities, shared by the transaction service and the NDJSON ingest.
+ */
+public final class SupplyChainTransactionMapper {
+
+    private SupplyChainTransactionMapper() {
+    }
+
+    /**
+     * New PENDING transaction between the given parties, as described by {@code request}
+     */
+    public static SupplyChainTransaction toPendingTransaction(CreateTransactionRequest request, String transactionNumber,
+                                                              Supplier fromSupplier, Supplier toSupplier, Product product) {
+        SupplyChainTransaction transaction = SupplyChainTransaction.builder()
+                .transactionNumber(transactionNumber)
+                .fromSupplier(fromSupplier)
+                .toSupplier(toSupplier)
+                .product(product)
+                .quantity(request.getQuantity())
+                .unitPrice(request.getUnitPrice())
+                .transactionType(SupplyChainTransaction.TransactionType.valueOf(request.getTransactionType()))
+                .status(SupplyChainTransaction.TransactionStatus.PENDING)
+                .transactionDate(request.getTransactionDate())
+                .expectedDeliveryDate(request.getExpectedDeliveryDate())
+                .invoiceNumber(request.getInvoiceNumber())
+                .purchaseOrderNumber(request.getPurchaseOrderNumber())
+                .shippingCost(request.getShippingCost())
+                .taxAmount(request.getTaxAmount())
+                .discountAmount(request.getDiscountAmount())
+                .paymentMethod(request.getPaymentMethod())
+                .notes(request.getNotes())
+                .build();
+        transaction.calculateTotalAmount();
+        return transaction;
+    }
+}
@@ -0,0 +1,58 @@
+package kg.akyl.java.inventory.infra.services;
+import kg.akyl.java.inventory.domain.dto.SupplyChainTransactionDTO;
+import kg.akyl.java.inventory.domain.dto.TransactionStatsDTO;
+import kg.akyl.java.inventory.domain.request.CreateTransactionRequest;
+import kg.akyl.java.inventory.domain.response.BulkStatusUpdateResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface SupplyChainTransactionService {
+    /**
+     * Get all transactions with pagination
+     */
+    Page<SupplyChainTransactionDTO> getAllTransactions(Pageable pageable);
+
+    /**
+     * Get transaction by ID
+     */
+    Optional<SupplyChainTransactionDTO> getTransactionById(Long id);
+
+    /**
+     * Get transaction by transaction number
+     */
+    Optional<SupplyChainTransactionDTO> getTransactionByNumber(String transactionNumber);
+
+    /**
+     * Get transactions by status
+     */
+    Page<SupplyChainTransactionDTO> getTransactionsByStatus(String status, Pageable pageable);
+
+    /**
+     * Get transactions where the supplier is the sender or the receiver
+     */
+    Page<SupplyChainTransactionDTO> getTransactionsBySupplier(Long supplierId, Pageable pageable);
+
+    /**
+     * Statistics of the transactions dated within [from, to], or empty while they are still loading
+     */
+    Optional<TransactionStatsDTO> getTransactionStatistics(LocalDate from, LocalDate to);
+
+    /**
+     * Create new transaction in PENDING status
+     */
+    SupplyChainTransactionDTO createTransaction(CreateTransactionRequest request);
+
+    /**
+     * Move a transaction to a new status
+     */
+    SupplyChainTransactionDTO updateTransactionStatus(Long id, String status);
+
+    /**
+     * Move many transactions to the same status with one update
+     */
+    BulkStatusUpdateResponse updateTransactionStatuses(List<Long> ids, String status);
+}
@@ -4,6 +4,8 @@ import kg.akyl.java.inventory.domain.Supplier;
 import kg.akyl.java.inventory.domain.dto.SupplierDTO;
 import kg.akyl.java.inventory.domain.dto.SupplierStatsDTO;
 import kg.akyl.java.inventory.domain.request.CreateSupplierRequest;
+import kg.akyl.java.inventory.domain.response.CursorPage;
+import kg.akyl.java.inventory.infra.pagination.CursorCodec;
 import kg.akyl.java.inventory.infra.repositories.SupplierRepository;
 import kg.akyl.java.inventory.infra.services.SupplierService;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +19,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -39,6 +42,31 @@ public class SupplierServiceImpl implements SupplierService {
                 .map(this::convertToDTO);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<SupplierDTO> getSuppliersPage(String cursor, int requestedSize, boolean includeTotal) {
+        int size = CursorCodec.pageSize(requestedSize);
+        List<Supplier> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = supplierRepository.findFirstByName(size + 1);
+        } else {
+            String[] keys = CursorCodec.decode(cursor, 2);
+            rows = supplierRepository.findByNameAfter(keys[1], CursorCodec.keyAsLong(keys[0]), size + 1);
+        }
+
+        boolean hasMore = rows.size() > size;
+        List<Supplier> page = hasMore ? rows.subList(0, size) : rows;
+        Supplier last = page.isEmpty() ? null : page.get(page.size() - 1);
+        return CursorPage.<SupplierDTO>builder()
+                .content(page.stream().map(this::convertToDTO).collect(Collectors.toList()))
+                .size(page.size())
+                .hasMore(hasMore)
+                // Name goes last: the codec splits on a separator that cannot appear in an id
+                .nextCursor(hasMore ? CursorCodec.encode(last.getId(), last.getName()) : null)
+                .totalElements(includeTotal ? supplierRepository.count() : null)
+                .build();
+    }
+
     @Override
     @Transactional(readOnly = true)
     @Cacheable(value = "supplier", key = "#id")
@@ -58,7 +86,7 @@ public class SupplierServiceImpl implements SupplierService {
     }
 
     @Override
-    @CacheEvict(value = {"suppliers", "supplier"}, allEntries = true)
+    @CacheEvict(value = {"suppliers", "supplier", "activeSuppliers", "supplierStats"}, allEntries = true)
     public SupplierDTO createSupplier(CreateSupplierRequest request) {
         log.info("Creating new supplier with code: {}", request.getSupplierCode());
 
@@ -93,7 +121,7 @@ public class SupplierServiceImpl implements SupplierService {
     }
 
     @Override
-    @CacheEvict(value = {"suppliers", "supplier"}, allEntries = true)
+    @CacheEvict(value = {"suppliers", "supplier", "activeSuppliers", "supplierStats"}, allEntries = true)
     public SupplierDTO updateSupplier(Long id, CreateSupplierRequest request) {
         log.info("Updating supplier with ID: {}", id);
 
@@ -130,7 +158,7 @@ public class SupplierServiceImpl implements SupplierService {
     }
 
     @Override
-    @CacheEvict(value = {"suppliers", "supplier"}, allEntries = true)
+    @CacheEvict(value = {"suppliers", "supplier", "activeSuppliers", "supplierStats"}, allEntries = true)
     public void deleteSupplier(Long id) {
         log.info("Deleting supplier with ID: {}", id);
 
@@ -187,54 +215,51 @@ public class SupplierServiceImpl implements SupplierService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "supplierStats")
     public SupplierStatsDTO getSupplierStatistics() {
         log.debug("Calculating supplier statistics");
 
-        List<Supplier> allSuppliers = supplierRepository.findAll();
-
-        long totalSuppliers = allSuppliers.size();
-        long activeSuppliers = countByStatus(Supplier.SupplierStatus.ACTIVE);
-        long inactiveSuppliers = countByStatus(Supplier.SupplierStatus.INACTIVE);
-        long suspendedSuppliers = countByStatus(Supplier.SupplierStatus.SUSPENDED);
-        long pendingApprovalSuppliers = countByStatus(Supplier.SupplierStatus.PENDING_APPROVAL);
-
-        // Calculate average rating
-        BigDecimal averageRating = allSuppliers.stream()
-                .map(Supplier::getRating)
-                .filter(Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .divide(BigDecimal.valueOf(totalSuppliers), 2, java.math.RoundingMode.HALF_UP);
-
-        // Group by type
-        Map<String, Long> suppliersByType = allSuppliers.stream()
-                .collect(Collectors.groupingBy(
-                        s -> s.getSupplierType().name(),
-                        Collectors.counting()
-                ));
-
-        // Group by country
-        Map<String, Long> suppliersByCountry = allSuppliers.stream()
-                .filter(s -> s.getCountry() != null)
-                .collect(Collectors.groupingBy(
-                        Supplier::getCountry,
-                        Collectors.counting()
-                ));
-
-        // Group by city
-        Map<String, Long> suppliersByCity = allSuppliers.stream()
-                .filter(s -> s.getCity() != null)
-                .collect(Collectors.groupingBy(
-                        Supplier::getCity,
-                        Collectors.counting()
-                ));
+        long totalSuppliers = 0;
+        BigDecimal averageRating = null;
+        Double averagePaymentTerms = null;
+        BigDecimal totalCreditLimit = null;
+        Map<String, Long> suppliersByStatus = new HashMap<>();
+        Map<String, Long> suppliersByType = new HashMap<>();
+        Map<String, Long> suppliersByCountry = new HashMap<>();
+        Map<String, Long> suppliersByCity = new HashMap<>();
+
+        for (SupplierRepository.StatisticsRow row : supplierRepository.aggregateStatistics()) {
+            if (row.getStatusGrouped() == 0) {
+                suppliersByStatus.put(row.getStatus(), row.getSuppliers());
+            } else if (row.getTypeGrouped() == 0) {
+                suppliersByType.put(row.getSupplierType(), row.getSuppliers());
+            } else if (row.getCountryGrouped() == 0) {
+                if (row.getCountry() != null) {
+                    suppliersByCountry.put(row.getCountry(), row.getSuppliers());
+                }
+            } else if (row.getCityGrouped() == 0) {
+                if (row.getCity() != null) {
+                    suppliersByCity.put(row.getCity(), row.getSuppliers());
+                }
+            } else {
+                totalSuppliers = row.getSuppliers();
+                averageRating = row.getAverageRating() != null
+                        ? row.getAverageRating().setScale(2, RoundingMode.HALF_UP) : null;
+                averagePaymentTerms = row.getAveragePaymentTerms() != null
+                        ? row.getAveragePaymentTerms().doubleValue() : null;
+                totalCreditLimit = row.getTotalCreditLimit();
+            }
+        }
 
         return SupplierStatsDTO.builder()
                 .totalSuppliers(totalSuppliers)
-                .activeSuppliers(activeSuppliers)
-                .inactiveSuppliers(inactiveSuppliers)
-                .suspendedSuppliers(suspendedSuppliers)
-                .pendingApprovalSuppliers(pendingApprovalSuppliers)
+                .activeSuppliers(suppliersByStatus.getOrDefault(Supplier.SupplierStatus.ACTIVE.name(), 0L))
+                .inactiveSuppliers(suppliersByStatus.getOrDefault(Supplier.SupplierStatus.INACTIVE.name(), 0L))
+                .suspendedSuppliers(suppliersByStatus.getOrDefault(Supplier.SupplierStatus.SUSPENDED.name(), 0L))
+                .pendingApprovalSuppliers(suppliersByStatus.getOrDefault(Supplier.SupplierStatus.PENDING_APPROVAL.name(), 0L))
                 .averageSupplierRating(averageRating)
+                .averagePaymentTerms(averagePaymentTerms)
+                .totalCreditLimit(totalCreditLimit)
                 .suppliersByType(suppliersByType)
                 .suppliersByCountry(suppliersByCountry)
                 .suppliersByCity(suppliersByCity)
@@ -242,7 +267,7 @@ public class SupplierServiceImpl implements SupplierService {
     }
 
     @Override
-    @CacheEvict(value = {"suppliers", "supplier"}, allEntries = true)
+    @CacheEvict(value = {"suppliers", "supplier", "activeSuppliers", "supplierStats"}, allEntries = true)
     public SupplierDTO updateSupplierStatus(Long id, Supplier.SupplierStatus status) {
         log.info("Updating supplier status for ID: {} to {}", id, status);
 
@@ -257,7 +282,7 @@ public class SupplierServiceImpl implements SupplierService {
     }
 
     @Override
-    @CacheEvict(value = {"suppliers", "supplier"}, allEntries = true)
+    @CacheEvict(value = {"suppliers", "supplier", "activeSuppliers", "supplierStats"}, allEntries = true)
     public SupplierDTO updateSupplierRating(Long id, BigDecimal rating) {
         log.info("Updating supplier rating for ID: {} to {}", id, rating);
 
@@ -0,0 +1,245 @@
+package kg.akyl.java.inventory.infra.services.impl;
+
+import kg.akyl.java.inventory.domain.Product;
+import kg.akyl.java.inventory.domain.Supplier;
+import kg.akyl.java.inventory.domain.SupplyChainTransaction;
+import kg.akyl.java.inventory.domain.dto.SupplyChainTransactionDTO;
+import kg.akyl.java.inventory.domain.dto.TransactionStatsDTO;
+import kg.akyl.java.inventory.domain.request.CreateTransactionRequest;
+import kg.akyl.java.inventory.domain.response.BulkStatusUpdateResponse;
+import kg.akyl.java.inventory.infra.events.SupplyChainEventPublisher;
+import kg.akyl.java.inventory.infra.repositories.ProductRepository;
+import kg.akyl.java.inventory.infra.repositories.SupplierRepository;
+import kg.akyl.java.inventory.infra.repositories.SupplyChainTransactionRepository;
+import kg.akyl.java.inventory.infra.services.SupplyChainTransactionMapper;
+import kg.akyl.java.inventory.infra.services.SupplyChainTransactionService;
+import kg.akyl.java.inventory.query.transactions.TransactionStatsAggregator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Implementation of SupplyChainTransactionService
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class SupplyChainTransactionServiceImpl implements SupplyChainTransactionService {
+    private static final DateTimeFormatter NUMBER_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final SupplyChainTransactionRepository transactionRepository;
+    private final SupplierRepository supplierRepository;
+    private final ProductRepository productRepository;
+    private final SupplyChainEventPublisher eventPublisher;
+    private final TransactionStatsAggregator transactionStatsAggregator;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<SupplyChainTransactionDTO> getAllTransactions(Pageable pageable) {
+        log.debug("Fetching all transactions with pagination: {}", pageable);
+        return transactionRepository.findAll(pageable)
+                .map(this::convertToDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<SupplyChainTransactionDTO> getTransactionById(Long id) {
+        return transactionRepository.findWithPartiesById(id)
+                .map(this::convertToDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<SupplyChainTransactionDTO> getTransactionByNumber(String transactionNumber) {
+        return transactionRepository.findByTransactionNumber(transactionNumber)
+                .map(this::convertToDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<SupplyChainTransactionDTO> getTransactionsByStatus(String status, Pageable pageable) {
+        return transactionRepository.findByStatus(parseStatus(status), pageable)
+                .map(this::convertToDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<SupplyChainTransactionDTO> getTransactionsBySupplier(Long supplierId, Pageable pageable) {
+        return transactionRepository.findBySupplier(supplierId, pageable)
+                .map(this::convertToDTO);
+    }
+
+    @Override
+    public Optional<TransactionStatsDTO> getTransactionStatistics(LocalDate from, LocalDate to) {
+        return transactionStatsAggregator.stats(from, to);
+    }
+
+    @Override
+    public SupplyChainTransactionDTO createTransaction(CreateTransactionRequest request) {
+        if (request.getFromSupplierId().equals(request.getToSupplierId())) {
+            throw new IllegalArgumentException("From and to supplier must be different");
+        }
+        checkTransactionType(request.getTransactionType());
+
+        String number = request.getTransactionNumber() != null && !request.getTransactionNumber().isBlank()
+                ? request.getTransactionNumber().trim()
+                : generateTransactionNumber(request.getTransactionDate());
+        if (transactionRepository.existsByTransactionNumber(number)) {
+            throw new IllegalArgumentException("Transaction number already exists: " + number);
+        }
+
+        Supplier from = supplierRepository.findById(request.getFromSupplierId())
+                .orElseThrow(() -> new NoSuchElementException("Supplier not found with ID: " + request.getFromSupplierId()));
+        Supplier to = supplierRepository.findById(request.getToSupplierId())
+                .orElseThrow(() -> new NoSuchElementException("Supplier not found with ID: " + request.getToSupplierId()));
+        Product product = productRepository.findById(request.getProductId())
+                .orElseThrow(() -> new NoSuchElementException("Product not found with ID: " + request.getProductId()));
+
+        SupplyChainTransaction transaction = transactionRepository.saveAndFlush(
+                SupplyChainTransactionMapper.toPendingTransaction(request, number, from, to, product));
+        eventPublisher.recorded(List.of(transaction));
+        log.info("Transaction {} created with ID: {}", number, transaction.getId());
+        return convertToDTO(transaction);
+    }
+
+    @Override
+    public SupplyChainTransactionDTO updateTransactionStatus(Long id, String status) {
+        SupplyChainTransaction.TransactionStatus next = parseStatus(status);
+        SupplyChainTransaction transaction = transactionRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Transaction not found with ID: " + id));
+
+        if (!transaction.getStatus().canTransitionTo(next)) {
+            throw new IllegalArgumentException("Transaction " + id + " cannot move from "
+                    + transaction.getStatus() + " to " + next);
+        }
+        if (next == SupplyChainTransaction.TransactionStatus.DELIVERED
+                && transaction.getTransactionDate().isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Transaction " + id + " is dated in the future and cannot be delivered yet");
+        }
+        if (next == SupplyChainTransaction.TransactionStatus.DELIVERED) {
+            transaction.setActualDeliveryDate(LocalDateTime.now());
+        }
+        SupplyChainEventPublisher.StatusChange change =
+                SupplyChainEventPublisher.StatusChange.of(transaction, next, transaction.getActualDeliveryDate());
+        transaction.setStatus(next);
+        transaction = transactionRepository.saveAndFlush(transaction);
+        eventPublisher.statusChanged(next.name(), List.of(change));
+        return convertToDTO(transaction);
+    }
+
+    @Override
+    public BulkStatusUpdateResponse updateTransactionStatuses(List<Long> ids, String status) {
+        SupplyChainTransaction.TransactionStatus next = parseStatus(status);
+        List<Long> distinct = List.copyOf(new LinkedHashSet<>(ids));
+        List<SupplyChainTransaction.TransactionStatus> sources = SupplyChainTransaction.TransactionStatus.sourcesOf(next);
+        if (sources.isEmpty()) {
+            throw new IllegalArgumentException("No transaction can move to " + next);
+        }
+
+        boolean delivered = next == SupplyChainTransaction.TransactionStatus.DELIVERED;
+        LocalDateTime now = LocalDateTime.now();
+        List<SupplyChainEventPublisher.StatusChange> changes = transactionRepository
+                .lockForTransition(distinct, sources)
+                .stream()
+                // Delivery cannot precede the transaction date
+                .filter(transaction -> !delivered || !transaction.getTransactionDate().isAfter(now))
+                .map(transaction -> SupplyChainEventPublisher.StatusChange.of(transaction, next,
+                        delivered ? now : transaction.getActualDeliveryDate()))
+                .toList();
+        List<Long> locked = changes.stream().map(SupplyChainEventPublisher.StatusChange::getTransactionId).toList();
+
+        int updated = 0;
+        if (!locked.isEmpty()) {
+            updated = delivered
+                    ? transactionRepository.markDelivered(locked, sources, now)
+                    : transactionRepository.transitionStatus(locked, sources, next);
+            eventPublisher.statusChanged(next.name(), changes);
+        }
+        log.info("Moved {} of {} transactions to {}", updated, distinct.size(), next);
+
+        return BulkStatusUpdateResponse.builder()
+                .status(next.name())
+                .requested(distinct.size())
+                .updated(updated)
+                .skipped(distinct.size() - updated)
+                .build();
+    }
+
+    /**
+     * Transaction number for requests that do not bring their own, e.g. TX-20240115-3F9K2Q7ZLM
+     */
+    static String generateTransactionNumber(LocalDateTime transactionDate) {
+        LocalDate day = transactionDate != null ? transactionDate.toLocalDate() : LocalDate.now();
+        String suffix = Long.toString(ThreadLocalRandom.current().nextLong(Long.MAX_VALUE), 36)
+                .toUpperCase(Locale.ROOT);
+        return "TX-" + day.format(NUMBER_DATE) + "-" + suffix;
+    }
+
+    private static SupplyChainTransaction.TransactionStatus parseStatus(String status) {
+        try {
+            return SupplyChainTransaction.TransactionStatus.valueOf(status.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid status: " + status);
+        }
+    }
+
+    private static void checkTransactionType(String type) {
+        try {
+            SupplyChainTransaction.TransactionType.valueOf(type);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid transaction type: " + type);
+        }
+    }
+
+    /**
+     * Convert SupplyChainTransaction entity to SupplyChainTransactionDTO
+     */
+    private SupplyChainTransactionDTO convertToDTO(SupplyChainTransaction transaction) {
+        return SupplyChainTransactionDTO.builder()
+                .id(transaction.getId())
+                .transactionNumber(transaction.getTransactionNumber())
+                .fromSupplierId(transaction.getFromSupplier().getId())
+                .fromSupplierName(transaction.getFromSupplier().getName())
+                .fromSupplierCode(transaction.getFromSupplier().getSupplierCode())
+                .toSupplierId(transaction.getToSupplier().getId())
+                .toSupplierName(transaction.getToSupplier().getName())
+                .toSupplierCode(transaction.getToSupplier().getSupplierCode())
+                .productId(transaction.getProduct().getId())
+                .productName(transaction.getProduct().getName())
+                .productSku(transaction.getProduct().getSku())
+                .quantity(transaction.getQuantity())
+                .unitPrice(transaction.getUnitPrice())
+                .totalAmount(transaction.getTotalAmount())
+                .transactionType(transaction.getTransactionType().name())
+                .status(transaction.getStatus().name())
+                .transactionDate(transaction.getTransactionDate())
+                .expectedDeliveryDate(transaction.getExpectedDeliveryDate())
+                .actualDeliveryDate(transaction.getActualDeliveryDate())
+                .invoiceNumber(transaction.getInvoiceNumber())
+                .purchaseOrderNumber(transaction.getPurchaseOrderNumber())
+                .shippingCost(transaction.getShippingCost())
+                .taxAmount(transaction.getTaxAmount())
+                .discountAmount(transaction.getDiscountAmount())
+                .paymentMethod(transaction.getPaymentMethod())
+                .paymentDate(transaction.getPaymentDate())
+                .notes(transaction.getNotes())
+                .createdAt(transaction.getCreatedAt())
+                .updatedAt(transaction.getUpdatedAt())
+                .version(transaction.getVersion())
+                .build();
+    }
+}
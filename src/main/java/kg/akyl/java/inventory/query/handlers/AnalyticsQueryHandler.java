@@ -1,15 +1,28 @@
 package kg.akyl.java.inventory.query.handlers;
 
+import kg.akyl.java.inventory.query.projections.CategoryStockProjection;
+import kg.akyl.java.inventory.query.projections.DistinctCustomersProjection;
 import kg.akyl.java.inventory.query.projections.InventoryAnalyticsProjection;
+import kg.akyl.java.inventory.query.projections.SalePercentilesProjection;
 import kg.akyl.java.inventory.query.projections.SalesAnalyticsProjection;
+import kg.akyl.java.inventory.query.projections.TopSellerProjection;
+import kg.akyl.java.inventory.query.readmodel.CategoryInventoryAggregates;
+import kg.akyl.java.inventory.query.readmodel.columnar.ColumnarProductStore;
+import kg.akyl.java.inventory.query.rollups.SalesRollupService;
+import kg.akyl.java.inventory.query.sketches.SalesSketchService;
+import kg.akyl.java.inventory.query.topk.TopSellerMetric;
+import kg.akyl.java.inventory.query.topk.TopSellersTracker;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Component
 public class AnalyticsQueryHandler {
@@ -17,37 +30,37 @@ public class AnalyticsQueryHandler {
     @Qualifier("readJdbcTemplate")
     private JdbcTemplate readJdbcTemplate;
 
+    @Autowired
+    private ObjectProvider<ColumnarProductStore> columnarProductStore;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private TopSellersTracker topSellersTracker;
+
+    @Autowired
+    private SalesSketchService salesSketchService;
+
+    @Autowired
+    private CategoryInventoryAggregates categoryInventoryAggregates;
+
+    /**
+     * Served from the daily and hourly rollups; only the partial hours at either end read raw sales.
+     */
     @Cacheable(value = "sales-analytics", key = "#fromDate + '_' + #toDate")
     public List<SalesAnalyticsProjection> getSalesAnalytics(LocalDateTime fromDate, LocalDateTime toDate) {
-        String sql = """
-            SELECT 
-                p.category,
-                COUNT(s.id) as total_sales,
-                SUM(s.quantity) as total_quantity,
-                SUM(s.total_amount) as total_revenue,
-                AVG(s.total_amount) as avg_sale_amount,
-                DATE(s.sale_date) as sale_date
-            FROM sales s
-            JOIN products p ON s.product_id = p.id
-            WHERE s.sale_date BETWEEN ? AND ?
-            AND s.status = 'CONFIRMED'
-            GROUP BY p.category, DATE(s.sale_date)
-            ORDER BY sale_date DESC, total_revenue DESC
-            """;
-
-        return readJdbcTemplate.query(sql,
-                (rs, rowNum) -> new SalesAnalyticsProjection(
-                        rs.getString("category"),
-                        rs.getLong("total_sales"),
-                        rs.getLong("total_quantity"),
-                        rs.getBigDecimal("total_revenue"),
-                        rs.getBigDecimal("avg_sale_amount"),
-                        rs.getDate("sale_date").toLocalDate()
-                ), fromDate, toDate);
+        return salesRollupService.salesByCategory(fromDate, toDate);
     }
 
-    @Cacheable(value = "inventory-analytics")
+    /**
+     * Served from the in-memory category aggregates once they are loaded
+     */
     public List<InventoryAnalyticsProjection> getInventoryAnalytics() {
+        if (categoryInventoryAggregates.isReady()) {
+            return categoryInventoryAggregates.snapshot();
+        }
+
         String sql = """
             WITH inventory_stats AS (
                 SELECT 
@@ -110,31 +123,64 @@ public class AnalyticsQueryHandler {
     }
 
     public List<SalesAnalyticsProjection> getTopSellingProducts(int limit, LocalDateTime fromDate, LocalDateTime toDate) {
+        return salesRollupService.topProducts(limit, fromDate, toDate);
+    }
+
+    /**
+     * Top sellers from the in-memory sketches, with exact SQL over the rollups when asked for
+     * or when the range is older than the sketches keep.
+     */
+    public List<TopSellerProjection> getTopSellers(TopSellerMetric metric, int limit,
+                                                   LocalDateTime fromDate, LocalDateTime toDate, boolean exact) {
+        if (!exact) {
+            Optional<List<TopSellerProjection>> estimated = topSellersTracker.topSellers(metric, limit, fromDate, toDate);
+            if (estimated.isPresent()) {
+                return estimated.get();
+            }
+        }
+        return salesRollupService.topSellers(metric, limit, fromDate, toDate);
+    }
+
+    public List<DistinctCustomersProjection> getDistinctCustomers(LocalDate fromDate, LocalDate toDate, String category) {
+        return salesSketchService.distinctCustomers(fromDate, toDate, category);
+    }
+
+    public List<SalePercentilesProjection> getSalePercentiles(LocalDate fromDate, LocalDate toDate, String category,
+                                                              List<Double> quantiles) {
+        return salesSketchService.percentiles(fromDate, toDate, category, quantiles);
+    }
+
+    /**
+     * Stock totals per category for active products. Scans the columnar store when it is enabled.
+     */
+    public List<CategoryStockProjection> getCategoryStock() {
+        ColumnarProductStore store = columnarProductStore.getIfAvailable();
+        if (store != null) {
+            return store.scanCategoryStock();
+        }
+
         String sql = """
-            SELECT 
-                p.name as category,
-                COUNT(s.id) as total_sales,
-                SUM(s.quantity) as total_quantity,
-                SUM(s.total_amount) as total_revenue,
-                AVG(s.total_amount) as avg_sale_amount,
-                CURRENT_DATE as sale_date
-            FROM sales s
-            JOIN products p ON s.product_id = p.id
-            WHERE s.sale_date BETWEEN ? AND ?
-            AND s.status = 'CONFIRMED'
-            GROUP BY p.id, p.name
-            ORDER BY total_revenue DESC
-            LIMIT ?
+            SELECT
+                p.category,
+                COUNT(*) as total_products,
+                SUM(p.quantity) as total_quantity,
+                SUM(p.reserved_quantity) as total_reserved,
+                SUM(p.quantity - p.reserved_quantity) as available_quantity,
+                SUM(p.quantity * p.price) as total_value
+            FROM products p
+            WHERE p.status = 'ACTIVE'
+            GROUP BY p.category
+            ORDER BY total_value DESC
             """;
 
         return readJdbcTemplate.query(sql,
-                (rs, rowNum) -> new SalesAnalyticsProjection(
+                (rs, rowNum) -> new CategoryStockProjection(
                         rs.getString("category"),
-                        rs.getLong("total_sales"),
+                        rs.getLong("total_products"),
                         rs.getLong("total_quantity"),
-                        rs.getBigDecimal("total_revenue"),
-                        rs.getBigDecimal("avg_sale_amount"),
-                        rs.getDate("sale_date").toLocalDate()
-                ), fromDate, toDate, limit);
+                        rs.getLong("total_reserved"),
+                        rs.getLong("available_quantity"),
+                        rs.getBigDecimal("total_value")
+                ));
     }
 }
@@ -0,0 +1,154 @@
+package kg.akyl.java.inventory.query.handlers;
+
+import kg.akyl.java.inventory.infra.export.ExportWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams sales and products from the read database into an {@link ExportWriter} in keyset-paged chunks.
+ * <p>
+ * Each chunk is read into memory and the connection goes back to the pool before the chunk is written,
+ * so a slow client holds no connection and heap use stays bounded by the chunk size. Chunks are separate
+ * snapshots: rows committed mid-export past the current position are included, earlier ones are not.
+ */
+@Component
+@Slf4j
+public class ExportQueryHandler {
+    public static final String[] SALE_COLUMNS = {
+            "id", "productId", "quantity", "unitPrice", "totalAmount", "customerId", "status", "saleDate", "createdAt"
+    };
+
+    public static final String[] PRODUCT_COLUMNS = {
+            "id", "sku", "name", "description", "category", "price", "quantity", "reservedQuantity",
+            "stockQuantity", "minStockLevel", "status", "createdAt", "updatedAt"
+    };
+
+    // Positions of the keyset columns in the extracted rows
+    private static final int[] SALE_KEY = {7, 0};
+    private static final int[] PRODUCT_KEY = {0};
+
+    @Autowired
+    @Qualifier("readJdbcTemplate")
+    private JdbcTemplate readJdbcTemplate;
+
+    @Value("${inventory.export.chunk-size:2000}")
+    private int chunkSize;
+
+    /**
+     * Export sales matching every given filter; null filters are ignored
+     */
+    public long exportSales(LocalDateTime fromDate, LocalDateTime toDate, String customerId, Long productId,
+                            ExportWriter writer) {
+        StringBuilder sql = new StringBuilder("""
+            SELECT s.id, s.product_id, s.quantity, s.unit_price, s.total_amount,
+                   s.customer_id, s.status, s.sale_date, s.created_at
+            FROM sales s
+            WHERE 1 = 1
+            """);
+        List<Object> args = new ArrayList<>();
+        if (fromDate != null) {
+            sql.append(" AND s.sale_date >= ?");
+            args.add(Timestamp.valueOf(fromDate));
+        }
+        if (toDate != null) {
+            sql.append(" AND s.sale_date <= ?");
+            args.add(Timestamp.valueOf(toDate));
+        }
+        if (customerId != null) {
+            sql.append(" AND s.customer_id = ?");
+            args.add(customerId);
+        }
+        if (productId != null) {
+            sql.append(" AND s.product_id = ?");
+            args.add(productId);
+        }
+
+        return stream(sql.toString(), args, "s.sale_date, s.id", SALE_KEY, writer, (rs, rowNum) -> new Object[]{
+                rs.getLong("id"),
+                rs.getLong("product_id"),
+                rs.getInt("quantity"),
+                rs.getBigDecimal("unit_price"),
+                rs.getBigDecimal("total_amount"),
+                rs.getString("customer_id"),
+                rs.getString("status"),
+                rs.getTimestamp("sale_date"),
+                rs.getTimestamp("created_at")
+        });
+    }
+
+    public long exportProducts(ExportWriter writer) {
+        String sql = """
+            SELECT p.id, p.sku, p.name, p.description, p.category, p.price,
+                   p.quantity, p.reserved_quantity, p.stock_quantity, p.min_stock_level,
+                   p.status, p.created_at, p.updated_at
+            FROM products p
+            WHERE 1 = 1
+            """;
+
+        return stream(sql, List.of(), "p.id", PRODUCT_KEY, writer, (rs, rowNum) -> new Object[]{
+                rs.getLong("id"),
+                rs.getString("sku"),
+                rs.getString("name"),
+                rs.getString("description"),
+                rs.getString("category"),
+                rs.getBigDecimal("price"),
+                rs.getInt("quantity"),
+                rs.getInt("reserved_quantity"),
+                rs.getInt("stock_quantity"),
+                rs.getObject("min_stock_level", Integer.class),
+                rs.getString("status"),
+                rs.getTimestamp("created_at"),
+                rs.getTimestamp("updated_at")
+        });
+    }
+
+    /**
+     * Runs {@code sql} (ending in a WHERE clause) one chunk at a time, ordered by {@code keyColumns} and
+     * continuing after the key values of the previous chunk's last row
+     */
+    private long stream(String sql, List<Object> args, String keyColumns, int[] keyIndexes,
+                        ExportWriter writer, RowMapper<Object[]> extractor) {
+        String first = sql + " ORDER BY " + keyColumns + " LIMIT ?";
+        String next = sql + " AND (" + keyColumns + ") > (" + "?, ".repeat(keyIndexes.length - 1) + "?)"
+                + " ORDER BY " + keyColumns + " LIMIT ?";
+        long rows = 0;
+        Object[] last = null;
+        try {
+            while (true) {
+                List<Object> chunkArgs = new ArrayList<>(args);
+                if (last != null) {
+                    for (int keyIndex : keyIndexes) {
+                        chunkArgs.add(last[keyIndex]);
+                    }
+                }
+                chunkArgs.add(chunkSize);
+                List<Object[]> chunk = readJdbcTemplate.query(last == null ? first : next, extractor,
+                        chunkArgs.toArray());
+                for (Object[] row : chunk) {
+                    writer.writeRow(row);
+                }
+                writer.flush();
+                rows += chunk.size();
+                if (chunk.size() < chunkSize) {
+                    return rows;
+                }
+                last = chunk.get(chunk.size() - 1);
+            }
+        } catch (IOException e) {
+            // Client went away; stop reading
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,13 +1,19 @@
 package kg.akyl.java.inventory.query.handlers;
 
+import kg.akyl.java.inventory.domain.response.CursorPage;
+import kg.akyl.java.inventory.infra.pagination.CursorCodec;
 import kg.akyl.java.inventory.query.projections.InventoryStatusProjection;
 import kg.akyl.java.inventory.query.projections.ProductProjection;
+import kg.akyl.java.inventory.query.readmodel.LowStockMonitor;
+import kg.akyl.java.inventory.query.readmodel.ProductReadModel;
+import kg.akyl.java.inventory.query.readmodel.ProductReadModelLoader;
+import kg.akyl.java.inventory.query.search.ProductSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,62 +23,58 @@ public class ProductQueryHandler {
     @Qualifier("readJdbcTemplate")
     private JdbcTemplate readJdbcTemplate;
 
-    @Cacheable(value = "products", key = "#id")
+    @Autowired
+    private ProductReadModel productReadModel;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private LowStockMonitor lowStockMonitor;
+
     public Optional<ProductProjection> findById(Long id) {
+        if (productReadModel.isReady() && productReadModel.contains(id)) {
+            return productReadModel.findById(id);
+        }
+
         String sql = """
             SELECT p.id, p.sku, p.name, p.description, p.price, 
                    p.quantity, p.reserved_quantity, p.category, 
-                   p.status, p.created_at, p.updated_at
+                   p.status, p.created_at, p.updated_at, p.version
             FROM products p 
             WHERE p.id = ? AND p.status != 'DISCONTINUED'
             """;
 
         try {
             ProductProjection product = readJdbcTemplate.queryForObject(sql,
-                    (rs, rowNum) -> new ProductProjection(
-                            rs.getLong("id"),
-                            rs.getString("sku"),
-                            rs.getString("name"),
-                            rs.getString("description"),
-                            rs.getBigDecimal("price"),
-                            rs.getInt("quantity"),
-                            rs.getInt("reserved_quantity"),
-                            rs.getString("category"),
-                            rs.getString("status"),
-                            rs.getTimestamp("created_at").toLocalDateTime(),
-                            rs.getTimestamp("updated_at").toLocalDateTime()
-                    ), id);
+                    ProductReadModelLoader.PRODUCT_ROW_MAPPER, id);
+            productReadModel.upsert(product);
             return Optional.of(product);
         } catch (Exception e) {
             return Optional.empty();
         }
     }
 
-    @Cacheable(value = "products", key = "#sku")
     public Optional<ProductProjection> findBySku(String sku) {
+        if (productReadModel.isReady()) {
+            Optional<ProductProjection> product = productReadModel.findBySku(sku);
+            if (product.isPresent()) {
+                return product;
+            }
+        }
+
         String sql = """
             SELECT p.id, p.sku, p.name, p.description, p.price, 
                    p.quantity, p.reserved_quantity, p.category, 
-                   p.status, p.created_at, p.updated_at
+                   p.status, p.created_at, p.updated_at, p.version
             FROM products p 
             WHERE p.sku = ? AND p.status != 'DISCONTINUED'
             """;
 
         try {
             ProductProjection product = readJdbcTemplate.queryForObject(sql,
-                    (rs, rowNum) -> new ProductProjection(
-                            rs.getLong("id"),
-                            rs.getString("sku"),
-                            rs.getString("name"),
-                            rs.getString("description"),
-                            rs.getBigDecimal("price"),
-                            rs.getInt("quantity"),
-                            rs.getInt("reserved_quantity"),
-                            rs.getString("category"),
-                            rs.getString("status"),
-                            rs.getTimestamp("created_at").toLocalDateTime(),
-                            rs.getTimestamp("updated_at").toLocalDateTime()
-                    ), sku);
+                    ProductReadModelLoader.PRODUCT_ROW_MAPPER, sku);
+            productReadModel.upsert(product);
             return Optional.of(product);
         } catch (Exception e) {
             return Optional.empty();
@@ -80,13 +82,17 @@ public class ProductQueryHandler {
     }
 
     public List<ProductProjection> findByCategory(String category, int limit, int offset) {
+        if (productReadModel.isReady()) {
+            return productReadModel.findByCategory(category, limit, offset);
+        }
+
         String sql = """
             SELECT p.id, p.sku, p.name, p.description, p.price, 
                    p.quantity, p.reserved_quantity, p.category, 
                    p.status, p.created_at, p.updated_at
             FROM products p 
             WHERE p.category = ? AND p.status = 'ACTIVE'
-            ORDER BY p.name
+            ORDER BY p.name COLLATE "C", p.id
             LIMIT ? OFFSET ?
             """;
 
@@ -106,7 +112,92 @@ public class ProductQueryHandler {
                 ), category, limit, offset);
     }
 
-    public List<InventoryStatusProjection> getLowStockProducts(int threshold) {
+    /**
+     * Keyset-paginated category listing ordered by (name, id), matching idx_product_category_name_c_id.
+     * Sizes outside [1, {@link CursorCodec#MAX_PAGE_SIZE}] are clamped.
+     */
+    public CursorPage<ProductProjection> findByCategoryPage(String category, String cursor, int requestedSize, boolean includeTotal) {
+        int size = CursorCodec.pageSize(requestedSize);
+        String afterName = null;
+        long afterId = 0;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] keys = CursorCodec.decode(cursor, 2);
+            afterId = CursorCodec.keyAsLong(keys[0]);
+            afterName = keys[1];
+        }
+
+        List<ProductProjection> rows;
+        Long total = null;
+        if (productReadModel.isReady()) {
+            rows = productReadModel.findByCategoryAfter(category, afterName, afterId, size + 1);
+            if (includeTotal) {
+                total = (long) productReadModel.countByCategory(category);
+            }
+        } else {
+            rows = findByCategoryAfterInDatabase(category, afterName, afterId, size + 1);
+            if (includeTotal) {
+                total = readJdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM products p WHERE p.category = ? AND p.status = 'ACTIVE'",
+                        Long.class, category);
+            }
+        }
+
+        boolean hasMore = rows.size() > size;
+        List<ProductProjection> page = hasMore ? rows.subList(0, size) : rows;
+        ProductProjection last = page.isEmpty() ? null : page.get(page.size() - 1);
+        return CursorPage.<ProductProjection>builder()
+                .content(page)
+                .size(page.size())
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? CursorCodec.encode(last.getId(), last.getName()) : null)
+                .totalElements(total)
+                .build();
+    }
+
+    private List<ProductProjection> findByCategoryAfterInDatabase(String category, String afterName, long afterId, int limit) {
+        String sql = """
+            SELECT p.id, p.sku, p.name, p.description, p.price,
+                   p.quantity, p.reserved_quantity, p.category,
+                   p.status, p.created_at, p.updated_at
+            FROM products p
+            WHERE p.category = ? AND p.status = 'ACTIVE'
+            AND (p.name COLLATE "C", p.id) > (? COLLATE "C", ?)
+            ORDER BY p.name COLLATE "C", p.id
+            LIMIT ?
+            """;
+
+        // Byte-wise "C" order is the code point order the read model sorts by, so a cursor from either path
+        // continues in the other. An empty name sorts before every real one, so it serves as the first-page position
+        return readJdbcTemplate.query(sql,
+                (rs, rowNum) -> new ProductProjection(
+                        rs.getLong("id"),
+                        rs.getString("sku"),
+                        rs.getString("name"),
+                        rs.getString("description"),
+                        rs.getBigDecimal("price"),
+                        rs.getInt("quantity"),
+                        rs.getInt("reserved_quantity"),
+                        rs.getString("category"),
+                        rs.getString("status"),
+                        rs.getTimestamp("created_at").toLocalDateTime(),
+                        rs.getTimestamp("updated_at").toLocalDateTime()
+                ), category, afterName != null ? afterName : "", afterName != null ? afterId : Long.MIN_VALUE, limit);
+    }
+
+    /**
+     * Products flagged by the {@link LowStockMonitor}, or those at or below {@code threshold} when one is given
+     */
+    public List<InventoryStatusProjection> getLowStockProducts(Integer threshold) {
+        if (threshold == null) {
+            if (lowStockMonitor.isReady()) {
+                return lowStockMonitor.lowStock();
+            }
+            threshold = lowStockMonitor.getThreshold();
+        }
+        if (productReadModel.isReady()) {
+            return productReadModel.findLowStock(threshold);
+        }
+
         String sql = """
             SELECT p.id, p.sku, p.name, p.quantity, p.reserved_quantity,
                    (p.quantity - p.reserved_quantity) as available_quantity
@@ -128,6 +219,14 @@ public class ProductQueryHandler {
     }
 
     public List<ProductProjection> searchProducts(String searchTerm, int limit, int offset) {
+        if (productReadModel.isReady()) {
+            List<ProductProjection> products = new ArrayList<>();
+            for (Long id : productSearchIndex.search(searchTerm, limit, offset, true).getProductIds()) {
+                productReadModel.findById(id).ifPresent(products::add);
+            }
+            return products;
+        }
+
         String sql = """
             SELECT p.id, p.sku, p.name, p.description, p.price,
                    p.quantity, p.reserved_quantity, p.category,
@@ -0,0 +1,144 @@
+package kg.akyl.java.inventory.query.network;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Whole-network measures of a {@link NetworkSnapshot}.
+ * <p>
+ * Components treat trade in either direction as a connection and are found with union-find. Path lengths
+ * follow the direction of trade, over all ordered supplier pairs where the second can be reached from the first:
+ * the mean number of hops, and the most hops any such pair is apart. Both come from a breadth-first search out of
+ * every connected supplier, or out of an evenly spread sample of them when there are more than the sample size,
+ * in which case the longest path is a lower bound. The searches run in parallel, one reusable set of arrays per
+ * worker.
+ *
+ * @param connectedSuppliers suppliers with at least one counted transaction
+ * @param averageHops        null when no supplier reaches another
+ * @param longestPath        null when no supplier reaches another
+ * @param pathSources        suppliers the searches started from
+ * @param requestedSources   sample size the analysis was computed for
+ */
+public record NetworkAnalysis(int connectedSuppliers,
+                              int components,
+                              int largestComponent,
+                              Double averageHops,
+                              Integer longestPath,
+                              int pathSources,
+                              int requestedSources,
+                              long totalTransactions,
+                              long totalValueCents) {
+
+    static NetworkAnalysis of(NetworkSnapshot graph, int sampleSize) {
+        int nodes = graph.nodes();
+        int[] connected = IntStream.range(0, nodes).filter(graph::isConnected).toArray();
+
+        long transactions = 0;
+        long valueCents = 0;
+        int[] parent = new int[nodes];
+        int[] size = new int[nodes];
+        for (int i = 0; i < nodes; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+        for (int e = 0; e < graph.edges(); e++) {
+            transactions += graph.edgeTransactions(e);
+            valueCents += graph.edgeValueCents(e);
+            union(parent, size, graph.edgeFrom(e), graph.edgeTo(e));
+        }
+        int components = 0;
+        int largest = 0;
+        for (int node : connected) {
+            if (find(parent, node) == node) {
+                components++;
+                largest = Math.max(largest, size[node]);
+            }
+        }
+
+        int sources = Math.min(Math.max(sampleSize, 1), connected.length);
+        int workers = Math.max(1, Math.min(sources, Runtime.getRuntime().availableProcessors()));
+        long[][] totals = new long[workers][];
+        IntStream.range(0, workers).parallel().forEach(worker -> {
+            int[] seen = new int[nodes];
+            int[] queue = new int[nodes];
+            long hops = 0;
+            long pairs = 0;
+            long longest = 0;
+            // Each search marks visits with its own stamp, so the arrays never need clearing
+            for (int s = worker; s < sources; s += workers) {
+                int stamp = s + 1;
+                int source = connected[(int) ((long) s * connected.length / sources)];
+                long[] reached = search(graph, source, stamp, seen, queue);
+                hops += reached[0];
+                pairs += reached[1];
+                longest = Math.max(longest, reached[2]);
+            }
+            totals[worker] = new long[]{hops, pairs, longest};
+        });
+        long hops = Arrays.stream(totals).mapToLong(total -> total[0]).sum();
+        long pairs = Arrays.stream(totals).mapToLong(total -> total[1]).sum();
+        long longest = Arrays.stream(totals).mapToLong(total -> total[2]).max().orElse(0);
+
+        return new NetworkAnalysis(connected.length, components, largest,
+                pairs > 0 ? (double) hops / pairs : null, pairs > 0 ? (int) longest : null,
+                sources, sampleSize, transactions, valueCents);
+    }
+
+    /**
+     * Breadth-first search out of {@code source}; returns the summed hop count, the number of suppliers reached
+     * and the hops to the farthest of them
+     */
+    private static long[] search(NetworkSnapshot graph, int source, int stamp, int[] seen, int[] queue) {
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        seen[source] = stamp;
+        long hops = 0;
+        long reached = 0;
+        int depth = 0;
+        int farthest = 0;
+        while (head < tail) {
+            int levelEnd = tail;
+            depth++;
+            while (head < levelEnd) {
+                int node = queue[head++];
+                int start = graph.outStart(node);
+                int end = start + graph.outDegree(node);
+                for (int i = start; i < end; i++) {
+                    int target = graph.outTarget(i);
+                    if (seen[target] != stamp) {
+                        seen[target] = stamp;
+                        queue[tail++] = target;
+                        hops += depth;
+                        reached++;
+                        farthest = depth;
+                    }
+                }
+            }
+        }
+        return new long[]{hops, reached, farthest};
+    }
+
+    private static int find(int[] parent, int node) {
+        while (parent[node] != node) {
+            parent[node] = parent[parent[node]];
+            node = parent[node];
+        }
+        return node;
+    }
+
+    private static void union(int[] parent, int[] size, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA == rootB) {
+            return;
+        }
+        if (size[rootA] < size[rootB]) {
+            int swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+        parent[rootB] = rootA;
+        size[rootA] += size[rootB];
+    }
+}
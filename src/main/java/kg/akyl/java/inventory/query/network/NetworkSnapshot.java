@@ -0,0 +1,187 @@
+package kg.akyl.java.inventory.query.network;
+
+import kg.akyl.java.inventory.infra.collections.LongIntHashMap;
+
+/**
+ * Immutable copy of the supply chain graph in compressed sparse row form, taken for analysis.
+ * <p>
+ * Suppliers are dense indexes {@code 0..nodes-1}; {@link #supplierId(int)} maps them back and {@link #nodeOf(long)}
+ * looks them up. Only edges with at least one counted transaction are present. The analysis is computed on first
+ * use and kept with the snapshot.
+ */
+public final class NetworkSnapshot {
+    private final long[] supplierIds;
+    private final LongIntHashMap nodeIndex;
+    // Directed adjacency: targets of node i are outTargets[outOffsets[i] .. outOffsets[i + 1]), reached over
+    // the edges at the same positions in outEdges; inEdges lists the edges into each node the same way
+    private final int[] outOffsets;
+    private final int[] outTargets;
+    private final int[] outEdges;
+    private final int[] inOffsets;
+    private final int[] inEdges;
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final long[] edgeTransactions;
+    private final long[] edgeValueCents;
+    private final long[] edgeDelivered;
+    private final double[] edgeLeadTimeHours;
+    private final int undirectedPairs;
+    private final long[] nodeOutTransactions;
+    private final long[] nodeInTransactions;
+    private final long[] nodeVolumeCents;
+    private volatile NetworkAnalysis analysis;
+
+    NetworkSnapshot(long[] supplierIds, int[] edgeFrom, int[] edgeTo, long[] edgeTransactions, long[] edgeValueCents,
+                    long[] edgeDelivered, double[] edgeLeadTimeHours, int undirectedPairs) {
+        this.supplierIds = supplierIds;
+        this.edgeFrom = edgeFrom;
+        this.edgeTo = edgeTo;
+        this.edgeTransactions = edgeTransactions;
+        this.edgeValueCents = edgeValueCents;
+        this.edgeDelivered = edgeDelivered;
+        this.edgeLeadTimeHours = edgeLeadTimeHours;
+        this.undirectedPairs = undirectedPairs;
+
+        int nodes = supplierIds.length;
+        nodeIndex = new LongIntHashMap(nodes);
+        for (int i = 0; i < nodes; i++) {
+            nodeIndex.put(supplierIds[i], i);
+        }
+        nodeOutTransactions = new long[nodes];
+        nodeInTransactions = new long[nodes];
+        nodeVolumeCents = new long[nodes];
+        outOffsets = new int[nodes + 1];
+        inOffsets = new int[nodes + 1];
+        for (int e = 0; e < edgeFrom.length; e++) {
+            outOffsets[edgeFrom[e] + 1]++;
+            inOffsets[edgeTo[e] + 1]++;
+            nodeOutTransactions[edgeFrom[e]] += edgeTransactions[e];
+            nodeInTransactions[edgeTo[e]] += edgeTransactions[e];
+            nodeVolumeCents[edgeFrom[e]] += edgeValueCents[e];
+            nodeVolumeCents[edgeTo[e]] += edgeValueCents[e];
+        }
+        for (int i = 0; i < nodes; i++) {
+            outOffsets[i + 1] += outOffsets[i];
+            inOffsets[i + 1] += inOffsets[i];
+        }
+        outTargets = new int[edgeFrom.length];
+        outEdges = new int[edgeFrom.length];
+        inEdges = new int[edgeFrom.length];
+        int[] nextOut = new int[nodes];
+        int[] nextIn = new int[nodes];
+        for (int e = 0; e < edgeFrom.length; e++) {
+            int out = outOffsets[edgeFrom[e]] + nextOut[edgeFrom[e]]++;
+            outTargets[out] = edgeTo[e];
+            outEdges[out] = e;
+            inEdges[inOffsets[edgeTo[e]] + nextIn[edgeTo[e]]++] = e;
+        }
+    }
+
+    public int nodes() {
+        return supplierIds.length;
+    }
+
+    public int edges() {
+        return edgeFrom.length;
+    }
+
+    /**
+     * Distinct supplier pairs that trade in either direction
+     */
+    public int undirectedPairs() {
+        return undirectedPairs;
+    }
+
+    public long supplierId(int node) {
+        return supplierIds[node];
+    }
+
+    /**
+     * Node index of the supplier, or -1 when it is not in the graph
+     */
+    public int nodeOf(long supplierId) {
+        int node = nodeIndex.get(supplierId);
+        return node == LongIntHashMap.NO_VALUE ? -1 : node;
+    }
+
+    public int edgeFrom(int edge) {
+        return edgeFrom[edge];
+    }
+
+    public int edgeTo(int edge) {
+        return edgeTo[edge];
+    }
+
+    public long edgeTransactions(int edge) {
+        return edgeTransactions[edge];
+    }
+
+    public long edgeValueCents(int edge) {
+        return edgeValueCents[edge];
+    }
+
+    public long edgeDelivered(int edge) {
+        return edgeDelivered[edge];
+    }
+
+    public double edgeLeadTimeHours(int edge) {
+        return edgeLeadTimeHours[edge];
+    }
+
+    public long outTransactions(int node) {
+        return nodeOutTransactions[node];
+    }
+
+    public long inTransactions(int node) {
+        return nodeInTransactions[node];
+    }
+
+    /**
+     * Value of everything the supplier sent or received
+     */
+    public long volumeCents(int node) {
+        return nodeVolumeCents[node];
+    }
+
+    boolean isConnected(int node) {
+        return nodeOutTransactions[node] > 0 || nodeInTransactions[node] > 0;
+    }
+
+    int outDegree(int node) {
+        return outOffsets[node + 1] - outOffsets[node];
+    }
+
+    int outStart(int node) {
+        return outOffsets[node];
+    }
+
+    int outTarget(int index) {
+        return outTargets[index];
+    }
+
+    /**
+     * Edges touching {@code node} in either direction
+     */
+    public int[] edgesOf(int node) {
+        int out = outOffsets[node + 1] - outOffsets[node];
+        int in = inOffsets[node + 1] - inOffsets[node];
+        int[] edges = new int[out + in];
+        System.arraycopy(outEdges, outOffsets[node], edges, 0, out);
+        System.arraycopy(inEdges, inOffsets[node], edges, out, in);
+        return edges;
+    }
+
+    public NetworkAnalysis analysis(int pathSampleSize) {
+        NetworkAnalysis current = analysis;
+        if (current == null || current.requestedSources() != pathSampleSize) {
+            synchronized (this) {
+                current = analysis;
+                if (current == null || current.requestedSources() != pathSampleSize) {
+                    current = NetworkAnalysis.of(this, pathSampleSize);
+                    analysis = current;
+                }
+            }
+        }
+        return current;
+    }
+}
@@ -0,0 +1,335 @@
+package kg.akyl.java.inventory.query.network;
+
+import kg.akyl.java.inventory.infra.collections.LongIntHashMap;
+import kg.akyl.java.inventory.infra.jdbc.StreamingQueries;
+import kg.akyl.java.inventory.query.transactions.LoadedTransactionStates;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory graph of which suppliers trade with which, with per-edge transaction counts, value and delivery
+ * lead times. Cancelled transactions are not counted.
+ * <p>
+ * Suppliers are mapped to dense int indexes and edges are kept in parallel primitive arrays, indexed by the
+ * packed pair of node indexes. Transaction events adjust the edges in place; analysis works on an immutable
+ * {@link NetworkSnapshot}, which is rebuilt once the graph has changed and the previous one is older than
+ * {@code snapshot-max-age-ms}.
+ * <p>
+ * The graph is loaded from {@code supply_chain_transactions} on startup and reloaded on a schedule. Events that
+ * arrive during a load are applied again on top of it, and events arriving after it are applied as usual, except
+ * for writes the load already contains according to the {@link LoadedTransactionStates} read in its snapshot.
+ */
+@Component
+@Slf4j
+public class SupplyChainGraph {
+    private static final int MAX_PENDING = 100_000;
+
+    @Autowired
+    @Qualifier("readJdbcTemplate")
+    private JdbcTemplate readJdbcTemplate;
+
+    @Value("${inventory.supply-chain.graph.snapshot-max-age-ms:10000}")
+    private long snapshotMaxAgeMs;
+
+    @Value("${inventory.supply-chain.event-lag-window:15m}")
+    private Duration eventLagWindow;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private Edges graph;
+    private LoadedTransactionStates loadedStates = LoadedTransactionStates.empty();
+    private boolean loading;
+    private final List<EdgeDelta> pending = new ArrayList<>();
+    private long version;
+    private NetworkSnapshot snapshot;
+    private long snapshotVersion = -1;
+    private long snapshotTakenAt;
+
+    /**
+     * A change to one edge; counts are negative when a transaction stops being counted. {@code status} is the
+     * one the transaction moved to, or null when it was recorded.
+     */
+    private record EdgeDelta(Long transactionId, String status, long fromSupplierId, long toSupplierId,
+                             long transactions, long valueCents, long delivered, double leadTimeHours) {
+
+        boolean containedIn(LoadedTransactionStates states) {
+            return status == null ? states.containsRecorded(transactionId) : states.containsChange(transactionId, status);
+        }
+    }
+
+    private static final class Edges {
+        final LongIntHashMap nodeIndex = new LongIntHashMap(1024);
+        long[] nodeIds = new long[1024];
+        int nodes;
+
+        final LongIntHashMap edgeIndex = new LongIntHashMap(4096);
+        int[] from = new int[4096];
+        int[] to = new int[4096];
+        long[] transactions = new long[4096];
+        long[] valueCents = new long[4096];
+        long[] delivered = new long[4096];
+        double[] leadTimeHours = new double[4096];
+        int edges;
+
+        int node(long supplierId) {
+            int node = nodeIndex.get(supplierId);
+            if (node == LongIntHashMap.NO_VALUE) {
+                if (nodes == nodeIds.length) {
+                    nodeIds = Arrays.copyOf(nodeIds, nodes * 2);
+                }
+                node = nodes++;
+                nodeIds[node] = supplierId;
+                nodeIndex.put(supplierId, node);
+            }
+            return node;
+        }
+
+        void apply(EdgeDelta delta) {
+            int fromNode = node(delta.fromSupplierId());
+            int toNode = node(delta.toSupplierId());
+            long key = pack(fromNode, toNode);
+            int edge = edgeIndex.get(key);
+            if (edge == LongIntHashMap.NO_VALUE) {
+                if (edges == from.length) {
+                    int capacity = edges * 2;
+                    from = Arrays.copyOf(from, capacity);
+                    to = Arrays.copyOf(to, capacity);
+                    transactions = Arrays.copyOf(transactions, capacity);
+                    valueCents = Arrays.copyOf(valueCents, capacity);
+                    delivered = Arrays.copyOf(delivered, capacity);
+                    leadTimeHours = Arrays.copyOf(leadTimeHours, capacity);
+                }
+                edge = edges++;
+                from[edge] = fromNode;
+                to[edge] = toNode;
+                edgeIndex.put(key, edge);
+            }
+            transactions[edge] += delta.transactions();
+            valueCents[edge] += delta.valueCents();
+            delivered[edge] += delta.delivered();
+            leadTimeHours[edge] += delta.leadTimeHours();
+        }
+
+        boolean active(int edge) {
+            return transactions[edge] > 0;
+        }
+
+        static long pack(int fromNode, int toNode) {
+            return ((long) fromNode << 32) | (toNode & 0xFFFFFFFFL);
+        }
+    }
+
+    @Async("queryExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        reload();
+    }
+
+    @Scheduled(cron = "${inventory.supply-chain.graph.reload-cron:0 0 * * * *}")
+    public void reload() {
+        lock.lock();
+        try {
+            if (loading) {
+                return;
+            }
+            loading = true;
+            pending.clear();
+        } finally {
+            lock.unlock();
+        }
+
+        long started = System.currentTimeMillis();
+        LocalDateTime changedSince = LocalDateTime.now().minus(eventLagWindow);
+        Edges loaded = new Edges();
+        LoadedTransactionStates states;
+        try {
+            // Both queries read one snapshot, so the states match the edges
+            states = StreamingQueries.inTransaction(readJdbcTemplate, true,
+                    (ConnectionCallback<LoadedTransactionStates>) connection -> {
+                try (PreparedStatement statement = connection.prepareStatement("""
+                        SELECT from_supplier_id, to_supplier_id, COUNT(*) as transactions, SUM(total_amount) as total_value,
+                               COUNT(*) FILTER (WHERE status IN ('DELIVERED', 'REFUNDED') AND actual_delivery_date IS NOT NULL) as delivered,
+                               COALESCE(SUM(EXTRACT(EPOCH FROM actual_delivery_date - transaction_date) / 3600)
+                                        FILTER (WHERE status IN ('DELIVERED', 'REFUNDED') AND actual_delivery_date IS NOT NULL), 0) as lead_time_hours
+                        FROM supply_chain_transactions
+                        WHERE status <> 'CANCELLED'
+                        GROUP BY from_supplier_id, to_supplier_id
+                        """);
+                     ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        loaded.apply(new EdgeDelta(null, null, rs.getLong("from_supplier_id"),
+                                rs.getLong("to_supplier_id"), rs.getLong("transactions"),
+                                toCents(rs.getBigDecimal("total_value")),
+                                rs.getLong("delivered"), rs.getDouble("lead_time_hours")));
+                    }
+                }
+                return LoadedTransactionStates.load(connection, changedSince);
+            });
+        } catch (Exception e) {
+            log.error("Supply chain graph load failed: {}", e.getMessage(), e);
+            lock.lock();
+            try {
+                loading = false;
+                pending.clear();
+            } finally {
+                lock.unlock();
+            }
+            return;
+        }
+
+        int replayed = 0;
+        lock.lock();
+        try {
+            for (EdgeDelta delta : pending) {
+                if (!delta.containedIn(states)) {
+                    loaded.apply(delta);
+                    replayed++;
+                }
+            }
+            pending.clear();
+            graph = loaded;
+            loadedStates = states;
+            loading = false;
+            version++;
+        } finally {
+            lock.unlock();
+        }
+        log.info("Loaded supply chain graph with {} suppliers and {} edges in {} ms, replayed {} events",
+                loaded.nodes, loaded.edges, System.currentTimeMillis() - started, replayed);
+    }
+
+    public boolean isReady() {
+        lock.lock();
+        try {
+            return graph != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void recordTransaction(Long transactionId, long fromSupplierId, long toSupplierId, BigDecimal totalAmount) {
+        apply(new EdgeDelta(transactionId, null, fromSupplierId, toSupplierId, 1, toCents(totalAmount), 0, 0));
+    }
+
+    public void recordCancellation(Long transactionId, long fromSupplierId, long toSupplierId, BigDecimal totalAmount) {
+        apply(new EdgeDelta(transactionId, "CANCELLED", fromSupplierId, toSupplierId, -1, -toCents(totalAmount), 0, 0));
+    }
+
+    public void recordDelivery(Long transactionId, long fromSupplierId, long toSupplierId, double leadTimeHours) {
+        apply(new EdgeDelta(transactionId, "DELIVERED", fromSupplierId, toSupplierId, 0, 0, 1, leadTimeHours));
+    }
+
+    /**
+     * The current graph as a snapshot, or empty until it has been loaded
+     */
+    public Optional<NetworkSnapshot> snapshot() {
+        long[] supplierIds;
+        int[] from;
+        int[] to;
+        long[] transactions;
+        long[] valueCents;
+        long[] delivered;
+        double[] leadTimeHours;
+        int undirectedPairs = 0;
+        long copiedVersion;
+
+        lock.lock();
+        try {
+            if (graph == null) {
+                return Optional.empty();
+            }
+            // Under a steady event stream, keep answering from a recent snapshot instead of re-analysing per request
+            if (snapshot != null && (snapshotVersion == version
+                    || System.currentTimeMillis() - snapshotTakenAt < snapshotMaxAgeMs)) {
+                return Optional.of(snapshot);
+            }
+            int active = 0;
+            for (int e = 0; e < graph.edges; e++) {
+                if (graph.active(e)) {
+                    active++;
+                }
+            }
+            supplierIds = Arrays.copyOf(graph.nodeIds, graph.nodes);
+            from = new int[active];
+            to = new int[active];
+            transactions = new long[active];
+            valueCents = new long[active];
+            delivered = new long[active];
+            leadTimeHours = new double[active];
+            int i = 0;
+            for (int e = 0; e < graph.edges; e++) {
+                if (!graph.active(e)) {
+                    continue;
+                }
+                from[i] = graph.from[e];
+                to[i] = graph.to[e];
+                transactions[i] = graph.transactions[e];
+                valueCents[i] = graph.valueCents[e];
+                delivered[i] = graph.delivered[e];
+                leadTimeHours[i] = graph.leadTimeHours[e];
+                i++;
+                // A pair trading both ways is counted once, from its lower index
+                int reverse = graph.edgeIndex.get(Edges.pack(graph.to[e], graph.from[e]));
+                if (reverse == LongIntHashMap.NO_VALUE || !graph.active(reverse) || graph.from[e] < graph.to[e]) {
+                    undirectedPairs++;
+                }
+            }
+            copiedVersion = version;
+        } finally {
+            lock.unlock();
+        }
+
+        NetworkSnapshot built = new NetworkSnapshot(supplierIds, from, to, transactions, valueCents,
+                delivered, leadTimeHours, undirectedPairs);
+        lock.lock();
+        try {
+            if (snapshotVersion < copiedVersion) {
+                snapshot = built;
+                snapshotVersion = copiedVersion;
+                snapshotTakenAt = System.currentTimeMillis();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return Optional.of(built);
+    }
+
+    private void apply(EdgeDelta delta) {
+        lock.lock();
+        try {
+            if (graph != null && !delta.containedIn(loadedStates)) {
+                graph.apply(delta);
+            }
+            if (loading && pending.size() < MAX_PENDING) {
+                pending.add(delta);
+            }
+            version++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount != null ? amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue() : 0L;
+    }
+}
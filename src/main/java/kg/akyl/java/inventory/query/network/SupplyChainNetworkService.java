@@ -0,0 +1,162 @@
+package kg.akyl.java.inventory.query.network;
+
+import kg.akyl.java.inventory.domain.Supplier;
+import kg.akyl.java.inventory.domain.dto.NetworkEdgeDTO;
+import kg.akyl.java.inventory.domain.dto.NetworkNodeDTO;
+import kg.akyl.java.inventory.domain.dto.NetworkStatisticsDTO;
+import kg.akyl.java.inventory.domain.dto.SupplierStatsDTO;
+import kg.akyl.java.inventory.domain.dto.SupplyChainNetworkDTO;
+import kg.akyl.java.inventory.infra.repositories.SupplierRepository;
+import kg.akyl.java.inventory.infra.services.SupplierService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Supply chain network views answered from the {@link SupplyChainGraph}. Supplier counts come from the cached
+ * supplier statistics and supplier details are loaded only for the nodes being returned.
+ */
+@Service
+public class SupplyChainNetworkService {
+    @Autowired
+    private SupplyChainGraph graph;
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Value("${inventory.supply-chain.graph.path-sample-size:64}")
+    private int pathSampleSize;
+
+    public NetworkStatisticsDTO getStatistics() {
+        NetworkSnapshot snapshot = currentSnapshot();
+        NetworkAnalysis analysis = snapshot.analysis(pathSampleSize);
+        SupplierStatsDTO suppliers = supplierService.getSupplierStatistics();
+        long total = suppliers.getTotalSuppliers() != null ? suppliers.getTotalSuppliers() : analysis.connectedSuppliers();
+
+        return NetworkStatisticsDTO.builder()
+                .totalSuppliers((int) total)
+                .totalConnections(snapshot.edges())
+                .totalTransactions((int) analysis.totalTransactions())
+                .totalVolume(BigDecimal.valueOf(analysis.totalValueCents(), 2))
+                .averageTransactionValue(analysis.totalTransactions() > 0
+                        ? BigDecimal.valueOf(analysis.totalValueCents(), 2)
+                        .divide(BigDecimal.valueOf(analysis.totalTransactions()), 2, RoundingMode.HALF_UP)
+                        : BigDecimal.ZERO)
+                .activeSuppliers(suppliers.getActiveSuppliers() != null ? suppliers.getActiveSuppliers().intValue() : null)
+                .isolatedSuppliers((int) Math.max(0, total - analysis.connectedSuppliers()))
+                .networkDensity(total > 1 ? round(snapshot.edges() * 100.0 / (total * (total - 1))) : 0.0)
+                .averageConnectionsPerSupplier(total > 0 ? round(2.0 * snapshot.undirectedPairs() / total) : 0.0)
+                .criticalPathLength(analysis.longestPath() != null ? analysis.longestPath().doubleValue() : null)
+                .averagePathLength(analysis.averageHops() != null ? round(analysis.averageHops()) : null)
+                .connectedComponents(analysis.components())
+                .largestComponentSize(analysis.largestComponent())
+                .pathLengthSources(analysis.pathSources())
+                .build();
+    }
+
+    /**
+     * The {@code limit} highest-value connections, or those of one supplier, with their suppliers and the
+     * whole-network statistics
+     */
+    public SupplyChainNetworkDTO getNetwork(Long supplierId, int limit) {
+        NetworkSnapshot snapshot = currentSnapshot();
+        int[] edges;
+        if (supplierId != null) {
+            int node = snapshot.nodeOf(supplierId);
+            edges = node >= 0 ? snapshot.edgesOf(node) : new int[0];
+        } else {
+            edges = IntStream.range(0, snapshot.edges()).toArray();
+        }
+        List<Integer> selected = IntStream.of(edges).boxed()
+                .sorted(Comparator.comparingLong(snapshot::edgeValueCents).reversed())
+                .limit(limit)
+                .toList();
+
+        Set<Integer> nodes = new LinkedHashSet<>();
+        for (int edge : selected) {
+            nodes.add(snapshot.edgeFrom(edge));
+            nodes.add(snapshot.edgeTo(edge));
+        }
+        Map<Long, Supplier> suppliers = supplierRepository.findAllById(
+                        nodes.stream().map(snapshot::supplierId).toList())
+                .stream()
+                .collect(Collectors.toMap(Supplier::getId, Function.identity()));
+
+        List<NetworkNodeDTO> nodeDTOs = new ArrayList<>(nodes.size());
+        for (int node : nodes) {
+            nodeDTOs.add(toNode(snapshot, node, suppliers.get(snapshot.supplierId(node))));
+        }
+        List<NetworkEdgeDTO> edgeDTOs = new ArrayList<>(selected.size());
+        for (int edge : selected) {
+            edgeDTOs.add(toEdge(snapshot, edge, suppliers));
+        }
+        return SupplyChainNetworkDTO.builder()
+                .nodes(nodeDTOs)
+                .edges(edgeDTOs)
+                .statistics(getStatistics())
+                .build();
+    }
+
+    private NetworkSnapshot currentSnapshot() {
+        return graph.snapshot()
+                .orElseThrow(() -> new NoSuchElementException("Supply chain network is still loading"));
+    }
+
+    private static NetworkNodeDTO toNode(NetworkSnapshot snapshot, int node, Supplier supplier) {
+        NetworkNodeDTO.NetworkNodeDTOBuilder builder = NetworkNodeDTO.builder()
+                .id(snapshot.supplierId(node))
+                .outgoingTransactions((int) snapshot.outTransactions(node))
+                .incomingTransactions((int) snapshot.inTransactions(node))
+                .totalVolume(BigDecimal.valueOf(snapshot.volumeCents(node), 2));
+        if (supplier != null) {
+            builder.name(supplier.getName())
+                    .code(supplier.getSupplierCode())
+                    .type(supplier.getSupplierType().name())
+                    .status(supplier.getStatus().name())
+                    .rating(supplier.getRating())
+                    .city(supplier.getCity())
+                    .country(supplier.getCountry());
+        }
+        return builder.build();
+    }
+
+    private static NetworkEdgeDTO toEdge(NetworkSnapshot snapshot, int edge, Map<Long, Supplier> suppliers) {
+        long fromId = snapshot.supplierId(snapshot.edgeFrom(edge));
+        long toId = snapshot.supplierId(snapshot.edgeTo(edge));
+        long transactions = snapshot.edgeTransactions(edge);
+        BigDecimal value = BigDecimal.valueOf(snapshot.edgeValueCents(edge), 2);
+        long delivered = snapshot.edgeDelivered(edge);
+        Supplier from = suppliers.get(fromId);
+        Supplier to = suppliers.get(toId);
+        return NetworkEdgeDTO.builder()
+                .fromId(fromId)
+                .toId(toId)
+                .fromName(from != null ? from.getName() : null)
+                .toName(to != null ? to.getName() : null)
+                .transactionCount((int) transactions)
+                .totalValue(value)
+                .averageValue(value.divide(BigDecimal.valueOf(transactions), 2, RoundingMode.HALF_UP))
+                .averageLeadTime(delivered > 0 ? round(snapshot.edgeLeadTimeHours(edge) / delivered / 24) : null)
+                .build();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
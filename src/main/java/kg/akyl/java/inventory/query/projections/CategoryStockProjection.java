@@ -0,0 +1,25 @@
+package kg.akyl.java.inventory.query.projections;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class CategoryStockProjection {
+    private String category;
+    private Long totalProducts;
+    private Long totalQuantity;
+    private Long totalReserved;
+    private Long availableQuantity;
+    private BigDecimal totalValue;
+
+    public CategoryStockProjection(String category, Long totalProducts, Long totalQuantity,
+                                   Long totalReserved, Long availableQuantity, BigDecimal totalValue) {
+        this.category = category;
+        this.totalProducts = totalProducts;
+        this.totalQuantity = totalQuantity;
+        this.totalReserved = totalReserved;
+        this.availableQuantity = availableQuantity;
+        this.totalValue = totalValue;
+    }
+}
@@ -0,0 +1,16 @@
+package kg.akyl.java.inventory.query.projections;
+
+import lombok.Data;
+
+@Data
+public class DistinctCustomersProjection {
+    private String category;
+    private Long distinctCustomers;
+    private Double standardError;
+
+    public DistinctCustomersProjection(String category, Long distinctCustomers, Double standardError) {
+        this.category = category;
+        this.distinctCustomers = distinctCustomers;
+        this.standardError = standardError;
+    }
+}
@@ -18,6 +18,8 @@ public class ProductProjection {
     private String status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // Row version the projection reflects, null when unknown
+    private Long version;
 
     public ProductProjection(Long id, String sku, String name, String description,
                              BigDecimal price, Integer quantity, Integer reservedQuantity,
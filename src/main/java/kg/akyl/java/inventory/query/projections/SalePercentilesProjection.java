@@ -0,0 +1,26 @@
+package kg.akyl.java.inventory.query.projections;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Sale amount percentiles, keyed like {@code p50} or {@code p99.9}. Each value is within
+ * {@code relativeAccuracy} of the true amount at that rank.
+ */
+@Data
+public class SalePercentilesProjection {
+    private String category;
+    private Long totalSales;
+    private Map<String, BigDecimal> percentiles;
+    private Double relativeAccuracy;
+
+    public SalePercentilesProjection(String category, Long totalSales, Map<String, BigDecimal> percentiles,
+                                     Double relativeAccuracy) {
+        this.category = category;
+        this.totalSales = totalSales;
+        this.percentiles = percentiles;
+        this.relativeAccuracy = relativeAccuracy;
+    }
+}
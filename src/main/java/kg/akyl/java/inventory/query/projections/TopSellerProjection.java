@@ -0,0 +1,26 @@
+package kg.akyl.java.inventory.query.projections;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * A product ranked by quantity sold or revenue. Sketch estimates never undercount:
+ * the true value lies in {@code [value - maxError, value]}.
+ */
+@Data
+public class TopSellerProjection {
+    private Long productId;
+    private String name;
+    private BigDecimal value;
+    private BigDecimal maxError;
+    private boolean exact;
+
+    public TopSellerProjection(Long productId, String name, BigDecimal value, BigDecimal maxError, boolean exact) {
+        this.productId = productId;
+        this.name = name;
+        this.value = value;
+        this.maxError = maxError;
+        this.exact = exact;
+    }
+}
@@ -0,0 +1,322 @@
+package kg.akyl.java.inventory.query.readmodel;
+
+import kg.akyl.java.inventory.infra.jdbc.StreamingQueries;
+import kg.akyl.java.inventory.query.projections.InventoryAnalyticsProjection;
+import kg.akyl.java.inventory.query.projections.ProductProjection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Running inventory analytics per category, answered in O(categories) without touching the database.
+ * <p>
+ * Stock totals for active products follow the {@link ProductReadModel}. Sales of the last 30 days sit in
+ * a ring of daily buckets fed from sale events; a bucket is reset when its slot is reused for a new day.
+ * The ring is bootstrapped from the raw sales of the window, read in one snapshot, and events for sales
+ * in that snapshot are skipped by id, so a sale committed after it is counted even if its id is lower.
+ * Sales from events count towards the category their product had when sold, loaded ones towards its
+ * current category, as in the rollup reconciliation.
+ */
+@Component
+@Slf4j
+public class CategoryInventoryAggregates implements ProductChangeListener {
+    // Same window as the SQL it replaces: today plus the 30 previous days
+    private static final int WINDOW_DAYS = 30;
+    private static final int SLOTS = WINDOW_DAYS + 1;
+    private static final int MAX_BUFFERED_SALES = 100_000;
+    private static final String ACTIVE = "ACTIVE";
+    private static final String NO_CATEGORY = "";
+
+    @Autowired
+    @Qualifier("readJdbcTemplate")
+    private JdbcTemplate readJdbcTemplate;
+
+    @Value("${inventory.read-model.bootstrap-fetch-size:5000}")
+    private int fetchSize;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Totals> categories = new HashMap<>();
+    // Epoch day held by each slot of the sales ring
+    private final long[] slotDays = new long[SLOTS];
+    // Sales seen while the ring was loading, replayed once the snapshot's sale ids are known
+    private final List<BufferedSale> bufferedSales = new ArrayList<>();
+    private SalesSnapshot salesSnapshot;
+    private volatile boolean productsReady;
+    private volatile boolean salesReady;
+
+    private record BufferedSale(long saleId, String category, long day, long quantity) {
+    }
+
+    private static final class Totals {
+        long products;
+        long quantity;
+        long reserved;
+        long valueInCents;
+        long priceInCents;
+        final long[] sales = new long[SLOTS];
+        final long[] soldQuantity = new long[SLOTS];
+    }
+
+    /**
+     * Sales of the window read in one snapshot, summed per category and day, and the ids of the sales read
+     */
+    static final class SalesSnapshot {
+        private final long firstDay;
+        private final long baseId;
+        private final BitSet saleIds = new BitSet();
+        // Per category: sales of day firstDay + i at [i], their quantity at [SLOTS + i]
+        private final Map<String, long[]> days = new HashMap<>();
+        private long rows;
+
+        /**
+         * @param baseId the smallest sale id in the snapshot, or 0 when it has none
+         */
+        SalesSnapshot(long firstDay, long baseId) {
+            this.firstDay = firstDay;
+            this.baseId = baseId;
+        }
+
+        void add(long saleId, String category, long day, long quantity) {
+            saleIds.set(Math.toIntExact(saleId - baseId));
+            rows++;
+            long offset = day - firstDay;
+            if (offset < 0 || offset >= SLOTS) {
+                return;
+            }
+            long[] counts = days.computeIfAbsent(category != null ? category : NO_CATEGORY, key -> new long[2 * SLOTS]);
+            counts[(int) offset]++;
+            counts[SLOTS + (int) offset] += quantity;
+        }
+
+        boolean contains(long saleId) {
+            long offset = saleId - baseId;
+            return offset >= 0 && offset < saleIds.length() && saleIds.get((int) offset);
+        }
+    }
+
+    public boolean isReady() {
+        return productsReady && salesReady;
+    }
+
+    @Override
+    public void onUpsert(ProductProjection previous, ProductProjection current) {
+        lock.lock();
+        try {
+            if (previous != null) {
+                addStock(previous, -1);
+            }
+            addStock(current, 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onRemove(ProductProjection previous) {
+        lock.lock();
+        try {
+            addStock(previous, -1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onReady() {
+        productsReady = true;
+    }
+
+    @Async("queryExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrapSales() {
+        long started = System.currentTimeMillis();
+        LocalDateTime since = LocalDate.now(clock).minusDays(WINDOW_DAYS).atStartOfDay();
+        try {
+            // Both queries read one snapshot, so the smallest id bounds every id streamed
+            SalesSnapshot snapshot = StreamingQueries.inTransaction(readJdbcTemplate, true,
+                    (ConnectionCallback<SalesSnapshot>) connection -> {
+                long baseId;
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "SELECT COALESCE(MIN(id), 0) FROM sales WHERE sale_date >= ? AND status = 'CONFIRMED'")) {
+                    statement.setObject(1, since);
+                    try (ResultSet rs = statement.executeQuery()) {
+                        rs.next();
+                        baseId = rs.getLong(1);
+                    }
+                }
+                SalesSnapshot loaded = new SalesSnapshot(since.toLocalDate().toEpochDay(), baseId);
+                StreamingQueries.stream(connection, """
+                        SELECT s.id, COALESCE(p.category, '') as category, s.sale_date, s.quantity
+                        FROM sales s
+                        JOIN products p ON p.id = s.product_id
+                        WHERE s.sale_date >= ? AND s.status = 'CONFIRMED'
+                        """, fetchSize, rs -> loaded.add(rs.getLong("id"), rs.getString("category"),
+                        rs.getTimestamp("sale_date").toLocalDateTime().toLocalDate().toEpochDay(),
+                        rs.getLong("quantity")), since);
+                return loaded;
+            });
+
+            int replayed = applySnapshot(snapshot);
+            log.info("Loaded {} sales into inventory analytics and replayed {} buffered ones in {} ms",
+                    snapshot.rows, replayed, System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("Inventory analytics bootstrap failed, queries stay on the database: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Adds the loaded sales to the ring, then the buffered sales the snapshot does not contain
+     *
+     * @return how many buffered sales were replayed
+     */
+    int applySnapshot(SalesSnapshot snapshot) {
+        lock.lock();
+        try {
+            snapshot.days.forEach((category, counts) -> {
+                for (int offset = 0; offset < SLOTS; offset++) {
+                    if (counts[offset] > 0) {
+                        addSales(category, snapshot.firstDay + offset, counts[offset], counts[SLOTS + offset]);
+                    }
+                }
+            });
+            salesSnapshot = snapshot;
+            int replayed = 0;
+            for (BufferedSale sale : bufferedSales) {
+                if (!snapshot.contains(sale.saleId())) {
+                    addSales(sale.category(), sale.day(), 1, sale.quantity());
+                    replayed++;
+                }
+            }
+            bufferedSales.clear();
+            salesReady = true;
+            return replayed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void recordSale(long saleId, String category, long quantity, LocalDateTime saleDate) {
+        lock.lock();
+        try {
+            long day = saleDate.toLocalDate().toEpochDay();
+            if (!salesReady) {
+                if (bufferedSales.size() < MAX_BUFFERED_SALES) {
+                    bufferedSales.add(new BufferedSale(saleId, category, day, quantity));
+                }
+            } else if (!salesSnapshot.contains(saleId)) {
+                addSales(category, day, 1, quantity);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Current analytics for every category with active products, by total value descending
+     */
+    public List<InventoryAnalyticsProjection> snapshot() {
+        long today = LocalDate.now(clock).toEpochDay();
+        List<InventoryAnalyticsProjection> result = new ArrayList<>();
+        lock.lock();
+        try {
+            for (Map.Entry<String, Totals> entry : categories.entrySet()) {
+                Totals totals = entry.getValue();
+                if (totals.products <= 0) {
+                    continue;
+                }
+                long sales = 0;
+                long sold = 0;
+                for (int slot = 0; slot < SLOTS; slot++) {
+                    if (slotDays[slot] >= today - WINDOW_DAYS && slotDays[slot] <= today) {
+                        sales += totals.sales[slot];
+                        sold += totals.soldQuantity[slot];
+                    }
+                }
+                long available = totals.quantity - totals.reserved;
+                result.add(new InventoryAnalyticsProjection(
+                        NO_CATEGORY.equals(entry.getKey()) ? null : entry.getKey(),
+                        (int) totals.products,
+                        totals.quantity,
+                        totals.reserved,
+                        available,
+                        BigDecimal.valueOf(totals.valueInCents, 2),
+                        BigDecimal.valueOf(totals.priceInCents, 2)
+                                .divide(BigDecimal.valueOf(totals.products), 2, RoundingMode.HALF_UP),
+                        sales,
+                        sold,
+                        sold > 0 ? available / (sold / (double) WINDOW_DAYS) : null));
+            }
+        } finally {
+            lock.unlock();
+        }
+        result.sort(Comparator.comparing(InventoryAnalyticsProjection::getTotalValue).reversed());
+        return result;
+    }
+
+    private void addStock(ProductProjection product, int sign) {
+        if (!ACTIVE.equals(product.getStatus())) {
+            return;
+        }
+        Totals totals = totals(product.getCategory());
+        long quantity = product.getQuantity() != null ? product.getQuantity() : 0;
+        long priceInCents = toCents(product.getPrice());
+        totals.products += sign;
+        totals.quantity += sign * quantity;
+        totals.reserved += sign * (product.getReservedQuantity() != null ? product.getReservedQuantity() : 0);
+        totals.valueInCents += sign * quantity * priceInCents;
+        totals.priceInCents += sign * priceInCents;
+    }
+
+    private void addSales(String category, long day, long sales, long quantity) {
+        long today = LocalDate.now(clock).toEpochDay();
+        if (day < today - WINDOW_DAYS || day > today) {
+            return;
+        }
+        int slot = (int) Math.floorMod(day, SLOTS);
+        if (slotDays[slot] != day) {
+            if (slotDays[slot] > day) {
+                return;
+            }
+            for (Totals totals : categories.values()) {
+                totals.sales[slot] = 0;
+                totals.soldQuantity[slot] = 0;
+            }
+            slotDays[slot] = day;
+        }
+        Totals totals = totals(category);
+        totals.sales[slot] += sales;
+        totals.soldQuantity[slot] += quantity;
+    }
+
+    private Totals totals(String category) {
+        return categories.computeIfAbsent(category != null ? category : NO_CATEGORY, key -> new Totals());
+    }
+
+    private static long toCents(BigDecimal price) {
+        return price != null ? price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue() : 0L;
+    }
+}
@@ -0,0 +1,151 @@
+package kg.akyl.java.inventory.query.readmodel;
+
+import kg.akyl.java.inventory.infra.collections.LongObjectHashMap;
+import kg.akyl.java.inventory.query.projections.InventoryStatusProjection;
+import kg.akyl.java.inventory.query.projections.ProductProjection;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Default {@link ProductStore}: the projections themselves, keyed by primitive id and by SKU, with a
+ * per-category index ordered by name and an index of active products ordered by available quantity.
+ * Stored projections are never mutated in place, so the ordered indexes stay consistent. Not thread-safe.
+ */
+final class HeapProductStore implements ProductStore {
+    private static final String ACTIVE = "ACTIVE";
+
+    private static final Comparator<ProductProjection> BY_NAME = Comparator
+            .comparing(ProductProjection::getName, Comparator.nullsFirst(ProductReadModel::compareCodePoints))
+            .thenComparing(ProductProjection::getId);
+
+    private static final Comparator<ProductProjection> BY_AVAILABLE = Comparator
+            .comparingInt(ProductReadModel::available)
+            .thenComparing(ProductProjection::getId);
+
+    private final LongObjectHashMap<ProductProjection> byId = new LongObjectHashMap<>(1024);
+    private final Map<String, ProductProjection> bySku = new HashMap<>();
+    private final Map<String, NavigableSet<ProductProjection>> activeByCategory = new HashMap<>();
+    private final NavigableSet<ProductProjection> activeByAvailable = new TreeSet<>(BY_AVAILABLE);
+
+    @Override
+    public ProductProjection get(long id) {
+        return byId.get(id);
+    }
+
+    @Override
+    public ProductProjection getBySku(String sku) {
+        return bySku.get(sku);
+    }
+
+    @Override
+    public boolean contains(long id) {
+        return byId.containsKey(id);
+    }
+
+    @Override
+    public int size() {
+        return byId.size();
+    }
+
+    @Override
+    public void forEach(Consumer<ProductProjection> action) {
+        byId.forEach((id, product) -> action.accept(product));
+    }
+
+    @Override
+    public void put(ProductProjection previous, ProductProjection product) {
+        if (previous != null) {
+            unindex(previous);
+            if (!Objects.equals(previous.getSku(), product.getSku())) {
+                bySku.remove(previous.getSku());
+            }
+        }
+        byId.put(product.getId(), product);
+        bySku.put(product.getSku(), product);
+        if (ACTIVE.equals(product.getStatus())) {
+            activeByAvailable.add(product);
+            activeByCategory.computeIfAbsent(product.getCategory(), c -> new TreeSet<>(BY_NAME)).add(product);
+        }
+    }
+
+    @Override
+    public ProductProjection remove(long id) {
+        ProductProjection current = byId.remove(id);
+        if (current != null) {
+            unindex(current);
+            bySku.remove(current.getSku());
+        }
+        return current;
+    }
+
+    @Override
+    public List<ProductProjection> findByCategory(String category, int limit, int offset) {
+        NavigableSet<ProductProjection> products = activeByCategory.get(category);
+        if (products == null) {
+            return List.of();
+        }
+        List<ProductProjection> page = new ArrayList<>(Math.min(limit, products.size()));
+        Iterator<ProductProjection> it = products.iterator();
+        for (int skipped = 0; skipped < offset && it.hasNext(); skipped++) {
+            it.next();
+        }
+        while (page.size() < limit && it.hasNext()) {
+            page.add(it.next());
+        }
+        return page;
+    }
+
+    @Override
+    public List<ProductProjection> findByCategoryAfter(String category, String afterName, long afterId, int limit) {
+        NavigableSet<ProductProjection> products = activeByCategory.get(category);
+        if (products == null) {
+            return List.of();
+        }
+        if (afterName != null) {
+            ProductProjection position = new ProductProjection(afterId, null, afterName, null, null,
+                    0, 0, category, ACTIVE, null, null);
+            products = products.tailSet(position, false);
+        }
+        // size() on a tail view walks the set, so do not use it to presize
+        List<ProductProjection> page = new ArrayList<>(Math.min(limit, 256));
+        for (ProductProjection product : products) {
+            if (page.size() >= limit) {
+                break;
+            }
+            page.add(product);
+        }
+        return page;
+    }
+
+    @Override
+    public int countByCategory(String category) {
+        NavigableSet<ProductProjection> products = activeByCategory.get(category);
+        return products != null ? products.size() : 0;
+    }
+
+    @Override
+    public List<InventoryStatusProjection> findLowStock(int threshold) {
+        ProductProjection upperBound = new ProductProjection(Long.MAX_VALUE, null, null, null, null,
+                threshold, 0, null, ACTIVE, null, null);
+        List<InventoryStatusProjection> result = new ArrayList<>();
+        for (ProductProjection p : activeByAvailable.headSet(upperBound, true)) {
+            result.add(new InventoryStatusProjection(p.getId(), p.getSku(), p.getName(),
+                    p.getQuantity(), p.getReservedQuantity(), ProductReadModel.available(p)));
+        }
+        return result;
+    }
+
+    private void unindex(ProductProjection product) {
+        if (ACTIVE.equals(product.getStatus())) {
+            activeByAvailable.remove(product);
+            NavigableSet<ProductProjection> category = activeByCategory.get(product.getCategory());
+            if (category != null) {
+                category.remove(product);
+                if (category.isEmpty()) {
+                    activeByCategory.remove(product.getCategory());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package kg.akyl.java.inventory.query.readmodel;
+
+import jakarta.annotation.PostConstruct;
+import kg.akyl.java.inventory.domain.InventoryEvent;
+import kg.akyl.java.inventory.infra.events.EventStore;
+import kg.akyl.java.inventory.infra.locking.LeaderLease;
+import kg.akyl.java.inventory.query.projections.InventoryStatusProjection;
+import kg.akyl.java.inventory.query.projections.ProductProjection;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The set of active products that are low on stock, kept from {@link ProductReadModel} changes.
+ * <p>
+ * A product enters the set when its available quantity drops to {@code threshold} and leaves it only once
+ * it is back at {@code recover-threshold} or more, so stock hovering around one level does not flap. Products
+ * that are removed or no longer active leave the set too. Crossings after the model is ready are published
+ * as {@code LowStockDetected} and {@code StockRecovered} events by the {@link LeaderLease} holder.
+ */
+@Component
+@Slf4j
+public class LowStockMonitor implements ProductChangeListener {
+    public static final String TOPIC = "inventory-alerts";
+    public static final String LOW_STOCK_DETECTED = "LowStockDetected";
+    public static final String STOCK_RECOVERED = "StockRecovered";
+
+    private static final String ACTIVE = "ACTIVE";
+    private static final int MAX_PENDING_ALERTS = 100_000;
+
+    @Autowired
+    private EventStore eventStore;
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private LeaderLease leaderLease;
+
+    @Value("${inventory.low-stock.threshold:10}")
+    private int threshold;
+
+    @Value("${inventory.low-stock.recover-threshold:20}")
+    private int recoverThreshold;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, ProductProjection> lowStock = new HashMap<>();
+    private List<InventoryEvent> pendingAlerts = new ArrayList<>();
+    private volatile boolean ready;
+
+    @Setter
+    @Getter
+    @NoArgsConstructor
+    public static class StockAlert {
+        private Long productId;
+        private String sku;
+        private String name;
+        private Integer availableQuantity;
+        private Integer threshold;
+        private String reason;
+        private LocalDateTime detectedAt;
+
+        StockAlert(ProductProjection product, int threshold, String reason) {
+            this.productId = product.getId();
+            this.sku = product.getSku();
+            this.name = product.getName();
+            this.availableQuantity = available(product);
+            this.threshold = threshold;
+            this.reason = reason;
+            this.detectedAt = LocalDateTime.now();
+        }
+    }
+
+    @PostConstruct
+    void validateThresholds() {
+        if (recoverThreshold <= threshold) {
+            throw new IllegalStateException("inventory.low-stock.recover-threshold (" + recoverThreshold
+                    + ") must be greater than inventory.low-stock.threshold (" + threshold + ")");
+        }
+    }
+
+    @Override
+    public void onUpsert(ProductProjection previous, ProductProjection current) {
+        lock.lock();
+        try {
+            boolean low = lowStock.containsKey(current.getId());
+            if (!ACTIVE.equals(current.getStatus())) {
+                if (low) {
+                    lowStock.remove(current.getId());
+                    alert(STOCK_RECOVERED, current, recoverThreshold, "INACTIVE");
+                }
+                return;
+            }
+            int available = available(current);
+            if (low) {
+                if (available >= recoverThreshold) {
+                    lowStock.remove(current.getId());
+                    alert(STOCK_RECOVERED, current, recoverThreshold, "RESTOCKED");
+                } else {
+                    lowStock.put(current.getId(), current);
+                }
+            } else if (available <= threshold) {
+                lowStock.put(current.getId(), current);
+                alert(LOW_STOCK_DETECTED, current, threshold, "LOW_STOCK");
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onRemove(ProductProjection previous) {
+        lock.lock();
+        try {
+            if (lowStock.remove(previous.getId()) != null) {
+                alert(STOCK_RECOVERED, previous, recoverThreshold, "REMOVED");
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onReady() {
+        ready = true;
+        log.info("Low stock monitor ready with {} products below {} available", count(), threshold);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public int count() {
+        lock.lock();
+        try {
+            return lowStock.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Products currently low on stock, lowest available quantity first
+     */
+    public List<InventoryStatusProjection> lowStock() {
+        List<ProductProjection> products;
+        lock.lock();
+        try {
+            products = new ArrayList<>(lowStock.values());
+        } finally {
+            lock.unlock();
+        }
+        products.sort(Comparator.comparingInt(LowStockMonitor::available).thenComparing(ProductProjection::getId));
+        List<InventoryStatusProjection> result = new ArrayList<>(products.size());
+        for (ProductProjection p : products) {
+            result.add(new InventoryStatusProjection(p.getId(), p.getSku(), p.getName(),
+                    p.getQuantity(), p.getReservedQuantity(), available(p)));
+        }
+        return result;
+    }
+
+    /**
+     * Publishes the alerts raised since the last run. Change listeners run under the read model's lock,
+     * so they only queue alerts; every instance sees the same crossings and only the leader sends them.
+     */
+    @Scheduled(fixedDelayString = "${inventory.low-stock.publish-interval-ms:1000}")
+    public void publishAlerts() {
+        List<InventoryEvent> alerts;
+        lock.lock();
+        try {
+            if (pendingAlerts.isEmpty()) {
+                return;
+            }
+            alerts = pendingAlerts;
+            pendingAlerts = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+        if (!leaderLease.isLeader()) {
+            return;
+        }
+        try {
+            eventStore.saveEvents(alerts);
+            for (InventoryEvent alert : alerts) {
+                kafkaTemplate.send(TOPIC, alert.getAggregateId(), alert);
+            }
+        } catch (Exception e) {
+            log.error("Could not publish {} stock alerts: {}", alerts.size(), e.getMessage(), e);
+        }
+    }
+
+    private void alert(String type, ProductProjection product, int threshold, String reason) {
+        if (!ready || pendingAlerts.size() >= MAX_PENDING_ALERTS) {
+            return;
+        }
+        pendingAlerts.add(new InventoryEvent(type, product.getId().toString(),
+                new StockAlert(product, threshold, reason), 0L));
+    }
+
+    private static int available(ProductProjection product) {
+        return (product.getQuantity() != null ? product.getQuantity() : 0)
+                - (product.getReservedQuantity() != null ? product.getReservedQuantity() : 0);
+    }
+}
@@ -0,0 +1,23 @@
+package kg.akyl.java.inventory.query.readmodel;
+
+import kg.akyl.java.inventory.query.projections.ProductProjection;
+
+/**
+ * Receives every change applied to {@link ProductReadModel}.
+ * Called while the model holds its write lock, so implementations must be quick and must not call back into the model.
+ */
+public interface ProductChangeListener {
+
+    /**
+     * @param previous the replaced projection, or null for a new product
+     */
+    void onUpsert(ProductProjection previous, ProductProjection current);
+
+    void onRemove(ProductProjection previous);
+
+    /**
+     * Called once the model has been fully bootstrapped from the database
+     */
+    default void onReady() {
+    }
+}
@@ -0,0 +1,296 @@
+package kg.akyl.java.inventory.query.readmodel;
+
+import kg.akyl.java.inventory.query.projections.InventoryStatusProjection;
+import kg.akyl.java.inventory.query.projections.ProductProjection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-process product read model built from the event stream.
+ * <p>
+ * Products are held by a {@link ProductStore}: on the heap by default, or in the off-heap columnar store
+ * when {@code inventory.read-model.columnar.enabled} is set, which keeps only primitive indexes on the heap.
+ * Projections handed out are never mutated in place; every change replaces the instance.
+ * <p>
+ * Rows and events carry the product's row version. Anything older than the version already held is
+ * ignored, so an event that is both in a loaded snapshot and in the stream is applied only once.
+ */
+@Component
+@Slf4j
+public class ProductReadModel {
+    private static final String DISCONTINUED = "DISCONTINUED";
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private ProductStore store = new HeapProductStore();
+
+    @Autowired(required = false)
+    private List<ProductChangeListener> changeListeners = List.of();
+
+    private volatile boolean ready;
+
+    /**
+     * Replaces the default on-heap store; the columnar store registers itself here when it is enabled
+     */
+    @Autowired(required = false)
+    void setStore(ProductStore store) {
+        this.store = store;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        lock.writeLock().lock();
+        try {
+            store.onLoaded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        log.info("Product read model ready with {} products", size());
+        for (ProductChangeListener listener : changeListeners) {
+            listener.onReady();
+        }
+    }
+
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            return store.contains(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<ProductProjection> findById(long id) {
+        lock.readLock().lock();
+        try {
+            return visible(store.get(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<ProductProjection> findBySku(String sku) {
+        lock.readLock().lock();
+        try {
+            return visible(store.getBySku(sku));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<ProductProjection> findByCategory(String category, int limit, int offset) {
+        lock.readLock().lock();
+        try {
+            return store.findByCategory(category, limit, offset);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Active products of a category ordered by (name, id), strictly after the given position.
+     * A null afterName starts from the beginning.
+     */
+    public List<ProductProjection> findByCategoryAfter(String category, String afterName, long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            return store.findByCategoryAfter(category, afterName, afterId, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int countByCategory(String category) {
+        lock.readLock().lock();
+        try {
+            return store.countByCategory(category);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<InventoryStatusProjection> findLowStock(int threshold) {
+        lock.readLock().lock();
+        try {
+            return store.findLowStock(threshold);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Passes every product held, discontinued ones included, to {@code action} under the read lock
+     */
+    public void forEach(Consumer<ProductProjection> action) {
+        lock.readLock().lock();
+        try {
+            store.forEach(action);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs {@code task} under the read lock. Change listeners are called under the write lock, so state they
+     * derive from the model holds still and matches it while {@code task} runs.
+     */
+    public void whileUnchanged(Runnable task) {
+        lock.readLock().lock();
+        try {
+            task.run();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return store.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Insert or replace a product, unless the model already holds a newer version of it
+     */
+    public void upsert(ProductProjection product) {
+        lock.writeLock().lock();
+        try {
+            ProductProjection current = store.get(product.getId());
+            if (current != null && isStale(current, product.getVersion())) {
+                return;
+            }
+            replace(current, product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Apply an absolute quantity change at the given row version, null when unknown.
+     * Returns false when the product is not in the model yet.
+     */
+    public boolean applyQuantity(long id, int newQuantity, Long version) {
+        lock.writeLock().lock();
+        try {
+            ProductProjection current = store.get(id);
+            if (current == null) {
+                return false;
+            }
+            if (isStale(current, version)) {
+                return true;
+            }
+            ProductProjection updated = copy(current);
+            updated.setQuantity(newQuantity);
+            updated.setUpdatedAt(LocalDateTime.now());
+            updated.setVersion(version != null ? version : current.getVersion());
+            replace(current, updated);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Apply an absolute reserved quantity at the given row version, null when unknown.
+     * Returns false when the product is not in the model yet.
+     */
+    public boolean applyReservation(long id, int reservedQuantity, Long version) {
+        lock.writeLock().lock();
+        try {
+            ProductProjection current = store.get(id);
+            if (current == null) {
+                return false;
+            }
+            if (isStale(current, version)) {
+                return true;
+            }
+            ProductProjection updated = copy(current);
+            updated.setReservedQuantity(reservedQuantity);
+            updated.setUpdatedAt(LocalDateTime.now());
+            updated.setVersion(version != null ? version : current.getVersion());
+            replace(current, updated);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            ProductProjection current = store.remove(id);
+            if (current != null) {
+                for (ProductChangeListener listener : changeListeners) {
+                    listener.onRemove(current);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void replace(ProductProjection current, ProductProjection updated) {
+        store.put(current, updated);
+        for (ProductChangeListener listener : changeListeners) {
+            listener.onUpsert(current, updated);
+        }
+    }
+
+    /**
+     * A change is stale when both versions are known and it is older than what is held. An equal version is
+     * applied again, which is harmless for absolute values and lets a re-read row refresh the projection.
+     */
+    private static boolean isStale(ProductProjection current, Long version) {
+        return version != null && current.getVersion() != null && version < current.getVersion();
+    }
+
+    private static Optional<ProductProjection> visible(ProductProjection product) {
+        if (product == null || DISCONTINUED.equals(product.getStatus())) {
+            return Optional.empty();
+        }
+        return Optional.of(product);
+    }
+
+    static int available(ProductProjection product) {
+        return product.getQuantity() - product.getReservedQuantity();
+    }
+
+    static ProductProjection copy(ProductProjection p) {
+        ProductProjection copy = new ProductProjection(p.getId(), p.getSku(), p.getName(), p.getDescription(),
+                p.getPrice(), p.getQuantity(), p.getReservedQuantity(), p.getCategory(), p.getStatus(),
+                p.getCreatedAt(), p.getUpdatedAt());
+        copy.setVersion(p.getVersion());
+        return copy;
+    }
+
+    /**
+     * Code point order, the order of PostgreSQL's "C" collation on UTF-8 text. {@link String#compareTo}
+     * compares UTF-16 units and puts characters above U+FFFF before U+E000..U+FFFF.
+     */
+    static int compareCodePoints(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            int ca = a.codePointAt(i);
+            int cb = b.codePointAt(j);
+            if (ca != cb) {
+                return Integer.compare(ca, cb);
+            }
+            i += Character.charCount(ca);
+            j += Character.charCount(cb);
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+}
@@ -0,0 +1,115 @@
+package kg.akyl.java.inventory.query.readmodel;
+
+import kg.akyl.java.inventory.infra.jdbc.StreamingQueries;
+import kg.akyl.java.inventory.query.projections.ProductProjection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Bootstraps {@link ProductReadModel} from the database and keeps it in sync with writes
+ * that do not go through the event stream (e.g. the v1 product API).
+ */
+@Component
+@Slf4j
+public class ProductReadModelLoader {
+    /**
+     * Maps a products row with all projection columns and {@code version}
+     */
+    public static final RowMapper<ProductProjection> PRODUCT_ROW_MAPPER = (rs, rowNum) -> {
+        ProductProjection product = new ProductProjection(
+                rs.getLong("id"),
+                rs.getString("sku"),
+                rs.getString("name"),
+                rs.getString("description"),
+                rs.getBigDecimal("price"),
+                rs.getInt("quantity"),
+                rs.getInt("reserved_quantity"),
+                rs.getString("category"),
+                rs.getString("status"),
+                rs.getTimestamp("created_at").toLocalDateTime(),
+                rs.getTimestamp("updated_at").toLocalDateTime()
+        );
+        product.setVersion(rs.getLong("version"));
+        return product;
+    };
+
+    private static final String SELECT_PRODUCTS = """
+            SELECT p.id, p.sku, p.name, p.description, p.price,
+                   p.quantity, p.reserved_quantity, p.category,
+                   p.status, p.created_at, p.updated_at, p.version
+            FROM products p
+            """;
+
+    // Rows are re-read this far behind the watermark to cover transactions that committed late
+    private static final Duration CATCH_UP_OVERLAP = Duration.ofMinutes(1);
+
+    @Autowired
+    @Qualifier("readJdbcTemplate")
+    private JdbcTemplate readJdbcTemplate;
+
+    @Autowired
+    private ProductReadModel productReadModel;
+
+    @Value("${inventory.read-model.bootstrap-fetch-size:5000}")
+    private int fetchSize;
+
+    private volatile LocalDateTime watermark;
+
+    @Async("queryExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        long started = System.currentTimeMillis();
+        LocalDateTime startedAt = LocalDateTime.now();
+        try {
+            long loaded = load(SELECT_PRODUCTS);
+            watermark = startedAt;
+            productReadModel.markReady();
+            log.info("Loaded {} products into read model in {} ms", loaded, System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("Product read model bootstrap failed, queries stay on the database: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.read-model.refresh-interval-ms:30000}")
+    public void catchUp() {
+        LocalDateTime since = watermark;
+        if (since == null) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        try {
+            long refreshed = load(SELECT_PRODUCTS + " WHERE p.updated_at > ?",
+                    Timestamp.valueOf(since.minus(CATCH_UP_OVERLAP)));
+            watermark = startedAt;
+            log.debug("Read model catch-up refreshed {} products", refreshed);
+        } catch (Exception e) {
+            log.warn("Read model catch-up failed: {}", e.getMessage());
+        }
+    }
+
+    private long load(String sql, Object... args) {
+        long[] count = new long[1];
+        StreamingQueries.inTransaction(readJdbcTemplate, false, (ConnectionCallback<Void>) connection -> {
+            StreamingQueries.stream(connection, sql, fetchSize, rs -> {
+                productReadModel.upsert(PRODUCT_ROW_MAPPER.mapRow(rs, rs.getRow()));
+                count[0]++;
+            }, args);
+            return null;
+        });
+        return count[0];
+    }
+}
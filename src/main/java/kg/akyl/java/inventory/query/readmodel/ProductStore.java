@@ -0,0 +1,61 @@
+package kg.akyl.java.inventory.query.readmodel;
+
+import kg.akyl.java.inventory.query.projections.InventoryStatusProjection;
+import kg.akyl.java.inventory.query.projections.ProductProjection;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Storage behind {@link ProductReadModel}: the products by id and SKU, plus the orderings its queries need.
+ * The model calls it under its own lock and handles versions, visibility and change listeners itself.
+ */
+public interface ProductStore {
+
+    ProductProjection get(long id);
+
+    ProductProjection getBySku(String sku);
+
+    boolean contains(long id);
+
+    int size();
+
+    /**
+     * Passes every stored product to {@code action}, in no particular order
+     */
+    void forEach(Consumer<ProductProjection> action);
+
+    /**
+     * Insert {@code product}, or replace {@code previous}, the projection {@link #get} returned for its id
+     */
+    void put(ProductProjection previous, ProductProjection product);
+
+    /**
+     * Removes the product and returns it, or null when it was not stored
+     */
+    ProductProjection remove(long id);
+
+    /**
+     * Active products of a category ordered by (name, id) in code point order
+     */
+    List<ProductProjection> findByCategory(String category, int limit, int offset);
+
+    /**
+     * Active products of a category ordered by (name, id), strictly after the given position.
+     * A null afterName starts from the beginning.
+     */
+    List<ProductProjection> findByCategoryAfter(String category, String afterName, long afterId, int limit);
+
+    int countByCategory(String category);
+
+    /**
+     * Active products with at most {@code threshold} units available, ordered by available quantity and id
+     */
+    List<InventoryStatusProjection> findLowStock(int threshold);
+
+    /**
+     * Called once the model has been fully bootstrapped from the database
+     */
+    default void onLoaded() {
+    }
+}
@@ -0,0 +1,676 @@
+package kg.akyl.java.inventory.query.readmodel.columnar;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kg.akyl.java.inventory.domain.ProductStatus;
+import kg.akyl.java.inventory.infra.collections.LongIntHashMap;
+import kg.akyl.java.inventory.query.projections.CategoryStockProjection;
+import kg.akyl.java.inventory.query.projections.InventoryStatusProjection;
+import kg.akyl.java.inventory.query.projections.ProductProjection;
+import kg.akyl.java.inventory.query.readmodel.ProductReadModel;
+import kg.akyl.java.inventory.query.readmodel.ProductStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Off-heap columnar {@link ProductStore}; when enabled it is the storage of the {@link ProductReadModel}.
+ * <p>
+ * Each attribute is a fixed-width column in its own memory-mapped file; SKU, name, description and category
+ * are codes into mapped string dictionaries. Rows are appended and updated in place, removed rows become free
+ * slots. The heap holds only primitive indexes: id to row, SKU code to row, and the active rows of each
+ * category. Projections are materialized from the columns when a query returns them.
+ * <p>
+ * The header holds the committed row count and is written after the row data, so a restarted process remaps
+ * the files and can scan them for analytics immediately. The model does not see those rows until its bootstrap
+ * has written them again; the ones it did not are dropped when the bootstrap finishes.
+ */
+@Component
+@ConditionalOnProperty(prefix = "inventory.read-model.columnar", name = "enabled", havingValue = "true")
+@Slf4j
+public class ColumnarProductStore implements ProductStore {
+    private static final int MAGIC = 0x50524F44;
+    private static final int FORMAT_VERSION = 2;
+    private static final byte FREE = 0;
+    private static final byte ACTIVE = statusCode(ProductStatus.ACTIVE.name());
+    private static final long NULL_LONG = Long.MIN_VALUE;
+
+    @Value("${inventory.read-model.columnar.directory:data/columnar}")
+    private String directory;
+
+    @Value("${inventory.read-model.columnar.initial-capacity:1048576}")
+    private int initialCapacity;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // header: [magic, format version, committed row count]
+    private MappedColumn header;
+    private MappedColumn ids;
+    private MappedColumn quantities;
+    private MappedColumn reserved;
+    private MappedColumn pricesInCents;
+    private MappedColumn statuses;
+    private MappedColumn skus;
+    private MappedColumn categories;
+    private MappedColumn names;
+    private MappedColumn descriptions;
+    private MappedColumn createdAt;
+    private MappedColumn updatedAt;
+    private MappedColumn versions;
+    private StringDictionary skuDictionary;
+    private StringDictionary categoryDictionary;
+    private StringDictionary nameDictionary;
+    private StringDictionary descriptionDictionary;
+    private List<MappedColumn> columns;
+    private List<StringDictionary> dictionaries;
+
+    private final LongIntHashMap rowsById = new LongIntHashMap(1024);
+    private int[] rowBySku = new int[0];
+    private int[][] categoryRows = new int[0][];
+    private int[] categorySizes = new int[0];
+    // Position of each row in its category's rows, -1 when it is in none
+    private int[] categoryPositions = new int[0];
+    private int rowCount;
+    private int visibleRows;
+    private int[] freeRows = new int[64];
+    private int freeCount;
+    // Rows written since the files were opened; until the model is loaded the others are left over from a previous run
+    private BitSet touched = new BitSet();
+    private boolean reconciled;
+
+    @PostConstruct
+    public void open() throws IOException {
+        Path dir = Path.of(directory);
+        Files.createDirectories(dir);
+
+        header = new MappedColumn(dir.resolve("header.col"), Integer.BYTES, 3);
+        int magic = header.getInt(0);
+        if (magic != 0 && magic != MAGIC) {
+            throw new IllegalStateException("Unrecognised columnar store in " + dir.toAbsolutePath());
+        }
+        if (magic == MAGIC && header.getInt(1) != FORMAT_VERSION) {
+            // The rows are reloaded from the database anyway, so an older layout is simply discarded
+            log.warn("Discarding columnar store in {} written in format {}", dir.toAbsolutePath(), header.getInt(1));
+            header.close();
+            deleteStoreFiles(dir);
+            header = new MappedColumn(dir.resolve("header.col"), Integer.BYTES, 3);
+            magic = 0;
+        }
+
+        ids = new MappedColumn(dir.resolve("id.col"), Long.BYTES, initialCapacity);
+        quantities = new MappedColumn(dir.resolve("quantity.col"), Integer.BYTES, initialCapacity);
+        reserved = new MappedColumn(dir.resolve("reserved.col"), Integer.BYTES, initialCapacity);
+        pricesInCents = new MappedColumn(dir.resolve("price_cents.col"), Long.BYTES, initialCapacity);
+        statuses = new MappedColumn(dir.resolve("status.col"), Byte.BYTES, initialCapacity);
+        skus = new MappedColumn(dir.resolve("sku.col"), Integer.BYTES, initialCapacity);
+        categories = new MappedColumn(dir.resolve("category.col"), Integer.BYTES, initialCapacity);
+        names = new MappedColumn(dir.resolve("name.col"), Integer.BYTES, initialCapacity);
+        descriptions = new MappedColumn(dir.resolve("description.col"), Integer.BYTES, initialCapacity);
+        createdAt = new MappedColumn(dir.resolve("created_at.col"), Long.BYTES, initialCapacity);
+        updatedAt = new MappedColumn(dir.resolve("updated_at.col"), Long.BYTES, initialCapacity);
+        versions = new MappedColumn(dir.resolve("version.col"), Long.BYTES, initialCapacity);
+        skuDictionary = new StringDictionary(dir.resolve("sku.dict"), dictionaryBytes(16));
+        categoryDictionary = new StringDictionary(dir.resolve("category.dict"), 64 * 1024);
+        nameDictionary = new StringDictionary(dir.resolve("name.dict"), dictionaryBytes(32));
+        descriptionDictionary = new StringDictionary(dir.resolve("description.dict"), dictionaryBytes(64));
+        columns = List.of(ids, quantities, reserved, pricesInCents, statuses, skus, categories,
+                names, descriptions, createdAt, updatedAt, versions);
+        dictionaries = List.of(skuDictionary, categoryDictionary, nameDictionary, descriptionDictionary);
+
+        if (magic == 0) {
+            header.putInt(1, FORMAT_VERSION);
+            header.putInt(0, MAGIC);
+        }
+
+        rowCount = Math.min(header.getInt(2), ids.capacity());
+        for (int row = 0; row < rowCount; row++) {
+            if (statuses.getByte(row) == FREE) {
+                pushFree(row);
+            } else {
+                rowsById.put(ids.getLong(row), row);
+            }
+        }
+        log.info("Columnar product store mapped {} rows ({} free) from {}", rowCount, freeCount, dir.toAbsolutePath());
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            for (MappedColumn column : columns) {
+                column.close();
+            }
+            for (StringDictionary dictionary : dictionaries) {
+                dictionary.close();
+            }
+            header.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Push dirty pages to disk. Row data goes first so the header never points past it.
+     */
+    @Scheduled(fixedDelayString = "${inventory.read-model.columnar.flush-interval-ms:10000}")
+    public void flush() {
+        lock.readLock().lock();
+        try {
+            for (MappedColumn column : columns) {
+                column.force();
+            }
+            for (StringDictionary dictionary : dictionaries) {
+                dictionary.force();
+            }
+            header.force();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public ProductProjection get(long id) {
+        lock.readLock().lock();
+        try {
+            int row = rowsById.get(id);
+            return row != LongIntHashMap.NO_VALUE && isVisible(row) ? materialize(row) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public ProductProjection getBySku(String sku) {
+        lock.readLock().lock();
+        try {
+            int code = skuDictionary.find(sku);
+            if (code < 0 || code >= rowBySku.length || rowBySku[code] < 0) {
+                return null;
+            }
+            return materialize(rowBySku[code]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            int row = rowsById.get(id);
+            return row != LongIntHashMap.NO_VALUE && isVisible(row);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return visibleRows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<ProductProjection> action) {
+        lock.readLock().lock();
+        try {
+            for (int row = 0; row < rowCount; row++) {
+                if (isVisible(row)) {
+                    action.accept(materialize(row));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(ProductProjection previous, ProductProjection product) {
+        lock.writeLock().lock();
+        try {
+            int row = rowsById.get(product.getId());
+            boolean appended = false;
+            if (row == LongIntHashMap.NO_VALUE) {
+                if (freeCount > 0) {
+                    row = freeRows[--freeCount];
+                } else {
+                    row = rowCount;
+                    for (MappedColumn column : columns) {
+                        column.ensureCapacity(row + 1);
+                    }
+                    appended = true;
+                }
+                rowsById.put(product.getId(), row);
+            }
+            boolean wasVisible = isVisible(row);
+            if (wasVisible) {
+                unindex(row);
+            }
+
+            ids.putLong(row, product.getId());
+            quantities.putInt(row, product.getQuantity() != null ? product.getQuantity() : 0);
+            reserved.putInt(row, product.getReservedQuantity() != null ? product.getReservedQuantity() : 0);
+            pricesInCents.putLong(row, product.getPrice() != null ? toCents(product.getPrice()) : NULL_LONG);
+            skus.putInt(row, skuDictionary.intern(product.getSku()));
+            categories.putInt(row, categoryDictionary.intern(product.getCategory()));
+            names.putInt(row, nameDictionary.intern(product.getName()));
+            descriptions.putInt(row, descriptionDictionary.intern(product.getDescription()));
+            createdAt.putLong(row, toNanos(product.getCreatedAt()));
+            updatedAt.putLong(row, toNanos(product.getUpdatedAt()));
+            versions.putLong(row, product.getVersion() != null ? product.getVersion() : NULL_LONG);
+            // Status last: a non-free status marks the row as complete
+            statuses.putByte(row, statusCode(product.getStatus()));
+            touched.set(row);
+
+            if (appended) {
+                rowCount = row + 1;
+                header.putInt(2, rowCount);
+            }
+            if (!wasVisible) {
+                visibleRows++;
+            }
+            index(row);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write product " + product.getId() + " to columnar store", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public ProductProjection remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int row = rowsById.remove(id);
+            if (row == LongIntHashMap.NO_VALUE) {
+                return null;
+            }
+            ProductProjection previous = null;
+            if (isVisible(row)) {
+                previous = materialize(row);
+                unindex(row);
+                visibleRows--;
+            }
+            statuses.putByte(row, FREE);
+            pushFree(row);
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ProductProjection> findByCategory(String category, int limit, int offset) {
+        lock.readLock().lock();
+        try {
+            int code = categoryDictionary.find(category);
+            if (code < 0 || code >= categorySizes.length || limit <= 0) {
+                return List.of();
+            }
+            int k = (int) Math.min((long) offset + limit, categorySizes[code]);
+            int[] first = selectFirst(categoryRows[code], categorySizes[code], k, null, 0);
+            List<ProductProjection> page = new ArrayList<>(Math.max(0, first.length - offset));
+            for (int i = offset; i < first.length; i++) {
+                page.add(materialize(first[i]));
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ProductProjection> findByCategoryAfter(String category, String afterName, long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            int code = categoryDictionary.find(category);
+            if (code < 0 || code >= categorySizes.length || limit <= 0) {
+                return List.of();
+            }
+            byte[] after = afterName != null ? afterName.getBytes(StandardCharsets.UTF_8) : null;
+            int[] first = selectFirst(categoryRows[code], categorySizes[code],
+                    Math.min(limit, categorySizes[code]), after, afterId);
+            List<ProductProjection> page = new ArrayList<>(first.length);
+            for (int row : first) {
+                page.add(materialize(row));
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int countByCategory(String category) {
+        lock.readLock().lock();
+        try {
+            int code = categoryDictionary.find(category);
+            return code >= 0 && code < categorySizes.length ? categorySizes[code] : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scans the quantity columns; only the rows that qualify are materialized
+     */
+    @Override
+    public List<InventoryStatusProjection> findLowStock(int threshold) {
+        lock.readLock().lock();
+        try {
+            List<InventoryStatusProjection> result = new ArrayList<>();
+            for (int row = 0; row < rowCount; row++) {
+                if (statuses.getByte(row) != ACTIVE || !isVisible(row)) {
+                    continue;
+                }
+                int quantity = quantities.getInt(row);
+                int reservedQuantity = reserved.getInt(row);
+                if (quantity - reservedQuantity <= threshold) {
+                    result.add(new InventoryStatusProjection(ids.getLong(row), skuDictionary.get(skus.getInt(row)),
+                            nameDictionary.get(names.getInt(row)), quantity, reservedQuantity,
+                            quantity - reservedQuantity));
+                }
+            }
+            result.sort(Comparator.comparingInt(InventoryStatusProjection::getAvailableQuantity)
+                    .thenComparing(InventoryStatusProjection::getId));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the rows left over from a previous run that the bootstrap did not write again
+     */
+    @Override
+    public void onLoaded() {
+        lock.writeLock().lock();
+        try {
+            if (reconciled) {
+                return;
+            }
+            int dropped = 0;
+            for (int row = 0; row < rowCount; row++) {
+                if (statuses.getByte(row) != FREE && !touched.get(row)) {
+                    rowsById.remove(ids.getLong(row));
+                    statuses.putByte(row, FREE);
+                    pushFree(row);
+                    dropped++;
+                }
+            }
+            reconciled = true;
+            touched = new BitSet();
+            log.info("Columnar product store reconciled, dropped {} stale rows", dropped);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Per-category stock totals for active products, computed with a single pass over the columns
+     */
+    public List<CategoryStockProjection> scanCategoryStock() {
+        lock.readLock().lock();
+        try {
+            // Last bucket collects products without a category
+            int buckets = categoryDictionary.size() + 1;
+            long[] products = new long[buckets];
+            long[] quantity = new long[buckets];
+            long[] reservedTotal = new long[buckets];
+            long[] valueInCents = new long[buckets];
+
+            for (int row = 0; row < rowCount; row++) {
+                if (statuses.getByte(row) != ACTIVE) {
+                    continue;
+                }
+                int category = categories.getInt(row);
+                int bucket = category >= 0 ? category : buckets - 1;
+                int qty = quantities.getInt(row);
+                long price = pricesInCents.getLong(row);
+                products[bucket]++;
+                quantity[bucket] += qty;
+                reservedTotal[bucket] += reserved.getInt(row);
+                valueInCents[bucket] += price != NULL_LONG ? qty * price : 0;
+            }
+
+            List<CategoryStockProjection> result = new ArrayList<>();
+            for (int bucket = 0; bucket < buckets; bucket++) {
+                if (products[bucket] == 0) {
+                    continue;
+                }
+                String category = bucket < buckets - 1 ? categoryDictionary.get(bucket) : null;
+                result.add(new CategoryStockProjection(category, products[bucket], quantity[bucket],
+                        reservedTotal[bucket], quantity[bucket] - reservedTotal[bucket],
+                        BigDecimal.valueOf(valueInCents[bucket], 2)));
+            }
+            result.sort(Comparator.comparing(CategoryStockProjection::getTotalValue).reversed());
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean isVisible(int row) {
+        return statuses.getByte(row) != FREE && (reconciled || touched.get(row));
+    }
+
+    private ProductProjection materialize(int row) {
+        long price = pricesInCents.getLong(row);
+        ProductProjection product = new ProductProjection(
+                ids.getLong(row),
+                skuDictionary.get(skus.getInt(row)),
+                nameDictionary.get(names.getInt(row)),
+                descriptionDictionary.get(descriptions.getInt(row)),
+                price != NULL_LONG ? BigDecimal.valueOf(price, 2) : null,
+                quantities.getInt(row),
+                reserved.getInt(row),
+                categoryDictionary.get(categories.getInt(row)),
+                ProductStatus.values()[statuses.getByte(row) - 1].name(),
+                fromNanos(createdAt.getLong(row)),
+                fromNanos(updatedAt.getLong(row)));
+        long version = versions.getLong(row);
+        product.setVersion(version != NULL_LONG ? version : null);
+        return product;
+    }
+
+    private void index(int row) {
+        int sku = skus.getInt(row);
+        if (sku >= 0) {
+            if (sku >= rowBySku.length) {
+                int length = rowBySku.length;
+                rowBySku = Arrays.copyOf(rowBySku, Math.max(sku + 1, length * 2));
+                Arrays.fill(rowBySku, length, rowBySku.length, -1);
+            }
+            rowBySku[sku] = row;
+        }
+        if (row >= categoryPositions.length) {
+            int length = categoryPositions.length;
+            categoryPositions = Arrays.copyOf(categoryPositions, Math.max(row + 1, Math.max(1024, length * 2)));
+            Arrays.fill(categoryPositions, length, categoryPositions.length, -1);
+        }
+        int category = categories.getInt(row);
+        if (statuses.getByte(row) != ACTIVE || category < 0) {
+            return;
+        }
+        if (category >= categorySizes.length) {
+            int length = Math.max(category + 1, categorySizes.length * 2);
+            categoryRows = Arrays.copyOf(categoryRows, length);
+            categorySizes = Arrays.copyOf(categorySizes, length);
+        }
+        int[] rows = categoryRows[category];
+        int size = categorySizes[category];
+        if (rows == null || size == rows.length) {
+            rows = rows == null ? new int[16] : Arrays.copyOf(rows, size * 2);
+            categoryRows[category] = rows;
+        }
+        rows[size] = row;
+        categoryPositions[row] = size;
+        categorySizes[category] = size + 1;
+    }
+
+    private void unindex(int row) {
+        int sku = skus.getInt(row);
+        if (sku >= 0 && sku < rowBySku.length && rowBySku[sku] == row) {
+            rowBySku[sku] = -1;
+        }
+        int position = row < categoryPositions.length ? categoryPositions[row] : -1;
+        if (position < 0) {
+            return;
+        }
+        // Swap the last row of the category into the vacated position
+        int category = categories.getInt(row);
+        int[] rows = categoryRows[category];
+        int last = rows[--categorySizes[category]];
+        rows[position] = last;
+        categoryPositions[last] = position;
+        categoryPositions[row] = -1;
+    }
+
+    /**
+     * The first {@code k} of {@code size} rows in (name, id) order, sorted; with {@code after} set, only rows
+     * strictly after ({@code after}, {@code afterId}). Keeps a bounded max-heap, so a page costs one pass.
+     */
+    private int[] selectFirst(int[] rows, int size, int k, byte[] after, long afterId) {
+        int[] heap = new int[k];
+        int heapSize = 0;
+        for (int i = 0; i < size && k > 0; i++) {
+            int row = rows[i];
+            if (after != null && compareToPosition(row, after, afterId) <= 0) {
+                continue;
+            }
+            if (heapSize < k) {
+                heap[heapSize] = row;
+                siftUp(heap, heapSize++);
+            } else if (compareRows(row, heap[0]) < 0) {
+                heap[0] = row;
+                siftDown(heap, heapSize);
+            }
+        }
+        int[] sorted = new int[heapSize];
+        for (int i = heapSize - 1; i >= 0; i--) {
+            sorted[i] = heap[0];
+            heap[0] = heap[--heapSize];
+            siftDown(heap, heapSize);
+        }
+        return sorted;
+    }
+
+    private void siftUp(int[] heap, int index) {
+        int row = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (compareRows(row, heap[parent]) <= 0) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = row;
+    }
+
+    private void siftDown(int[] heap, int size) {
+        if (size == 0) {
+            return;
+        }
+        int row = heap[0];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && compareRows(heap[child + 1], heap[child]) > 0) {
+                child++;
+            }
+            if (compareRows(heap[child], row) <= 0) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = row;
+    }
+
+    private int compareRows(int a, int b) {
+        int byName = nameDictionary.compare(names.getInt(a), names.getInt(b));
+        return byName != 0 ? byName : Long.compare(ids.getLong(a), ids.getLong(b));
+    }
+
+    private int compareToPosition(int row, byte[] name, long id) {
+        int byName = nameDictionary.compare(names.getInt(row), name);
+        return byName != 0 ? byName : Long.compare(ids.getLong(row), id);
+    }
+
+    private void pushFree(int row) {
+        if (freeCount == freeRows.length) {
+            freeRows = Arrays.copyOf(freeRows, freeCount * 2);
+        }
+        freeRows[freeCount++] = row;
+    }
+
+    /**
+     * Initial size of a dictionary at {@code bytesPerRow} per row of initial capacity. Computed in long, since
+     * a large capacity overflows int, and capped at the 2 GB a single mapping can hold; dictionaries grow anyway.
+     */
+    private int dictionaryBytes(int bytesPerRow) {
+        return (int) Math.min((long) initialCapacity * bytesPerRow, Integer.MAX_VALUE);
+    }
+
+    private static void deleteStoreFiles(Path dir) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.{col,dict}")) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static long toCents(BigDecimal price) {
+        return price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    private static long toNanos(LocalDateTime time) {
+        if (time == null) {
+            return NULL_LONG;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + time.getNano();
+    }
+
+    private static LocalDateTime fromNanos(long nanos) {
+        if (nanos == NULL_LONG) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L),
+                (int) Math.floorMod(nanos, 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    private static byte statusCode(String status) {
+        try {
+            return (byte) (ProductStatus.valueOf(status).ordinal() + 1);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return (byte) (ProductStatus.INACTIVE.ordinal() + 1);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package kg.akyl.java.inventory.query.readmodel.columnar;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Fixed-width column stored in a memory-mapped file. Values live in the page cache, not on the Java heap.
+ * Growing remaps the file with a larger size; existing contents are kept.
+ */
+final class MappedColumn implements Closeable {
+    private final FileChannel channel;
+    private final int width;
+    private MappedByteBuffer buffer;
+
+    MappedColumn(Path file, int width, int initialRows) throws IOException {
+        this.channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.width = width;
+        long existingRows = channel.size() / width;
+        map((int) Math.max(initialRows, existingRows));
+    }
+
+    int capacity() {
+        return buffer.capacity() / width;
+    }
+
+    void ensureCapacity(int rows) throws IOException {
+        if (rows > capacity()) {
+            map(Math.max(rows, capacity() * 2));
+        }
+    }
+
+    long getLong(int row) {
+        return buffer.getLong(row * width);
+    }
+
+    void putLong(int row, long value) {
+        buffer.putLong(row * width, value);
+    }
+
+    int getInt(int row) {
+        return buffer.getInt(row * width);
+    }
+
+    void putInt(int row, int value) {
+        buffer.putInt(row * width, value);
+    }
+
+    byte getByte(int row) {
+        return buffer.get(row * width);
+    }
+
+    void putByte(int row, byte value) {
+        buffer.put(row * width, value);
+    }
+
+    void get(int row, byte[] dst) {
+        buffer.get(row * width, dst);
+    }
+
+    void put(int row, byte[] src) {
+        buffer.put(row * width, src);
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private void map(int rows) throws IOException {
+        long bytes = (long) rows * width;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Column exceeds 2 GB mapping limit at " + rows + " rows");
+        }
+        // Mapping past the end of the file extends it
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+    }
+}
@@ -0,0 +1,225 @@
+package kg.akyl.java.inventory.query.readmodel.columnar;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Append-only string dictionary in a memory-mapped file. Each distinct string gets a dense int code.
+ * <p>
+ * File layout: a 4-byte committed length, then {@code [int length][utf-8 bytes]} entries.
+ * Only primitive arrays (entry offsets and the hash table) are kept on the heap; the strings themselves stay mapped.
+ * Not thread-safe; the owning store guards access.
+ */
+final class StringDictionary implements Closeable {
+    private static final int HEADER_BYTES = 4;
+
+    private final MappedColumn data;
+    private int end;
+    private int[] offsets = new int[1024];
+    private int size;
+    private int[] table = new int[2048];
+
+    StringDictionary(Path file, int initialBytes) throws IOException {
+        this.data = new MappedColumn(file, 1, initialBytes);
+        this.end = Math.max(HEADER_BYTES, readInt(0));
+        reindex();
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the code for {@code value}, appending it when it is new. Null maps to -1.
+     */
+    int intern(String value) throws IOException {
+        if (value == null) {
+            return -1;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(bytes);
+        int mask = table.length - 1;
+        int slot = hash & mask;
+        while (table[slot] != 0) {
+            int code = table[slot] - 1;
+            if (matches(code, bytes)) {
+                return code;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        int offset = end;
+        data.ensureCapacity(offset + 4 + bytes.length);
+        writeInt(offset, bytes.length);
+        data.put(offset + 4, bytes);
+        end = offset + 4 + bytes.length;
+        // Publish the entry only after its bytes are in place
+        writeInt(0, end);
+
+        int code = addOffset(offset);
+        table[slot] = code + 1;
+        if (size * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        return code;
+    }
+
+    /**
+     * Returns the code for {@code value} without appending it, or -1 when it is null or not in the dictionary
+     */
+    int find(String value) {
+        if (value == null) {
+            return -1;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int mask = table.length - 1;
+        int slot = hash(bytes) & mask;
+        while (table[slot] != 0) {
+            int code = table[slot] - 1;
+            if (matches(code, bytes)) {
+                return code;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Orders two codes by the unsigned UTF-8 bytes of their strings, which is code point order.
+     * Null (-1) sorts first.
+     */
+    int compare(int codeA, int codeB) {
+        if (codeA < 0 || codeB < 0) {
+            return Boolean.compare(codeA >= 0, codeB >= 0);
+        }
+        if (codeA == codeB) {
+            return 0;
+        }
+        int offsetA = offsets[codeA];
+        int offsetB = offsets[codeB];
+        return compareBytes(offsetA + 4, readInt(offsetA), offsetB + 4, readInt(offsetB));
+    }
+
+    /**
+     * Orders the string of {@code code} against {@code utf8} in code point order; null (-1) sorts first
+     */
+    int compare(int code, byte[] utf8) {
+        if (code < 0) {
+            return -1;
+        }
+        int offset = offsets[code];
+        int length = readInt(offset);
+        int common = Math.min(length, utf8.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = Integer.compare(data.getByte(offset + 4 + i) & 0xFF, utf8[i] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(length, utf8.length);
+    }
+
+    String get(int code) {
+        if (code < 0 || code >= size) {
+            return null;
+        }
+        int offset = offsets[code];
+        byte[] bytes = new byte[readInt(offset)];
+        data.get(offset + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    void force() {
+        data.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        data.close();
+    }
+
+    private void reindex() {
+        int position = HEADER_BYTES;
+        while (position < end) {
+            addOffset(position);
+            position += 4 + readInt(position);
+        }
+        int capacity = 2048;
+        while (size * 2 > capacity) {
+            capacity <<= 1;
+        }
+        rehash(capacity);
+    }
+
+    private int addOffset(int offset) {
+        if (size == offsets.length) {
+            offsets = Arrays.copyOf(offsets, size * 2);
+        }
+        offsets[size] = offset;
+        return size++;
+    }
+
+    private void rehash(int capacity) {
+        table = new int[capacity];
+        int mask = capacity - 1;
+        for (int code = 0; code < size; code++) {
+            int slot = hashAt(offsets[code]) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = code + 1;
+        }
+    }
+
+    private boolean matches(int code, byte[] bytes) {
+        int offset = offsets[code];
+        if (readInt(offset) != bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (data.getByte(offset + 4 + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int compareBytes(int a, int lengthA, int b, int lengthB) {
+        int common = Math.min(lengthA, lengthB);
+        for (int i = 0; i < common; i++) {
+            int cmp = Integer.compare(data.getByte(a + i) & 0xFF, data.getByte(b + i) & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(lengthA, lengthB);
+    }
+
+    private int hashAt(int offset) {
+        int length = readInt(offset);
+        int h = 1;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + data.getByte(offset + 4 + i);
+        }
+        return spread(h);
+    }
+
+    private static int hash(byte[] bytes) {
+        return spread(Arrays.hashCode(bytes));
+    }
+
+    private static int spread(int h) {
+        return (h ^ (h >>> 16)) * 0x9E3779B9;
+    }
+
+    private int readInt(int position) {
+        return data.getInt(position);
+    }
+
+    private void writeInt(int position, int value) {
+        data.putInt(position, value);
+    }
+}
@@ -0,0 +1,81 @@
+package kg.akyl.java.inventory.query.rollups;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a time range into the coarsest pieces the rollups can answer exactly: whole days from the daily
+ * rollup, whole hours at the edges from the hourly rollup and the sub-hour remainders from raw sales.
+ * All ranges are half-open, {@code [start, end)}.
+ */
+public class RollupRanges {
+    public record Range(LocalDateTime start, LocalDateTime end) {
+    }
+
+    private final List<Range> days = new ArrayList<>();
+    private final List<Range> hours = new ArrayList<>();
+    private final List<Range> raw = new ArrayList<>();
+
+    private RollupRanges() {
+    }
+
+    /**
+     * @param hourly whether an hourly rollup exists; without one, partial days come from raw sales
+     */
+    public static RollupRanges of(LocalDateTime start, LocalDateTime end, boolean hourly) {
+        RollupRanges ranges = new RollupRanges();
+        if (!end.isAfter(start)) {
+            return ranges;
+        }
+        LocalDateTime firstDay = ceil(start, ChronoUnit.DAYS);
+        LocalDateTime lastDay = end.truncatedTo(ChronoUnit.DAYS);
+        if (firstDay.isBefore(lastDay)) {
+            ranges.days.add(new Range(firstDay, lastDay));
+            ranges.splitHours(start, firstDay, hourly);
+            ranges.splitHours(lastDay, end, hourly);
+        } else {
+            ranges.splitHours(start, end, hourly);
+        }
+        return ranges;
+    }
+
+    public List<Range> getDays() {
+        return days;
+    }
+
+    public List<Range> getHours() {
+        return hours;
+    }
+
+    public List<Range> getRaw() {
+        return raw;
+    }
+
+    private void splitHours(LocalDateTime start, LocalDateTime end, boolean hourly) {
+        if (!end.isAfter(start)) {
+            return;
+        }
+        LocalDateTime firstHour = ceil(start, ChronoUnit.HOURS);
+        LocalDateTime lastHour = end.truncatedTo(ChronoUnit.HOURS);
+        if (hourly && firstHour.isBefore(lastHour)) {
+            hours.add(new Range(firstHour, lastHour));
+            addRaw(start, firstHour);
+            addRaw(lastHour, end);
+        } else {
+            addRaw(start, end);
+        }
+    }
+
+    private void addRaw(LocalDateTime start, LocalDateTime end) {
+        if (end.isAfter(start)) {
+            raw.add(new Range(start, end));
+        }
+    }
+
+    private static LocalDateTime ceil(LocalDateTime time, ChronoUnit unit) {
+        LocalDateTime truncated = time.truncatedTo(unit);
+        return truncated.equals(time) ? time : truncated.plus(1, unit);
+    }
+}
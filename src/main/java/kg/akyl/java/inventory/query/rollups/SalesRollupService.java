@@ -0,0 +1,364 @@
+package kg.akyl.java.inventory.query.rollups;
+
+import kg.akyl.java.inventory.infra.locking.LeaderLease;
+import kg.akyl.java.inventory.query.projections.SalesAnalyticsProjection;
+import kg.akyl.java.inventory.query.projections.TopSellerProjection;
+import kg.akyl.java.inventory.query.sketches.SalesSketchService;
+import kg.akyl.java.inventory.query.topk.TopSellerMetric;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Daily and hourly sales rollups per category, and daily per product.
+ * <p>
+ * {@code SaleProcessed} events are folded in as they arrive; the {@code sales_rollup_applied} ledger
+ * turns redelivered events into no-ops. A scheduled reconciliation on the leader rebuilds the most recent
+ * days from raw sales, which also repairs events that were lost or sales whose status or category changed.
+ * Queries read whole days and hours from the rollups and only the partial edges from raw sales.
+ */
+@Service
+@Slf4j
+public class SalesRollupService {
+    private static final String NO_CATEGORY = "";
+
+    @Autowired
+    @Qualifier("writeJdbcTemplate")
+    private JdbcTemplate writeJdbcTemplate;
+
+    @Autowired
+    @Qualifier("readJdbcTemplate")
+    private JdbcTemplate readJdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private LeaderLease leaderLease;
+
+    @Autowired
+    private SalesSketchService salesSketchService;
+
+    @Value("${inventory.rollups.reconcile-days:2}")
+    private int reconcileDays;
+
+    @Value("${inventory.rollups.ledger-retention-days:7}")
+    private int ledgerRetentionDays;
+
+    /**
+     * Adds one confirmed sale to the rollups.
+     *
+     * @return false when the sale was already counted
+     */
+    public boolean apply(Long saleId, Long productId, String category, int quantity,
+                         BigDecimal totalAmount, LocalDateTime saleDate) {
+        String rollupCategory = category != null ? category : lookupCategory(productId);
+        LocalDate day = saleDate.toLocalDate();
+        LocalDateTime hour = saleDate.truncatedTo(ChronoUnit.HOURS);
+
+        Boolean applied = new TransactionTemplate(transactionManager).execute(status -> {
+            // Conflicts only with the reconciliation's lock, so concurrent sales don't wait on each other here
+            writeJdbcTemplate.execute("LOCK TABLE sales_daily_category IN ROW EXCLUSIVE MODE");
+
+            int inserted = writeJdbcTemplate.update("""
+                INSERT INTO sales_rollup_applied (sale_id, sale_date) VALUES (?, ?)
+                ON CONFLICT (sale_id) DO NOTHING
+                """, saleId, saleDate);
+            if (inserted == 0) {
+                return false;
+            }
+
+            writeJdbcTemplate.update("""
+                INSERT INTO sales_daily_category AS r (sale_date, category, total_sales, total_quantity, total_revenue)
+                VALUES (?, ?, 1, ?, ?)
+                ON CONFLICT (sale_date, category) DO UPDATE SET
+                    total_sales = r.total_sales + 1,
+                    total_quantity = r.total_quantity + EXCLUDED.total_quantity,
+                    total_revenue = r.total_revenue + EXCLUDED.total_revenue
+                """, day, rollupCategory, quantity, totalAmount);
+
+            writeJdbcTemplate.update("""
+                INSERT INTO sales_hourly_category AS r (sale_hour, category, total_sales, total_quantity, total_revenue)
+                VALUES (?, ?, 1, ?, ?)
+                ON CONFLICT (sale_hour, category) DO UPDATE SET
+                    total_sales = r.total_sales + 1,
+                    total_quantity = r.total_quantity + EXCLUDED.total_quantity,
+                    total_revenue = r.total_revenue + EXCLUDED.total_revenue
+                """, hour, rollupCategory, quantity, totalAmount);
+
+            writeJdbcTemplate.update("""
+                INSERT INTO sales_daily_product AS r (sale_date, product_id, total_sales, total_quantity, total_revenue)
+                VALUES (?, ?, 1, ?, ?)
+                ON CONFLICT (sale_date, product_id) DO UPDATE SET
+                    total_sales = r.total_sales + 1,
+                    total_quantity = r.total_quantity + EXCLUDED.total_quantity,
+                    total_revenue = r.total_revenue + EXCLUDED.total_revenue
+                """, day, productId, quantity, totalAmount);
+            return true;
+        });
+        return Boolean.TRUE.equals(applied);
+    }
+
+    /**
+     * Rebuilds the rollups for the last {@code reconcile-days} days from raw sales.
+     * <p>
+     * The table lock waits for in-flight event applications and holds new ones back; taken before the
+     * first query, it also fixes the repeatable-read snapshot after them. Every sale in the rebuilt range
+     * is then marked as applied, so its event is skipped if it arrives later; the sales marked here are
+     * recorded in the sketches instead, which would otherwise never see them.
+     */
+    @Scheduled(cron = "${inventory.rollups.reconcile-cron:0 */15 * * * *}")
+    public void reconcile() {
+        if (!leaderLease.isLeader()) {
+            return;
+        }
+        LocalDate from = LocalDate.now().minusDays(Math.max(reconcileDays - 1, 0));
+        LocalDateTime fromTime = from.atStartOfDay();
+        LocalDateTime ledgerCutoff = LocalDate.now().minusDays(ledgerRetentionDays).atStartOfDay();
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        long start = System.currentTimeMillis();
+
+        try {
+            List<UnappliedSale> marked = transaction.execute(status -> {
+                writeJdbcTemplate.execute("""
+                    LOCK TABLE sales_daily_category, sales_hourly_category, sales_daily_product
+                    IN SHARE ROW EXCLUSIVE MODE
+                    """);
+
+                writeJdbcTemplate.update("DELETE FROM sales_daily_category WHERE sale_date >= ?", from);
+                writeJdbcTemplate.update("""
+                    INSERT INTO sales_daily_category (sale_date, category, total_sales, total_quantity, total_revenue)
+                    SELECT DATE(s.sale_date), COALESCE(p.category, ''), COUNT(*), SUM(s.quantity), SUM(s.total_amount)
+                    FROM sales s
+                    JOIN products p ON p.id = s.product_id
+                    WHERE s.sale_date >= ? AND s.status = 'CONFIRMED'
+                    GROUP BY DATE(s.sale_date), COALESCE(p.category, '')
+                    """, fromTime);
+
+                writeJdbcTemplate.update("DELETE FROM sales_hourly_category WHERE sale_hour >= ?", fromTime);
+                writeJdbcTemplate.update("""
+                    INSERT INTO sales_hourly_category (sale_hour, category, total_sales, total_quantity, total_revenue)
+                    SELECT date_trunc('hour', s.sale_date), COALESCE(p.category, ''), COUNT(*), SUM(s.quantity), SUM(s.total_amount)
+                    FROM sales s
+                    JOIN products p ON p.id = s.product_id
+                    WHERE s.sale_date >= ? AND s.status = 'CONFIRMED'
+                    GROUP BY date_trunc('hour', s.sale_date), COALESCE(p.category, '')
+                    """, fromTime);
+
+                writeJdbcTemplate.update("DELETE FROM sales_daily_product WHERE sale_date >= ?", from);
+                writeJdbcTemplate.update("""
+                    INSERT INTO sales_daily_product (sale_date, product_id, total_sales, total_quantity, total_revenue)
+                    SELECT DATE(s.sale_date), s.product_id, COUNT(*), SUM(s.quantity), SUM(s.total_amount)
+                    FROM sales s
+                    WHERE s.sale_date >= ? AND s.status = 'CONFIRMED'
+                    GROUP BY DATE(s.sale_date), s.product_id
+                    """, fromTime);
+
+                List<UnappliedSale> unapplied = writeJdbcTemplate.query("""
+                    WITH marked AS (
+                        INSERT INTO sales_rollup_applied (sale_id, sale_date)
+                        SELECT s.id, s.sale_date FROM sales s
+                        WHERE s.sale_date >= ? AND s.status = 'CONFIRMED'
+                        ON CONFLICT (sale_id) DO NOTHING
+                        RETURNING sale_id
+                    )
+                    SELECT COALESCE(p.category, '') as category, s.sale_date, s.customer_id, s.total_amount
+                    FROM marked m
+                    JOIN sales s ON s.id = m.sale_id
+                    JOIN products p ON p.id = s.product_id
+                    """, (rs, rowNum) -> new UnappliedSale(
+                        rs.getString("category"),
+                        rs.getTimestamp("sale_date").toLocalDateTime().toLocalDate(),
+                        rs.getString("customer_id"),
+                        rs.getBigDecimal("total_amount")), fromTime);
+
+                writeJdbcTemplate.update("DELETE FROM sales_rollup_applied WHERE sale_date < ?", ledgerCutoff);
+                return unapplied;
+            });
+            for (UnappliedSale sale : marked) {
+                salesSketchService.record(sale.category(), sale.day(), sale.customerId(), sale.totalAmount());
+            }
+            log.info("Reconciled sales rollups since {} in {} ms, {} sales had not been applied",
+                    from, System.currentTimeMillis() - start, marked.size());
+        } catch (Exception e) {
+            log.error("Sales rollup reconciliation failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sales per category and day for {@code [from, to]}, both ends inclusive.
+     */
+    public List<SalesAnalyticsProjection> salesByCategory(LocalDateTime from, LocalDateTime to) {
+        RollupRanges ranges = RollupRanges.of(from, inclusiveEnd(to), true);
+        StringJoiner parts = new StringJoiner(" UNION ALL ");
+        List<Object> params = new ArrayList<>();
+
+        for (RollupRanges.Range range : ranges.getDays()) {
+            parts.add("""
+                SELECT sale_date AS day, category, total_sales, total_quantity, total_revenue
+                FROM sales_daily_category WHERE sale_date >= ? AND sale_date < ?
+                """);
+            params.add(range.start().toLocalDate());
+            params.add(range.end().toLocalDate());
+        }
+        for (RollupRanges.Range range : ranges.getHours()) {
+            parts.add("""
+                SELECT CAST(sale_hour AS DATE), category, total_sales, total_quantity, total_revenue
+                FROM sales_hourly_category WHERE sale_hour >= ? AND sale_hour < ?
+                """);
+            params.add(range.start());
+            params.add(range.end());
+        }
+        for (RollupRanges.Range range : ranges.getRaw()) {
+            parts.add("""
+                SELECT DATE(s.sale_date), COALESCE(p.category, ''), 1::bigint, s.quantity::bigint, s.total_amount
+                FROM sales s JOIN products p ON p.id = s.product_id
+                WHERE s.sale_date >= ? AND s.sale_date < ? AND s.status = 'CONFIRMED'
+                """);
+            params.add(range.start());
+            params.add(range.end());
+        }
+        if (params.isEmpty()) {
+            return List.of();
+        }
+
+        String sql = """
+            SELECT
+                NULLIF(r.category, '') as category,
+                SUM(r.total_sales) as total_sales,
+                SUM(r.total_quantity) as total_quantity,
+                SUM(r.total_revenue) as total_revenue,
+                SUM(r.total_revenue) / NULLIF(SUM(r.total_sales), 0) as avg_sale_amount,
+                r.day as sale_date
+            FROM (%s) r
+            GROUP BY r.category, r.day
+            ORDER BY sale_date DESC, total_revenue DESC
+            """.formatted(parts);
+
+        return readJdbcTemplate.query(sql,
+                (rs, rowNum) -> new SalesAnalyticsProjection(
+                        rs.getString("category"),
+                        rs.getLong("total_sales"),
+                        rs.getLong("total_quantity"),
+                        rs.getBigDecimal("total_revenue"),
+                        rs.getBigDecimal("avg_sale_amount"),
+                        rs.getDate("sale_date").toLocalDate()
+                ), params.toArray());
+    }
+
+    /**
+     * Products with the highest revenue in {@code [from, to]}, both ends inclusive.
+     * The projection carries the product name in its category field.
+     */
+    public List<SalesAnalyticsProjection> topProducts(int limit, LocalDateTime from, LocalDateTime to) {
+        return queryTopProducts(TopSellerMetric.REVENUE, limit, from, to,
+                (rs, rowNum) -> new SalesAnalyticsProjection(
+                        rs.getString("name"),
+                        rs.getLong("total_sales"),
+                        rs.getLong("total_quantity"),
+                        rs.getBigDecimal("total_revenue"),
+                        rs.getBigDecimal("avg_sale_amount"),
+                        rs.getDate("sale_date").toLocalDate()
+                ));
+    }
+
+    /**
+     * Exact top sellers by {@code metric} in {@code [from, to]}, both ends inclusive.
+     */
+    public List<TopSellerProjection> topSellers(TopSellerMetric metric, int limit, LocalDateTime from, LocalDateTime to) {
+        return queryTopProducts(metric, limit, from, to,
+                (rs, rowNum) -> new TopSellerProjection(
+                        rs.getLong("product_id"),
+                        rs.getString("name"),
+                        metric == TopSellerMetric.QUANTITY
+                                ? BigDecimal.valueOf(rs.getLong("total_quantity"))
+                                : rs.getBigDecimal("total_revenue"),
+                        BigDecimal.ZERO,
+                        true
+                ));
+    }
+
+    private <T> List<T> queryTopProducts(TopSellerMetric metric, int limit, LocalDateTime from, LocalDateTime to,
+                                         RowMapper<T> rowMapper) {
+        RollupRanges ranges = RollupRanges.of(from, inclusiveEnd(to), false);
+        StringJoiner parts = new StringJoiner(" UNION ALL ");
+        List<Object> params = new ArrayList<>();
+
+        for (RollupRanges.Range range : ranges.getDays()) {
+            parts.add("""
+                SELECT product_id, total_sales, total_quantity, total_revenue
+                FROM sales_daily_product WHERE sale_date >= ? AND sale_date < ?
+                """);
+            params.add(range.start().toLocalDate());
+            params.add(range.end().toLocalDate());
+        }
+        for (RollupRanges.Range range : ranges.getRaw()) {
+            parts.add("""
+                SELECT s.product_id, 1::bigint, s.quantity::bigint, s.total_amount
+                FROM sales s
+                WHERE s.sale_date >= ? AND s.sale_date < ? AND s.status = 'CONFIRMED'
+                """);
+            params.add(range.start());
+            params.add(range.end());
+        }
+        if (params.isEmpty()) {
+            return List.of();
+        }
+        params.add(limit);
+
+        String sql = """
+            SELECT
+                p.id as product_id,
+                p.name,
+                SUM(r.total_sales) as total_sales,
+                SUM(r.total_quantity) as total_quantity,
+                SUM(r.total_revenue) as total_revenue,
+                SUM(r.total_revenue) / NULLIF(SUM(r.total_sales), 0) as avg_sale_amount,
+                CURRENT_DATE as sale_date
+            FROM (%s) r
+            JOIN products p ON p.id = r.product_id
+            GROUP BY p.id, p.name
+            ORDER BY %s DESC
+            LIMIT ?
+            """.formatted(parts, metric.getColumn());
+
+        return readJdbcTemplate.query(sql, rowMapper, params.toArray());
+    }
+
+    private record UnappliedSale(String category, LocalDate day, String customerId, BigDecimal totalAmount) {
+    }
+
+    private String lookupCategory(Long productId) {
+        try {
+            String category = writeJdbcTemplate.queryForObject(
+                    "SELECT category FROM products WHERE id = ?", String.class, productId);
+            return category != null ? category : NO_CATEGORY;
+        } catch (EmptyResultDataAccessException e) {
+            return NO_CATEGORY;
+        }
+    }
+
+    // Timestamps have microsecond precision, so the next microsecond is the exclusive end
+    private static LocalDateTime inclusiveEnd(LocalDateTime to) {
+        return to.truncatedTo(ChronoUnit.MICROS).plus(1, ChronoUnit.MICROS);
+    }
+}
@@ -0,0 +1,27 @@
+package kg.akyl.java.inventory.query.search;
+
+import java.util.Arrays;
+
+/**
+ * Posting list of one term: document ids in insertion (ascending) order with their weighted term frequency.
+ * Entries of replaced documents are not removed; readers skip them and a rebuild drops them.
+ */
+final class Postings {
+    int[] docs = new int[4];
+    float[] frequencies = new float[4];
+    int size;
+
+    void add(int doc, float frequency) {
+        if (size > 0 && docs[size - 1] == doc) {
+            frequencies[size - 1] += frequency;
+            return;
+        }
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, size * 2);
+            frequencies = Arrays.copyOf(frequencies, size * 2);
+        }
+        docs[size] = doc;
+        frequencies[size] = frequency;
+        size++;
+    }
+}
@@ -0,0 +1,552 @@
+package kg.akyl.java.inventory.query.search;
+
+import kg.akyl.java.inventory.infra.collections.LongIntHashMap;
+import kg.akyl.java.inventory.query.projections.ProductProjection;
+import kg.akyl.java.inventory.query.readmodel.ProductChangeListener;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process full-text index over the product read model.
+ * <p>
+ * Name, SKU, category and description are tokenized into a weighted inverted index and ranked with BM25.
+ * Each query token matches exact terms, terms it is a prefix of, and terms that contain it (found through
+ * a trigram index over the term dictionary), so {@code ILIKE '%term%'} style lookups never touch the database.
+ * All query tokens must match. Replaced documents are tombstoned and compacted away once they dominate.
+ * <p>
+ * Documents are kept as product ids only, not projections; callers resolve hits through the read model.
+ */
+@Component
+@Slf4j
+public class ProductSearchIndex implements ProductChangeListener {
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float SKU_WEIGHT = 2.5f;
+    private static final float CATEGORY_WEIGHT = 1.5f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    private static final float EXACT_BOOST = 1.0f;
+    private static final float PREFIX_BOOST = 0.7f;
+    private static final float INFIX_BOOST = 0.5f;
+    private static final int MAX_EXPANSIONS = 64;
+    private static final int MAX_QUERY_TOKENS = 16;
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private static final String ACTIVE = "ACTIVE";
+    private static final String DISCONTINUED = "DISCONTINUED";
+
+    private static final byte RETIRED = 0;
+    private static final byte LISTED = 1;
+    private static final byte LISTED_ACTIVE = 2;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final NavigableMap<String, Postings> terms = new TreeMap<>();
+    private final Map<String, List<String>> termsByTrigram = new HashMap<>();
+    private final LongIntHashMap docByProduct = new LongIntHashMap(1024);
+    private long[] docProducts = new long[1024];
+    private float[] docLengths = new float[1024];
+    // Kept next to the postings so scoring does not dereference projections
+    private byte[] docStates = new byte[1024];
+    private int docCount;
+    private int liveDocs;
+    private double totalLength;
+
+    @Override
+    public void onUpsert(ProductProjection previous, ProductProjection current) {
+        lock.writeLock().lock();
+        try {
+            int doc = docByProduct.get(current.getId());
+            if (doc != LongIntHashMap.NO_VALUE && sameText(previous, current)) {
+                // Stock and price changes do not affect the index
+                return;
+            }
+            if (doc != LongIntHashMap.NO_VALUE) {
+                retire(doc);
+            }
+            if (!DISCONTINUED.equals(current.getStatus())) {
+                index(current);
+            }
+            maybeCompact();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onRemove(ProductProjection previous) {
+        lock.writeLock().lock();
+        try {
+            int doc = docByProduct.get(previous.getId());
+            if (doc != LongIntHashMap.NO_VALUE) {
+                retire(doc);
+                maybeCompact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked search. Returns the requested page and the total number of matching products.
+     *
+     * @param activeOnly restrict hits to ACTIVE products
+     */
+    public SearchPage search(String query, int limit, int offset, boolean activeOnly) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return new SearchPage(List.of(), 0);
+        }
+        if (tokens.size() > MAX_QUERY_TOKENS) {
+            tokens = tokens.subList(0, MAX_QUERY_TOKENS);
+        }
+
+        lock.readLock().lock();
+        try {
+            List<List<Expansion>> expanded = new ArrayList<>(tokens.size());
+            for (String token : new LinkedHashSet<>(tokens)) {
+                List<Expansion> expansions = expand(token);
+                if (expansions.isEmpty()) {
+                    return new SearchPage(List.of(), 0);
+                }
+                expanded.add(expansions);
+            }
+            // Start from the most selective token so the candidate set stays small
+            expanded.sort(Comparator.comparingLong(ProductSearchIndex::postingCount));
+
+            byte minState = activeOnly ? LISTED_ACTIVE : LISTED;
+            float avgLength = liveDocs > 0 ? (float) (totalLength / liveDocs) : 1f;
+            Candidates candidates = collect(expanded.get(0), minState, avgLength);
+            for (int i = 1; i < expanded.size() && candidates.size > 0; i++) {
+                intersect(candidates, expanded.get(i), avgLength);
+            }
+            return candidates.topK(docProducts, limit, offset);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Union of the first token's posting lists as a doc-ordered candidate list
+     */
+    private Candidates collect(List<Expansion> expansions, byte minState, float avgLength) {
+        int total = (int) Math.min(postingCount(expansions), Integer.MAX_VALUE - 8);
+        Candidates candidates = new Candidates(total);
+        if (expansions.size() == 1) {
+            Expansion expansion = expansions.get(0);
+            Postings postings = expansion.postings;
+            float idf = idf(postings.size);
+            for (int p = 0; p < postings.size; p++) {
+                int doc = postings.docs[p];
+                if (docStates[doc] >= minState) {
+                    candidates.docs[candidates.size] = doc;
+                    candidates.scores[candidates.size++] = score(postings, p, idf, expansion.boost, avgLength);
+                }
+            }
+            return candidates;
+        }
+
+        // Pack (doc, score) into longs so one primitive sort orders the union by doc
+        long[] packed = new long[total];
+        int n = 0;
+        for (Expansion expansion : expansions) {
+            Postings postings = expansion.postings;
+            float idf = idf(postings.size);
+            for (int p = 0; p < postings.size; p++) {
+                int doc = postings.docs[p];
+                if (docStates[doc] >= minState) {
+                    float score = score(postings, p, idf, expansion.boost, avgLength);
+                    packed[n++] = ((long) doc << 32) | (Float.floatToRawIntBits(score) & 0xFFFFFFFFL);
+                }
+            }
+        }
+        Arrays.sort(packed, 0, n);
+        for (int i = 0; i < n; i++) {
+            int doc = (int) (packed[i] >>> 32);
+            float score = Float.intBitsToFloat((int) packed[i]);
+            if (candidates.size > 0 && candidates.docs[candidates.size - 1] == doc) {
+                candidates.scores[candidates.size - 1] += score;
+            } else {
+                candidates.docs[candidates.size] = doc;
+                candidates.scores[candidates.size++] = score;
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Keep only candidates matched by one of the expansions, adding their scores
+     */
+    private void intersect(Candidates candidates, List<Expansion> expansions, float avgLength) {
+        boolean[] matched = new boolean[candidates.size];
+        for (Expansion expansion : expansions) {
+            Postings postings = expansion.postings;
+            float idf = idf(postings.size);
+            int p = 0;
+            for (int i = 0; i < candidates.size && p < postings.size; i++) {
+                int doc = candidates.docs[i];
+                p = advance(postings, p, doc);
+                if (p < postings.size && postings.docs[p] == doc) {
+                    candidates.scores[i] += score(postings, p, idf, expansion.boost, avgLength);
+                    matched[i] = true;
+                }
+            }
+        }
+        int kept = 0;
+        for (int i = 0; i < candidates.size; i++) {
+            if (matched[i]) {
+                candidates.docs[kept] = candidates.docs[i];
+                candidates.scores[kept++] = candidates.scores[i];
+            }
+        }
+        candidates.size = kept;
+    }
+
+    private float score(Postings postings, int p, float idf, float boost, float avgLength) {
+        float tf = postings.frequencies[p];
+        return boost * idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * docLengths[postings.docs[p]] / avgLength));
+    }
+
+    /**
+     * First position at or after {@code from} whose doc is not below {@code doc}; gallops, then binary searches
+     */
+    private static int advance(Postings postings, int from, int doc) {
+        int[] docs = postings.docs;
+        if (docs[from] >= doc) {
+            return from;
+        }
+        int step = 1;
+        int low = from;
+        int high = from + step;
+        while (high < postings.size && docs[high] < doc) {
+            low = high;
+            step <<= 1;
+            high = from + step;
+        }
+        high = Math.min(high, postings.size);
+        // docs[low] < doc and (high == size or docs[high] >= doc)
+        while (low + 1 < high) {
+            int mid = (low + high) >>> 1;
+            if (docs[mid] < doc) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        return high;
+    }
+
+    private List<Expansion> expand(String token) {
+        List<Expansion> expansions = new ArrayList<>();
+        Postings exact = terms.get(token);
+        if (exact != null) {
+            expansions.add(new Expansion(exact, EXACT_BOOST));
+        }
+
+        for (Map.Entry<String, Postings> entry : terms.subMap(token, false, token + Character.MAX_VALUE, false).entrySet()) {
+            if (expansions.size() >= MAX_EXPANSIONS) {
+                break;
+            }
+            expansions.add(new Expansion(entry.getValue(), PREFIX_BOOST));
+        }
+
+        if (token.length() >= 3 && expansions.size() < MAX_EXPANSIONS) {
+            // Terms containing every trigram of the token; the rarest trigram bounds the scan
+            List<String> candidates = null;
+            for (String trigram : trigrams(token)) {
+                List<String> withTrigram = termsByTrigram.get(trigram);
+                if (withTrigram == null) {
+                    return expansions;
+                }
+                if (candidates == null || withTrigram.size() < candidates.size()) {
+                    candidates = withTrigram;
+                }
+            }
+            for (String term : candidates) {
+                if (expansions.size() >= MAX_EXPANSIONS) {
+                    break;
+                }
+                if (!term.startsWith(token) && term.contains(token)) {
+                    expansions.add(new Expansion(terms.get(term), INFIX_BOOST));
+                }
+            }
+        }
+        return expansions;
+    }
+
+    private float idf(int postings) {
+        // Posting lists still count tombstoned docs until the next compaction
+        int documentFrequency = Math.min(postings, liveDocs);
+        return (float) Math.log(1 + (liveDocs - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private void index(ProductProjection product) {
+        Map<String, Float> frequencies = new HashMap<>();
+        addField(frequencies, product.getName(), NAME_WEIGHT);
+        addField(frequencies, product.getSku(), SKU_WEIGHT);
+        addField(frequencies, product.getCategory(), CATEGORY_WEIGHT);
+        addField(frequencies, product.getDescription(), DESCRIPTION_WEIGHT);
+
+        int doc = docCount++;
+        if (doc == docProducts.length) {
+            docProducts = Arrays.copyOf(docProducts, doc * 2);
+            docLengths = Arrays.copyOf(docLengths, doc * 2);
+            docStates = Arrays.copyOf(docStates, doc * 2);
+        }
+        docProducts[doc] = product.getId();
+        docStates[doc] = ACTIVE.equals(product.getStatus()) ? LISTED_ACTIVE : LISTED;
+        float length = 0;
+        for (Map.Entry<String, Float> entry : frequencies.entrySet()) {
+            postingsFor(entry.getKey()).add(doc, entry.getValue());
+            length += entry.getValue();
+        }
+        docLengths[doc] = length;
+        totalLength += length;
+        liveDocs++;
+        docByProduct.put(product.getId(), doc);
+    }
+
+    private void retire(int doc) {
+        docStates[doc] = RETIRED;
+        docByProduct.remove(docProducts[doc]);
+        totalLength -= docLengths[doc];
+        liveDocs--;
+    }
+
+    private Postings postingsFor(String term) {
+        Postings postings = terms.get(term);
+        if (postings == null) {
+            postings = new Postings();
+            terms.put(term, postings);
+            for (String trigram : trigrams(term)) {
+                termsByTrigram.computeIfAbsent(trigram, t -> new ArrayList<>(2)).add(term);
+            }
+        }
+        return postings;
+    }
+
+    /**
+     * Drops retired docs from every posting list once they outnumber the live ones. Live docs keep their
+     * relative order, so posting lists stay sorted; terms left without postings are forgotten.
+     */
+    private void maybeCompact() {
+        int dead = docCount - liveDocs;
+        if (dead < 10_000 || dead < liveDocs) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        int[] remap = new int[docCount];
+        int live = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (docStates[doc] == RETIRED) {
+                remap[doc] = -1;
+                continue;
+            }
+            remap[doc] = live;
+            docProducts[live] = docProducts[doc];
+            docLengths[live] = docLengths[doc];
+            docStates[live] = docStates[doc];
+            docByProduct.put(docProducts[live], live);
+            live++;
+        }
+        Arrays.fill(docStates, live, docCount, RETIRED);
+        docCount = live;
+
+        Iterator<Map.Entry<String, Postings>> entries = terms.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, Postings> entry = entries.next();
+            Postings postings = entry.getValue();
+            int kept = 0;
+            for (int p = 0; p < postings.size; p++) {
+                int doc = remap[postings.docs[p]];
+                if (doc >= 0) {
+                    postings.docs[kept] = doc;
+                    postings.frequencies[kept++] = postings.frequencies[p];
+                }
+            }
+            postings.size = kept;
+            if (kept == 0) {
+                entries.remove();
+                for (String trigram : trigrams(entry.getKey())) {
+                    List<String> withTrigram = termsByTrigram.get(trigram);
+                    withTrigram.remove(entry.getKey());
+                    if (withTrigram.isEmpty()) {
+                        termsByTrigram.remove(trigram);
+                    }
+                }
+            }
+        }
+        log.info("Compacted product search index to {} products in {} ms", liveDocs, System.currentTimeMillis() - started);
+    }
+
+    private static void addField(Map<String, Float> frequencies, String text, float weight) {
+        for (String token : tokenize(text)) {
+            frequencies.merge(token, weight, Float::sum);
+        }
+    }
+
+    private static boolean sameText(ProductProjection a, ProductProjection b) {
+        return a != null
+                && Objects.equals(a.getName(), b.getName())
+                && Objects.equals(a.getSku(), b.getSku())
+                && Objects.equals(a.getCategory(), b.getCategory())
+                && Objects.equals(a.getDescription(), b.getDescription())
+                && Objects.equals(a.getStatus(), b.getStatus());
+    }
+
+    private static long postingCount(List<Expansion> expansions) {
+        long count = 0;
+        for (Expansion expansion : expansions) {
+            count += expansion.postings.size;
+        }
+        return count;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (current.length() > 0) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    private static Set<String> trigrams(String term) {
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            trigrams.add(term.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    private record Expansion(Postings postings, float boost) {
+    }
+
+    /**
+     * Ids of the products on the requested page, best first, and the total number of matching products
+     */
+    @Getter
+    public static class SearchPage {
+        private final List<Long> productIds;
+        private final long totalHits;
+
+        public SearchPage(List<Long> productIds, long totalHits) {
+            this.productIds = productIds;
+            this.totalHits = totalHits;
+        }
+    }
+
+    /**
+     * Matching docs of one query in doc order, with their accumulated scores
+     */
+    private static final class Candidates {
+        private final int[] docs;
+        private final float[] scores;
+        private int size;
+
+        Candidates(int capacity) {
+            docs = new int[capacity];
+            scores = new float[capacity];
+        }
+
+        SearchPage topK(long[] products, int limit, int offset) {
+            int k = offset + limit;
+            // Binary min-heap of candidate positions, worst hit at the root
+            int[] heap = new int[Math.min(k, size)];
+            int heapSize = 0;
+            for (int slot = 0; slot < size; slot++) {
+                if (heapSize < heap.length) {
+                    heap[heapSize] = slot;
+                    siftUp(heap, heapSize++, products);
+                } else if (heap.length > 0 && worse(heap[0], slot, products)) {
+                    heap[0] = slot;
+                    siftDown(heap, heapSize, products);
+                }
+            }
+
+            long[] ranked = new long[heapSize];
+            for (int i = heapSize - 1; i >= 0; i--) {
+                ranked[i] = products[docs[heap[0]]];
+                heap[0] = heap[--heapSize];
+                siftDown(heap, heapSize, products);
+            }
+            List<Long> page = new ArrayList<>(Math.max(0, ranked.length - offset));
+            for (int i = offset; i < ranked.length; i++) {
+                page.add(ranked[i]);
+            }
+            return new SearchPage(page, size);
+        }
+
+        /**
+         * True when slot {@code a} ranks below slot {@code b}: lower score, then higher product id
+         */
+        private boolean worse(int a, int b, long[] products) {
+            if (scores[a] != scores[b]) {
+                return scores[a] < scores[b];
+            }
+            return products[docs[a]] > products[docs[b]];
+        }
+
+        private void siftUp(int[] heap, int index, long[] products) {
+            int slot = heap[index];
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!worse(slot, heap[parent], products)) {
+                    break;
+                }
+                heap[index] = heap[parent];
+                index = parent;
+            }
+            heap[index] = slot;
+        }
+
+        private void siftDown(int[] heap, int size, long[] products) {
+            if (size == 0) {
+                return;
+            }
+            int slot = heap[0];
+            int index = 0;
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && worse(heap[child + 1], heap[child], products)) {
+                    child++;
+                }
+                if (!worse(heap[child], slot, products)) {
+                    break;
+                }
+                heap[index] = heap[child];
+                index = child;
+            }
+            heap[index] = slot;
+        }
+    }
+}
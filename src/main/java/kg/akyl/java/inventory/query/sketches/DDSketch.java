@@ -0,0 +1,207 @@
+package kg.akyl.java.inventory.query.sketches;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * DDSketch quantile summary for positive values with a fixed relative accuracy.
+ * <p>
+ * Values are counted in logarithmic bins of ratio {@code gamma = (1 + accuracy) / (1 - accuracy)},
+ * so any reported quantile is within {@code accuracy} (1% by default) of the true value at that rank.
+ * Bins are dense between the smallest and largest index seen; when they exceed {@code maxBins} the
+ * lowest bins are folded together, which only affects the lowest quantiles. Merging adds bin counts,
+ * so it is exact. Values at or below zero are counted separately and reported as zero. Not thread-safe.
+ */
+public final class DDSketch {
+    public static final double DEFAULT_ACCURACY = 0.01;
+    private static final byte FORMAT_VERSION = 1;
+    private static final int DEFAULT_MAX_BINS = 2048;
+
+    private final double accuracy;
+    private final double logGamma;
+    private final int maxBins;
+    private long[] bins = new long[0];
+    private int offset;
+    private long zeroCount;
+    private long count;
+
+    public DDSketch() {
+        this(DEFAULT_ACCURACY, DEFAULT_MAX_BINS);
+    }
+
+    public DDSketch(double accuracy, int maxBins) {
+        if (accuracy <= 0 || accuracy >= 1) {
+            throw new IllegalArgumentException("DDSketch accuracy must be between 0 and 1: " + accuracy);
+        }
+        this.accuracy = accuracy;
+        this.logGamma = Math.log((1 + accuracy) / (1 - accuracy));
+        this.maxBins = maxBins;
+    }
+
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    public void add(double value, long weight) {
+        if (weight <= 0 || Double.isNaN(value)) {
+            return;
+        }
+        count += weight;
+        if (value <= 0) {
+            zeroCount += weight;
+            return;
+        }
+        int index = (int) Math.ceil(Math.log(value) / logGamma);
+        ensureRange(index);
+        bins[Math.max(index, offset) - offset] += weight;
+    }
+
+    public void merge(DDSketch other) {
+        if (other.accuracy != accuracy) {
+            throw new IllegalArgumentException("Cannot merge DDSketch with accuracy "
+                    + other.accuracy + " into " + accuracy);
+        }
+        count += other.count;
+        zeroCount += other.zeroCount;
+        if (other.bins.length == 0) {
+            return;
+        }
+        ensureRange(other.offset);
+        ensureRange(other.offset + other.bins.length - 1);
+        for (int i = 0; i < other.bins.length; i++) {
+            bins[Math.max(other.offset + i, offset) - offset] += other.bins[i];
+        }
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double accuracy() {
+        return accuracy;
+    }
+
+    /**
+     * Value at quantile {@code q} in [0, 1], or NaN when the sketch is empty.
+     */
+    public double quantile(double q) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) Math.floor(Math.max(0, Math.min(1, q)) * (count - 1));
+        if (rank < zeroCount) {
+            return 0;
+        }
+        long seen = zeroCount;
+        for (int i = 0; i < bins.length; i++) {
+            seen += bins[i];
+            if (seen > rank) {
+                return binValue(offset + i);
+            }
+        }
+        return binValue(offset + bins.length - 1);
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + bins.length);
+        out.write(FORMAT_VERSION);
+        writeLong(out, Double.doubleToLongBits(accuracy));
+        writeVarLong(out, maxBins);
+        writeVarLong(out, zeroCount);
+        writeVarLong(out, zigZag(offset));
+        writeVarLong(out, bins.length);
+        for (long bin : bins) {
+            writeVarLong(out, bin);
+        }
+        return out.toByteArray();
+    }
+
+    public static DDSketch fromBytes(byte[] bytes) {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        if (in.get() != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unrecognised DDSketch encoding");
+        }
+        DDSketch sketch = new DDSketch(Double.longBitsToDouble(in.getLong()), (int) readVarLong(in));
+        sketch.zeroCount = readVarLong(in);
+        sketch.offset = unZigZag(readVarLong(in));
+        sketch.bins = new long[(int) readVarLong(in)];
+        sketch.count = sketch.zeroCount;
+        for (int i = 0; i < sketch.bins.length; i++) {
+            sketch.bins[i] = readVarLong(in);
+            sketch.count += sketch.bins[i];
+        }
+        return sketch;
+    }
+
+    // Midpoint of the bin in relative terms, which keeps the error within the accuracy on both sides
+    private double binValue(int index) {
+        double gamma = Math.exp(logGamma);
+        return 2 * Math.exp(index * logGamma) / (gamma + 1);
+    }
+
+    private void ensureRange(int index) {
+        if (bins.length == 0) {
+            bins = new long[16];
+            offset = index - 8;
+            return;
+        }
+        int high = offset + bins.length - 1;
+        if (index >= offset && index <= high) {
+            return;
+        }
+        int newLow = Math.min(offset, index);
+        int newHigh = Math.max(high, index);
+        int length;
+        if (newHigh - newLow + 1 > maxBins) {
+            // Keep the highest bins; everything below the window is folded into its first bin
+            length = maxBins;
+            newLow = newHigh - maxBins + 1;
+        } else {
+            // Grow with slack on the side that was extended
+            length = Math.min(maxBins, Math.max(newHigh - newLow + 1, bins.length * 2));
+            if (index < offset) {
+                newLow = newHigh - length + 1;
+            }
+        }
+        long[] resized = new long[length];
+        for (int i = 0; i < bins.length; i++) {
+            resized[Math.max(offset + i, newLow) - newLow] += bins[i];
+        }
+        bins = resized;
+        offset = newLow;
+    }
+
+    private static void writeLong(ByteArrayOutputStream out, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift));
+        }
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    private static long zigZag(int value) {
+        return ((long) value << 1) ^ (value >> 31);
+    }
+
+    private static int unZigZag(long value) {
+        return (int) ((value >>> 1) ^ -(value & 1));
+    }
+}
@@ -0,0 +1,304 @@
+package kg.akyl.java.inventory.query.sketches;
+
+import kg.akyl.java.inventory.infra.jdbc.StreamingQueries;
+import kg.akyl.java.inventory.infra.locking.LeaderLease;
+import kg.akyl.java.inventory.query.projections.DistinctCustomersProjection;
+import kg.akyl.java.inventory.query.projections.SalePercentilesProjection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Distinct customers and sale amount percentiles per category and day, kept as a {@link HyperLogLog}
+ * and a {@link DDSketch} in {@code sales_daily_sketches}.
+ * <p>
+ * Sales are collected in memory and merged into the stored sketches every few seconds. Both sketch types
+ * merge exactly, so any date range is answered by merging its days. Sales lost in a crash before a flush
+ * are restored by the nightly rebuild of the previous day from raw sales, which runs on the leader only.
+ * A rebuild stamps its rows with the time it started reading, and sketches collected before that are
+ * dropped at their flush instead of being counted a second time.
+ */
+@Service
+@Slf4j
+public class SalesSketchService {
+    private static final String NO_CATEGORY = "";
+
+    @Autowired
+    @Qualifier("writeJdbcTemplate")
+    private JdbcTemplate writeJdbcTemplate;
+
+    @Autowired
+    @Qualifier("readJdbcTemplate")
+    private JdbcTemplate readJdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private LeaderLease leaderLease;
+
+    @Value("${inventory.sketches.backfill-days:30}")
+    private int backfillDays;
+
+    @Value("${inventory.read-model.bootstrap-fetch-size:5000}")
+    private int fetchSize;
+
+    private Map<SketchKey, DailySketch> pending = new HashMap<>();
+
+    private record SketchKey(LocalDate day, String category) {
+    }
+
+    private static final class DailySketch {
+        final HyperLogLog customers;
+        final DDSketch amounts;
+        // When the first sale was recorded; those recorded earlier had committed, so a rebuild from then on saw them
+        long recordedSince = System.currentTimeMillis();
+
+        DailySketch() {
+            this(new HyperLogLog(), new DDSketch());
+        }
+
+        DailySketch(HyperLogLog customers, DDSketch amounts) {
+            this.customers = customers;
+            this.amounts = amounts;
+        }
+
+        void add(String customerId, BigDecimal amount) {
+            customers.add(customerId);
+            if (amount != null) {
+                amounts.add(amount.doubleValue());
+            }
+        }
+
+        void merge(DailySketch other) {
+            customers.merge(other.customers);
+            amounts.merge(other.amounts);
+            recordedSince = Math.min(recordedSince, other.recordedSince);
+        }
+    }
+
+    public void record(String category, LocalDate day, String customerId, BigDecimal totalAmount) {
+        SketchKey key = new SketchKey(day, category != null ? category : NO_CATEGORY);
+        synchronized (this) {
+            pending.computeIfAbsent(key, k -> new DailySketch()).add(customerId, totalAmount);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.sketches.flush-interval-ms:5000}")
+    public void flush() {
+        Map<SketchKey, DailySketch> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+        }
+
+        // A fixed order keeps instances flushing the same days from deadlocking each other
+        Map<SketchKey, DailySketch> ordered = new TreeMap<>(
+                Comparator.comparing(SketchKey::day).thenComparing(SketchKey::category));
+        ordered.putAll(batch);
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    ordered.forEach(this::mergeIntoStored));
+        } catch (Exception e) {
+            log.warn("Sales sketch flush failed, retrying {} sketches later: {}", batch.size(), e.getMessage());
+            synchronized (this) {
+                batch.forEach((key, sketch) -> pending.merge(key, sketch, (current, failed) -> {
+                    current.merge(failed);
+                    return current;
+                }));
+            }
+        }
+    }
+
+    /**
+     * Replaces the sketches of the previous day with ones built from raw sales.
+     */
+    @Scheduled(cron = "${inventory.sketches.rebuild-cron:0 30 1 * * *}")
+    public void rebuildPreviousDay() {
+        if (!leaderLease.isLeader()) {
+            return;
+        }
+        try {
+            rebuild(LocalDate.now().minusDays(1));
+        } catch (Exception e) {
+            log.error("Nightly sales sketch rebuild failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Builds sketches for recent days that have sales but none stored yet. Today is left to the event stream.
+     * Runs periodically rather than once at startup, so it waits for the leader election and a new leader
+     * fills whatever its predecessor left.
+     */
+    @Scheduled(initialDelayString = "${inventory.sketches.backfill-initial-delay-ms:10000}",
+            fixedDelayString = "${inventory.sketches.backfill-interval-ms:3600000}")
+    public void backfill() {
+        if (!leaderLease.isLeader()) {
+            return;
+        }
+        try {
+            List<LocalDate> missing = readJdbcTemplate.queryForList("""
+                SELECT DISTINCT DATE(s.sale_date) FROM sales s
+                WHERE s.sale_date >= ? AND s.sale_date < CURRENT_DATE
+                EXCEPT
+                SELECT sale_date FROM sales_daily_sketches
+                """, LocalDate.class, LocalDate.now().minusDays(backfillDays));
+            for (LocalDate day : missing) {
+                rebuild(day);
+            }
+        } catch (Exception e) {
+            log.error("Sales sketch backfill failed: {}", e.getMessage(), e);
+        }
+    }
+
+    public void rebuild(LocalDate day) {
+        long started = System.currentTimeMillis();
+        Timestamp rebuiltAt = new Timestamp(started);
+        Map<String, DailySketch> sketches = new HashMap<>();
+        // From the primary: sketches recorded before rebuiltAt are dropped, so the read must see every sale
+        // committed by then, which a lagging replica may not
+        StreamingQueries.inTransaction(writeJdbcTemplate, false, (ConnectionCallback<Void>) connection -> {
+            StreamingQueries.stream(connection, """
+                    SELECT COALESCE(p.category, '') as category, s.customer_id, s.total_amount
+                    FROM sales s
+                    JOIN products p ON p.id = s.product_id
+                    WHERE s.sale_date >= ? AND s.sale_date < ? AND s.status = 'CONFIRMED'
+                    """, fetchSize, rs -> {
+                sketches.computeIfAbsent(rs.getString("category"), k -> new DailySketch())
+                        .add(rs.getString("customer_id"), rs.getBigDecimal("total_amount"));
+            }, day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+            return null;
+        });
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            writeJdbcTemplate.update("DELETE FROM sales_daily_sketches WHERE sale_date = ?", day);
+            List<Object[]> rows = new ArrayList<>(sketches.size());
+            sketches.forEach((category, sketch) -> rows.add(new Object[]{
+                    day, category, sketch.customers.toBytes(), sketch.amounts.toBytes(), rebuiltAt}));
+            writeJdbcTemplate.batchUpdate("""
+                INSERT INTO sales_daily_sketches (sale_date, category, customers, amounts, rebuilt_at)
+                VALUES (?, ?, ?, ?, ?)
+                """, rows);
+        });
+        log.info("Rebuilt sales sketches for {} ({} categories) in {} ms",
+                day, sketches.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Approximate distinct customers per category over {@code [from, to]}, both days inclusive.
+     */
+    public List<DistinctCustomersProjection> distinctCustomers(LocalDate from, LocalDate to, String category) {
+        Map<String, DailySketch> merged = loadMerged(from, to, category);
+        List<DistinctCustomersProjection> result = new ArrayList<>(merged.size());
+        merged.forEach((key, sketch) -> result.add(new DistinctCustomersProjection(
+                NO_CATEGORY.equals(key) ? null : key,
+                sketch.customers.estimate(),
+                sketch.customers.standardError())));
+        result.sort(Comparator.comparing(DistinctCustomersProjection::getDistinctCustomers).reversed());
+        return result;
+    }
+
+    /**
+     * Sale amount percentiles per category over {@code [from, to]}, both days inclusive.
+     */
+    public List<SalePercentilesProjection> percentiles(LocalDate from, LocalDate to, String category,
+                                                       List<Double> quantiles) {
+        for (Double q : quantiles) {
+            if (q == null || q < 0 || q > 1) {
+                throw new IllegalArgumentException("Quantiles must be between 0 and 1: " + q);
+            }
+        }
+        Map<String, DailySketch> merged = loadMerged(from, to, category);
+        List<SalePercentilesProjection> result = new ArrayList<>(merged.size());
+        merged.forEach((key, sketch) -> {
+            Map<String, BigDecimal> values = new LinkedHashMap<>();
+            for (double q : quantiles) {
+                values.put("p" + BigDecimal.valueOf(q * 100).stripTrailingZeros().toPlainString(),
+                        BigDecimal.valueOf(sketch.amounts.quantile(q)).setScale(2, RoundingMode.HALF_UP));
+            }
+            result.add(new SalePercentilesProjection(NO_CATEGORY.equals(key) ? null : key,
+                    sketch.amounts.count(), values, sketch.amounts.accuracy()));
+        });
+        result.sort(Comparator.comparing(SalePercentilesProjection::getTotalSales).reversed());
+        return result;
+    }
+
+    private Map<String, DailySketch> loadMerged(LocalDate from, LocalDate to, String category) {
+        StringBuilder sql = new StringBuilder("""
+            SELECT category, customers, amounts FROM sales_daily_sketches
+            WHERE sale_date >= ? AND sale_date <= ?
+            """);
+        List<Object> params = new ArrayList<>(List.of(from, to));
+        if (category != null) {
+            sql.append(" AND category = ?");
+            params.add(category);
+        }
+        Map<String, DailySketch> merged = new HashMap<>();
+        readJdbcTemplate.query(sql.toString(), rs -> {
+            DailySketch day = new DailySketch(
+                    HyperLogLog.fromBytes(rs.getBytes("customers")),
+                    DDSketch.fromBytes(rs.getBytes("amounts")));
+            merged.merge(rs.getString("category"), day, (current, next) -> {
+                current.merge(next);
+                return current;
+            });
+        }, params.toArray());
+        return merged;
+    }
+
+    private void mergeIntoStored(SketchKey key, DailySketch sketch) {
+        DailySketch empty = new DailySketch();
+        // Insert first so the row exists to be locked; instances never overwrite each other's updates
+        writeJdbcTemplate.update("""
+            INSERT INTO sales_daily_sketches (sale_date, category, customers, amounts)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (sale_date, category) DO NOTHING
+            """, key.day(), key.category(), empty.customers.toBytes(), empty.amounts.toBytes());
+
+        Timestamp[] rebuiltAt = new Timestamp[1];
+        DailySketch stored = writeJdbcTemplate.queryForObject("""
+            SELECT customers, amounts, rebuilt_at FROM sales_daily_sketches
+            WHERE sale_date = ? AND category = ?
+            FOR UPDATE
+            """, (rs, rowNum) -> {
+                rebuiltAt[0] = rs.getTimestamp("rebuilt_at");
+                return new DailySketch(
+                        HyperLogLog.fromBytes(rs.getBytes("customers")),
+                        DDSketch.fromBytes(rs.getBytes("amounts")));
+            }, key.day(), key.category());
+        if (rebuiltAt[0] != null && sketch.recordedSince <= rebuiltAt[0].getTime()) {
+            log.debug("Dropping sales sketch for {} {}, rebuilt from raw sales since it was started",
+                    key.day(), key.category());
+            return;
+        }
+        stored.merge(sketch);
+
+        writeJdbcTemplate.update("""
+            UPDATE sales_daily_sketches
+            SET customers = ?, amounts = ?, updated_at = CURRENT_TIMESTAMP
+            WHERE sale_date = ? AND category = ?
+            """, stored.customers.toBytes(), stored.amounts.toBytes(), key.day(), key.category());
+    }
+}
@@ -0,0 +1,136 @@
+package kg.akyl.java.inventory.query.topk;
+
+import kg.akyl.java.inventory.infra.collections.LongIntHashMap;
+
+/**
+ * Space-Saving heavy-hitters summary over weighted {@code long} keys with a fixed number of counters.
+ * <p>
+ * A key that is not tracked takes over the smallest counter and inherits its count as error, so every
+ * count overestimates the true weight by at most its error, and the error is at most {@code total / capacity}.
+ * Any key heavier than {@code total / capacity} is guaranteed to be tracked. Counters sit in a min-heap,
+ * so an update costs {@code O(log capacity)}. Not thread-safe; callers guard access.
+ */
+public final class SpaceSaving {
+    private final int capacity;
+    private final long[] keys;
+    private final long[] counts;
+    private final long[] errors;
+    // heap[i] is a counter slot; position[slot] is its index in the heap
+    private final int[] heap;
+    private final int[] position;
+    private final LongIntHashMap slots;
+    private int size;
+    private long total;
+
+    public SpaceSaving(int capacity) {
+        this.capacity = capacity;
+        this.keys = new long[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.slots = new LongIntHashMap(capacity);
+    }
+
+    public void add(long key, long weight) {
+        if (weight <= 0) {
+            return;
+        }
+        total += weight;
+        int slot = slots.get(key);
+        if (slot != LongIntHashMap.NO_VALUE) {
+            counts[slot] += weight;
+            siftDown(position[slot]);
+            return;
+        }
+        if (size < capacity) {
+            slot = size;
+            keys[slot] = key;
+            counts[slot] = weight;
+            errors[slot] = 0;
+            heap[size] = slot;
+            position[slot] = size;
+            slots.put(key, slot);
+            siftUp(size++);
+            return;
+        }
+        slot = heap[0];
+        slots.remove(keys[slot]);
+        long evicted = counts[slot];
+        keys[slot] = key;
+        errors[slot] = evicted;
+        counts[slot] = evicted + weight;
+        slots.put(key, slot);
+        siftDown(0);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long total() {
+        return total;
+    }
+
+    /**
+     * Smallest tracked count once all counters are in use, otherwise 0: every key that is not tracked
+     * has a true weight of at most this value.
+     */
+    public long floor() {
+        return size < capacity ? 0 : counts[heap[0]];
+    }
+
+    public long key(int slot) {
+        return keys[slot];
+    }
+
+    public long count(int slot) {
+        return counts[slot];
+    }
+
+    public long error(int slot) {
+        return errors[slot];
+    }
+
+    public void clear() {
+        slots.clear();
+        size = 0;
+        total = 0;
+    }
+
+    private void siftUp(int index) {
+        int slot = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (counts[heap[parent]] <= counts[slot]) {
+                break;
+            }
+            move(heap[parent], index);
+            index = parent;
+        }
+        move(slot, index);
+    }
+
+    private void siftDown(int index) {
+        int slot = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && counts[heap[right]] < counts[heap[child]]) {
+                child = right;
+            }
+            if (counts[slot] <= counts[heap[child]]) {
+                break;
+            }
+            move(heap[child], index);
+            index = child;
+        }
+        move(slot, index);
+    }
+
+    private void move(int slot, int index) {
+        heap[index] = slot;
+        position[slot] = index;
+    }
+}
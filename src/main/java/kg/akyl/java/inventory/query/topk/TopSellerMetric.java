@@ -0,0 +1,25 @@
+package kg.akyl.java.inventory.query.topk;
+
+public enum TopSellerMetric {
+    QUANTITY("total_quantity"),
+    REVENUE("total_revenue");
+
+    private final String column;
+
+    TopSellerMetric(String column) {
+        this.column = column;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public static TopSellerMetric from(String value) {
+        for (TopSellerMetric metric : values()) {
+            if (metric.name().equalsIgnoreCase(value)) {
+                return metric;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported top seller metric: " + value);
+    }
+}
@@ -0,0 +1,321 @@
+package kg.akyl.java.inventory.query.topk;
+
+import kg.akyl.java.inventory.infra.collections.LongIntHashMap;
+import kg.akyl.java.inventory.infra.jdbc.StreamingQueries;
+import kg.akyl.java.inventory.query.projections.ProductProjection;
+import kg.akyl.java.inventory.query.projections.TopSellerProjection;
+import kg.akyl.java.inventory.query.readmodel.ProductReadModel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory top sellers per hour, kept as one {@link SpaceSaving} summary for quantity and one for revenue
+ * in a ring of hourly buckets.
+ * <p>
+ * A range query merges the buckets it covers. Estimates never undercount, and each one overestimates by
+ * at most its reported error, which is bounded by {@code total / capacity} for the merged range; a product
+ * missing from the answer sold at most that much. Ranges are widened to whole hours, and ranges older
+ * than the retention are not answered here.
+ * <p>
+ * Bootstraps from the sales table on startup. Sales arriving meanwhile are buffered and replayed once the
+ * snapshot is in, and any sale the snapshot already counted is ignored when its event arrives. The snapshot
+ * remembers the ids it counted rather than a high-water mark, since sale ids are assigned before commit and
+ * a lower id may still commit after the snapshot was taken.
+ */
+@Component
+@Slf4j
+public class TopSellersTracker {
+    @Autowired
+    @Qualifier("readJdbcTemplate")
+    private JdbcTemplate readJdbcTemplate;
+
+    @Autowired
+    private ProductReadModel productReadModel;
+
+    @Value("${inventory.top-sellers.capacity:256}")
+    private int capacity;
+
+    @Value("${inventory.top-sellers.retention-hours:168}")
+    private int retentionHours;
+
+    @Value("${inventory.top-sellers.bootstrap-fetch-size:5000}")
+    private int fetchSize;
+
+    private static final int MAX_BUFFERED_SALES = 100_000;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Bucket[] buckets;
+    // Sale ids counted by the bootstrap, offset by the smallest of them
+    private BitSet snapshotSaleIds = new BitSet();
+    private long snapshotBaseId;
+    private final List<BufferedSale> bufferedSales = new ArrayList<>();
+    private long droppedSales;
+    private volatile boolean ready;
+
+    private record BufferedSale(long saleId, long productId, long quantity, BigDecimal totalAmount,
+                                LocalDateTime saleDate) {
+    }
+
+    private final class Bucket {
+        long hour = Long.MIN_VALUE;
+        final SpaceSaving quantity = new SpaceSaving(capacity);
+        final SpaceSaving revenueCents = new SpaceSaving(capacity);
+
+        SpaceSaving sketch(TopSellerMetric metric) {
+            return metric == TopSellerMetric.QUANTITY ? quantity : revenueCents;
+        }
+    }
+
+    @Async("queryExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        long started = System.currentTimeMillis();
+        LocalDateTime since = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(retentionHours - 1);
+        try {
+            Bucket[] loaded = new Bucket[retentionHours];
+            BitSet saleIds = new BitSet();
+            long[] baseAndRows = new long[2];
+            // Both queries read one snapshot, so the smallest id bounds every id streamed
+            StreamingQueries.inTransaction(readJdbcTemplate, true, (ConnectionCallback<Void>) connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "SELECT COALESCE(MIN(id), 0) FROM sales WHERE sale_date >= ? AND status = 'CONFIRMED'")) {
+                    statement.setObject(1, since);
+                    try (ResultSet rs = statement.executeQuery()) {
+                        rs.next();
+                        baseAndRows[0] = rs.getLong(1);
+                    }
+                }
+                StreamingQueries.stream(connection, """
+                        SELECT s.id, s.sale_date, s.product_id, s.quantity, s.total_amount
+                        FROM sales s
+                        WHERE s.sale_date >= ? AND s.status = 'CONFIRMED'
+                        """, fetchSize, rs -> {
+                    saleIds.set(Math.toIntExact(rs.getLong("id") - baseAndRows[0]));
+                    add(loaded, rs.getTimestamp("sale_date").toLocalDateTime(), rs.getLong("product_id"),
+                            rs.getLong("quantity"), rs.getBigDecimal("total_amount"));
+                    baseAndRows[1]++;
+                }, since);
+                return null;
+            });
+
+            int replayed = 0;
+            long dropped;
+            lock.writeLock().lock();
+            try {
+                buckets = loaded;
+                snapshotSaleIds = saleIds;
+                snapshotBaseId = baseAndRows[0];
+                for (BufferedSale sale : bufferedSales) {
+                    if (!inSnapshot(sale.saleId())) {
+                        add(buckets, sale.saleDate(), sale.productId(), sale.quantity(), sale.totalAmount());
+                        replayed++;
+                    }
+                }
+                bufferedSales.clear();
+                dropped = droppedSales;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (dropped > 0) {
+                log.warn("Top sellers dropped {} sales beyond the {} buffered during bootstrap", dropped, MAX_BUFFERED_SALES);
+            }
+            log.info("Loaded {} sales into top sellers and replayed {} buffered ones in {} ms",
+                    baseAndRows[1], replayed, System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("Top sellers bootstrap failed, queries fall back to SQL: {}", e.getMessage(), e);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Counts one sale unless the bootstrap snapshot already did. Sales arriving before the bootstrap
+     * finished are buffered and replayed against the snapshot.
+     */
+    public void record(long saleId, long productId, long quantity, BigDecimal totalAmount, LocalDateTime saleDate) {
+        lock.writeLock().lock();
+        try {
+            if (!ready) {
+                if (bufferedSales.size() < MAX_BUFFERED_SALES) {
+                    bufferedSales.add(new BufferedSale(saleId, productId, quantity, totalAmount, saleDate));
+                } else {
+                    droppedSales++;
+                }
+                return;
+            }
+            if (!inSnapshot(saleId)) {
+                add(buckets, saleDate, productId, quantity, totalAmount);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Top {@code limit} products for {@code [from, to]} from the sketches,
+     * or empty when the range reaches past the retention or the tracker is not loaded.
+     */
+    public Optional<List<TopSellerProjection>> topSellers(TopSellerMetric metric, int limit,
+                                                          LocalDateTime from, LocalDateTime to) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        long fromHour = hourOf(from);
+        long toHour = hourOf(to);
+        long oldestHour = hourOf(LocalDateTime.now()) - retentionHours + 1;
+        if (fromHour < oldestHour) {
+            return Optional.empty();
+        }
+
+        LongIntHashMap index = new LongIntHashMap(capacity * 4);
+        long[] productIds = new long[capacity * 4];
+        long[] estimates = new long[capacity * 4];
+        long[] errors = new long[capacity * 4];
+        int candidates = 0;
+        long floors = 0;
+
+        lock.readLock().lock();
+        try {
+            for (long hour = Math.max(fromHour, toHour - retentionHours + 1); hour <= toHour; hour++) {
+                Bucket bucket = buckets[Math.floorMod(hour, retentionHours)];
+                if (bucket == null || bucket.hour != hour) {
+                    continue;
+                }
+                SpaceSaving sketch = bucket.sketch(metric);
+                long floor = sketch.floor();
+                floors += floor;
+                // Keys missing from this bucket weigh at most its floor, which is added to every candidate below
+                for (int slot = 0; slot < sketch.size(); slot++) {
+                    long productId = sketch.key(slot);
+                    int i = index.get(productId);
+                    if (i == LongIntHashMap.NO_VALUE) {
+                        if (candidates == productIds.length) {
+                            productIds = Arrays.copyOf(productIds, candidates * 2);
+                            estimates = Arrays.copyOf(estimates, candidates * 2);
+                            errors = Arrays.copyOf(errors, candidates * 2);
+                        }
+                        i = candidates++;
+                        index.put(productId, i);
+                        productIds[i] = productId;
+                    }
+                    estimates[i] += sketch.count(slot) - floor;
+                    errors[i] += sketch.error(slot) - floor;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        long[] finalEstimates = estimates;
+        PriorityQueue<Integer> top = new PriorityQueue<>(Math.max(limit, 1),
+                (a, b) -> Long.compare(finalEstimates[a], finalEstimates[b]));
+        for (int i = 0; i < candidates; i++) {
+            if (top.size() < limit) {
+                top.add(i);
+            } else if (limit > 0 && estimates[i] > estimates[top.peek()]) {
+                top.poll();
+                top.add(i);
+            }
+        }
+
+        List<TopSellerProjection> result = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            int i = top.poll();
+            result.add(new TopSellerProjection(productIds[i], productName(productIds[i]),
+                    toValue(metric, estimates[i] + floors), toValue(metric, errors[i] + floors), false));
+        }
+        result.sort((a, b) -> b.getValue().compareTo(a.getValue()));
+        fillMissingNames(result);
+        return Optional.of(result);
+    }
+
+    private boolean inSnapshot(long saleId) {
+        long offset = saleId - snapshotBaseId;
+        return offset >= 0 && offset < snapshotSaleIds.length() && snapshotSaleIds.get((int) offset);
+    }
+
+    private void add(Bucket[] ring, LocalDateTime saleDate, long productId, long quantity, BigDecimal revenue) {
+        long hour = hourOf(saleDate);
+        Bucket bucket = ring[Math.floorMod(hour, retentionHours)];
+        if (bucket == null) {
+            bucket = new Bucket();
+            ring[Math.floorMod(hour, retentionHours)] = bucket;
+        }
+        if (bucket.hour != hour) {
+            if (bucket.hour > hour) {
+                // Older than the retention
+                return;
+            }
+            bucket.hour = hour;
+            bucket.quantity.clear();
+            bucket.revenueCents.clear();
+        }
+        bucket.quantity.add(productId, quantity);
+        if (revenue != null) {
+            bucket.revenueCents.add(productId, revenue.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue());
+        }
+    }
+
+    private String productName(long productId) {
+        return productReadModel.findById(productId).map(ProductProjection::getName).orElse(null);
+    }
+
+    // Only needed while the read model is still loading
+    private void fillMissingNames(List<TopSellerProjection> sellers) {
+        List<Long> missing = sellers.stream()
+                .filter(seller -> seller.getName() == null)
+                .map(TopSellerProjection::getProductId)
+                .toList();
+        if (missing.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(",", Collections.nCopies(missing.size(), "?"));
+        Map<Long, String> names = new HashMap<>();
+        readJdbcTemplate.query("SELECT id, name FROM products WHERE id IN (" + placeholders + ")",
+                rs -> {
+                    names.put(rs.getLong("id"), rs.getString("name"));
+                }, missing.toArray());
+        sellers.forEach(seller -> {
+            if (seller.getName() == null) {
+                seller.setName(names.get(seller.getProductId()));
+            }
+        });
+    }
+
+    private static BigDecimal toValue(TopSellerMetric metric, long value) {
+        return metric == TopSellerMetric.QUANTITY ? BigDecimal.valueOf(value) : BigDecimal.valueOf(value, 2);
+    }
+
+    private static long hourOf(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 3600;
+    }
+}
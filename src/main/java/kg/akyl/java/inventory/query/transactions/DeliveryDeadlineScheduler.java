@@ -0,0 +1,315 @@
+package kg.akyl.java.inventory.query.transactions;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kg.akyl.java.inventory.infra.events.SupplyChainEventPublisher;
+import kg.akyl.java.inventory.infra.events.SupplyChainEventPublisher.OverdueDelivery;
+import kg.akyl.java.inventory.infra.events.SupplyChainEventPublisher.TransactionFacts;
+import kg.akyl.java.inventory.infra.locking.LeaderLease;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fires when a confirmed or in-transit transaction passes its expected delivery date, without polling.
+ * <p>
+ * Open deliveries sit in a min-heap by deadline, loaded once on startup and kept current from transaction
+ * events, so a change costs O(log n). A single thread sleeps until the earliest deadline and, on the
+ * {@link LeaderLease} holder only, publishes {@code DeliveryOverdue} events for every delivery that came due.
+ * Changed or closed deliveries leave stale heap entries behind that are skipped when they surface.
+ * <p>
+ * Deliveries already overdue when the view is loaded are counted but not announced again, and deadlines that
+ * pass while no instance holds the lease are not announced.
+ */
+@Component
+@Slf4j
+public class DeliveryDeadlineScheduler {
+    private static final int MAX_PENDING = 100_000;
+
+    @Autowired
+    @Qualifier("readJdbcTemplate")
+    private JdbcTemplate readJdbcTemplate;
+
+    @Autowired
+    private SupplyChainEventPublisher eventPublisher;
+
+    @Autowired
+    private LeaderLease leaderLease;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition deadlineChanged = lock.newCondition();
+    private final PriorityQueue<Deadline> deadlines = new PriorityQueue<>(
+            Comparator.comparingLong(Deadline::dueAt).thenComparingLong(Deadline::transactionId));
+    private final Map<Long, OpenDelivery> open = new HashMap<>();
+    private final List<TransactionFacts> pending = new ArrayList<>();
+    private boolean loading = true;
+    private int overdue;
+    private volatile boolean running = true;
+    private Thread worker;
+    private Counter overdueDetected;
+    private Timer detectionLag;
+
+    private record Deadline(long dueAt, long transactionId) {
+    }
+
+    private final class OpenDelivery {
+        final long fromSupplierId;
+        final long toSupplierId;
+        final long productId;
+        final LocalDateTime expectedDeliveryDate;
+        final long dueAt;
+        String status;
+        boolean overdue;
+
+        OpenDelivery(long fromSupplierId, long toSupplierId, long productId, String status,
+                     LocalDateTime expectedDeliveryDate) {
+            this.fromSupplierId = fromSupplierId;
+            this.toSupplierId = toSupplierId;
+            this.productId = productId;
+            this.status = status;
+            this.expectedDeliveryDate = expectedDeliveryDate;
+            this.dueAt = expectedDeliveryDate.atZone(clock.getZone()).toInstant().toEpochMilli();
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        overdueDetected = Counter.builder("inventory.transactions.overdue.detected")
+                .description("Deliveries announced as overdue")
+                .register(meterRegistry);
+        detectionLag = Timer.builder("inventory.transactions.overdue.detection.lag")
+                .description("Time from a delivery deadline passing to it being announced")
+                .register(meterRegistry);
+        meterRegistry.gauge("inventory.transactions.overdue", this, DeliveryDeadlineScheduler::overdueCount);
+        meterRegistry.gauge("inventory.transactions.open.deliveries", this, DeliveryDeadlineScheduler::openCount);
+
+        worker = new Thread(this::run, "delivery-deadlines");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    @Async("queryExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        long started = System.currentTimeMillis();
+        Map<Long, OpenDelivery> loaded = new HashMap<>();
+        try {
+            // Served by idx_expected_delivery
+            readJdbcTemplate.query("""
+                SELECT id, from_supplier_id, to_supplier_id, product_id, status, expected_delivery_date
+                FROM supply_chain_transactions
+                WHERE status IN ('CONFIRMED', 'IN_TRANSIT') AND expected_delivery_date IS NOT NULL
+                """, rs -> {
+                loaded.put(rs.getLong("id"), new OpenDelivery(rs.getLong("from_supplier_id"),
+                        rs.getLong("to_supplier_id"), rs.getLong("product_id"), rs.getString("status"),
+                        rs.getTimestamp("expected_delivery_date").toLocalDateTime()));
+            });
+        } catch (Exception e) {
+            log.error("Delivery deadline load failed, overdue deliveries are only tracked from new events: {}",
+                    e.getMessage(), e);
+        }
+
+        long now = clock.millis();
+        lock.lock();
+        try {
+            loaded.forEach((transactionId, delivery) -> {
+                if (delivery.dueAt <= now) {
+                    delivery.overdue = true;
+                    overdue++;
+                } else {
+                    deadlines.add(new Deadline(delivery.dueAt, transactionId));
+                }
+                open.put(transactionId, delivery);
+            });
+            loading = false;
+            pending.forEach(this::apply);
+            pending.clear();
+            deadlineChanged.signal();
+        } finally {
+            lock.unlock();
+        }
+        log.info("Loaded {} open deliveries ({} already overdue) into the deadline scheduler in {} ms",
+                loaded.size(), overdue, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Tracks the transaction's delivery deadline while it is confirmed or in transit, and drops it otherwise
+     */
+    public void track(TransactionFacts facts) {
+        if (facts.getTransactionId() == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (loading) {
+                if (pending.size() < MAX_PENDING) {
+                    pending.add(facts);
+                }
+                return;
+            }
+            apply(facts);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int overdueCount() {
+        lock.lock();
+        try {
+            return overdue;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int openCount() {
+        lock.lock();
+        try {
+            return open.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void apply(TransactionFacts facts) {
+        long transactionId = facts.getTransactionId();
+        boolean isOpen = ("CONFIRMED".equals(facts.getStatus()) || "IN_TRANSIT".equals(facts.getStatus()))
+                && facts.getExpectedDeliveryDate() != null && facts.getFromSupplierId() != null
+                && facts.getToSupplierId() != null && facts.getProductId() != null;
+        OpenDelivery current = open.get(transactionId);
+        if (current != null && isOpen && current.expectedDeliveryDate.equals(facts.getExpectedDeliveryDate())) {
+            // Confirmed to in transit keeps the deadline and whether it was already announced
+            current.status = facts.getStatus();
+            return;
+        }
+        if (current != null) {
+            open.remove(transactionId);
+            if (current.overdue) {
+                overdue--;
+            }
+        }
+        if (!isOpen) {
+            return;
+        }
+        OpenDelivery delivery = new OpenDelivery(facts.getFromSupplierId(), facts.getToSupplierId(),
+                facts.getProductId(), facts.getStatus(), facts.getExpectedDeliveryDate());
+        open.put(transactionId, delivery);
+        Deadline deadline = new Deadline(delivery.dueAt, transactionId);
+        deadlines.add(deadline);
+        if (deadlines.peek() == deadline) {
+            deadlineChanged.signal();
+        }
+        // Entries of closed or rescheduled deliveries are only dropped as they surface; rebuild once they dominate
+        if (deadlines.size() > 2 * open.size() + 1024) {
+            deadlines.clear();
+            open.forEach((id, tracked) -> {
+                if (!tracked.overdue) {
+                    deadlines.add(new Deadline(tracked.dueAt, id));
+                }
+            });
+        }
+    }
+
+    private void run() {
+        while (running) {
+            List<OverdueDelivery> due;
+            List<Long> dueAt = new ArrayList<>();
+            lock.lock();
+            try {
+                Deadline next = deadlines.peek();
+                long now = clock.millis();
+                if (next == null) {
+                    deadlineChanged.await();
+                    continue;
+                }
+                if (next.dueAt() > now) {
+                    deadlineChanged.await(next.dueAt() - now, TimeUnit.MILLISECONDS);
+                    continue;
+                }
+                due = takeDue(now, dueAt);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+            announce(due, dueAt);
+        }
+    }
+
+    /**
+     * Marks the deliveries due by {@code now} as overdue and returns them, adding their deadlines to
+     * {@code dueAt}. Heap entries left behind by closed or rescheduled deliveries are dropped.
+     */
+    List<OverdueDelivery> takeDue(long now, List<Long> dueAt) {
+        List<OverdueDelivery> due = new ArrayList<>();
+        lock.lock();
+        try {
+            LocalDateTime detectedAt = LocalDateTime.now(clock);
+            while (!deadlines.isEmpty() && deadlines.peek().dueAt() <= now) {
+                Deadline deadline = deadlines.poll();
+                OpenDelivery delivery = open.get(deadline.transactionId());
+                if (delivery == null || delivery.dueAt != deadline.dueAt() || delivery.overdue) {
+                    continue;
+                }
+                delivery.overdue = true;
+                overdue++;
+                due.add(new OverdueDelivery(deadline.transactionId(), delivery.fromSupplierId,
+                        delivery.toSupplierId, delivery.productId, delivery.status,
+                        delivery.expectedDeliveryDate, detectedAt));
+                dueAt.add(deadline.dueAt());
+            }
+        } finally {
+            lock.unlock();
+        }
+        return due;
+    }
+
+    private void announce(List<OverdueDelivery> due, List<Long> dueAt) {
+        if (due.isEmpty() || !leaderLease.isLeader()) {
+            return;
+        }
+        try {
+            eventPublisher.deliveriesOverdue(due);
+            long now = clock.millis();
+            for (long deadline : dueAt) {
+                detectionLag.record(Duration.ofMillis(now - deadline));
+            }
+            overdueDetected.increment(due.size());
+        } catch (Exception e) {
+            log.error("Could not publish {} overdue deliveries: {}", due.size(), e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package kg.akyl.java.inventory.query.transactions;
+
+import kg.akyl.java.inventory.domain.SupplyChainTransaction.TransactionStatus;
+import kg.akyl.java.inventory.infra.collections.LongIntHashMap;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * Statuses a load of {@code supply_chain_transactions} saw for the transactions that changed shortly before it,
+ * whose events may still be on their way. A view built from the load checks events against it, so a write the
+ * load already contains is not applied on top of it a second time.
+ * <p>
+ * It has to be read in the same snapshot as the load. Transactions that changed longer than the lag window
+ * before the load are assumed to have had their events delivered already. Not thread-safe; views guard it
+ * with their own lock.
+ */
+public final class LoadedTransactionStates {
+    private final LongIntHashMap statuses;
+
+    private LoadedTransactionStates(LongIntHashMap statuses) {
+        this.statuses = statuses;
+    }
+
+    public static LoadedTransactionStates empty() {
+        return new LoadedTransactionStates(new LongIntHashMap());
+    }
+
+    /**
+     * Statuses of the transactions updated at or after {@code changedSince}, read on {@code connection}
+     */
+    public static LoadedTransactionStates load(Connection connection, LocalDateTime changedSince) throws SQLException {
+        LongIntHashMap statuses = new LongIntHashMap(1024);
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT id, status FROM supply_chain_transactions WHERE updated_at >= ?")) {
+            statement.setObject(1, changedSince);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    statuses.put(rs.getLong("id"), TransactionStatus.valueOf(rs.getString("status")).ordinal());
+                }
+            }
+        }
+        return new LoadedTransactionStates(statuses);
+    }
+
+    public int size() {
+        return statuses.size();
+    }
+
+    /**
+     * Whether the load already counted the transaction as recorded
+     */
+    public boolean containsRecorded(Long transactionId) {
+        return transactionId != null && statuses.get(transactionId) != LongIntHashMap.NO_VALUE;
+    }
+
+    /**
+     * Whether the load already shows the transaction in {@code status} or in a status it can only reach through
+     * it. A change that is not contained is remembered, so the same event delivered again is recognised.
+     */
+    public boolean containsChange(Long transactionId, String status) {
+        if (transactionId == null || status == null) {
+            return false;
+        }
+        int known = statuses.get(transactionId);
+        if (known == LongIntHashMap.NO_VALUE) {
+            return false;
+        }
+        TransactionStatus next = TransactionStatus.valueOf(status);
+        if (hasPassed(TransactionStatus.values()[known], next)) {
+            return true;
+        }
+        statuses.put(transactionId, next.ordinal());
+        return false;
+    }
+
+    static boolean hasPassed(TransactionStatus current, TransactionStatus status) {
+        if (current == status) {
+            return true;
+        }
+        for (TransactionStatus next : TransactionStatus.values()) {
+            if (status.canTransitionTo(next) && hasPassed(current, next)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,171 @@
+package kg.akyl.java.inventory.query.transactions;
+
+import kg.akyl.java.inventory.domain.SupplyChainTransaction.TransactionStatus;
+import kg.akyl.java.inventory.domain.SupplyChainTransaction.TransactionType;
+import kg.akyl.java.inventory.infra.events.SupplyChainEventPublisher.TransactionFacts;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Running totals of the supply chain transactions dated on one day.
+ * <p>
+ * A transaction contributes according to its current status: every status is counted, amounts and the
+ * type, connection and product breakdowns leave out cancelled transactions, delivery measures come from
+ * delivered (and later refunded) ones, and confirmed or in-transit ones with an expected delivery date are
+ * tracked by that date for overdue counts. A status change is applied by adding the old state with
+ * {@code sign = -1} and the new state with {@code sign = 1}. A retraction of a state the bucket does not hold,
+ * such as one from an event that arrived out of step with a load, is ignored rather than driving the counts
+ * negative. Buckets merge by plain addition.
+ */
+final class TransactionDayBucket {
+    static final int CONNECTION_COUNT = 0;
+    static final int CONNECTION_VALUE = 1;
+    static final int PRODUCT_COUNT = 0;
+    static final int PRODUCT_QUANTITY = 1;
+    static final int PRODUCT_VALUE = 2;
+
+    long transactions;
+    final long[] byStatus = new long[TransactionStatus.values().length];
+    final long[] byType = new long[TransactionType.values().length];
+    final long[] valueByTypeCents = new long[TransactionType.values().length];
+    long valueCents;
+    long shippingCents;
+    long taxCents;
+    long discountCents;
+    long delivered;
+    double leadTimeHours;
+    long deliveredWithExpectedDate;
+    long deliveredOnTime;
+    // Open transactions by the epoch hour they are expected to be delivered in
+    final TreeMap<Long, Long> openByExpectedHour = new TreeMap<>();
+    // Packed supplier pair -> {count, value in cents}
+    final Map<Long, long[]> connections = new HashMap<>();
+    // Product id -> {count, quantity, value in cents}
+    final Map<Long, long[]> products = new HashMap<>();
+
+    /**
+     * Adds or, with {@code sign = -1}, retracts the transaction; returns false when there was nothing to retract
+     */
+    boolean add(TransactionFacts facts, int sign) {
+        TransactionStatus status = TransactionStatus.valueOf(facts.getStatus());
+        if (sign < 0 && byStatus[status.ordinal()] <= 0) {
+            return false;
+        }
+        transactions += sign;
+        byStatus[status.ordinal()] += sign;
+
+        if (status != TransactionStatus.CANCELLED) {
+            long cents = toCents(facts.getTotalAmount());
+            int type = TransactionType.valueOf(facts.getTransactionType()).ordinal();
+            valueCents += sign * cents;
+            shippingCents += sign * toCents(facts.getShippingCost());
+            taxCents += sign * toCents(facts.getTaxAmount());
+            discountCents += sign * toCents(facts.getDiscountAmount());
+            byType[type] += sign;
+            valueByTypeCents[type] += sign * cents;
+            addTo(connections, pack(facts.getFromSupplierId(), facts.getToSupplierId()), sign, sign * cents);
+            addTo(products, facts.getProductId(), sign,
+                    (long) sign * (facts.getQuantity() != null ? facts.getQuantity() : 0), sign * cents);
+        }
+
+        if ((status == TransactionStatus.CONFIRMED || status == TransactionStatus.IN_TRANSIT)
+                && facts.getExpectedDeliveryDate() != null) {
+            long hour = hourOf(facts.getExpectedDeliveryDate());
+            if (sign > 0 || openByExpectedHour.containsKey(hour)) {
+                openByExpectedHour.merge(hour, (long) sign, (a, b) -> a + b == 0 ? null : a + b);
+            }
+        }
+
+        if ((status == TransactionStatus.DELIVERED || status == TransactionStatus.REFUNDED)
+                && facts.getActualDeliveryDate() != null && (sign > 0 || delivered > 0)) {
+            delivered += sign;
+            leadTimeHours += sign * Duration.between(facts.getTransactionDate(), facts.getActualDeliveryDate())
+                    .toMinutes() / 60.0;
+            if (facts.getExpectedDeliveryDate() != null) {
+                deliveredWithExpectedDate += sign;
+                if (!facts.getActualDeliveryDate().isAfter(facts.getExpectedDeliveryDate())) {
+                    deliveredOnTime += sign;
+                }
+            }
+        }
+        return true;
+    }
+
+    void merge(TransactionDayBucket other) {
+        transactions += other.transactions;
+        for (int i = 0; i < byStatus.length; i++) {
+            byStatus[i] += other.byStatus[i];
+        }
+        for (int i = 0; i < byType.length; i++) {
+            byType[i] += other.byType[i];
+            valueByTypeCents[i] += other.valueByTypeCents[i];
+        }
+        valueCents += other.valueCents;
+        shippingCents += other.shippingCents;
+        taxCents += other.taxCents;
+        discountCents += other.discountCents;
+        delivered += other.delivered;
+        leadTimeHours += other.leadTimeHours;
+        deliveredWithExpectedDate += other.deliveredWithExpectedDate;
+        deliveredOnTime += other.deliveredOnTime;
+        other.openByExpectedHour.forEach((hour, count) -> openByExpectedHour.merge(hour, count, Long::sum));
+        other.connections.forEach((key, totals) -> addTo(connections, key, totals));
+        other.products.forEach((key, totals) -> addTo(products, key, totals));
+    }
+
+    /**
+     * Open transactions whose expected delivery hour has passed
+     */
+    long overdue(LocalDateTime now) {
+        long overdue = 0;
+        for (long count : openByExpectedHour.headMap(hourOf(now)).values()) {
+            overdue += count;
+        }
+        return overdue;
+    }
+
+    boolean isEmpty() {
+        return transactions == 0;
+    }
+
+    static long pack(long fromSupplierId, long toSupplierId) {
+        return (fromSupplierId << 32) | (toSupplierId & 0xFFFFFFFFL);
+    }
+
+    static long unpackFrom(long key) {
+        return key >>> 32;
+    }
+
+    static long unpackTo(long key) {
+        return key & 0xFFFFFFFFL;
+    }
+
+    private static void addTo(Map<Long, long[]> map, long key, long... deltas) {
+        if (deltas[0] < 0 && !map.containsKey(key)) {
+            return;
+        }
+        long[] totals = map.computeIfAbsent(key, k -> new long[deltas.length]);
+        for (int i = 0; i < deltas.length; i++) {
+            totals[i] += deltas[i];
+        }
+        // The count comes first; nothing is left once it reaches zero
+        if (totals[0] == 0) {
+            map.remove(key);
+        }
+    }
+
+    private static long hourOf(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 3600;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount != null ? amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue() : 0L;
+    }
+}
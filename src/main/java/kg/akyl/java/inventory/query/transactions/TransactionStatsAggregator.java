@@ -0,0 +1,397 @@
+package kg.akyl.java.inventory.query.transactions;
+
+import kg.akyl.java.inventory.domain.SupplyChainTransaction.TransactionStatus;
+import kg.akyl.java.inventory.domain.SupplyChainTransaction.TransactionType;
+import kg.akyl.java.inventory.domain.dto.DailyTransactionDTO;
+import kg.akyl.java.inventory.domain.dto.MonthlyTransactionDTO;
+import kg.akyl.java.inventory.domain.dto.ProductTransactionDTO;
+import kg.akyl.java.inventory.domain.dto.SupplierConnectionDTO;
+import kg.akyl.java.inventory.domain.dto.TransactionStatsDTO;
+import kg.akyl.java.inventory.infra.events.SupplyChainEventPublisher.TransactionFacts;
+import kg.akyl.java.inventory.infra.jdbc.StreamingQueries;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Supply chain transaction statistics kept as one {@link TransactionDayBucket} per transaction date, so any
+ * range inside the retention is answered by merging its days instead of scanning the transactions.
+ * <p>
+ * Recorded transactions are added to the bucket of their date; a status change retracts the transaction as it
+ * was and adds it back in its new status. The buckets are loaded from {@code supply_chain_transactions} on
+ * startup and reloaded nightly, which also drops days that fell out of the retention. Events that arrive during
+ * a load are applied again on top of it, and events arriving after it are applied as usual, except for writes
+ * the load already contains according to the {@link LoadedTransactionStates} read in its snapshot.
+ */
+@Component
+@Slf4j
+public class TransactionStatsAggregator {
+    private static final int MAX_PENDING = 100_000;
+    private static final int TOP_LIMIT = 10;
+
+    @Autowired
+    @Qualifier("readJdbcTemplate")
+    private JdbcTemplate readJdbcTemplate;
+
+    @Value("${inventory.transaction-stats.retention-days:730}")
+    private int retentionDays;
+
+    @Value("${inventory.read-model.bootstrap-fetch-size:5000}")
+    private int fetchSize;
+
+    @Value("${inventory.supply-chain.event-lag-window:15m}")
+    private Duration eventLagWindow;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private TreeMap<Long, TransactionDayBucket> buckets;
+    private LoadedTransactionStates loadedStates = LoadedTransactionStates.empty();
+    private boolean loading;
+    private final List<Delta> pending = new ArrayList<>();
+
+    /**
+     * A recorded transaction, or a change from {@code previous} to {@code current}
+     */
+    private record Delta(TransactionFacts previous, TransactionFacts current) {
+
+        boolean containedIn(LoadedTransactionStates states) {
+            return previous == null
+                    ? states.containsRecorded(current.getTransactionId())
+                    : states.containsChange(current.getTransactionId(), current.getStatus());
+        }
+    }
+
+    @Async("queryExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        reload();
+    }
+
+    @Scheduled(cron = "${inventory.transaction-stats.reload-cron:0 15 2 * * *}")
+    public void reload() {
+        lock.lock();
+        try {
+            if (loading) {
+                return;
+            }
+            loading = true;
+            pending.clear();
+        } finally {
+            lock.unlock();
+        }
+
+        long started = System.currentTimeMillis();
+        long oldestDay = oldestDay();
+        LocalDateTime changedSince = LocalDateTime.now().minus(eventLagWindow);
+        TreeMap<Long, TransactionDayBucket> loaded = new TreeMap<>();
+        long[] rows = new long[1];
+        LoadedTransactionStates states;
+        try {
+            // Both queries read one snapshot, so the states match the buckets
+            states = StreamingQueries.inTransaction(readJdbcTemplate, true,
+                    (ConnectionCallback<LoadedTransactionStates>) connection -> {
+                TransactionFacts facts = new TransactionFacts();
+                StreamingQueries.stream(connection, """
+                        SELECT from_supplier_id, to_supplier_id, product_id, quantity, transaction_type, status,
+                               total_amount, shipping_cost, tax_amount, discount_amount,
+                               transaction_date, expected_delivery_date, actual_delivery_date
+                        FROM supply_chain_transactions
+                        WHERE transaction_date >= ?
+                        """, fetchSize, rs -> {
+                    facts.setFromSupplierId(rs.getLong("from_supplier_id"));
+                    facts.setToSupplierId(rs.getLong("to_supplier_id"));
+                    facts.setProductId(rs.getLong("product_id"));
+                    facts.setQuantity(rs.getInt("quantity"));
+                    facts.setTransactionType(rs.getString("transaction_type"));
+                    facts.setStatus(rs.getString("status"));
+                    facts.setTotalAmount(rs.getBigDecimal("total_amount"));
+                    facts.setShippingCost(rs.getBigDecimal("shipping_cost"));
+                    facts.setTaxAmount(rs.getBigDecimal("tax_amount"));
+                    facts.setDiscountAmount(rs.getBigDecimal("discount_amount"));
+                    facts.setTransactionDate(toDateTime(rs.getTimestamp("transaction_date")));
+                    facts.setExpectedDeliveryDate(toDateTime(rs.getTimestamp("expected_delivery_date")));
+                    facts.setActualDeliveryDate(toDateTime(rs.getTimestamp("actual_delivery_date")));
+                    apply(loaded, oldestDay, facts, 1);
+                    rows[0]++;
+                }, LocalDate.ofEpochDay(oldestDay).atStartOfDay());
+                return LoadedTransactionStates.load(connection, changedSince);
+            });
+        } catch (Exception e) {
+            log.error("Transaction statistics load failed: {}", e.getMessage(), e);
+            lock.lock();
+            try {
+                loading = false;
+                pending.clear();
+            } finally {
+                lock.unlock();
+            }
+            return;
+        }
+
+        int replayed = 0;
+        lock.lock();
+        try {
+            for (Delta delta : pending) {
+                if (!delta.containedIn(states)) {
+                    apply(loaded, oldestDay, delta);
+                    replayed++;
+                }
+            }
+            pending.clear();
+            buckets = loaded;
+            loadedStates = states;
+            loading = false;
+        } finally {
+            lock.unlock();
+        }
+        log.info("Loaded {} transactions into {} daily statistics buckets in {} ms, replayed {} events",
+                rows[0], loaded.size(), System.currentTimeMillis() - started, replayed);
+    }
+
+    public boolean isReady() {
+        lock.lock();
+        try {
+            return buckets != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void recordTransaction(TransactionFacts facts) {
+        record(new Delta(null, facts));
+    }
+
+    /**
+     * Moves a transaction from how it was, {@code previous}, to how it is now, {@code current}
+     */
+    public void recordChange(TransactionFacts previous, TransactionFacts current) {
+        record(new Delta(previous, current));
+    }
+
+    /**
+     * Statistics of the transactions dated within {@code [from, to]}, both days inclusive,
+     * or empty until the buckets have been loaded.
+     */
+    public Optional<TransactionStatsDTO> stats(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("fromDate must not be after toDate");
+        }
+        if (from.toEpochDay() < oldestDay()) {
+            throw new IllegalArgumentException("Transaction statistics are kept for the last " + retentionDays + " days");
+        }
+
+        TransactionDayBucket total = new TransactionDayBucket();
+        // Daily series as {day, count, value in cents}, in day order
+        TreeMap<Long, long[]> days = new TreeMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        long overdue = 0;
+        lock.lock();
+        try {
+            if (buckets == null) {
+                return Optional.empty();
+            }
+            // Only the days that have transactions, however far the range reaches
+            for (Map.Entry<Long, TransactionDayBucket> entry
+                    : buckets.subMap(from.toEpochDay(), true, to.toEpochDay(), true).entrySet()) {
+                TransactionDayBucket bucket = entry.getValue();
+                total.merge(bucket);
+                overdue += bucket.overdue(now);
+                days.put(entry.getKey(), new long[]{bucket.transactions, bucket.valueCents});
+            }
+        } finally {
+            lock.unlock();
+        }
+        return Optional.of(toStats(total, days, overdue));
+    }
+
+    private TransactionStatsDTO toStats(TransactionDayBucket total, TreeMap<Long, long[]> days, long overdue) {
+        long counted = total.transactions - total.byStatus[TransactionStatus.CANCELLED.ordinal()];
+
+        Map<String, Long> byType = new LinkedHashMap<>();
+        Map<String, BigDecimal> valueByType = new LinkedHashMap<>();
+        for (TransactionType type : TransactionType.values()) {
+            byType.put(type.name(), total.byType[type.ordinal()]);
+            valueByType.put(type.name(), BigDecimal.valueOf(total.valueByTypeCents[type.ordinal()], 2));
+        }
+
+        List<DailyTransactionDTO> daily = new ArrayList<>(days.size());
+        Map<YearMonth, long[]> months = new TreeMap<>();
+        days.forEach((day, totals) -> {
+            LocalDate date = LocalDate.ofEpochDay(day);
+            daily.add(new DailyTransactionDTO(date.atStartOfDay(), totals[0], BigDecimal.valueOf(totals[1], 2)));
+            long[] month = months.computeIfAbsent(YearMonth.from(date), m -> new long[2]);
+            month[0] += totals[0];
+            month[1] += totals[1];
+        });
+        List<MonthlyTransactionDTO> monthly = new ArrayList<>(months.size());
+        months.forEach((month, totals) -> monthly.add(new MonthlyTransactionDTO(month.toString(), totals[0],
+                BigDecimal.valueOf(totals[1], 2), totals[0] > 0 ? totals[1] / 100.0 / totals[0] : 0.0)));
+
+        BigDecimal value = BigDecimal.valueOf(total.valueCents, 2);
+        return TransactionStatsDTO.builder()
+                .totalTransactions(total.transactions)
+                .totalTransactionValue(value)
+                .averageTransactionValue(counted > 0
+                        ? value.divide(BigDecimal.valueOf(counted), 2, RoundingMode.HALF_UP) : BigDecimal.ZERO)
+                .pendingTransactions(total.byStatus[TransactionStatus.PENDING.ordinal()])
+                .confirmedTransactions(total.byStatus[TransactionStatus.CONFIRMED.ordinal()])
+                .inTransitTransactions(total.byStatus[TransactionStatus.IN_TRANSIT.ordinal()])
+                .deliveredTransactions(total.byStatus[TransactionStatus.DELIVERED.ordinal()])
+                .cancelledTransactions(total.byStatus[TransactionStatus.CANCELLED.ordinal()])
+                .refundedTransactions(total.byStatus[TransactionStatus.REFUNDED.ordinal()])
+                .transactionsByType(byType)
+                .valueByType(valueByType)
+                .monthlyTransactions(monthly)
+                .dailyTransactions(daily)
+                .averageLeadTime(total.delivered > 0 ? total.leadTimeHours / total.delivered / 24 : null)
+                .onTimeDeliveryRate(total.deliveredWithExpectedDate > 0
+                        ? total.deliveredOnTime * 100.0 / total.deliveredWithExpectedDate : null)
+                .overdueDeliveries((int) overdue)
+                .totalShippingCost(BigDecimal.valueOf(total.shippingCents, 2))
+                .totalTaxAmount(BigDecimal.valueOf(total.taxCents, 2))
+                .totalDiscountAmount(BigDecimal.valueOf(total.discountCents, 2))
+                // Total amounts already include shipping and tax, and have the discount taken off
+                .netTransactionValue(BigDecimal.valueOf(total.valueCents - total.shippingCents - total.taxCents, 2))
+                .topSupplierConnections(topConnections(total))
+                .topTransactedProducts(topProducts(total))
+                .build();
+    }
+
+    private List<SupplierConnectionDTO> topConnections(TransactionDayBucket total) {
+        List<Map.Entry<Long, long[]>> top = top(total.connections, TransactionDayBucket.CONNECTION_VALUE);
+        List<Long> supplierIds = new ArrayList<>();
+        for (Map.Entry<Long, long[]> entry : top) {
+            supplierIds.add(TransactionDayBucket.unpackFrom(entry.getKey()));
+            supplierIds.add(TransactionDayBucket.unpackTo(entry.getKey()));
+        }
+        Map<Long, String> names = new HashMap<>();
+        if (!supplierIds.isEmpty()) {
+            readJdbcTemplate.query("SELECT id, name FROM suppliers WHERE id IN (" + placeholders(supplierIds) + ")",
+                    rs -> {
+                        names.put(rs.getLong("id"), rs.getString("name"));
+                    }, supplierIds.toArray());
+        }
+        List<SupplierConnectionDTO> result = new ArrayList<>(top.size());
+        for (Map.Entry<Long, long[]> entry : top) {
+            long fromId = TransactionDayBucket.unpackFrom(entry.getKey());
+            long toId = TransactionDayBucket.unpackTo(entry.getKey());
+            long count = entry.getValue()[TransactionDayBucket.CONNECTION_COUNT];
+            long cents = entry.getValue()[TransactionDayBucket.CONNECTION_VALUE];
+            result.add(new SupplierConnectionDTO(fromId, names.get(fromId), toId, names.get(toId), (int) count,
+                    BigDecimal.valueOf(cents, 2), cents / 100.0 / count));
+        }
+        return result;
+    }
+
+    private List<ProductTransactionDTO> topProducts(TransactionDayBucket total) {
+        List<Map.Entry<Long, long[]>> top = top(total.products, TransactionDayBucket.PRODUCT_VALUE);
+        List<Long> productIds = top.stream().map(Map.Entry::getKey).toList();
+        // Sku and name by product id
+        Map<Long, String[]> names = new HashMap<>();
+        if (!productIds.isEmpty()) {
+            readJdbcTemplate.query("SELECT id, sku, name FROM products WHERE id IN (" + placeholders(productIds) + ")",
+                    rs -> {
+                        names.put(rs.getLong("id"), new String[]{rs.getString("sku"), rs.getString("name")});
+                    }, productIds.toArray());
+        }
+        List<ProductTransactionDTO> result = new ArrayList<>(top.size());
+        for (Map.Entry<Long, long[]> entry : top) {
+            String[] skuAndName = names.getOrDefault(entry.getKey(), new String[2]);
+            long[] totals = entry.getValue();
+            result.add(new ProductTransactionDTO(entry.getKey(), skuAndName[0], skuAndName[1],
+                    (int) totals[TransactionDayBucket.PRODUCT_QUANTITY],
+                    BigDecimal.valueOf(totals[TransactionDayBucket.PRODUCT_VALUE], 2),
+                    (int) totals[TransactionDayBucket.PRODUCT_COUNT]));
+        }
+        return result;
+    }
+
+    private static List<Map.Entry<Long, long[]>> top(Map<Long, long[]> totals, int valueIndex) {
+        return totals.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<Long, long[]> entry) -> entry.getValue()[valueIndex])
+                        .reversed())
+                .limit(TOP_LIMIT)
+                .toList();
+    }
+
+    private static String placeholders(List<Long> ids) {
+        return String.join(",", Collections.nCopies(ids.size(), "?"));
+    }
+
+    private void record(Delta delta) {
+        lock.lock();
+        try {
+            if (buckets != null && !delta.containedIn(loadedStates)) {
+                apply(buckets, oldestDay(), delta);
+            }
+            if (loading && pending.size() < MAX_PENDING) {
+                pending.add(delta);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void apply(Map<Long, TransactionDayBucket> buckets, long oldestDay, Delta delta) {
+        if (delta.previous() != null) {
+            apply(buckets, oldestDay, delta.previous(), -1);
+        }
+        apply(buckets, oldestDay, delta.current(), 1);
+    }
+
+    private static void apply(Map<Long, TransactionDayBucket> buckets, long oldestDay, TransactionFacts facts, int sign) {
+        if (facts.getTransactionDate() == null || facts.getStatus() == null || facts.getTransactionType() == null
+                || facts.getFromSupplierId() == null || facts.getToSupplierId() == null || facts.getProductId() == null) {
+            return;
+        }
+        long day = facts.getTransactionDate().toLocalDate().toEpochDay();
+        if (day < oldestDay) {
+            return;
+        }
+        TransactionDayBucket bucket = buckets.get(day);
+        if (bucket == null) {
+            if (sign < 0) {
+                return;
+            }
+            bucket = new TransactionDayBucket();
+            buckets.put(day, bucket);
+        }
+        bucket.add(facts, sign);
+        if (bucket.isEmpty()) {
+            buckets.remove(day);
+        }
+    }
+
+    private long oldestDay() {
+        return LocalDate.now().toEpochDay() - retentionDays + 1;
+    }
+
+    private static LocalDateTime toDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -1,18 +1,25 @@
 package kg.akyl.java.inventory.web;
 
 import kg.akyl.java.inventory.query.handlers.AnalyticsQueryHandler;
+import kg.akyl.java.inventory.query.projections.CategoryStockProjection;
+import kg.akyl.java.inventory.query.projections.DistinctCustomersProjection;
 import kg.akyl.java.inventory.query.projections.InventoryAnalyticsProjection;
+import kg.akyl.java.inventory.query.projections.SalePercentilesProjection;
 import kg.akyl.java.inventory.query.projections.SalesAnalyticsProjection;
+import kg.akyl.java.inventory.query.projections.TopSellerProjection;
+import kg.akyl.java.inventory.query.topk.TopSellerMetric;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
@@ -28,7 +35,6 @@ public class AnalyticsController {
     private Executor queryExecutor;
 
     @GetMapping("/sales")
-    @Async("queryExecutor")
     public CompletableFuture<ResponseEntity<List<SalesAnalyticsProjection>>> getSalesAnalytics(
             @RequestParam String fromDate,
             @RequestParam String toDate) {
@@ -41,7 +47,6 @@ public class AnalyticsController {
     }
 
     @GetMapping("/inventory")
-    @Async("queryExecutor")
     public CompletableFuture<ResponseEntity<List<InventoryAnalyticsProjection>>> getInventoryAnalytics() {
         return CompletableFuture.supplyAsync(() -> {
             List<InventoryAnalyticsProjection> analytics = analyticsQueryHandler.getInventoryAnalytics();
@@ -49,8 +54,12 @@ public class AnalyticsController {
         }, queryExecutor);
     }
 
+    @GetMapping("/inventory/stock")
+    public CompletableFuture<ResponseEntity<List<CategoryStockProjection>>> getCategoryStock() {
+        return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(analyticsQueryHandler.getCategoryStock()), queryExecutor);
+    }
+
     @GetMapping("/top-selling")
-    @Async("queryExecutor")
     public CompletableFuture<ResponseEntity<List<SalesAnalyticsProjection>>> getTopSellingProducts(
             @RequestParam(defaultValue = "10") int limit,
             @RequestParam String fromDate,
@@ -62,4 +71,53 @@ public class AnalyticsController {
             return ResponseEntity.ok(topSelling);
         }, queryExecutor);
     }
+
+    /**
+     * Top sellers by {@code quantity} or {@code revenue}. Estimates carry a max error;
+     * {@code exact=true} computes the answer in SQL instead.
+     */
+    @GetMapping("/top-sellers")
+    public CompletableFuture<ResponseEntity<List<TopSellerProjection>>> getTopSellers(
+            @RequestParam(defaultValue = "revenue") String by,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam String fromDate,
+            @RequestParam String toDate,
+            @RequestParam(defaultValue = "false") boolean exact) {
+        TopSellerMetric metric = TopSellerMetric.from(by);
+        return CompletableFuture.supplyAsync(() -> {
+            LocalDateTime from = LocalDateTime.parse(fromDate);
+            LocalDateTime to = LocalDateTime.parse(toDate);
+            return ResponseEntity.ok(analyticsQueryHandler.getTopSellers(metric, limit, from, to, exact));
+        }, queryExecutor);
+    }
+
+    /**
+     * Approximate distinct customers per category; dates are whole days, both inclusive.
+     */
+    @GetMapping("/customers/distinct")
+    public CompletableFuture<ResponseEntity<List<DistinctCustomersProjection>>> getDistinctCustomers(
+            @RequestParam String fromDate,
+            @RequestParam String toDate,
+            @RequestParam(required = false) String category) {
+        return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(analyticsQueryHandler.getDistinctCustomers(
+                LocalDate.parse(fromDate), LocalDate.parse(toDate), category)), queryExecutor);
+    }
+
+    /**
+     * Approximate sale amount percentiles per category; dates are whole days, both inclusive.
+     */
+    @GetMapping("/sales/percentiles")
+    public CompletableFuture<ResponseEntity<List<SalePercentilesProjection>>> getSalePercentiles(
+            @RequestParam String fromDate,
+            @RequestParam String toDate,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "0.5,0.9,0.99") List<Double> quantiles) {
+        return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(analyticsQueryHandler.getSalePercentiles(
+                LocalDate.parse(fromDate), LocalDate.parse(toDate), category, quantiles)), queryExecutor);
+    }
+
+    @ExceptionHandler({IllegalArgumentException.class, DateTimeParseException.class})
+    public ResponseEntity<String> handleBadRequest(RuntimeException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
 }
@@ -1,29 +1,55 @@
 package kg.akyl.java.inventory.web;
 
 import kg.akyl.java.inventory.command.commands.UpdateProductQuantityCommand;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import kg.akyl.java.inventory.infra.batch.AdjustmentStreamProcessor;
 import kg.akyl.java.inventory.infra.batch.BatchInventoryProcessor;
+import kg.akyl.java.inventory.infra.batch.BulkJob;
+import kg.akyl.java.inventory.infra.batch.BulkJobManager;
+import kg.akyl.java.inventory.infra.batch.BulkProductImporter;
+import kg.akyl.java.inventory.infra.batch.ProductImportResult;
+import kg.akyl.java.inventory.infra.export.DataFormat;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.net.URI;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/bulk")
+@Slf4j
 public class BulkOperationsController {
     @Autowired
     private BatchInventoryProcessor batchProcessor;
 
+    @Autowired
+    private BulkProductImporter productImporter;
+
+    @Autowired
+    private AdjustmentStreamProcessor adjustmentStreamProcessor;
+
+    @Autowired
+    private BulkJobManager bulkJobManager;
+
     @PostMapping("/inventory/adjustments")
-    @Async("commandExecutor")
     public CompletableFuture<ResponseEntity<BatchInventoryProcessor.BatchResult>> processBulkAdjustments(
             @RequestBody List<BulkInventoryAdjustmentRequest> requests) {
 
@@ -37,7 +63,6 @@ public class BulkOperationsController {
     }
 
     @PostMapping("/inventory/quantity-updates")
-    @Async("commandExecutor")
     public CompletableFuture<ResponseEntity<String>> processBulkQuantityUpdates(
             @RequestBody List<BulkQuantityUpdateRequest> requests) {
 
@@ -46,7 +71,74 @@ public class BulkOperationsController {
                 .collect(Collectors.toList());
 
         return batchProcessor.processBatchQuantityUpdates(commands)
-                .thenApply(v -> ResponseEntity.ok("Batch processing initiated for " + commands.size() + " updates"));
+                .thenApply(result -> ResponseEntity.ok("Processed " + commands.size() + " updates: "
+                        + result.getSuccessCount() + " succeeded, " + result.getFailureCount() + " failed"));
+    }
+
+    /**
+     * NDJSON adjustments in, one NDJSON result per input line out, streamed as chunks complete.
+     * Each line is {@code {"productId":1,"newQuantity":10,"reason":"..."}}.
+     */
+    @PostMapping(value = "/inventory/adjustments/stream", consumes = "application/x-ndjson")
+    public void streamBulkAdjustments(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        BulkJob progress = new BulkJob("inventory-adjustments", null, null);
+        adjustmentStreamProcessor.process(request.getInputStream(), response.getOutputStream(), progress);
+        log.info("Streamed {} adjustment lines, {} failed", progress.getLinesRead(), progress.getFailed());
+    }
+
+    /**
+     * Same input as the streaming endpoint, processed in the background. Poll the returned job for progress
+     * and fetch the per-line results from {@code /api/bulk/jobs/{id}/results} once it has finished.
+     */
+    @PostMapping(value = "/jobs/inventory-adjustments", consumes = "application/x-ndjson")
+    public ResponseEntity<BulkJob> submitBulkAdjustmentJob(HttpServletRequest request) throws IOException {
+        BulkJob job = bulkJobManager.submitAdjustments(request.getInputStream());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/bulk/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<BulkJob> getJob(@PathVariable String id) {
+        BulkJob job = bulkJobManager.getJob(id);
+        return job != null ? ResponseEntity.ok(job) : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping(value = "/jobs/{id}/results", produces = "application/x-ndjson")
+    public ResponseEntity<Resource> getJobResults(@PathVariable String id) throws IOException {
+        BulkJob job = bulkJobManager.getJob(id);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!job.isFinished()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        Resource results = bulkJobManager.getResults(job);
+        return results != null ? ResponseEntity.ok(results) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Streams a CSV or NDJSON product catalog from the request body into the database.
+     * Runs on the request thread because it consumes the body as it arrives.
+     */
+    @PostMapping("/products/import")
+    public ResponseEntity<ProductImportResult> importProducts(
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletRequest request) throws IOException {
+        DataFormat importFormat = DataFormat.from(format);
+        return ResponseEntity.ok(productImporter.importProducts(request.getInputStream(), importFormat));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<String> handleBusy(TaskRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Too many bulk operations in progress");
     }
 
     @Setter
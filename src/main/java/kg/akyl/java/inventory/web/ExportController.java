@@ -0,0 +1,91 @@
+package kg.akyl.java.inventory.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import kg.akyl.java.inventory.infra.export.DataFormat;
+import kg.akyl.java.inventory.infra.export.ExportWriter;
+import kg.akyl.java.inventory.query.handlers.ExportQueryHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streaming exports. Rows are read in keyset-paged chunks and written to the response chunk by chunk,
+ * so export size does not affect heap usage. Writes run on the request thread and block on slow clients,
+ * without holding a database connection.
+ */
+@RestController
+@RequestMapping("/api/export")
+@Slf4j
+public class ExportController {
+    @Autowired
+    private ExportQueryHandler exportQueryHandler;
+
+    @GetMapping("/sales")
+    public void exportSales(@RequestParam(required = false) String fromDate,
+                            @RequestParam(required = false) String toDate,
+                            @RequestParam(required = false) String customerId,
+                            @RequestParam(required = false) Long productId,
+                            @RequestParam(defaultValue = "ndjson") String format,
+                            HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        DataFormat exportFormat = DataFormat.from(format);
+        LocalDateTime from = fromDate != null ? LocalDateTime.parse(fromDate) : null;
+        LocalDateTime to = toDate != null ? LocalDateTime.parse(toDate) : null;
+
+        long started = System.currentTimeMillis();
+        try (ExportWriter writer = new ExportWriter(exportFormat, open(request, response, exportFormat, "sales"),
+                ExportQueryHandler.SALE_COLUMNS)) {
+            exportQueryHandler.exportSales(from, to, customerId, productId, writer);
+            log.info("Exported {} sales in {} ms", writer.getRows(), System.currentTimeMillis() - started);
+        }
+    }
+
+    @GetMapping("/products")
+    public void exportProducts(@RequestParam(defaultValue = "ndjson") String format,
+                               HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+        DataFormat exportFormat = DataFormat.from(format);
+
+        long started = System.currentTimeMillis();
+        try (ExportWriter writer = new ExportWriter(exportFormat, open(request, response, exportFormat, "products"),
+                ExportQueryHandler.PRODUCT_COLUMNS)) {
+            exportQueryHandler.exportProducts(writer);
+            log.info("Exported {} products in {} ms", writer.getRows(), System.currentTimeMillis() - started);
+        }
+    }
+
+    @ExceptionHandler({IllegalArgumentException.class, DateTimeParseException.class})
+    public ResponseEntity<String> handleBadRequest(RuntimeException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    private OutputStream open(HttpServletRequest request, HttpServletResponse response,
+                              DataFormat format, String name) throws IOException {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + name + "." + format.getExtension() + "\"");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            // syncFlush so periodic flushes reach the client instead of waiting in the deflater
+            return new GZIPOutputStream(response.getOutputStream(), 64 * 1024, true);
+        }
+        return response.getOutputStream();
+    }
+}
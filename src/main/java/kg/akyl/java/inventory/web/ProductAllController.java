@@ -9,6 +9,7 @@ import kg.akyl.java.inventory.domain.dto.ProductDTO;
 import kg.akyl.java.inventory.domain.dto.ProductStatsDTO;
 import kg.akyl.java.inventory.domain.request.StockUpdateRequest;
 import kg.akyl.java.inventory.domain.response.ApiResponse;
+import kg.akyl.java.inventory.domain.response.CursorPage;
 import kg.akyl.java.inventory.infra.services.ProductService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -57,6 +58,25 @@ public class ProductAllController {
         return ResponseEntity.ok(ApiResponse.success(products, "Products retrieved successfully"));
     }
 
+    /**
+     * Get products with keyset pagination, most recently updated first
+     */
+    @GetMapping("/cursor")
+    @Operation(summary = "Get products by cursor", description = "Keyset-paginated product listing ordered by updatedAt and id")
+    public ResponseEntity<ApiResponse<CursorPage<ProductDTO>>> getProductsByCursor(
+            @Parameter(description = "Cursor from the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, clamped to 1..500")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Also return the total count (runs a COUNT query)")
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        log.debug("GET /api/v1/products/cursor - size: {}, includeTotal: {}", size, includeTotal);
+
+        CursorPage<ProductDTO> products = productService.getProductsPage(cursor, size, includeTotal);
+        return ResponseEntity.ok(ApiResponse.success(products, "Products retrieved successfully"));
+    }
+
     /**
      * Get product by ID
      */
@@ -4,6 +4,7 @@ import kg.akyl.java.inventory.command.commands.CreateProductCommand;
 import kg.akyl.java.inventory.command.commands.ReserveProductCommand;
 import kg.akyl.java.inventory.command.commands.UpdateProductQuantityCommand;
 import kg.akyl.java.inventory.command.handlers.ProductCommandHandler;
+import kg.akyl.java.inventory.domain.response.CursorPage;
 import kg.akyl.java.inventory.query.handlers.ProductQueryHandler;
 import kg.akyl.java.inventory.query.projections.InventoryStatusProjection;
 import kg.akyl.java.inventory.query.projections.ProductProjection;
@@ -13,7 +14,6 @@ import lombok.Setter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
@@ -40,7 +40,6 @@ public class ProductController {
 
     // COMMAND ENDPOINTS
     @PostMapping
-    @Async("commandExecutor")
     public CompletableFuture<ResponseEntity<String>> createProduct(@RequestBody CreateProductRequest request) {
         return CompletableFuture.supplyAsync(() -> {
             try {
@@ -62,7 +61,6 @@ public class ProductController {
     }
 
     @PutMapping("/{productId}/quantity")
-    @Async("commandExecutor")
     public CompletableFuture<ResponseEntity<String>> updateQuantity(
             @PathVariable Long productId,
             @RequestBody UpdateQuantityRequest request) {
@@ -81,7 +79,6 @@ public class ProductController {
     }
 
     @PostMapping("/{productId}/reserve")
-    @Async("commandExecutor")
     public CompletableFuture<ResponseEntity<String>> reserveProduct(
             @PathVariable Long productId,
             @RequestBody ReserveProductRequest request) {
@@ -102,7 +99,6 @@ public class ProductController {
 
     // QUERY ENDPOINTS
     @GetMapping("/{id}")
-    @Async("queryExecutor")
     public CompletableFuture<ResponseEntity<ProductProjection>> getProduct(@PathVariable Long id) {
         return CompletableFuture.supplyAsync(() -> {
             Optional<ProductProjection> product = productQueryHandler.findById(id);
@@ -112,7 +108,6 @@ public class ProductController {
     }
 
     @GetMapping("/sku/{sku}")
-    @Async("queryExecutor")
     public CompletableFuture<ResponseEntity<ProductProjection>> getProductBySku(@PathVariable String sku) {
         return CompletableFuture.supplyAsync(() -> {
             Optional<ProductProjection> product = productQueryHandler.findBySku(sku);
@@ -122,7 +117,6 @@ public class ProductController {
     }
 
     @GetMapping("/category/{category}")
-    @Async("queryExecutor")
     public CompletableFuture<ResponseEntity<List<ProductProjection>>> getProductsByCategory(
             @PathVariable String category,
             @RequestParam(defaultValue = "50") int limit,
@@ -133,8 +127,17 @@ public class ProductController {
         }, queryExecutor);
     }
 
+    @GetMapping("/category/{category}/cursor")
+    public CompletableFuture<ResponseEntity<CursorPage<ProductProjection>>> getProductsByCategoryCursor(
+            @PathVariable String category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return CompletableFuture.supplyAsync(() ->
+                ResponseEntity.ok(productQueryHandler.findByCategoryPage(category, cursor, size, includeTotal)), queryExecutor);
+    }
+
     @GetMapping("/search")
-    @Async("queryExecutor")
     public CompletableFuture<ResponseEntity<List<ProductProjection>>> searchProducts(
             @RequestParam String q,
             @RequestParam(defaultValue = "50") int limit,
@@ -146,9 +149,8 @@ public class ProductController {
     }
 
     @GetMapping("/low-stock")
-    @Async("queryExecutor")
     public CompletableFuture<ResponseEntity<List<InventoryStatusProjection>>> getLowStockProducts(
-            @RequestParam(defaultValue = "10") int threshold) {
+            @RequestParam(required = false) Integer threshold) {
         return CompletableFuture.supplyAsync(() -> {
             List<InventoryStatusProjection> products = productQueryHandler.getLowStockProducts(threshold);
             return ResponseEntity.ok(products);
@@ -3,13 +3,14 @@ package kg.akyl.java.inventory.web;
 import kg.akyl.java.inventory.command.commands.ProcessSaleCommand;
 import kg.akyl.java.inventory.command.handlers.SaleCommandHandler;
 import kg.akyl.java.inventory.domain.Sale;
+import kg.akyl.java.inventory.domain.response.CursorPage;
+import kg.akyl.java.inventory.infra.pagination.CursorCodec;
 import kg.akyl.java.inventory.infra.repositories.SaleRepository;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
@@ -36,7 +37,6 @@ public class SaleController {
     private Executor queryExecutor;
 
     @PostMapping
-    @Async("commandExecutor")
     public CompletableFuture<ResponseEntity<String>> processSale(@RequestBody ProcessSaleRequest request) {
         return CompletableFuture.supplyAsync(() -> {
             try {
@@ -56,7 +56,6 @@ public class SaleController {
     }
 
     @GetMapping("/customer/{customerId}")
-    @Async("queryExecutor")
     public CompletableFuture<ResponseEntity<List<Sale>>> getSalesByCustomer(@PathVariable String customerId) {
         return CompletableFuture.supplyAsync(() -> {
             List<Sale> sales = saleRepository.findByCustomerId(customerId);
@@ -65,7 +64,6 @@ public class SaleController {
     }
 
     @GetMapping("/product/{productId}")
-    @Async("queryExecutor")
     public CompletableFuture<ResponseEntity<List<Sale>>> getSalesByProduct(@PathVariable Long productId) {
         return CompletableFuture.supplyAsync(() -> {
             List<Sale> sales = saleRepository.findByProductId(productId);
@@ -74,7 +72,6 @@ public class SaleController {
     }
 
     @GetMapping("/date-range")
-    @Async("queryExecutor")
     public CompletableFuture<ResponseEntity<List<Sale>>> getSalesByDateRange(
             @RequestParam String fromDate,
             @RequestParam String toDate) {
@@ -86,6 +83,42 @@ public class SaleController {
         }, queryExecutor);
     }
 
+    @GetMapping("/date-range/cursor")
+    public CompletableFuture<ResponseEntity<CursorPage<Sale>>> getSalesByDateRangeCursor(
+            @RequestParam String fromDate,
+            @RequestParam String toDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "100") int requestedSize,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        int size = CursorCodec.pageSize(requestedSize);
+        LocalDateTime from = LocalDateTime.parse(fromDate);
+        LocalDateTime to = LocalDateTime.parse(toDate);
+        // First page starts just past the newest possible row
+        LocalDateTime afterDate = to;
+        long afterId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] keys = CursorCodec.decode(cursor, 2);
+            afterDate = CursorCodec.keyAsDateTime(keys[0]);
+            afterId = CursorCodec.keyAsLong(keys[1]);
+        }
+        LocalDateTime seekDate = afterDate;
+        long seekId = afterId;
+
+        return CompletableFuture.supplyAsync(() -> {
+            List<Sale> rows = saleRepository.findPageBySaleDateBefore(from, to, seekDate, seekId, size + 1);
+            boolean hasMore = rows.size() > size;
+            List<Sale> page = hasMore ? rows.subList(0, size) : rows;
+            Sale last = page.isEmpty() ? null : page.get(page.size() - 1);
+            return ResponseEntity.ok(CursorPage.<Sale>builder()
+                    .content(page)
+                    .size(page.size())
+                    .hasMore(hasMore)
+                    .nextCursor(hasMore ? CursorCodec.encode(last.getSaleDate(), last.getId()) : null)
+                    .totalElements(includeTotal ? saleRepository.countBySaleDateBetween(from, to) : null)
+                    .build());
+        }, queryExecutor);
+    }
+
     @Setter
     @Getter
     public static class ProcessSaleRequest {
@@ -8,6 +8,7 @@ import kg.akyl.java.inventory.domain.dto.SupplierDTO;
 import kg.akyl.java.inventory.domain.dto.SupplierStatsDTO;
 import kg.akyl.java.inventory.domain.request.CreateSupplierRequest;
 import kg.akyl.java.inventory.domain.response.ApiResponse;
+import kg.akyl.java.inventory.domain.response.CursorPage;
 import kg.akyl.java.inventory.infra.services.SupplierService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -64,6 +65,27 @@ public class SupplierController {
         return ResponseEntity.ok(ApiResponse.success(suppliers, "Suppliers retrieved successfully"));
     }
 
+    /**
+     * Get suppliers with keyset pagination, ordered by name
+     */
+    @GetMapping("/cursor")
+    @Operation(summary = "Get suppliers by cursor", description = "Keyset-paginated supplier listing ordered by name and id")
+    public ResponseEntity<ApiResponse<CursorPage<SupplierDTO>>> getSuppliersByCursor(
+            @Parameter(description = "Cursor from the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Page size, clamped to 1..500")
+            @RequestParam(defaultValue = "20") int size,
+
+            @Parameter(description = "Also return the total count (runs a COUNT query)")
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        log.info("GET /api/v1/suppliers/cursor - size: {}, includeTotal: {}", size, includeTotal);
+
+        CursorPage<SupplierDTO> suppliers = supplierService.getSuppliersPage(cursor, size, includeTotal);
+        return ResponseEntity.ok(ApiResponse.success(suppliers, "Suppliers retrieved successfully"));
+    }
+
     /**
      * Get supplier by ID
      */
@@ -0,0 +1,60 @@
+package kg.akyl.java.inventory.web;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import kg.akyl.java.inventory.domain.dto.NetworkStatisticsDTO;
+import kg.akyl.java.inventory.domain.dto.SupplyChainNetworkDTO;
+import kg.akyl.java.inventory.domain.response.ApiResponse;
+import kg.akyl.java.inventory.query.network.SupplyChainNetworkService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.NoSuchElementException;
+
+/**
+ * REST Controller for the supplier-to-supplier trade network
+ */
+@RestController
+@RequestMapping("/api/v1/supply-chain/network")
+@RequiredArgsConstructor
+@Tag(name = "Supply Chain Network", description = "Supplier network analysis APIs")
+public class SupplyChainNetworkController {
+    private final SupplyChainNetworkService networkService;
+
+    /**
+     * Get the strongest connections, or those of one supplier, with network statistics
+     */
+    @GetMapping
+    @Operation(summary = "Get supply chain network",
+            description = "Highest-value supplier connections with their suppliers and network statistics")
+    public ResponseEntity<ApiResponse<SupplyChainNetworkDTO>> getNetwork(
+            @Parameter(description = "Only connections of this supplier")
+            @RequestParam(required = false) Long supplierId,
+
+            @Parameter(description = "Maximum number of connections")
+            @RequestParam(defaultValue = "200") int limit) {
+
+        if (limit < 1 || limit > 10000) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Limit must be between 1 and 10000"));
+        }
+        SupplyChainNetworkDTO network = networkService.getNetwork(supplierId, limit);
+        return ResponseEntity.ok(ApiResponse.success(network, "Network retrieved successfully"));
+    }
+
+    /**
+     * Get whole-network statistics
+     */
+    @GetMapping("/statistics")
+    @Operation(summary = "Get network statistics",
+            description = "Density, connectivity, components and average path length of the supplier network")
+    public ResponseEntity<ApiResponse<NetworkStatisticsDTO>> getStatistics() {
+        return ResponseEntity.ok(ApiResponse.success(networkService.getStatistics(), "Statistics retrieved successfully"));
+    }
+
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<ApiResponse<Void>> handleLoading(NoSuchElementException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ApiResponse.error(e.getMessage()));
+    }
+}
@@ -0,0 +1,231 @@
+package kg.akyl.java.inventory.web;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import kg.akyl.java.inventory.domain.dto.SupplyChainTransactionDTO;
+import kg.akyl.java.inventory.domain.dto.TransactionStatsDTO;
+import kg.akyl.java.inventory.domain.request.BulkStatusUpdateRequest;
+import kg.akyl.java.inventory.domain.request.CreateTransactionRequest;
+import kg.akyl.java.inventory.domain.response.ApiResponse;
+import kg.akyl.java.inventory.domain.response.BulkStatusUpdateResponse;
+import kg.akyl.java.inventory.infra.batch.TransactionIngestResult;
+import kg.akyl.java.inventory.infra.batch.TransactionIngestor;
+import kg.akyl.java.inventory.infra.services.SupplyChainTransactionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.NoSuchElementException;
+
+/**
+ * REST Controller for supply chain transactions
+ */
+@RestController
+@RequestMapping("/api/v1/transactions")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Supply Chain Transactions", description = "Supplier-to-supplier transaction APIs")
+public class SupplyChainTransactionController {
+    private final SupplyChainTransactionService transactionService;
+    private final TransactionIngestor transactionIngestor;
+
+    /**
+     * Get transactions with pagination, optionally filtered by status
+     */
+    @GetMapping
+    @Operation(summary = "Get transactions", description = "Retrieve transactions with pagination, optionally by status")
+    public ResponseEntity<ApiResponse<Page<SupplyChainTransactionDTO>>> getTransactions(
+            @Parameter(description = "Status filter")
+            @RequestParam(required = false) String status,
+
+            @Parameter(description = "Page number (0-indexed)")
+            @RequestParam(defaultValue = "0") int page,
+
+            @Parameter(description = "Page size")
+            @RequestParam(defaultValue = "20") int size,
+
+            @Parameter(description = "Sort field")
+            @RequestParam(defaultValue = "transactionDate") String sortBy,
+
+            @Parameter(description = "Sort direction (asc/desc)")
+            @RequestParam(defaultValue = "desc") String sortDir) {
+
+        Sort sort = sortDir.equalsIgnoreCase("desc")
+                ? Sort.by(sortBy).descending()
+                : Sort.by(sortBy).ascending();
+        Pageable pageable = PageRequest.of(page, size, sort);
+
+        Page<SupplyChainTransactionDTO> transactions = status != null
+                ? transactionService.getTransactionsByStatus(status, pageable)
+                : transactionService.getAllTransactions(pageable);
+        return ResponseEntity.ok(ApiResponse.success(transactions, "Transactions retrieved successfully"));
+    }
+
+    /**
+     * Get transaction by ID
+     */
+    @GetMapping("/{id}")
+    @Operation(summary = "Get transaction by ID", description = "Retrieve a transaction by its ID")
+    public ResponseEntity<ApiResponse<SupplyChainTransactionDTO>> getTransactionById(
+            @Parameter(description = "Transaction ID")
+            @PathVariable Long id) {
+
+        return transactionService.getTransactionById(id)
+                .map(transaction -> ResponseEntity.ok(ApiResponse.success(transaction, "Transaction found")))
+                .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Transaction not found with ID: " + id)));
+    }
+
+    /**
+     * Get transaction by transaction number
+     */
+    @GetMapping("/number/{transactionNumber}")
+    @Operation(summary = "Get transaction by number", description = "Retrieve a transaction by its transaction number")
+    public ResponseEntity<ApiResponse<SupplyChainTransactionDTO>> getTransactionByNumber(
+            @Parameter(description = "Transaction number")
+            @PathVariable String transactionNumber) {
+
+        return transactionService.getTransactionByNumber(transactionNumber)
+                .map(transaction -> ResponseEntity.ok(ApiResponse.success(transaction, "Transaction found")))
+                .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Transaction not found with number: " + transactionNumber)));
+    }
+
+    /**
+     * Get transactions of a supplier
+     */
+    @GetMapping("/supplier/{supplierId}")
+    @Operation(summary = "Get supplier transactions", description = "Transactions where the supplier sends or receives")
+    public ResponseEntity<ApiResponse<Page<SupplyChainTransactionDTO>>> getTransactionsBySupplier(
+            @Parameter(description = "Supplier ID")
+            @PathVariable Long supplierId,
+
+            @Parameter(description = "Page number (0-indexed)")
+            @RequestParam(defaultValue = "0") int page,
+
+            @Parameter(description = "Page size")
+            @RequestParam(defaultValue = "20") int size) {
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by("transactionDate").descending());
+        Page<SupplyChainTransactionDTO> transactions = transactionService.getTransactionsBySupplier(supplierId, pageable);
+        return ResponseEntity.ok(ApiResponse.success(transactions, "Transactions retrieved successfully"));
+    }
+
+    /**
+     * Get transaction statistics for a date range
+     */
+    @GetMapping("/statistics")
+    @Operation(summary = "Get transaction statistics",
+            description = "Counts, values, delivery performance and top connections for transactions dated in the range")
+    public ResponseEntity<ApiResponse<TransactionStatsDTO>> getTransactionStatistics(
+            @Parameter(description = "First day (yyyy-MM-dd), defaults to 29 days before toDate")
+            @RequestParam(required = false) LocalDate fromDate,
+
+            @Parameter(description = "Last day (yyyy-MM-dd), defaults to today")
+            @RequestParam(required = false) LocalDate toDate) {
+
+        LocalDate to = toDate != null ? toDate : LocalDate.now();
+        LocalDate from = fromDate != null ? fromDate : to.minusDays(29);
+        try {
+            return transactionService.getTransactionStatistics(from, to)
+                    .map(stats -> ResponseEntity.ok(ApiResponse.success(stats, "Statistics retrieved successfully")))
+                    .orElse(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                            .body(ApiResponse.error("Transaction statistics are still loading")));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Create new transaction
+     */
+    @PostMapping
+    @Operation(summary = "Create new transaction", description = "Create a PENDING transaction between two suppliers")
+    public ResponseEntity<ApiResponse<SupplyChainTransactionDTO>> createTransaction(
+            @Valid @RequestBody CreateTransactionRequest request) {
+
+        log.info("POST /api/v1/transactions - Creating transaction: {} -> {}",
+                request.getFromSupplierId(), request.getToSupplierId());
+
+        try {
+            SupplyChainTransactionDTO transaction = transactionService.createTransaction(request);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success(transaction, "Transaction created successfully"));
+        } catch (IllegalArgumentException e) {
+            log.error("Error creating transaction: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Update transaction status
+     */
+    @PatchMapping("/{id}/status")
+    @Operation(summary = "Update transaction status", description = "Move a transaction to a new status")
+    public ResponseEntity<ApiResponse<SupplyChainTransactionDTO>> updateTransactionStatus(
+            @Parameter(description = "Transaction ID")
+            @PathVariable Long id,
+
+            @Parameter(description = "New status")
+            @RequestParam String status) {
+
+        log.info("PATCH /api/v1/transactions/{}/status?status={}", id, status);
+
+        try {
+            SupplyChainTransactionDTO transaction = transactionService.updateTransactionStatus(id, status);
+            return ResponseEntity.ok(ApiResponse.success(transaction, "Transaction status updated successfully"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Move many transactions to the same status
+     */
+    @PatchMapping("/status")
+    @Operation(summary = "Bulk update transaction status",
+            description = "Move every listed transaction that allows it to the given status in one update")
+    public ResponseEntity<ApiResponse<BulkStatusUpdateResponse>> updateTransactionStatuses(
+            @Valid @RequestBody BulkStatusUpdateRequest request) {
+
+        try {
+            BulkStatusUpdateResponse result = transactionService.updateTransactionStatuses(
+                    request.getTransactionIds(), request.getStatus());
+            return ResponseEntity.ok(ApiResponse.success(result, "Transaction statuses updated successfully"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Streams an NDJSON transaction feed from the request body into the database.
+     * Every line needs a transaction number; numbers that already exist are skipped.
+     */
+    @PostMapping(value = "/ingest", consumes = "application/x-ndjson")
+    @Operation(summary = "Ingest transaction feed", description = "Bulk load one CreateTransactionRequest per line")
+    public ResponseEntity<ApiResponse<TransactionIngestResult>> ingestTransactions(HttpServletRequest request)
+            throws IOException {
+        TransactionIngestResult result = transactionIngestor.ingest(request.getInputStream());
+        return ResponseEntity.ok(ApiResponse.success(result, "Transactions ingested"));
+    }
+}
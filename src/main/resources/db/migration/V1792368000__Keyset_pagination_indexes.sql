@@ -0,0 +1,18 @@
+-- Indexes aligned with the keyset (seek) pagination sort orders
+
+-- /api/v1/products/cursor: ORDER BY updated_at DESC, id DESC
+CREATE INDEX IF NOT EXISTS idx_product_updated_at_id
+    ON products(updated_at DESC, id DESC);
+
+-- /api/products/category/{category}/cursor: active products ORDER BY name, id
+CREATE INDEX IF NOT EXISTS idx_product_category_name_id
+    ON products(category, name, id)
+    WHERE status = 'ACTIVE';
+
+-- /api/v1/suppliers/cursor: ORDER BY name, id
+CREATE INDEX IF NOT EXISTS idx_supplier_name_id
+    ON suppliers(name, id);
+
+-- /api/sales/date-range/cursor: ORDER BY sale_date DESC, id DESC (scanned backwards)
+CREATE INDEX IF NOT EXISTS idx_sale_date_id
+    ON sales(sale_date, id);
@@ -0,0 +1,11 @@
+-- Mergeable per category-day summaries of sales: a HyperLogLog of customer ids and a DDSketch of sale amounts.
+-- Uncategorised products are stored under '' as in the sales rollups. Existing days are backfilled by the application.
+
+CREATE TABLE sales_daily_sketches (
+    sale_date DATE NOT NULL,
+    category VARCHAR(100) NOT NULL,
+    customers BYTEA NOT NULL,
+    amounts BYTEA NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (sale_date, category)
+);
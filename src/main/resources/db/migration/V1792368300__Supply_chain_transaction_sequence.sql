@@ -0,0 +1,16 @@
+-- Supply chain transactions get their ids from a sequence the application allocates in blocks of 50,
+-- like products and sales, so Hibernate can batch inserts instead of waiting for each generated key.
+
+CREATE SEQUENCE supply_chain_transaction_sequence
+    START WITH 1
+    INCREMENT BY 50
+    CACHE 50;
+
+-- Start past every id the serial column has handed out
+SELECT setval('supply_chain_transaction_sequence',
+              (SELECT COALESCE(MAX(id), 0) + 50 FROM supply_chain_transactions), false);
+
+ALTER TABLE supply_chain_transactions
+    ALTER COLUMN id SET DEFAULT nextval('supply_chain_transaction_sequence');
+
+DROP SEQUENCE IF EXISTS supply_chain_transactions_id_seq;
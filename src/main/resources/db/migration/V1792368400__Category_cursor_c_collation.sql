@@ -0,0 +1,7 @@
+-- /api/products/category/{category}/cursor orders by name COLLATE "C", the code point order the
+-- in-memory read model uses, so the SQL fallback needs an index in that collation to seek
+CREATE INDEX IF NOT EXISTS idx_product_category_name_c_id
+    ON products(category, name COLLATE "C", id)
+    WHERE status = 'ACTIVE';
+
+DROP INDEX IF EXISTS idx_product_category_name_id;
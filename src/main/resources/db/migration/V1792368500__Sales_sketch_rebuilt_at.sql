@@ -0,0 +1,3 @@
+-- When a rebuild from raw sales started reading; sketches collected before then are already in the row.
+
+ALTER TABLE sales_daily_sketches ADD COLUMN rebuilt_at TIMESTAMP;
@@ -0,0 +1,3 @@
+-- Reloads of the in-memory supply chain views read the statuses of recently updated transactions
+CREATE INDEX IF NOT EXISTS idx_transaction_updated_at
+    ON supply_chain_transactions(updated_at);
@@ -0,0 +1,62 @@
+package kg.akyl.java.inventory.config;
+
+import kg.akyl.java.inventory.domain.dto.ProductDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedisConfigTest {
+    private final GenericJackson2JsonRedisSerializer serializer = RedisConfig.valueSerializer();
+
+    @Test
+    void roundTripsCachedProductsWithTimestamps() {
+        ProductDTO product = ProductDTO.builder()
+                .id(7L)
+                .sku("SKU-7")
+                .name("Widget")
+                .category("Tools")
+                .price(new BigDecimal("19.99"))
+                .stockQuantity(12)
+                .minStockLevel(3)
+                .status("ACTIVE")
+                .createdAt(LocalDateTime.of(2026, 3, 1, 9, 30, 15))
+                .updatedAt(LocalDateTime.of(2026, 3, 2, 17, 5))
+                .version(4L)
+                .build();
+
+        Object restored = serializer.deserialize(serializer.serialize(product));
+
+        assertThat(restored).isInstanceOf(ProductDTO.class).isEqualTo(product);
+    }
+
+    @Test
+    void writesTimestampsAsIsoStrings() {
+        ProductDTO product = ProductDTO.builder()
+                .id(1L)
+                .createdAt(LocalDateTime.of(2026, 3, 1, 9, 30))
+                .build();
+
+        String json = new String(serializer.serialize(product), StandardCharsets.UTF_8);
+
+        assertThat(json).contains("\"createdAt\":\"2026-03-01T09:30:00\"");
+    }
+
+    @Test
+    void roundTripsListsOfProducts() {
+        // Cached lists are collected into an ArrayList, whose type the serializer records
+        List<ProductDTO> products = new ArrayList<>(List.of(
+                ProductDTO.builder().id(1L).createdAt(LocalDateTime.of(2026, 1, 1, 0, 0)).build(),
+                ProductDTO.builder().id(2L).updatedAt(LocalDateTime.of(2026, 1, 2, 12, 0)).build()));
+
+        Object restored = serializer.deserialize(serializer.serialize(products));
+
+        assertThat(restored).asList().containsExactlyElementsOf(products);
+    }
+}
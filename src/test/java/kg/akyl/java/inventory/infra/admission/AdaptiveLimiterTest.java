@@ -0,0 +1,91 @@
+package kg.akyl.java.inventory.infra.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveLimiterTest {
+    private static final long FAST = 1_000_000;
+
+    @Test
+    void rejectsOnceTheLimitIsInUse() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(2, 1, 10);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release(FAST, false);
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.getInflight()).isEqualTo(2);
+    }
+
+    @Test
+    void growsWhileBusyAndLatencyIsSteady() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(10, 1, 40);
+
+        for (int i = 0; i < 200; i++) {
+            fill(limiter);
+            releaseAll(limiter, FAST);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(40);
+    }
+
+    @Test
+    void doesNotGrowWhileMostlyIdle() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(10, 1, 40);
+
+        for (int i = 0; i < 200; i++) {
+            limiter.tryAcquire();
+            limiter.release(FAST, false);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void shrinksWhenLatencyRisesAboveTheBaseline() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(20, 2, 40);
+        for (int i = 0; i < 20; i++) {
+            fill(limiter);
+            releaseAll(limiter, FAST);
+        }
+        int before = limiter.getLimit();
+
+        for (int i = 0; i < 50; i++) {
+            fill(limiter);
+            releaseAll(limiter, 10 * FAST);
+        }
+
+        assertThat(limiter.getLimit()).isLessThan(before / 2);
+        assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void dropsBackOffMultiplicativelyDownToTheMinimum() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(10, 3, 40);
+
+        limiter.tryAcquire();
+        limiter.release(FAST, true);
+        assertThat(limiter.getLimit()).isEqualTo(9);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire();
+            limiter.release(FAST, true);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(3);
+    }
+
+    private static void fill(AdaptiveLimiter limiter) {
+        while (limiter.tryAcquire()) {
+            // take every slot
+        }
+    }
+
+    private static void releaseAll(AdaptiveLimiter limiter, long latencyNanos) {
+        while (limiter.getInflight() > 0) {
+            limiter.release(latencyNanos, false);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package kg.akyl.java.inventory.infra.admission;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EndpointClassTest {
+
+    @Test
+    void bulkJobStatusPollsAreQueries() {
+        assertThat(classOf("GET", "/api/bulk/jobs/8f14e45f")).isEqualTo(EndpointClass.QUERY);
+        assertThat(classOf("GET", "/api/bulk/jobs/8f14e45f/results")).isEqualTo(EndpointClass.BULK);
+        assertThat(classOf("POST", "/api/bulk/jobs/inventory-adjustments")).isEqualTo(EndpointClass.BULK);
+        assertThat(classOf("GET", "/api/export/sales")).isEqualTo(EndpointClass.BULK);
+    }
+
+    @Test
+    void otherRequestsAreClassifiedByPathThenMethod() {
+        assertThat(classOf("GET", "/api/analytics/sales")).isEqualTo(EndpointClass.ANALYTICS);
+        assertThat(classOf("GET", "/api/v1/suppliers/statistics")).isEqualTo(EndpointClass.ANALYTICS);
+        assertThat(classOf("GET", "/api/products/1")).isEqualTo(EndpointClass.QUERY);
+        assertThat(classOf("POST", "/api/sales")).isEqualTo(EndpointClass.COMMAND);
+    }
+
+    private static EndpointClass classOf(String method, String path) {
+        return EndpointClass.of(new MockHttpServletRequest(method, path));
+    }
+}
@@ -0,0 +1,43 @@
+package kg.akyl.java.inventory.infra.batch;
+
+import kg.akyl.java.inventory.infra.batch.BatchInventoryProcessor.BatchResult;
+import kg.akyl.java.inventory.infra.batch.BatchInventoryProcessor.Failure;
+import kg.akyl.java.inventory.infra.batch.BatchInventoryProcessor.InventoryAdjustment;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchInventoryProcessorTest {
+
+    @Test
+    void lastAdjustmentPerProductWins() {
+        BatchResult result = new BatchResult();
+
+        Map<Long, Integer> latest = BatchInventoryProcessor.latestByProduct(List.of(
+                new InventoryAdjustment(1L, 10, null),
+                new InventoryAdjustment(2L, 20, null),
+                new InventoryAdjustment(1L, 15, null)), 0, result);
+
+        assertThat(latest).containsExactly(Map.entry(1L, 15), Map.entry(2L, 20));
+        assertThat(result.getFailures()).isEmpty();
+    }
+
+    @Test
+    void everyInvalidAdjustmentIsReportedAtItsRequestIndex() {
+        BatchResult result = new BatchResult();
+
+        BatchInventoryProcessor.latestByProduct(List.of(
+                new InventoryAdjustment(null, 10, null),
+                new InventoryAdjustment(null, 20, null),
+                new InventoryAdjustment(3L, -1, null),
+                new InventoryAdjustment(3L, null, null),
+                new InventoryAdjustment(4L, 5, null)), 1000, result);
+
+        assertThat(result.getFailures()).extracting(Failure::index).containsExactly(1000, 1001, 1002, 1003);
+        assertThat(result.getFailures()).extracting(Failure::productId).containsExactly(null, null, 3L, 3L);
+        assertThat(result.getFailureCount()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,149 @@
+package kg.akyl.java.inventory.infra.batch;
+
+import kg.akyl.java.inventory.config.RedisConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BulkJobManagerTest {
+    private final BulkJobManager manager = new BulkJobManager();
+    private final Map<String, byte[]> redis = new TreeMap<>();
+    private Path results;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws IOException {
+        RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+        when(stringCommands.set(any(), any(), any(), any())).thenAnswer(invocation -> {
+            redis.put(key(invocation.getArgument(0)), invocation.getArgument(1));
+            return true;
+        });
+        when(stringCommands.get(any())).thenAnswer(invocation -> redis.get(key(invocation.getArgument(0))));
+        RedisKeyCommands keyCommands = mock(RedisKeyCommands.class);
+        when(keyCommands.del(any(byte[][].class))).thenAnswer(invocation -> {
+            long deleted = 0;
+            for (Object key : invocation.getArguments()) {
+                deleted += redis.remove(key((byte[]) key)) != null ? 1 : 0;
+            }
+            return deleted;
+        });
+        RedisConnection connection = mock(RedisConnection.class);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(connection.keyCommands()).thenReturn(keyCommands);
+
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        doAnswer(invocation -> ((RedisCallback<?>) invocation.getArgument(0)).doInRedis(connection))
+                .when(redisTemplate).execute(any(RedisCallback.class));
+        ReflectionTestUtils.setField(manager, "redisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(manager, "retentionMinutes", 60L);
+        ReflectionTestUtils.setField(manager, "maxSharedResultsSize", DataSize.ofMegabytes(8));
+        results = Files.createTempFile("bulk-job-manager-test-", ".ndjson");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(results);
+    }
+
+    @Test
+    void resultsAreSharedInBoundedChunks() throws IOException {
+        byte[] content = randomLines(3 * 1024 * 1024);
+        Files.write(results, content);
+        BulkJob job = finishedJob();
+
+        ReflectionTestUtils.invokeMethod(manager, "uploadResults", job);
+
+        String prefix = "inventory:bulk-job-results:" + job.getId();
+        assertThat(redis).containsKey(prefix);
+        int chunks = Integer.parseInt(new String(redis.get(prefix), StandardCharsets.US_ASCII));
+        assertThat(chunks).isGreaterThan(1);
+        for (int i = 0; i < chunks; i++) {
+            assertThat(redis.get(prefix + ":" + i)).hasSizeLessThanOrEqualTo(1024 * 1024);
+        }
+        assertThat(read(manager.getResults(publishedCopy(job)))).isEqualTo(content);
+    }
+
+    @Test
+    void resultsOverTheCapStayOnTheOwningInstance() throws IOException {
+        ReflectionTestUtils.setField(manager, "maxSharedResultsSize", DataSize.ofMegabytes(1));
+        byte[] content = randomLines(3 * 1024 * 1024);
+        Files.write(results, content);
+        BulkJob job = finishedJob();
+
+        ReflectionTestUtils.invokeMethod(manager, "uploadResults", job);
+
+        assertThat(redis).isEmpty();
+        assertThat(manager.getResults(publishedCopy(job))).isNull();
+        assertThat(read(manager.getResults(job))).isEqualTo(content);
+    }
+
+    @Test
+    void emptyResultsAreShared() throws IOException {
+        BulkJob job = finishedJob();
+
+        ReflectionTestUtils.invokeMethod(manager, "uploadResults", job);
+
+        assertThat(read(manager.getResults(publishedCopy(job)))).isEmpty();
+    }
+
+    private BulkJob finishedJob() {
+        BulkJob job = new BulkJob("inventory-adjustments", Path.of("in.ndjson"), results);
+        job.start();
+        job.complete();
+        return job;
+    }
+
+    // The copy another instance reads from Redis has no local files
+    private static BulkJob publishedCopy(BulkJob job) {
+        GenericJackson2JsonRedisSerializer serializer = RedisConfig.valueSerializer();
+        return (BulkJob) serializer.deserialize(serializer.serialize(job));
+    }
+
+    private static byte[] read(Resource resource) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    // Random enough that gzip cannot shrink it below a few chunks
+    private static byte[] randomLines(int size) {
+        Random random = new Random(42);
+        StringBuilder lines = new StringBuilder(size);
+        while (lines.length() < size) {
+            lines.append("{\"line\":").append(lines.length()).append(",\"error\":\"");
+            for (int i = 0; i < 8; i++) {
+                lines.append(Long.toString(random.nextLong() >>> 1, 36));
+            }
+            lines.append("\"}\n");
+        }
+        return lines.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String key(byte[] key) {
+        return new String(key, StandardCharsets.UTF_8);
+    }
+}
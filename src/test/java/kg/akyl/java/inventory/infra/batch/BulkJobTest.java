@@ -0,0 +1,36 @@
+package kg.akyl.java.inventory.infra.batch;
+
+import kg.akyl.java.inventory.config.RedisConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkJobTest {
+
+    @Test
+    void publishedCopyKeepsStatusAndCountersButNotFiles() {
+        BulkJob job = new BulkJob("inventory-adjustments", Path.of("in.ndjson"), Path.of("out.ndjson"));
+        job.start();
+        job.addLines(7, 2);
+        job.fail("Disk full");
+
+        GenericJackson2JsonRedisSerializer serializer = RedisConfig.valueSerializer();
+        BulkJob copy = (BulkJob) serializer.deserialize(serializer.serialize(job));
+
+        assertThat(copy.getId()).isEqualTo(job.getId());
+        assertThat(copy.getType()).isEqualTo("inventory-adjustments");
+        assertThat(copy.getStatus()).isEqualTo(BulkJob.Status.FAILED);
+        assertThat(copy.isFinished()).isTrue();
+        assertThat(copy.getStartedAt()).isEqualTo(job.getStartedAt());
+        assertThat(copy.getFinishedAt()).isEqualTo(job.getFinishedAt());
+        assertThat(copy.getLinesRead()).isEqualTo(9);
+        assertThat(copy.getSucceeded()).isEqualTo(7);
+        assertThat(copy.getFailed()).isEqualTo(2);
+        assertThat(copy.getError()).isEqualTo("Disk full");
+        assertThat(copy.getInput()).isNull();
+        assertThat(copy.getResults()).isNull();
+    }
+}
@@ -0,0 +1,93 @@
+package kg.akyl.java.inventory.infra.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongIntHashMapTest {
+
+    @Test
+    void missingKeysReadAsNoValue() {
+        LongIntHashMap map = new LongIntHashMap();
+
+        assertThat(map.get(1L)).isEqualTo(LongIntHashMap.NO_VALUE);
+        assertThat(map.remove(1L)).isEqualTo(LongIntHashMap.NO_VALUE);
+        assertThat(map.containsKey(1L)).isFalse();
+    }
+
+    @Test
+    void putReturnsThePreviousValue() {
+        LongIntHashMap map = new LongIntHashMap();
+
+        assertThat(map.put(5L, 10)).isEqualTo(LongIntHashMap.NO_VALUE);
+        assertThat(map.put(5L, 20)).isEqualTo(10);
+
+        assertThat(map.get(5L)).isEqualTo(20);
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void growsPastInitialCapacity() {
+        LongIntHashMap map = new LongIntHashMap(4);
+        for (int i = 0; i < 100_000; i++) {
+            map.put(i * 17L, i);
+        }
+
+        assertThat(map.size()).isEqualTo(100_000);
+        for (int i = 0; i < 100_000; i++) {
+            assertThat(map.get(i * 17L)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void removeKeepsCollidingKeysReachable() {
+        LongIntHashMap map = new LongIntHashMap(9);
+        for (int key = 1; key <= 9; key++) {
+            map.put((long) key << 40, key);
+        }
+
+        for (int key = 2; key <= 9; key += 2) {
+            assertThat(map.remove((long) key << 40)).isEqualTo(key);
+        }
+
+        for (int key = 1; key <= 9; key++) {
+            assertThat(map.get((long) key << 40)).isEqualTo(key % 2 == 1 ? key : LongIntHashMap.NO_VALUE);
+        }
+    }
+
+    @Test
+    void matchesHashMapUnderRandomOperations() {
+        Random random = new Random(11);
+        LongIntHashMap map = new LongIntHashMap(8);
+        Map<Long, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(2_000) - 1_000;
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertThat(map.remove(key)).isEqualTo(removed != null ? removed : LongIntHashMap.NO_VALUE);
+            } else {
+                Integer previous = expected.put(key, i);
+                assertThat(map.put(key, i)).isEqualTo(previous != null ? previous : LongIntHashMap.NO_VALUE);
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        expected.forEach((key, value) -> assertThat(map.get(key)).isEqualTo(value));
+    }
+
+    @Test
+    void clearEmptiesTheMap() {
+        LongIntHashMap map = new LongIntHashMap();
+        map.put(1L, 1);
+
+        map.clear();
+
+        assertThat(map.isEmpty()).isTrue();
+        assertThat(map.get(1L)).isEqualTo(LongIntHashMap.NO_VALUE);
+    }
+}
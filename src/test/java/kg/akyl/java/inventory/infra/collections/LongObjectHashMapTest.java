@@ -0,0 +1,105 @@
+package kg.akyl.java.inventory.infra.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongObjectHashMapTest {
+
+    @Test
+    void putGetAndReplace() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+
+        assertThat(map.put(1L, "a")).isNull();
+        assertThat(map.put(1L, "b")).isEqualTo("a");
+
+        assertThat(map.get(1L)).isEqualTo("b");
+        assertThat(map.get(2L)).isNull();
+        assertThat(map.containsKey(1L)).isTrue();
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void handlesZeroAndNegativeKeys() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        map.put(0L, "zero");
+        map.put(-1L, "minus one");
+        map.put(Long.MIN_VALUE, "min");
+
+        assertThat(map.get(0L)).isEqualTo("zero");
+        assertThat(map.get(-1L)).isEqualTo("minus one");
+        assertThat(map.get(Long.MIN_VALUE)).isEqualTo("min");
+    }
+
+    @Test
+    void growsPastInitialCapacity() {
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>(4);
+        for (long key = 0; key < 100_000; key++) {
+            map.put(key * 31, key);
+        }
+
+        assertThat(map.size()).isEqualTo(100_000);
+        for (long key = 0; key < 100_000; key++) {
+            assertThat(map.get(key * 31)).isEqualTo(key);
+        }
+    }
+
+    @Test
+    void removeKeepsCollidingKeysReachable() {
+        // A table of 16 slots holds at most 9 keys, so these keys share probe chains
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>(9);
+        for (long key = 1; key <= 9; key++) {
+            map.put(key << 40, key);
+        }
+
+        for (long key = 1; key <= 9; key += 2) {
+            assertThat(map.remove(key << 40)).isEqualTo(key);
+        }
+
+        assertThat(map.size()).isEqualTo(4);
+        for (long key = 1; key <= 9; key++) {
+            assertThat(map.get(key << 40)).isEqualTo(key % 2 == 0 ? key : null);
+        }
+        assertThat(map.remove(1L << 40)).isNull();
+    }
+
+    @Test
+    void matchesHashMapUnderRandomOperations() {
+        Random random = new Random(7);
+        LongObjectHashMap<Integer> map = new LongObjectHashMap<>(8);
+        Map<Long, Integer> expected = new HashMap<>();
+
+        // A small key range keeps the table dense, with long probe chains across resizes and removals
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+            } else {
+                assertThat(map.put(key, i)).isEqualTo(expected.put(key, i));
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        Map<Long, Integer> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void clearEmptiesTheMap() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        map.put(1L, "a");
+        map.put(2L, "b");
+
+        map.clear();
+
+        assertThat(map.isEmpty()).isTrue();
+        assertThat(map.get(1L)).isNull();
+        map.put(1L, "c");
+        assertThat(map.get(1L)).isEqualTo("c");
+    }
+}
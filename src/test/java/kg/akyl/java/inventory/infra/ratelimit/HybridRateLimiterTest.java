@@ -0,0 +1,134 @@
+package kg.akyl.java.inventory.infra.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HybridRateLimiterTest {
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+    private final HybridRateLimiter rateLimiter = new HybridRateLimiter();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(rateLimiter, "redisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(rateLimiter, "limit", 1000L);
+        ReflectionTestUtils.setField(rateLimiter, "windowMs", 60_000L);
+        ReflectionTestUtils.setField(rateLimiter, "burst", 3);
+        ReflectionTestUtils.setField(rateLimiter, "strictClients", Set.of("api:partner"));
+    }
+
+    @Test
+    void strictClientsFallBackToTheLocalBucketWhenRedisFails() {
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("Connection refused"));
+
+        assertThat(rateLimiter.tryAcquire("api:partner", 1).allowed()).isTrue();
+        assertThat(rateLimiter.tryAcquire("api:partner", 2).allowed()).isTrue();
+        HybridRateLimiter.Decision refused = rateLimiter.tryAcquire("api:partner", 1);
+
+        assertThat(refused.allowed()).isFalse();
+        assertThat(refused.retryAfterSeconds()).isPositive();
+    }
+
+    @Test
+    void strictClientsUseTheSlidingWindowWhileRedisIsUp() {
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(41L);
+        long before = System.currentTimeMillis();
+
+        HybridRateLimiter.Decision decision = rateLimiter.tryAcquire("api:partner", 1);
+
+        assertThat(decision.allowed()).isTrue();
+        assertThat(decision.remaining()).isEqualTo(41);
+        assertThat(decision.resetAtMillis()).isBetween(before, before + 60_000);
+    }
+
+    @Test
+    void resetIsWhenTheBucketIsFullAgain() {
+        long before = System.currentTimeMillis();
+
+        HybridRateLimiter.Decision decision = rateLimiter.tryAcquire("ip:10.0.0.1", 2);
+
+        // 2 tokens at 1000 per minute take 120 ms to refill
+        assertThat(decision.resetAtMillis() - before).isBetween(100L, 200L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void syncPushesOnlyUsedClientsWithTheLoadedScriptAndReadsTheRest() {
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisScriptingCommands scripting = mock(RedisScriptingCommands.class);
+        RedisStringCommands strings = mock(RedisStringCommands.class);
+        when(connection.scriptingCommands()).thenReturn(scripting);
+        when(connection.stringCommands()).thenReturn(strings);
+        when(scripting.scriptLoad(any(byte[].class))).thenReturn("abc123");
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenAnswer(invocation -> ((RedisCallback<?>) invocation.getArgument(0)).doInRedis(connection));
+        when(redisTemplate.executePipelined(any(RedisCallback.class), any(RedisSerializer.class)))
+                .thenAnswer(invocation -> {
+                    ((RedisCallback<?>) invocation.getArgument(0)).doInRedis(connection);
+                    return Arrays.asList(2L, "1");
+                });
+
+        rateLimiter.tryAcquire("ip:10.0.0.1", 2);
+        // Another client with nothing to push after its consumption was synced once
+        rateLimiter.tryAcquire("ip:10.0.0.2", 1);
+        rateLimiter.sync();
+        rateLimiter.tryAcquire("ip:10.0.0.1", 1);
+        rateLimiter.sync();
+
+        verify(scripting, times(1)).scriptLoad(any(byte[].class));
+        verify(scripting, never()).eval(any(byte[].class), any(ReturnType.class), anyInt(), any(byte[][].class));
+        verify(scripting, times(3)).evalSha(eq("abc123".getBytes(StandardCharsets.UTF_8)), eq(ReturnType.INTEGER),
+                eq(1), any(byte[][].class));
+        verify(strings, times(1)).get(any(byte[].class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedSyncKeepsTheConsumptionAndLoadsTheScriptAgain() {
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisScriptingCommands scripting = mock(RedisScriptingCommands.class);
+        when(connection.scriptingCommands()).thenReturn(scripting);
+        when(scripting.scriptLoad(any(byte[].class))).thenReturn("abc123");
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenAnswer(invocation -> ((RedisCallback<?>) invocation.getArgument(0)).doInRedis(connection));
+        when(redisTemplate.executePipelined(any(RedisCallback.class), any(RedisSerializer.class)))
+                .thenThrow(new RedisConnectionFailureException("NOSCRIPT No matching script"))
+                .thenAnswer(invocation -> {
+                    ((RedisCallback<?>) invocation.getArgument(0)).doInRedis(connection);
+                    return List.of(2L);
+                });
+
+        rateLimiter.tryAcquire("ip:10.0.0.1", 2);
+        rateLimiter.sync();
+        rateLimiter.sync();
+
+        verify(scripting, times(2)).scriptLoad(any(byte[].class));
+        verify(scripting).evalSha(any(byte[].class), eq(ReturnType.INTEGER), eq(1),
+                any(byte[].class), eq("2".getBytes(StandardCharsets.UTF_8)), any(byte[].class));
+    }
+}
@@ -0,0 +1,65 @@
+package kg.akyl.java.inventory.infra.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RateLimitInterceptorTest {
+    private final HybridRateLimiter rateLimiter = mock(HybridRateLimiter.class);
+
+    @Test
+    void chargesTheCostOfTheFirstMatchingPattern() throws Exception {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(rateLimiter, applicationEnvironment());
+        when(rateLimiter.tryAcquire(anyString(), anyInt())).thenReturn(new HybridRateLimiter.Decision(true, 1, 0, 1_000));
+
+        assertThat(cost(interceptor, "GET", "/api/bulk/jobs/8f14e45f")).isEqualTo(1);
+        assertThat(cost(interceptor, "POST", "/api/bulk/jobs/inventory-adjustments")).isEqualTo(50);
+        assertThat(cost(interceptor, "GET", "/api/export/sales")).isEqualTo(20);
+        assertThat(cost(interceptor, "GET", "/api/products/1")).isEqualTo(1);
+    }
+
+    @Test
+    void refusalCarriesRetryAfterAndReset() throws Exception {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(rateLimiter, applicationEnvironment());
+        when(rateLimiter.tryAcquire(anyString(), anyInt()))
+                .thenReturn(new HybridRateLimiter.Decision(false, 0, 3, 1_700_000_060_000L));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean allowed = interceptor.preHandle(new MockHttpServletRequest("GET", "/api/products/1"), response, null);
+
+        assertThat(allowed).isFalse();
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("3");
+        assertThat(response.getHeader("X-RateLimit-Reset")).isEqualTo("1700000060000");
+    }
+
+    private int cost(RateLimitInterceptor interceptor, String method, String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(method + path);
+        interceptor.preHandle(request, new MockHttpServletResponse(), null);
+        ArgumentCaptor<Integer> cost = ArgumentCaptor.forClass(Integer.class);
+        verify(rateLimiter).tryAcquire(eq("ip:" + method + path), cost.capture());
+        return cost.getValue();
+    }
+
+    private static StandardEnvironment applicationEnvironment() throws IOException {
+        StandardEnvironment environment = new StandardEnvironment();
+        new YamlPropertySourceLoader().load("application", new ClassPathResource("application.yml"))
+                .forEach(environment.getPropertySources()::addLast);
+        return environment;
+    }
+}
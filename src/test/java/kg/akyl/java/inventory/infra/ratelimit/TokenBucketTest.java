@@ -0,0 +1,94 @@
+package kg.akyl.java.inventory.infra.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TokenBucketTest {
+    // Slow enough that nothing refills while a test runs
+    private static final double REFILL_PER_SECOND = 0.001;
+
+    @Test
+    void refusesWithTheDeficitOnceEmpty() {
+        TokenBucket bucket = new TokenBucket(10, REFILL_PER_SECOND);
+
+        assertThat(bucket.tryConsume(4)).isCloseTo(6, within(0.01));
+        assertThat(bucket.tryConsume(6)).isCloseTo(0, within(0.01));
+        double deficit = bucket.tryConsume(3);
+
+        assertThat(deficit).isCloseTo(-3, within(0.01));
+        assertThat(bucket.secondsToRefill(deficit)).isCloseTo(3_000, within(1.0));
+    }
+
+    @Test
+    void refillsUpToCapacity() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(5, 1_000);
+        bucket.tryConsume(5);
+
+        Thread.sleep(20);
+
+        assertThat(bucket.tryConsume(0)).isCloseTo(5, within(0.01));
+        assertThat(bucket.secondsToFull()).isZero();
+    }
+
+    @Test
+    void onlyAcceptedRequestsAreCountedForSync() {
+        TokenBucket bucket = new TokenBucket(10, REFILL_PER_SECOND);
+        bucket.tryConsume(4);
+        bucket.tryConsume(20);
+
+        assertThat(bucket.drainUnsynced()).isEqualTo(4);
+        assertThat(bucket.drainUnsynced()).isZero();
+
+        bucket.restoreUnsynced(4);
+        assertThat(bucket.drainUnsynced()).isEqualTo(4);
+    }
+
+    @Test
+    void reconcileTakesOutWhatOtherInstancesUsed() {
+        TokenBucket bucket = new TokenBucket(10, REFILL_PER_SECOND);
+        bucket.tryConsume(2);
+
+        // We flushed 2, the window counter reads 5: 3 were used elsewhere
+        bucket.reconcile(100, 5, 2);
+        assertThat(bucket.tryConsume(0)).isCloseTo(5, within(0.01));
+
+        // Same window, counter grew by our 1 and 4 more elsewhere
+        bucket.tryConsume(1);
+        bucket.reconcile(100, 10, 1);
+        assertThat(bucket.tryConsume(0)).isCloseTo(0, within(0.01));
+    }
+
+    @Test
+    void reconcileStartsOverInANewWindow() {
+        TokenBucket bucket = new TokenBucket(10, REFILL_PER_SECOND);
+        bucket.reconcile(100, 8, 0);
+        assertThat(bucket.tryConsume(0)).isCloseTo(2, within(0.01));
+
+        // A fresh counter of 1 in the next window is usage elsewhere, not a drop from 8
+        bucket.reconcile(101, 1, 0);
+        assertThat(bucket.tryConsume(0)).isCloseTo(1, within(0.01));
+    }
+
+    @Test
+    void usageElsewhereCannotDriveTheBucketBelowMinusCapacity() {
+        TokenBucket bucket = new TokenBucket(10, REFILL_PER_SECOND);
+
+        bucket.reconcile(100, 1_000, 0);
+
+        assertThat(bucket.tryConsume(1)).isCloseTo(-11, within(0.01));
+    }
+
+    @Test
+    void retiredBucketsRefuseFurtherUse() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(10, REFILL_PER_SECOND);
+        bucket.tryConsume(1);
+        Thread.sleep(2);
+
+        assertThat(bucket.retireIfIdle(1_000_000)).isFalse();
+        bucket.drainUnsynced();
+        assertThat(bucket.retireIfIdle(1_000_000)).isTrue();
+        assertThat(bucket.tryConsume(1)).isNaN();
+    }
+}
@@ -0,0 +1,121 @@
+package kg.akyl.java.inventory.query.network;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NetworkAnalysisTest {
+
+    @Test
+    void findsComponentsIgnoringDirection() {
+        // 10 -> 20 <- 30 form one component, 40 -> 50 another; 60 has no counted trade
+        NetworkSnapshot snapshot = snapshot(new long[]{10, 20, 30, 40, 50, 60},
+                new int[][]{{0, 1}, {2, 1}, {3, 4}});
+
+        NetworkAnalysis analysis = snapshot.analysis(64);
+
+        assertThat(analysis.connectedSuppliers()).isEqualTo(5);
+        assertThat(analysis.components()).isEqualTo(2);
+        assertThat(analysis.largestComponent()).isEqualTo(3);
+    }
+
+    @Test
+    void mergesComponentsJoinedByALaterEdge() {
+        NetworkSnapshot snapshot = snapshot(new long[]{1, 2, 3, 4, 5, 6},
+                new int[][]{{0, 1}, {2, 3}, {4, 5}, {3, 0}, {5, 2}});
+
+        NetworkAnalysis analysis = snapshot.analysis(64);
+
+        assertThat(analysis.components()).isEqualTo(1);
+        assertThat(analysis.largestComponent()).isEqualTo(6);
+    }
+
+    @Test
+    void measuresPathsAlongTheDirectionOfTrade() {
+        // A chain 0 -> 1 -> 2 -> 3: pairs 1, 2 and 3 hops apart from 0, 1 and 2 from 1, 1 from 2
+        NetworkSnapshot snapshot = snapshot(new long[]{1, 2, 3, 4},
+                new int[][]{{0, 1}, {1, 2}, {2, 3}});
+
+        NetworkAnalysis analysis = snapshot.analysis(64);
+
+        assertThat(analysis.pathSources()).isEqualTo(4);
+        assertThat(analysis.longestPath()).isEqualTo(3);
+        assertThat(analysis.averageHops()).isEqualTo(10.0 / 6);
+    }
+
+    @Test
+    void countsEachSupplierOnceAtItsShortestDistance() {
+        // 0 reaches 3 both directly and through 1 and 2; a cycle leads back to 0
+        NetworkSnapshot snapshot = snapshot(new long[]{1, 2, 3, 4},
+                new int[][]{{0, 1}, {1, 2}, {2, 3}, {0, 3}, {3, 0}});
+
+        NetworkAnalysis analysis = snapshot.analysis(64);
+
+        // From 0: 1, 1, 2; from 1: 1, 2, 3; from 2: 1, 2, 3; from 3: 1, 2, 3
+        assertThat(analysis.averageHops()).isEqualTo(22.0 / 12);
+        assertThat(analysis.longestPath()).isEqualTo(3);
+    }
+
+    @Test
+    void hasNoPathLengthsWhenNoSupplierReachesAnother() {
+        NetworkSnapshot snapshot = snapshot(new long[]{1, 2}, new int[0][]);
+
+        NetworkAnalysis analysis = snapshot.analysis(64);
+
+        assertThat(analysis.connectedSuppliers()).isZero();
+        assertThat(analysis.components()).isZero();
+        assertThat(analysis.averageHops()).isNull();
+        assertThat(analysis.longestPath()).isNull();
+    }
+
+    @Test
+    void samplesSourcesOnLargeNetworks() {
+        // A ring of 1000 suppliers: every supplier reaches all others, up to 999 hops away
+        int nodes = 1000;
+        long[] ids = new long[nodes];
+        int[][] edges = new int[nodes][];
+        for (int i = 0; i < nodes; i++) {
+            ids[i] = i + 1;
+            edges[i] = new int[]{i, (i + 1) % nodes};
+        }
+        NetworkSnapshot snapshot = snapshot(ids, edges);
+
+        NetworkAnalysis analysis = snapshot.analysis(16);
+
+        assertThat(analysis.pathSources()).isEqualTo(16);
+        assertThat(analysis.requestedSources()).isEqualTo(16);
+        assertThat(analysis.averageHops()).isEqualTo(nodes / 2.0);
+        assertThat(analysis.longestPath()).isEqualTo(nodes - 1);
+        assertThat(analysis.components()).isEqualTo(1);
+    }
+
+    @Test
+    void looksUpNodesAndTheirEdges() {
+        NetworkSnapshot snapshot = snapshot(new long[]{10, 20, 30},
+                new int[][]{{0, 1}, {2, 1}, {1, 0}});
+
+        int node = snapshot.nodeOf(20);
+
+        assertThat(node).isEqualTo(1);
+        assertThat(snapshot.nodeOf(99)).isEqualTo(-1);
+        int[] edges = snapshot.edgesOf(node);
+        Arrays.sort(edges);
+        assertThat(edges).containsExactly(0, 1, 2);
+        assertThat(snapshot.edgesOf(snapshot.nodeOf(30))).containsExactly(1);
+    }
+
+    private static NetworkSnapshot snapshot(long[] supplierIds, int[][] edges) {
+        int[] from = new int[edges.length];
+        int[] to = new int[edges.length];
+        long[] transactions = new long[edges.length];
+        for (int e = 0; e < edges.length; e++) {
+            from[e] = edges[e][0];
+            to[e] = edges[e][1];
+            transactions[e] = 1;
+        }
+        return new NetworkSnapshot(supplierIds, from, to, transactions, new long[edges.length],
+                new long[edges.length], new double[edges.length], edges.length);
+    }
+}
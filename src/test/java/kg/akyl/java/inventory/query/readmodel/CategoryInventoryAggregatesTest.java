@@ -0,0 +1,129 @@
+package kg.akyl.java.inventory.query.readmodel;
+
+import kg.akyl.java.inventory.query.projections.InventoryAnalyticsProjection;
+import kg.akyl.java.inventory.query.projections.ProductProjection;
+import kg.akyl.java.inventory.query.readmodel.CategoryInventoryAggregates.SalesSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CategoryInventoryAggregatesTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 15);
+
+    private final CategoryInventoryAggregates aggregates = new CategoryInventoryAggregates();
+
+    @BeforeEach
+    void setUp() {
+        setToday(TODAY);
+        aggregates.onUpsert(null, product("tools"));
+    }
+
+    @Test
+    void loadedSalesOutsideTheWindowAreLeftOut() {
+        SalesSnapshot snapshot = new SalesSnapshot(day(-30), 1);
+        snapshot.add(1, "tools", day(-31), 4);
+        snapshot.add(2, "tools", day(-30), 3);
+        snapshot.add(3, "tools", day(0), 2);
+
+        aggregates.applySnapshot(snapshot);
+
+        InventoryAnalyticsProjection tools = tools();
+        assertThat(tools.getSalesLast30Days()).isEqualTo(2L);
+        assertThat(tools.getQuantitySold30Days()).isEqualTo(5L);
+    }
+
+    @Test
+    void slotIsResetWhenTheRingWrapsToANewDay() {
+        SalesSnapshot snapshot = new SalesSnapshot(day(-30), 1);
+        snapshot.add(1, "tools", day(-30), 3);
+        snapshot.add(2, "tools", day(0), 2);
+        aggregates.applySnapshot(snapshot);
+
+        // Tomorrow takes the slot of the day that just left the window
+        setToday(TODAY.plusDays(1));
+        aggregates.recordSale(3, "tools", 7, TODAY.plusDays(1).atTime(9, 0));
+
+        InventoryAnalyticsProjection tools = tools();
+        assertThat(tools.getSalesLast30Days()).isEqualTo(2L);
+        assertThat(tools.getQuantitySold30Days()).isEqualTo(9L);
+    }
+
+    @Test
+    void bufferedSalesAreReplayedUnlessTheSnapshotHasThem() {
+        aggregates.recordSale(10, "tools", 1, at(0));
+        // Committed after the snapshot despite its lower id
+        aggregates.recordSale(7, "tools", 10, at(0));
+        aggregates.recordSale(12, "tools", 100, at(0));
+        assertThat(aggregates.isReady()).isFalse();
+
+        SalesSnapshot snapshot = new SalesSnapshot(day(-30), 5);
+        for (long saleId : new long[]{5, 6, 8, 10}) {
+            snapshot.add(saleId, "tools", day(-1), 1);
+        }
+
+        assertThat(aggregates.applySnapshot(snapshot)).isEqualTo(2);
+        InventoryAnalyticsProjection tools = tools();
+        assertThat(tools.getSalesLast30Days()).isEqualTo(6L);
+        assertThat(tools.getQuantitySold30Days()).isEqualTo(114L);
+    }
+
+    @Test
+    void eventsAfterTheBootstrapAreSkippedOnlyForSalesInTheSnapshot() {
+        SalesSnapshot snapshot = new SalesSnapshot(day(-30), 5);
+        for (long saleId : new long[]{5, 6, 8, 10}) {
+            snapshot.add(saleId, "tools", day(-1), 1);
+        }
+        aggregates.applySnapshot(snapshot);
+
+        aggregates.recordSale(6, "tools", 10, at(-1));
+        aggregates.recordSale(10, "tools", 10, at(-1));
+        aggregates.recordSale(9, "tools", 20, at(0));
+        aggregates.recordSale(3, "tools", 40, at(-2));
+
+        InventoryAnalyticsProjection tools = tools();
+        assertThat(tools.getSalesLast30Days()).isEqualTo(6L);
+        assertThat(tools.getQuantitySold30Days()).isEqualTo(64L);
+    }
+
+    @Test
+    void emptySnapshotSkipsNothing() {
+        aggregates.applySnapshot(new SalesSnapshot(day(-30), 0));
+
+        aggregates.recordSale(1, "tools", 2, at(0));
+
+        assertThat(tools().getSalesLast30Days()).isEqualTo(1L);
+    }
+
+    private InventoryAnalyticsProjection tools() {
+        return aggregates.snapshot().stream()
+                .filter(projection -> "tools".equals(projection.getCategory()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private void setToday(LocalDate today) {
+        ReflectionTestUtils.setField(aggregates, "clock",
+                Clock.fixed(today.atTime(12, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    }
+
+    private static long day(int offset) {
+        return TODAY.plusDays(offset).toEpochDay();
+    }
+
+    private static LocalDateTime at(int offset) {
+        return TODAY.plusDays(offset).atTime(10, 0);
+    }
+
+    private static ProductProjection product(String category) {
+        return new ProductProjection(1L, "SKU-1", "Hammer", null, new BigDecimal("10.00"), 50, 0,
+                category, "ACTIVE", LocalDateTime.of(2026, 1, 1, 0, 0), LocalDateTime.of(2026, 1, 1, 0, 0));
+    }
+}
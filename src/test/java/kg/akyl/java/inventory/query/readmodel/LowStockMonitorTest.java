@@ -0,0 +1,150 @@
+package kg.akyl.java.inventory.query.readmodel;
+
+import kg.akyl.java.inventory.domain.InventoryEvent;
+import kg.akyl.java.inventory.infra.events.EventStore;
+import kg.akyl.java.inventory.infra.locking.LeaderLease;
+import kg.akyl.java.inventory.query.projections.InventoryStatusProjection;
+import kg.akyl.java.inventory.query.projections.ProductProjection;
+import kg.akyl.java.inventory.query.readmodel.LowStockMonitor.StockAlert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LowStockMonitorTest {
+    private final LowStockMonitor monitor = new LowStockMonitor();
+    private final List<String> published = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        EventStore eventStore = mock(EventStore.class);
+        doAnswer(invocation -> {
+            for (InventoryEvent event : (List<InventoryEvent>) invocation.getArgument(0)) {
+                published.add(event.getEventType() + ":" + ((StockAlert) event.getEventData()).getReason());
+            }
+            return null;
+        }).when(eventStore).saveEvents(anyList());
+        LeaderLease leaderLease = mock(LeaderLease.class);
+        when(leaderLease.isLeader()).thenReturn(true);
+        ReflectionTestUtils.setField(monitor, "eventStore", eventStore);
+        ReflectionTestUtils.setField(monitor, "kafkaTemplate", mock(KafkaTemplate.class));
+        ReflectionTestUtils.setField(monitor, "leaderLease", leaderLease);
+        ReflectionTestUtils.setField(monitor, "threshold", 10);
+        ReflectionTestUtils.setField(monitor, "recoverThreshold", 20);
+        monitor.validateThresholds();
+    }
+
+    @Test
+    void entersAtTheThreshold() {
+        monitor.onReady();
+        update(11, 0);
+        assertThat(monitor.count()).isZero();
+
+        update(15, 5);
+
+        assertThat(monitor.count()).isEqualTo(1);
+        assertThat(alerts()).containsExactly("LowStockDetected:LOW_STOCK");
+    }
+
+    @Test
+    void staysLowBelowTheRecoverThreshold() {
+        monitor.onReady();
+        update(10, 0);
+        update(15, 0);
+        update(19, 0);
+        update(5, 0);
+
+        assertThat(monitor.lowStock()).extracting(InventoryStatusProjection::getAvailableQuantity).containsExactly(5);
+        assertThat(alerts()).containsExactly("LowStockDetected:LOW_STOCK");
+    }
+
+    @Test
+    void leavesAtTheRecoverThresholdAndCanEnterAgain() {
+        monitor.onReady();
+        update(3, 0);
+        update(25, 5);
+        assertThat(monitor.count()).isZero();
+
+        update(10, 0);
+
+        assertThat(monitor.count()).isEqualTo(1);
+        assertThat(alerts()).containsExactly("LowStockDetected:LOW_STOCK", "StockRecovered:RESTOCKED",
+                "LowStockDetected:LOW_STOCK");
+    }
+
+    @Test
+    void leavesWhenDeactivated() {
+        monitor.onReady();
+        update(3, 0);
+
+        monitor.onUpsert(null, product(3, 0, "DISCONTINUED"));
+
+        assertThat(monitor.count()).isZero();
+        assertThat(alerts()).containsExactly("LowStockDetected:LOW_STOCK", "StockRecovered:INACTIVE");
+    }
+
+    @Test
+    void leavesWhenRemoved() {
+        monitor.onReady();
+        update(3, 0);
+
+        monitor.onRemove(product(3, 0, "ACTIVE"));
+
+        assertThat(monitor.count()).isZero();
+        assertThat(alerts()).containsExactly("LowStockDetected:LOW_STOCK", "StockRecovered:REMOVED");
+    }
+
+    @Test
+    void inactiveProductsNeverEnter() {
+        monitor.onReady();
+        monitor.onUpsert(null, product(0, 0, "DISCONTINUED"));
+
+        assertThat(monitor.count()).isZero();
+        assertThat(alerts()).isEmpty();
+    }
+
+    @Test
+    void crossingsBeforeTheModelIsReadyAreNotAnnounced() {
+        update(3, 0);
+        monitor.onReady();
+
+        assertThat(monitor.count()).isEqualTo(1);
+        assertThat(alerts()).isEmpty();
+    }
+
+    @Test
+    void rejectsARecoverThresholdNotAboveTheThreshold() {
+        ReflectionTestUtils.setField(monitor, "recoverThreshold", 10);
+
+        assertThatThrownBy(monitor::validateThresholds)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("recover-threshold");
+    }
+
+    private void update(int quantity, int reserved) {
+        monitor.onUpsert(null, product(quantity, reserved, "ACTIVE"));
+    }
+
+    private List<String> alerts() {
+        monitor.publishAlerts();
+        return published;
+    }
+
+    private static ProductProjection product(int quantity, int reserved, String status) {
+        return new ProductProjection(1L, "SKU-1", "Widget", null, new BigDecimal("5.00"), quantity, reserved,
+                "tools", status, LocalDateTime.of(2026, 1, 1, 0, 0), LocalDateTime.of(2026, 1, 1, 0, 0));
+    }
+}
@@ -0,0 +1,83 @@
+package kg.akyl.java.inventory.query.readmodel;
+
+import kg.akyl.java.inventory.query.projections.ProductProjection;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductReadModelTest {
+    private final ProductReadModel model = new ProductReadModel();
+
+    @Test
+    void reservationInSnapshotIsNotCountedAgainFromTheStream() {
+        // Loaded after the reservation at version 3 committed
+        model.upsert(product(3L, 100, 5));
+
+        // The same reservation then arrives from the stream
+        model.applyReservation(1L, 5, 3L);
+
+        assertThat(model.findById(1L).orElseThrow().getReservedQuantity()).isEqualTo(5);
+    }
+
+    @Test
+    void olderEventsAreIgnored() {
+        model.upsert(product(4L, 100, 5));
+
+        model.applyReservation(1L, 2, 3L);
+        model.applyQuantity(1L, 80, 2L);
+
+        ProductProjection product = model.findById(1L).orElseThrow();
+        assertThat(product.getReservedQuantity()).isEqualTo(5);
+        assertThat(product.getQuantity()).isEqualTo(100);
+    }
+
+    @Test
+    void newerEventsAdvanceTheVersion() {
+        model.upsert(product(3L, 100, 5));
+
+        model.applyReservation(1L, 7, 4L);
+        model.applyQuantity(1L, 90, 5L);
+        // A catch-up row read before both events must not roll them back
+        model.upsert(product(3L, 100, 5));
+
+        ProductProjection product = model.findById(1L).orElseThrow();
+        assertThat(product.getReservedQuantity()).isEqualTo(7);
+        assertThat(product.getQuantity()).isEqualTo(90);
+        assertThat(product.getVersion()).isEqualTo(5L);
+    }
+
+    @Test
+    void eventsWithoutVersionAreApplied() {
+        model.upsert(product(3L, 100, 5));
+
+        model.applyQuantity(1L, 60, null);
+
+        assertThat(model.findById(1L).orElseThrow().getQuantity()).isEqualTo(60);
+        assertThat(model.findById(1L).orElseThrow().getVersion()).isEqualTo(3L);
+    }
+
+    @Test
+    void unknownProductsAreReported() {
+        assertThat(model.applyReservation(42L, 1, 1L)).isFalse();
+        assertThat(model.applyQuantity(42L, 1, 1L)).isFalse();
+    }
+
+    @Test
+    void namesSortInCodePointOrderLikeTheCCollation() {
+        // U+1F600 is a surrogate pair in UTF-16, which String.compareTo would put before U+FF21
+        assertThat(ProductReadModel.compareCodePoints("\uD83D\uDE00", "\uFF21")).isPositive();
+        assertThat(ProductReadModel.compareCodePoints("Z", "a")).isNegative();
+        assertThat(ProductReadModel.compareCodePoints("ab", "abc")).isNegative();
+        assertThat(ProductReadModel.compareCodePoints("abc", "abc")).isZero();
+    }
+
+    private static ProductProjection product(Long version, int quantity, int reserved) {
+        ProductProjection product = new ProductProjection(1L, "SKU-1", "Product", null, new BigDecimal("9.99"),
+                quantity, reserved, "Tools", "ACTIVE", LocalDateTime.now(), LocalDateTime.now());
+        product.setVersion(version);
+        return product;
+    }
+}
@@ -0,0 +1,166 @@
+package kg.akyl.java.inventory.query.readmodel.columnar;
+
+import kg.akyl.java.inventory.query.projections.InventoryStatusProjection;
+import kg.akyl.java.inventory.query.projections.ProductProjection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnarProductStoreTest {
+    @TempDir
+    Path directory;
+
+    private ColumnarProductStore store;
+
+    @AfterEach
+    void close() throws IOException {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    void materializesEveryAttributeFromTheColumns() throws IOException {
+        store = open(4);
+        ProductProjection product = product(7, "SKU-7", "Lamp", "Tools", "ACTIVE", 12, 3);
+        product.setDescription("Desk lamp");
+        product.setVersion(5L);
+
+        store.put(null, product);
+
+        assertThat(store.get(7)).isEqualTo(product);
+        assertThat(store.getBySku("SKU-7")).isEqualTo(product);
+        assertThat(store.contains(7)).isTrue();
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void replacingAProductMovesItsIndexes() throws IOException {
+        store = open(4);
+        ProductProjection before = product(1, "OLD", "Lamp", "Tools", "ACTIVE", 10, 0);
+        store.put(null, before);
+
+        ProductProjection after = product(1, "NEW", "Lamp", "Garden", "INACTIVE", 10, 0);
+        store.put(before, after);
+
+        assertThat(store.getBySku("OLD")).isNull();
+        assertThat(store.getBySku("NEW").getCategory()).isEqualTo("Garden");
+        assertThat(store.countByCategory("Tools")).isZero();
+        assertThat(store.countByCategory("Garden")).isZero();
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void pagesThroughACategoryInCodePointOrder() throws IOException {
+        store = open(4);
+        // Grows past the initial capacity on the way
+        store.put(null, product(1, "S1", "b", "Tools", "ACTIVE", 1, 0));
+        store.put(null, product(2, "S2", "B", "Tools", "ACTIVE", 1, 0));
+        store.put(null, product(3, "S3", "\uD83D\uDE00", "Tools", "ACTIVE", 1, 0));
+        store.put(null, product(4, "S4", "\uFF21", "Tools", "ACTIVE", 1, 0));
+        store.put(null, product(5, "S5", "b", "Tools", "ACTIVE", 1, 0));
+        store.put(null, product(6, "S6", "a", "Garden", "ACTIVE", 1, 0));
+        store.put(null, product(7, "S7", "a", "Tools", "INACTIVE", 1, 0));
+
+        assertThat(ids(store.findByCategory("Tools", 10, 0))).containsExactly(2L, 1L, 5L, 4L, 3L);
+        assertThat(ids(store.findByCategory("Tools", 2, 1))).containsExactly(1L, 5L);
+        assertThat(ids(store.findByCategoryAfter("Tools", "b", 1L, 2))).containsExactly(5L, 4L);
+        assertThat(ids(store.findByCategoryAfter("Tools", null, 0L, 1))).containsExactly(2L);
+        assertThat(store.countByCategory("Tools")).isEqualTo(5);
+        assertThat(store.findByCategory("Unknown", 10, 0)).isEmpty();
+    }
+
+    @Test
+    void findsLowStockByAvailableQuantity() throws IOException {
+        store = open(4);
+        store.put(null, product(1, "S1", "a", "Tools", "ACTIVE", 10, 8));
+        store.put(null, product(2, "S2", "b", "Tools", "ACTIVE", 1, 0));
+        store.put(null, product(3, "S3", "c", "Tools", "INACTIVE", 0, 0));
+        store.put(null, product(4, "S4", "d", "Tools", "ACTIVE", 50, 0));
+
+        assertThat(store.findLowStock(2)).extracting(InventoryStatusProjection::getId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void removedRowsAreReused() throws IOException {
+        store = open(4);
+        store.put(null, product(1, "S1", "a", "Tools", "ACTIVE", 1, 0));
+        store.put(null, product(2, "S2", "b", "Tools", "ACTIVE", 1, 0));
+
+        assertThat(store.remove(1).getSku()).isEqualTo("S1");
+        assertThat(store.remove(1)).isNull();
+        store.put(null, product(3, "S3", "c", "Tools", "ACTIVE", 1, 0));
+
+        assertThat(store.get(1)).isNull();
+        assertThat(store.getBySku("S1")).isNull();
+        assertThat(ids(store.findByCategory("Tools", 10, 0))).containsExactly(2L, 3L);
+        assertThat(store.size()).isEqualTo(2);
+    }
+
+    @Test
+    void rowsFromAPreviousRunStayHiddenUntilLoadedAgain() throws IOException {
+        store = open(4);
+        store.put(null, product(1, "S1", "a", "Tools", "ACTIVE", 1, 0));
+        store.put(null, product(2, "S2", "b", "Tools", "ACTIVE", 2, 0));
+        store.close();
+
+        store = open(4);
+        // Still scanned for analytics, but not part of the model before the bootstrap writes them again
+        assertThat(store.scanCategoryStock()).singleElement()
+                .satisfies(category -> assertThat(category.getTotalProducts()).isEqualTo(2L));
+        assertThat(store.get(1)).isNull();
+        assertThat(store.size()).isZero();
+
+        store.put(null, product(2, "S2", "b", "Tools", "ACTIVE", 5, 0));
+        List<ProductProjection> visited = new ArrayList<>();
+        store.forEach(visited::add);
+        assertThat(ids(visited)).containsExactly(2L);
+        store.onLoaded();
+
+        assertThat(store.get(1)).isNull();
+        assertThat(store.get(2).getQuantity()).isEqualTo(5);
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(ids(store.findByCategory("Tools", 10, 0))).containsExactly(2L);
+    }
+
+    @Test
+    void largeInitialCapacitiesDoNotOverflowTheDictionarySize() {
+        ColumnarProductStore large = new ColumnarProductStore();
+        ReflectionTestUtils.setField(large, "initialCapacity", 1 << 28);
+
+        int bytes = ReflectionTestUtils.invokeMethod(large, "dictionaryBytes", 16);
+
+        assertThat(bytes).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    private ColumnarProductStore open(int initialCapacity) throws IOException {
+        ColumnarProductStore opened = new ColumnarProductStore();
+        ReflectionTestUtils.setField(opened, "directory", directory.toString());
+        ReflectionTestUtils.setField(opened, "initialCapacity", initialCapacity);
+        opened.open();
+        return opened;
+    }
+
+    private static List<Long> ids(List<ProductProjection> products) {
+        return products.stream().map(ProductProjection::getId).toList();
+    }
+
+    private static ProductProjection product(long id, String sku, String name, String category, String status,
+                                             int quantity, int reserved) {
+        LocalDateTime created = LocalDateTime.of(2026, 1, 2, 3, 4, 5, 123_456_789);
+        ProductProjection product = new ProductProjection(id, sku, name, null, new BigDecimal("9.99"),
+                quantity, reserved, category, status, created, created.plusDays(1));
+        product.setVersion(1L);
+        return product;
+    }
+}
@@ -0,0 +1,106 @@
+package kg.akyl.java.inventory.query.rollups;
+
+import kg.akyl.java.inventory.query.rollups.RollupRanges.Range;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RollupRangesTest {
+
+    @Test
+    void wholeDaysComeFromTheDailyRollupOnly() {
+        RollupRanges ranges = RollupRanges.of(at(1, 0, 0), at(4, 0, 0), true);
+
+        assertThat(ranges.getDays()).containsExactly(new Range(at(1, 0, 0), at(4, 0, 0)));
+        assertThat(ranges.getHours()).isEmpty();
+        assertThat(ranges.getRaw()).isEmpty();
+    }
+
+    @Test
+    void partialDaysSplitIntoWholeHoursAndRawEdges() {
+        RollupRanges ranges = RollupRanges.of(at(1, 10, 15), at(3, 5, 30), true);
+
+        assertThat(ranges.getDays()).containsExactly(new Range(at(2, 0, 0), at(3, 0, 0)));
+        assertThat(ranges.getHours()).containsExactly(
+                new Range(at(1, 11, 0), at(2, 0, 0)),
+                new Range(at(3, 0, 0), at(3, 5, 0)));
+        assertThat(ranges.getRaw()).containsExactly(
+                new Range(at(1, 10, 15), at(1, 11, 0)),
+                new Range(at(3, 5, 0), at(3, 5, 30)));
+        assertCoversExactly(ranges, at(1, 10, 15), at(3, 5, 30));
+    }
+
+    @Test
+    void withoutAnHourlyRollupPartialDaysAreRaw() {
+        RollupRanges ranges = RollupRanges.of(at(1, 10, 15), at(3, 5, 30), false);
+
+        assertThat(ranges.getDays()).containsExactly(new Range(at(2, 0, 0), at(3, 0, 0)));
+        assertThat(ranges.getHours()).isEmpty();
+        assertThat(ranges.getRaw()).containsExactly(
+                new Range(at(1, 10, 15), at(2, 0, 0)),
+                new Range(at(3, 0, 0), at(3, 5, 30)));
+    }
+
+    @Test
+    void rangesWithinOneDayUseHoursOnly() {
+        RollupRanges ranges = RollupRanges.of(at(1, 9, 0), at(1, 17, 45), true);
+
+        assertThat(ranges.getDays()).isEmpty();
+        assertThat(ranges.getHours()).containsExactly(new Range(at(1, 9, 0), at(1, 17, 0)));
+        assertThat(ranges.getRaw()).containsExactly(new Range(at(1, 17, 0), at(1, 17, 45)));
+    }
+
+    @Test
+    void rangesWithinOneHourAreRaw() {
+        RollupRanges ranges = RollupRanges.of(at(1, 9, 10), at(1, 9, 50), true);
+
+        assertThat(ranges.getDays()).isEmpty();
+        assertThat(ranges.getHours()).isEmpty();
+        assertThat(ranges.getRaw()).containsExactly(new Range(at(1, 9, 10), at(1, 9, 50)));
+    }
+
+    @Test
+    void subMicrosecondEndsAreKeptInTheRawEdge() {
+        LocalDateTime end = at(2, 0, 0).plusNanos(1_000);
+
+        RollupRanges ranges = RollupRanges.of(at(1, 0, 0), end, true);
+
+        assertThat(ranges.getDays()).containsExactly(new Range(at(1, 0, 0), at(2, 0, 0)));
+        assertThat(ranges.getRaw()).containsExactly(new Range(at(2, 0, 0), end));
+    }
+
+    @Test
+    void emptyAndInvertedRangesProduceNothing() {
+        assertThat(RollupRanges.of(at(1, 9, 0), at(1, 9, 0), true).getRaw()).isEmpty();
+
+        RollupRanges inverted = RollupRanges.of(at(3, 0, 0), at(1, 0, 0), true);
+        assertThat(inverted.getDays()).isEmpty();
+        assertThat(inverted.getHours()).isEmpty();
+        assertThat(inverted.getRaw()).isEmpty();
+    }
+
+    private static void assertCoversExactly(RollupRanges ranges, LocalDateTime start, LocalDateTime end) {
+        List<Range> all = new ArrayList<>(ranges.getDays());
+        all.addAll(ranges.getHours());
+        all.addAll(ranges.getRaw());
+        all.sort(Comparator.comparing(Range::start));
+
+        assertThat(all.get(0).start()).isEqualTo(start);
+        assertThat(all.get(all.size() - 1).end()).isEqualTo(end);
+        for (int i = 1; i < all.size(); i++) {
+            assertThat(all.get(i).start()).isEqualTo(all.get(i - 1).end());
+        }
+        Duration total = all.stream().map(r -> Duration.between(r.start(), r.end())).reduce(Duration.ZERO, Duration::plus);
+        assertThat(total).isEqualTo(Duration.between(start, end));
+    }
+
+    private static LocalDateTime at(int day, int hour, int minute) {
+        return LocalDateTime.of(2025, 3, day, hour, minute);
+    }
+}
@@ -0,0 +1,137 @@
+package kg.akyl.java.inventory.query.search;
+
+import kg.akyl.java.inventory.query.projections.ProductProjection;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexTest {
+    private final ProductSearchIndex index = new ProductSearchIndex();
+
+    @Test
+    void tokenizeLowercasesAndSplitsOnNonAlphanumerics() {
+        assertThat(ProductSearchIndex.tokenize("USB-C Cable, 2m (Black)"))
+                .containsExactly("usb", "c", "cable", "2m", "black");
+        assertThat(ProductSearchIndex.tokenize("  --  ")).isEmpty();
+        assertThat(ProductSearchIndex.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void matchesExactPrefixAndInfixTerms() {
+        add(1, "Wireless Keyboard", "KB-100", "ACTIVE");
+        add(2, "Keychain", "KC-200", "ACTIVE");
+        add(3, "Monitor Stand", "MS-300", "ACTIVE");
+
+        assertThat(ids("keyboard")).containsExactly(1L);
+        assertThat(ids("key")).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids("board")).containsExactly(1L);
+        assertThat(ids("tripod")).isEmpty();
+    }
+
+    @Test
+    void requiresEveryQueryToken() {
+        add(1, "Wireless Keyboard", "KB-100", "ACTIVE");
+        add(2, "Wireless Mouse", "MO-200", "ACTIVE");
+
+        assertThat(ids("wireless")).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids("wireless mouse")).containsExactly(2L);
+        assertThat(ids("wireless tripod")).isEmpty();
+    }
+
+    @Test
+    void ranksExactNameMatchesAboveDescriptionMatches() {
+        add(1, "Desk Lamp", "DL-1", "ACTIVE", "Bright lamp for a cable free desk");
+        add(2, "Cable Organizer", "CO-2", "ACTIVE", "Keeps a desk tidy");
+
+        assertThat(ids("cable")).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void removedAndDiscontinuedProductsAreNotFound() {
+        ProductProjection keyboard = add(1, "Wireless Keyboard", "KB-100", "ACTIVE");
+        add(2, "Wired Keyboard", "KB-200", "ACTIVE");
+
+        index.onRemove(keyboard);
+        index.onUpsert(null, product(2, "Wired Keyboard", "KB-200", "DISCONTINUED", null));
+
+        assertThat(ids("keyboard")).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void renamedProductsAreFoundByTheirNewNameOnly() {
+        ProductProjection before = add(1, "Wireless Keyboard", "KB-100", "ACTIVE");
+        ProductProjection after = product(1, "Mechanical Keyboard", "KB-100", "ACTIVE", null);
+
+        index.onUpsert(before, after);
+
+        assertThat(ids("wireless")).isEmpty();
+        assertThat(ids("mechanical")).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void activeOnlyFiltersInactiveProducts() {
+        add(1, "Wireless Keyboard", "KB-100", "ACTIVE");
+        add(2, "Wired Keyboard", "KB-200", "INACTIVE");
+
+        assertThat(index.search("keyboard", 10, 0, true).getProductIds()).containsExactly(1L);
+        assertThat(index.search("keyboard", 10, 0, false).getTotalHits()).isEqualTo(2);
+    }
+
+    @Test
+    void pagesThroughRankedHits() {
+        for (int i = 1; i <= 5; i++) {
+            add(i, "Cable " + (char) ('A' + i), "C-" + i, "ACTIVE");
+        }
+
+        ProductSearchIndex.SearchPage page = index.search("cable", 2, 2, false);
+
+        assertThat(page.getTotalHits()).isEqualTo(5);
+        // Equal scores rank by product id
+        assertThat(page.getProductIds()).containsExactly(3L, 4L);
+    }
+
+    @Test
+    void compactionDropsRetiredDocsAndKeepsLiveOnesSearchable() {
+        ProductProjection[] products = new ProductProjection[12_000];
+        for (int i = 0; i < products.length; i++) {
+            products[i] = add(i + 1, "Widget " + i, "W-" + i, "ACTIVE");
+        }
+        // Retiring all but the last two crosses the compaction threshold
+        for (int i = 0; i < products.length - 2; i++) {
+            index.onRemove(products[i]);
+        }
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(ids("widget")).containsExactly(11_999L, 12_000L);
+        assertThat(ids("11998")).containsExactly(11_999L);
+        assertThat(ids("5")).isEmpty();
+
+        add(20_000, "Widget new", "W-new", "ACTIVE");
+        assertThat(ids("widget")).containsExactly(11_999L, 12_000L, 20_000L);
+    }
+
+    private List<Long> ids(String query) {
+        return index.search(query, 10, 0, false).getProductIds();
+    }
+
+    private ProductProjection add(long id, String name, String sku, String status) {
+        return add(id, name, sku, status, null);
+    }
+
+    private ProductProjection add(long id, String name, String sku, String status, String description) {
+        ProductProjection product = product(id, name, sku, status, description);
+        index.onUpsert(null, product);
+        return product;
+    }
+
+    private static ProductProjection product(long id, String name, String sku, String status, String description) {
+        return new ProductProjection(id, sku, name, description, BigDecimal.ONE, 10, 0, "Accessories", status,
+                LocalDateTime.now(), LocalDateTime.now());
+    }
+}
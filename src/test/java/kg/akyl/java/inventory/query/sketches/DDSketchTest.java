@@ -0,0 +1,135 @@
+package kg.akyl.java.inventory.query.sketches;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class DDSketchTest {
+    private static final double[] QUANTILES = {0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 0.999, 1};
+
+    @Test
+    void emptySketchHasNoQuantiles() {
+        DDSketch sketch = new DDSketch();
+
+        assertThat(sketch.count()).isZero();
+        assertThat(sketch.quantile(0.5)).isNaN();
+    }
+
+    @Test
+    void quantilesStayWithinTheRelativeAccuracy() {
+        DDSketch sketch = new DDSketch();
+        double[] values = new double[100_000];
+        Random random = new Random(7);
+        for (int i = 0; i < values.length; i++) {
+            // Log-normal amounts spanning several orders of magnitude
+            values[i] = Math.exp(3 + 1.5 * random.nextGaussian());
+            sketch.add(values[i]);
+        }
+
+        assertThat(sketch.count()).isEqualTo(values.length);
+        assertWithinAccuracy(sketch, values);
+    }
+
+    @Test
+    void countsNonPositiveValuesAsZero() {
+        DDSketch sketch = new DDSketch();
+        sketch.add(0);
+        sketch.add(-5);
+        sketch.add(10);
+        sketch.add(Double.NaN);
+
+        assertThat(sketch.count()).isEqualTo(3);
+        assertThat(sketch.quantile(0)).isZero();
+        assertThat(sketch.quantile(0.5)).isZero();
+        assertThat(sketch.quantile(1)).isCloseTo(10.0, within(0.1));
+    }
+
+    @Test
+    void mergeMatchesAddingEverythingToOneSketch() {
+        DDSketch first = new DDSketch();
+        DDSketch second = new DDSketch();
+        DDSketch all = new DDSketch();
+        double[] values = new double[20_000];
+        Random random = new Random(11);
+        for (int i = 0; i < values.length; i++) {
+            // Disjoint ranges, so the merge has to grow the bins on both sides
+            values[i] = i % 2 == 0 ? 1 + random.nextDouble() * 10 : 1_000 + random.nextDouble() * 50_000;
+            (i % 2 == 0 ? first : second).add(values[i]);
+            all.add(values[i]);
+        }
+
+        first.merge(second);
+
+        assertThat(first.count()).isEqualTo(all.count());
+        for (double q : QUANTILES) {
+            assertThat(first.quantile(q)).isEqualTo(all.quantile(q));
+        }
+        assertWithinAccuracy(first, values);
+    }
+
+    @Test
+    void rejectsMergingAnotherAccuracy() {
+        assertThatThrownBy(() -> new DDSketch(0.01, 2048).merge(new DDSketch(0.02, 2048)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void foldingKeepsTheUpperQuantilesAccurate() {
+        DDSketch sketch = new DDSketch(0.01, 64);
+        double[] values = new double[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.pow(1.001, i);
+            sketch.add(values[i]);
+        }
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        for (double q : new double[]{0.9, 0.99, 1}) {
+            double expected = sorted[(int) Math.floor(q * (sorted.length - 1))];
+            assertThat(Math.abs(sketch.quantile(q) - expected) / expected).isLessThanOrEqualTo(0.01 + 1e-9);
+        }
+        // The folded lowest bins overestimate the lowest quantiles instead
+        assertThat(sketch.quantile(0)).isGreaterThanOrEqualTo(sorted[0]);
+    }
+
+    @Test
+    void roundTripsThroughBytes() {
+        DDSketch sketch = new DDSketch();
+        Random random = new Random(3);
+        sketch.add(0);
+        for (int i = 0; i < 5_000; i++) {
+            sketch.add(0.01 + random.nextDouble() * 1_000, 1 + random.nextInt(3));
+        }
+
+        DDSketch decoded = DDSketch.fromBytes(sketch.toBytes());
+
+        assertThat(decoded.count()).isEqualTo(sketch.count());
+        assertThat(decoded.accuracy()).isEqualTo(sketch.accuracy());
+        for (double q : QUANTILES) {
+            assertThat(decoded.quantile(q)).isEqualTo(sketch.quantile(q));
+        }
+        assertThat(decoded.toBytes()).isEqualTo(sketch.toBytes());
+    }
+
+    @Test
+    void rejectsForeignBytes() {
+        assertThatThrownBy(() -> DDSketch.fromBytes(new byte[]{9}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void assertWithinAccuracy(DDSketch sketch, double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (double q : QUANTILES) {
+            double expected = sorted[(int) Math.floor(q * (sorted.length - 1))];
+            double relativeError = Math.abs(sketch.quantile(q) - expected) / expected;
+            assertThat(relativeError).as("relative error at q=%s", q)
+                    .isLessThanOrEqualTo(sketch.accuracy() + 1e-9);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package kg.akyl.java.inventory.query.sketches;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class HyperLogLogTest {
+
+    @Test
+    void countsSmallSetsAlmostExactly() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 100; i++) {
+            sketch.add("customer-" + i);
+            sketch.add("customer-" + i);
+        }
+        sketch.add(null);
+        sketch.add("");
+
+        assertThat(sketch.estimate()).isCloseTo(100L, within(2L));
+    }
+
+    @Test
+    void estimatesLargeSetsWithinTheStandardError() {
+        HyperLogLog sketch = new HyperLogLog();
+        int distinct = 200_000;
+        for (int i = 0; i < distinct; i++) {
+            sketch.add("customer-" + i);
+        }
+
+        double error = Math.abs(sketch.estimate() - distinct) / (double) distinct;
+        assertThat(error).isLessThan(4 * sketch.standardError());
+    }
+
+    @Test
+    void mergeCountsTheUnion() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        HyperLogLog union = new HyperLogLog();
+        for (int i = 0; i < 60_000; i++) {
+            first.add("customer-" + i);
+            union.add("customer-" + i);
+        }
+        for (int i = 40_000; i < 100_000; i++) {
+            second.add("customer-" + i);
+            union.add("customer-" + i);
+        }
+
+        first.merge(second);
+
+        assertThat(first.toBytes()).isEqualTo(union.toBytes());
+        assertThat(first.estimate()).isEqualTo(union.estimate());
+    }
+
+    @Test
+    void mergeIsIdempotent() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 10_000; i++) {
+            sketch.add("customer-" + i);
+        }
+        long estimate = sketch.estimate();
+
+        sketch.merge(HyperLogLog.fromBytes(sketch.toBytes()));
+
+        assertThat(sketch.estimate()).isEqualTo(estimate);
+    }
+
+    @Test
+    void rejectsMergingAnotherPrecision() {
+        assertThatThrownBy(() -> new HyperLogLog(12).merge(new HyperLogLog(10)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void roundTripsThroughBytes() {
+        HyperLogLog sketch = new HyperLogLog(10);
+        for (int i = 0; i < 5_000; i++) {
+            sketch.add("customer-" + i);
+        }
+
+        HyperLogLog decoded = HyperLogLog.fromBytes(sketch.toBytes());
+
+        assertThat(decoded.estimate()).isEqualTo(sketch.estimate());
+        assertThat(decoded.standardError()).isEqualTo(sketch.standardError());
+        assertThat(decoded.toBytes()).isEqualTo(sketch.toBytes());
+    }
+
+    @Test
+    void rejectsForeignOrTruncatedBytes() {
+        byte[] bytes = new HyperLogLog().toBytes();
+
+        assertThatThrownBy(() -> HyperLogLog.fromBytes(new byte[]{9, 12}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HyperLogLog.fromBytes(Arrays.copyOf(bytes, bytes.length - 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,138 @@
+package kg.akyl.java.inventory.query.topk;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpaceSavingTest {
+
+    @Test
+    void countsExactlyUnderCapacity() {
+        SpaceSaving sketch = new SpaceSaving(4);
+        sketch.add(1L, 5);
+        sketch.add(2L, 3);
+        sketch.add(1L, 2);
+
+        assertThat(counts(sketch)).containsExactlyInAnyOrderEntriesOf(Map.of(1L, 7L, 2L, 3L));
+        assertThat(errors(sketch)).containsOnly(Map.entry(1L, 0L), Map.entry(2L, 0L));
+        assertThat(sketch.total()).isEqualTo(10);
+        assertThat(sketch.floor()).isZero();
+    }
+
+    @Test
+    void ignoresNonPositiveWeights() {
+        SpaceSaving sketch = new SpaceSaving(2);
+        sketch.add(1L, 0);
+        sketch.add(2L, -3);
+
+        assertThat(sketch.size()).isZero();
+        assertThat(sketch.total()).isZero();
+    }
+
+    @Test
+    void evictsTheSmallestCounterAndInheritsItAsError() {
+        SpaceSaving sketch = new SpaceSaving(3);
+        sketch.add(1L, 10);
+        sketch.add(2L, 2);
+        sketch.add(3L, 5);
+
+        assertThat(sketch.floor()).isEqualTo(2);
+
+        sketch.add(4L, 1);
+
+        assertThat(counts(sketch)).containsExactlyInAnyOrderEntriesOf(Map.of(1L, 10L, 3L, 5L, 4L, 3L));
+        assertThat(errors(sketch)).containsEntry(4L, 2L);
+        assertThat(sketch.floor()).isEqualTo(3);
+
+        // Key 4 now holds the smallest counter, so it is the next one out
+        sketch.add(5L, 1);
+
+        assertThat(counts(sketch)).containsExactlyInAnyOrderEntriesOf(Map.of(1L, 10L, 3L, 5L, 5L, 4L));
+        assertThat(errors(sketch)).containsEntry(5L, 3L);
+    }
+
+    @Test
+    void updatesReorderTheHeap() {
+        SpaceSaving sketch = new SpaceSaving(2);
+        sketch.add(1L, 1);
+        sketch.add(2L, 5);
+        sketch.add(1L, 10);
+
+        sketch.add(3L, 1);
+
+        // Key 2 became the smallest after key 1 grew, so key 3 takes its counter
+        assertThat(counts(sketch)).containsExactlyInAnyOrderEntriesOf(Map.of(1L, 11L, 3L, 6L));
+    }
+
+    @Test
+    void estimatesStayWithinTheErrorBound() {
+        int capacity = 64;
+        SpaceSaving sketch = new SpaceSaving(capacity);
+        Map<Long, Long> truth = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            // Skewed keys so a few heavy hitters stand out from a long tail
+            long key = (long) Math.floor(Math.pow(random.nextDouble(), 3) * 5_000);
+            long weight = 1 + random.nextInt(5);
+            sketch.add(key, weight);
+            truth.merge(key, weight, Long::sum);
+        }
+
+        long total = truth.values().stream().mapToLong(Long::longValue).sum();
+        assertThat(sketch.total()).isEqualTo(total);
+        assertThat(sketch.size()).isEqualTo(capacity);
+
+        Map<Long, Long> counts = counts(sketch);
+        Map<Long, Long> errors = errors(sketch);
+        counts.forEach((key, count) -> {
+            long actual = truth.getOrDefault(key, 0L);
+            assertThat(count).isGreaterThanOrEqualTo(actual);
+            assertThat(count - errors.get(key)).isLessThanOrEqualTo(actual);
+            assertThat(errors.get(key)).isLessThanOrEqualTo(total / capacity);
+        });
+        truth.forEach((key, actual) -> {
+            if (actual > total / capacity) {
+                assertThat(counts).containsKey(key);
+            }
+            if (!counts.containsKey(key)) {
+                assertThat(actual).isLessThanOrEqualTo(sketch.floor());
+            }
+        });
+    }
+
+    @Test
+    void clearStartsOver() {
+        SpaceSaving sketch = new SpaceSaving(2);
+        sketch.add(1L, 4);
+        sketch.add(2L, 4);
+        sketch.add(3L, 4);
+
+        sketch.clear();
+        sketch.add(3L, 1);
+
+        assertThat(sketch.size()).isEqualTo(1);
+        assertThat(sketch.total()).isEqualTo(1);
+        assertThat(counts(sketch)).containsExactlyEntriesOf(Map.of(3L, 1L));
+        assertThat(errors(sketch)).containsExactlyEntriesOf(Map.of(3L, 0L));
+    }
+
+    private static Map<Long, Long> counts(SpaceSaving sketch) {
+        Map<Long, Long> counts = new HashMap<>();
+        for (int slot = 0; slot < sketch.size(); slot++) {
+            counts.put(sketch.key(slot), sketch.count(slot));
+        }
+        return counts;
+    }
+
+    private static Map<Long, Long> errors(SpaceSaving sketch) {
+        Map<Long, Long> errors = new HashMap<>();
+        for (int slot = 0; slot < sketch.size(); slot++) {
+            errors.put(sketch.key(slot), sketch.error(slot));
+        }
+        return errors;
+    }
+}
@@ -0,0 +1,185 @@
+package kg.akyl.java.inventory.query.transactions;
+
+import kg.akyl.java.inventory.infra.events.SupplyChainEventPublisher.OverdueDelivery;
+import kg.akyl.java.inventory.infra.events.SupplyChainEventPublisher.TransactionFacts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class DeliveryDeadlineSchedulerTest {
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 15, 12, 0);
+
+    private final MutableClock clock = new MutableClock(START.toInstant(ZoneOffset.UTC));
+    private final DeliveryDeadlineScheduler scheduler = new DeliveryDeadlineScheduler();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(scheduler, "clock", clock);
+        ReflectionTestUtils.setField(scheduler, "readJdbcTemplate", mock(JdbcTemplate.class));
+        scheduler.bootstrap();
+    }
+
+    @Test
+    void announcesADeliveryOnceItsDeadlinePasses() {
+        scheduler.track(facts(1L, "CONFIRMED", START.plusHours(2)));
+
+        clock.advance(Duration.ofHours(1));
+        assertThat(takeDue()).isEmpty();
+
+        clock.advance(Duration.ofHours(1));
+        List<OverdueDelivery> due = takeDue();
+        assertThat(due).extracting(OverdueDelivery::getTransactionId).containsExactly(1L);
+        assertThat(due.get(0).getDetectedAt()).isEqualTo(START.plusHours(2));
+        assertThat(scheduler.overdueCount()).isEqualTo(1);
+
+        clock.advance(Duration.ofHours(1));
+        assertThat(takeDue()).isEmpty();
+    }
+
+    @Test
+    void reschedulingSkipsTheStaleEntryAndFiresAtTheNewDate() {
+        scheduler.track(facts(1L, "CONFIRMED", START.plusHours(1)));
+        scheduler.track(facts(1L, "CONFIRMED", START.plusHours(3)));
+
+        // The entry for the old deadline surfaces first and is dropped
+        clock.advance(Duration.ofHours(2));
+        assertThat(takeDue()).isEmpty();
+        assertThat(scheduler.overdueCount()).isZero();
+
+        clock.advance(Duration.ofHours(1));
+        assertThat(takeDue()).extracting(OverdueDelivery::getExpectedDeliveryDate)
+                .containsExactly(START.plusHours(3));
+    }
+
+    @Test
+    void reschedulingAnOverdueDeliveryClearsItsOverdueFlag() {
+        scheduler.track(facts(1L, "CONFIRMED", START.plusHours(1)));
+        clock.advance(Duration.ofHours(1));
+        assertThat(takeDue()).hasSize(1);
+
+        scheduler.track(facts(1L, "CONFIRMED", START.plusHours(4)));
+
+        assertThat(scheduler.overdueCount()).isZero();
+        clock.advance(Duration.ofHours(3));
+        assertThat(takeDue()).hasSize(1);
+        assertThat(scheduler.overdueCount()).isEqualTo(1);
+    }
+
+    @Test
+    void goingInTransitKeepsTheOverdueFlag() {
+        scheduler.track(facts(1L, "CONFIRMED", START.plusHours(1)));
+        clock.advance(Duration.ofHours(1));
+        assertThat(takeDue()).hasSize(1);
+
+        scheduler.track(facts(1L, "IN_TRANSIT", START.plusHours(1)));
+
+        assertThat(scheduler.overdueCount()).isEqualTo(1);
+        assertThat(scheduler.openCount()).isEqualTo(1);
+        clock.advance(Duration.ofHours(1));
+        assertThat(takeDue()).isEmpty();
+    }
+
+    @Test
+    void goingInTransitBeforeTheDeadlineAnnouncesTheNewStatus() {
+        scheduler.track(facts(1L, "CONFIRMED", START.plusHours(1)));
+        scheduler.track(facts(1L, "IN_TRANSIT", START.plusHours(1)));
+
+        clock.advance(Duration.ofHours(1));
+
+        assertThat(takeDue()).extracting(OverdueDelivery::getStatus).containsExactly("IN_TRANSIT");
+    }
+
+    @Test
+    void closingADeliveryDropsItAndItsOverdueCount() {
+        scheduler.track(facts(1L, "CONFIRMED", START.plusHours(1)));
+        scheduler.track(facts(2L, "CONFIRMED", START.plusHours(1)));
+        clock.advance(Duration.ofHours(1));
+        scheduler.track(facts(2L, "DELIVERED", START.plusHours(1)));
+
+        assertThat(takeDue()).extracting(OverdueDelivery::getTransactionId).containsExactly(1L);
+
+        scheduler.track(facts(1L, "CANCELLED", START.plusHours(1)));
+        assertThat(scheduler.overdueCount()).isZero();
+        assertThat(scheduler.openCount()).isZero();
+    }
+
+    @Test
+    void compactsTheHeapOnceStaleEntriesDominate() {
+        // Already announced, so compaction leaves it out of the heap
+        scheduler.track(facts(1L, "CONFIRMED", START.plusMinutes(1)));
+        clock.advance(Duration.ofMinutes(1));
+        assertThat(takeDue()).hasSize(1);
+
+        // Two open deliveries allow 2 * 2 + 1024 entries
+        for (int i = 0; i < 2 * 2 + 1024; i++) {
+            scheduler.track(facts(2L, "CONFIRMED", START.plusDays(1).plusMinutes(i)));
+            assertThat(heapSize()).isEqualTo(i + 1);
+        }
+        scheduler.track(facts(2L, "CONFIRMED", START.plusDays(2)));
+
+        assertThat(heapSize()).isEqualTo(1);
+        clock.advance(Duration.ofDays(2));
+        assertThat(takeDue()).extracting(OverdueDelivery::getExpectedDeliveryDate)
+                .containsExactly(START.plusDays(2));
+    }
+
+    private List<OverdueDelivery> takeDue() {
+        return scheduler.takeDue(clock.millis(), new ArrayList<>());
+    }
+
+    private int heapSize() {
+        return ((PriorityQueue<?>) ReflectionTestUtils.getField(scheduler, "deadlines")).size();
+    }
+
+    private static TransactionFacts facts(Long transactionId, String status, LocalDateTime expectedDeliveryDate) {
+        TransactionFacts facts = new TransactionFacts();
+        facts.setTransactionId(transactionId);
+        facts.setFromSupplierId(10L);
+        facts.setToSupplierId(20L);
+        facts.setProductId(30L);
+        facts.setStatus(status);
+        facts.setExpectedDeliveryDate(expectedDeliveryDate);
+        return facts;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
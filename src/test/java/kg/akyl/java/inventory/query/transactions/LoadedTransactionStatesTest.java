@@ -0,0 +1,74 @@
+package kg.akyl.java.inventory.query.transactions;
+
+import kg.akyl.java.inventory.domain.SupplyChainTransaction.TransactionStatus;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LoadedTransactionStatesTest {
+
+    @Test
+    void statusesHavePassedThemselvesAndEverythingBeforeThem() {
+        assertThat(LoadedTransactionStates.hasPassed(TransactionStatus.CONFIRMED, TransactionStatus.CONFIRMED)).isTrue();
+        assertThat(LoadedTransactionStates.hasPassed(TransactionStatus.DELIVERED, TransactionStatus.CONFIRMED)).isTrue();
+        assertThat(LoadedTransactionStates.hasPassed(TransactionStatus.REFUNDED, TransactionStatus.DELIVERED)).isTrue();
+        assertThat(LoadedTransactionStates.hasPassed(TransactionStatus.CANCELLED, TransactionStatus.PENDING)).isTrue();
+
+        assertThat(LoadedTransactionStates.hasPassed(TransactionStatus.PENDING, TransactionStatus.CONFIRMED)).isFalse();
+        assertThat(LoadedTransactionStates.hasPassed(TransactionStatus.CANCELLED, TransactionStatus.DELIVERED)).isFalse();
+        assertThat(LoadedTransactionStates.hasPassed(TransactionStatus.DELIVERED, TransactionStatus.CANCELLED)).isFalse();
+    }
+
+    @Test
+    void containsWhatTheLoadSaw() throws SQLException {
+        LoadedTransactionStates states = load(new long[]{1, 2}, new String[]{"CONFIRMED", "CANCELLED"});
+
+        assertThat(states.size()).isEqualTo(2);
+        assertThat(states.containsRecorded(1L)).isTrue();
+        assertThat(states.containsRecorded(3L)).isFalse();
+        assertThat(states.containsRecorded(null)).isFalse();
+        assertThat(states.containsChange(1L, "CONFIRMED")).isTrue();
+        assertThat(states.containsChange(2L, "CANCELLED")).isTrue();
+    }
+
+    @Test
+    void remembersChangesItDidNotContain() throws SQLException {
+        LoadedTransactionStates states = load(new long[]{1}, new String[]{"CONFIRMED"});
+
+        assertThat(states.containsChange(1L, "IN_TRANSIT")).isFalse();
+        // The same event delivered again
+        assertThat(states.containsChange(1L, "IN_TRANSIT")).isTrue();
+        assertThat(states.containsChange(1L, "DELIVERED")).isFalse();
+    }
+
+    @Test
+    void leavesTransactionsItDidNotSeeToTheEvents() {
+        LoadedTransactionStates states = LoadedTransactionStates.empty();
+
+        assertThat(states.containsRecorded(1L)).isFalse();
+        assertThat(states.containsChange(1L, "CANCELLED")).isFalse();
+        assertThat(states.containsChange(1L, "CANCELLED")).isFalse();
+    }
+
+    private static LoadedTransactionStates load(long[] ids, String[] statuses) throws SQLException {
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(rs);
+        int[] row = {-1};
+        when(rs.next()).thenAnswer(invocation -> ++row[0] < ids.length);
+        when(rs.getLong("id")).thenAnswer(invocation -> ids[row[0]]);
+        when(rs.getString("status")).thenAnswer(invocation -> statuses[row[0]]);
+        return LoadedTransactionStates.load(connection, LocalDateTime.now().minusMinutes(15));
+    }
+}
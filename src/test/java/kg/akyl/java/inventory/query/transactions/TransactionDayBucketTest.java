@@ -0,0 +1,179 @@
+package kg.akyl.java.inventory.query.transactions;
+
+import kg.akyl.java.inventory.domain.SupplyChainTransaction.TransactionStatus;
+import kg.akyl.java.inventory.domain.SupplyChainTransaction.TransactionType;
+import kg.akyl.java.inventory.infra.events.SupplyChainEventPublisher.TransactionFacts;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionDayBucketTest {
+    private static final LocalDateTime DATE = LocalDateTime.of(2026, 3, 2, 10, 0);
+
+    @Test
+    void countsAmountsAndBreakdownsOfARecordedTransaction() {
+        TransactionDayBucket bucket = new TransactionDayBucket();
+
+        assertThat(bucket.add(facts(1L, "PENDING", "100.50"), 1)).isTrue();
+
+        assertThat(bucket.transactions).isEqualTo(1);
+        assertThat(bucket.byStatus[TransactionStatus.PENDING.ordinal()]).isEqualTo(1);
+        assertThat(bucket.byType[TransactionType.PURCHASE.ordinal()]).isEqualTo(1);
+        assertThat(bucket.valueCents).isEqualTo(10050);
+        assertThat(bucket.shippingCents).isEqualTo(500);
+        assertThat(bucket.connections.get(TransactionDayBucket.pack(10, 20))).containsExactly(1, 10050);
+        assertThat(bucket.products.get(7L)).containsExactly(1, 3, 10050);
+    }
+
+    @Test
+    void cancelledTransactionsAreCountedWithoutAmounts() {
+        TransactionDayBucket bucket = new TransactionDayBucket();
+
+        bucket.add(facts(1L, "CANCELLED", "100.00"), 1);
+
+        assertThat(bucket.transactions).isEqualTo(1);
+        assertThat(bucket.byStatus[TransactionStatus.CANCELLED.ordinal()]).isEqualTo(1);
+        assertThat(bucket.valueCents).isZero();
+        assertThat(bucket.connections).isEmpty();
+        assertThat(bucket.products).isEmpty();
+    }
+
+    @Test
+    void statusChangeMovesTheTransaction() {
+        TransactionDayBucket bucket = new TransactionDayBucket();
+        TransactionFacts pending = facts(1L, "PENDING", "100.00");
+        bucket.add(pending, 1);
+
+        TransactionFacts cancelled = pending.withStatus("CANCELLED", null);
+        bucket.add(pending, -1);
+        bucket.add(cancelled, 1);
+
+        assertThat(bucket.transactions).isEqualTo(1);
+        assertThat(bucket.byStatus[TransactionStatus.PENDING.ordinal()]).isZero();
+        assertThat(bucket.byStatus[TransactionStatus.CANCELLED.ordinal()]).isEqualTo(1);
+        assertThat(bucket.valueCents).isZero();
+        assertThat(bucket.byType[TransactionType.PURCHASE.ordinal()]).isZero();
+        assertThat(bucket.connections).isEmpty();
+        assertThat(bucket.products).isEmpty();
+    }
+
+    @Test
+    void ignoresRetractingAStateItDoesNotHold() {
+        TransactionDayBucket bucket = new TransactionDayBucket();
+        bucket.add(facts(1L, "CONFIRMED", "100.00"), 1);
+
+        assertThat(bucket.add(facts(2L, "PENDING", "40.00"), -1)).isFalse();
+
+        assertThat(bucket.transactions).isEqualTo(1);
+        assertThat(bucket.byStatus[TransactionStatus.PENDING.ordinal()]).isZero();
+        assertThat(bucket.valueCents).isEqualTo(10000);
+        assertThat(bucket.connections.get(TransactionDayBucket.pack(10, 20))).containsExactly(1, 10000);
+    }
+
+    @Test
+    void neverLeavesNegativeBreakdowns() {
+        TransactionDayBucket bucket = new TransactionDayBucket();
+        bucket.add(facts(1L, "CONFIRMED", "100.00"), 1);
+        TransactionFacts elsewhere = facts(2L, "CONFIRMED", "30.00");
+        elsewhere.setFromSupplierId(11L);
+        elsewhere.setProductId(8L);
+        elsewhere.setExpectedDeliveryDate(DATE.plusDays(9));
+
+        bucket.add(elsewhere, -1);
+
+        assertThat(bucket.connections).containsOnlyKeys(TransactionDayBucket.pack(10, 20));
+        assertThat(bucket.products).containsOnlyKeys(7L);
+        assertThat(bucket.openByExpectedHour.values()).allMatch(count -> count > 0);
+    }
+
+    @Test
+    void measuresDeliveries() {
+        TransactionDayBucket bucket = new TransactionDayBucket();
+        TransactionFacts onTime = facts(1L, "DELIVERED", "10.00");
+        onTime.setActualDeliveryDate(DATE.plusHours(36));
+        TransactionFacts late = facts(2L, "REFUNDED", "10.00");
+        late.setActualDeliveryDate(DATE.plusDays(5));
+
+        bucket.add(onTime, 1);
+        bucket.add(late, 1);
+
+        assertThat(bucket.delivered).isEqualTo(2);
+        assertThat(bucket.leadTimeHours).isEqualTo(36 + 120);
+        assertThat(bucket.deliveredWithExpectedDate).isEqualTo(2);
+        assertThat(bucket.deliveredOnTime).isEqualTo(1);
+    }
+
+    @Test
+    void countsOpenTransactionsPastTheirExpectedDelivery() {
+        TransactionDayBucket bucket = new TransactionDayBucket();
+        TransactionFacts confirmed = facts(1L, "CONFIRMED", "10.00");
+        TransactionFacts inTransit = facts(2L, "IN_TRANSIT", "10.00");
+        inTransit.setExpectedDeliveryDate(DATE.plusDays(10));
+
+        bucket.add(confirmed, 1);
+        bucket.add(inTransit, 1);
+
+        assertThat(bucket.overdue(DATE.plusDays(2))).isZero();
+        assertThat(bucket.overdue(DATE.plusDays(4))).isEqualTo(1);
+        assertThat(bucket.overdue(DATE.plusDays(11))).isEqualTo(2);
+
+        bucket.add(confirmed, -1);
+        bucket.add(confirmed.withStatus("DELIVERED", DATE.plusDays(3)), 1);
+
+        assertThat(bucket.overdue(DATE.plusDays(11))).isEqualTo(1);
+        assertThat(bucket.openByExpectedHour).hasSize(1);
+    }
+
+    @Test
+    void mergesByAddition() {
+        TransactionDayBucket first = new TransactionDayBucket();
+        TransactionDayBucket second = new TransactionDayBucket();
+        first.add(facts(1L, "CONFIRMED", "10.00"), 1);
+        second.add(facts(2L, "CONFIRMED", "15.00"), 1);
+        second.add(facts(3L, "CANCELLED", "99.00"), 1);
+
+        TransactionDayBucket total = new TransactionDayBucket();
+        total.merge(first);
+        total.merge(second);
+
+        assertThat(total.transactions).isEqualTo(3);
+        assertThat(total.byStatus[TransactionStatus.CONFIRMED.ordinal()]).isEqualTo(2);
+        assertThat(total.valueCents).isEqualTo(2500);
+        assertThat(total.connections.get(TransactionDayBucket.pack(10, 20))).containsExactly(2, 2500);
+        assertThat(total.products.get(7L)).containsExactly(2, 6, 2500);
+        assertThat(total.overdue(DATE.plusDays(4))).isEqualTo(2);
+        assertThat(first.transactions).isEqualTo(1);
+    }
+
+    @Test
+    void isEmptyOnceEverythingIsRetracted() {
+        TransactionDayBucket bucket = new TransactionDayBucket();
+        TransactionFacts facts = facts(1L, "PENDING", "10.00");
+        bucket.add(facts, 1);
+
+        bucket.add(facts, -1);
+
+        assertThat(bucket.isEmpty()).isTrue();
+        assertThat(bucket.add(facts, -1)).isFalse();
+        assertThat(bucket.transactions).isZero();
+    }
+
+    private static TransactionFacts facts(Long id, String status, String totalAmount) {
+        TransactionFacts facts = new TransactionFacts();
+        facts.setTransactionId(id);
+        facts.setFromSupplierId(10L);
+        facts.setToSupplierId(20L);
+        facts.setProductId(7L);
+        facts.setQuantity(3);
+        facts.setTransactionType("PURCHASE");
+        facts.setStatus(status);
+        facts.setTotalAmount(new BigDecimal(totalAmount));
+        facts.setShippingCost(new BigDecimal("5.00"));
+        facts.setTransactionDate(DATE);
+        facts.setExpectedDeliveryDate(DATE.plusDays(3));
+        return facts;
+    }
+}